@@ -118,6 +118,7 @@ public class ASiCContainerWithCAdESValidator extends AbstractASiCContainerValida
 				CMSDocumentValidator cadesValidator = new CMSDocumentValidator(signature);
 				cadesValidator.setCertificateVerifier(certificateVerifier);
 				cadesValidator.setProcessExecutor(processExecutor);
+				cadesValidator.setReferenceValidationExecutorService(referenceValidationExecutorService);
 				cadesValidator.setSignaturePolicyProvider(getSignaturePolicyProvider());
 				cadesValidator.setContainerContents(getArchiveDocuments());
 				
@@ -26,6 +26,7 @@ import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import eu.europa.esig.dss.exception.IllegalInputException;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
@@ -34,8 +35,10 @@ import eu.europa.esig.dss.validation.ManifestFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -50,6 +53,9 @@ public final class ASiCUtils {
 
 	private static final Logger LOG = LoggerFactory.getLogger(ASiCUtils.class);
 
+	/** The maximum length of the end of central directory record (fixed part + maximum zip comment length) */
+	private static final int MAX_END_OF_CENTRAL_DIRECTORY_LENGTH = 22 + 0xFFFF;
+
 	/** The manifest name */
 	public static final String MANIFEST_FILENAME = "Manifest";
 
@@ -771,7 +777,7 @@ public final class ASiCUtils {
 	 * @return {@link String} zip comment
 	 */
 	public static String getZipComment(DSSDocument archiveContainer) {
-		byte[] buffer = DSSUtils.toByteArray(archiveContainer);
+		byte[] buffer = getEndOfCentralDirectoryArea(archiveContainer);
 		if (Utils.isArrayEmpty(buffer)) {
 			LOG.warn("An empty container obtained! Unable to extract zip comment.");
 			return null;
@@ -808,6 +814,31 @@ public final class ASiCUtils {
 		return null;
 	}
 
+	/**
+	 * Returns the binaries of the archive containing the end of central directory record.
+	 * For a {@code FileDocument} only the tail of the file is read, in order to avoid loading of the whole container.
+	 *
+	 * @param archiveContainer {@link DSSDocument} representing an Archive container
+	 * @return byte array
+	 */
+	private static byte[] getEndOfCentralDirectoryArea(DSSDocument archiveContainer) {
+		if (archiveContainer instanceof FileDocument) {
+			final File file = ((FileDocument) archiveContainer).getFile();
+			final long fileLength = file.length();
+			final int tailLength = (int) Math.min(fileLength, MAX_END_OF_CENTRAL_DIRECTORY_LENGTH);
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+				byte[] tail = new byte[tailLength];
+				randomAccessFile.seek(fileLength - tailLength);
+				randomAccessFile.readFully(tail);
+				return tail;
+			} catch (IOException e) {
+				throw new DSSException(String.format("Unable to read the end of the archive with name '%s' : %s",
+						archiveContainer.getName(), e.getMessage()), e);
+			}
+		}
+		return DSSUtils.toByteArray(archiveContainer);
+	}
+
 	/**
 	 * Transforms a list of given documents to a list of "simple" (only basic information) manifest entries
 	 *
@@ -48,6 +48,9 @@ public class FileArchiveEntry extends CommonDocument implements DSSZipEntryDocum
     /** Contains metadata about the extracted entry */
     private final DSSZipEntry dssZipEntry;
 
+    /** Counts the size of the content extracted from the container entries (null if not limited) */
+    private final ZipContentSizeCounter sizeCounter;
+
     /**
      * Default constructor
      *
@@ -55,10 +58,23 @@ public class FileArchiveEntry extends CommonDocument implements DSSZipEntryDocum
      * @param zipEntry {@link DSSZipEntry} containing metadata for zip container entry to be extracted
      */
     protected FileArchiveEntry(final FileDocument zipArchive, final ZipEntry zipEntry) {
+        this(zipArchive, zipEntry, null);
+    }
+
+    /**
+     * Constructor with a counter of the content extracted from all entries of the container,
+     * used to prevent zip-bombing when the content is read on request
+     *
+     * @param zipArchive {@link FileDocument} representing a ZIP-container
+     * @param zipEntry {@link DSSZipEntry} containing metadata for zip container entry to be extracted
+     * @param sizeCounter {@link ZipContentSizeCounter} shared between the entries of the container (null if not limited)
+     */
+    FileArchiveEntry(final FileDocument zipArchive, final ZipEntry zipEntry, final ZipContentSizeCounter sizeCounter) {
         Objects.requireNonNull(zipArchive, "ZIP Archive cannot be null!");
         Objects.requireNonNull(zipEntry, "ZIP Entry cannot be null!");
         this.zipArchive = zipArchive;
         this.zipEntry = zipEntry;
+        this.sizeCounter = sizeCounter;
         this.dssZipEntry = new DSSZipEntry(zipEntry);
         this.name = dssZipEntry.getName();
         this.mimeType = MimeType.fromFileName(dssZipEntry.getName());
@@ -96,6 +112,9 @@ public class FileArchiveEntry extends CommonDocument implements DSSZipEntryDocum
         /** InputStream for the given ZIP entry */
         private final InputStream entryInputStream;
 
+        /** The amount of the read bytes */
+        private long byteCounter = 0;
+
         /**
          * Default constructor
          *
@@ -108,12 +127,27 @@ public class FileArchiveEntry extends CommonDocument implements DSSZipEntryDocum
 
         @Override
         public int read() throws IOException {
-            return entryInputStream.read();
+            int b = entryInputStream.read();
+            if (b != -1) {
+                incrementByteCounter(1);
+            }
+            return b;
         }
 
         @Override
         public int read(byte[] b, int off, int len) throws IOException {
-            return entryInputStream.read(b, off, len);
+            int nRead = entryInputStream.read(b, off, len);
+            if (nRead > 0) {
+                incrementByteCounter(nRead);
+            }
+            return nRead;
+        }
+
+        private void incrementByteCounter(int nRead) {
+            byteCounter += nRead;
+            if (sizeCounter != null) {
+                sizeCounter.update(zipEntry, byteCounter);
+            }
         }
 
         @Override
@@ -39,6 +39,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.zip.CRC32;
@@ -97,6 +98,13 @@ public class SecureContainerHandler implements ZipContainerHandler {
 	 */
 	private boolean extractComments = false;
 
+	/**
+	 * Defines whether the content of a ZIP archive stored in the file system shall be loaded lazily.
+	 *
+	 * Default : false (all entries are read on extraction)
+	 */
+	private boolean lazyLoading = false;
+
 	/**
 	 * Default constructor instantiating handler with default configuration
 	 */
@@ -170,6 +178,26 @@ public class SecureContainerHandler implements ZipContainerHandler {
 		this.extractComments = extractComments;
 	}
 
+	/**
+	 * Sets whether the content of a ZIP archive represented by a {@code FileDocument} shall be loaded lazily.
+	 *
+	 * When enabled, the entries are listed from the ZIP central directory without decompressing the archive.
+	 * Only the "mimetype" and "META-INF/" entries (signatures, manifests, timestamps) are loaded into memory,
+	 * while other entries (signed data) are streamed from the file on request. The zip-bombing checks are performed
+	 * against the sizes declared in the central directory and enforced again on reading of an entry.
+	 * This allows processing of big containers with a small heap.
+	 *
+	 * NOTE: archives not represented by a {@code FileDocument} or not readable with {@code java.util.zip.ZipFile}
+	 * are processed as with the disabled option.
+	 *
+	 * Default : false (all entries are read on extraction)
+	 *
+	 * @param lazyLoading whether the content shall be loaded lazily
+	 */
+	public void setLazyLoading(boolean lazyLoading) {
+		this.lazyLoading = lazyLoading;
+	}
+
 	@Override
 	public List<DSSDocument> extractContainerContent(DSSDocument zipArchive) {
 		resetCounters();
@@ -177,6 +205,9 @@ public class SecureContainerHandler implements ZipContainerHandler {
 		List<DSSDocument> result = new ArrayList<>();
 		if (isInFileProcessingSupported(zipArchive)) {
 			FileDocument zipFileDocument = (FileDocument) zipArchive;
+			if (lazyLoading) {
+				return extractContainerContentLazily(zipFileDocument);
+			}
 			List<ZipEntry> zipEntries = extractZipEntries(zipFileDocument);
 			if (!malformedEntriesDetected()) {
 				for (ZipEntry zipEntry : zipEntries) {
@@ -203,6 +234,58 @@ public class SecureContainerHandler implements ZipContainerHandler {
 		return result;
 	}
 
+	private List<DSSDocument> extractContainerContentLazily(FileDocument zipArchive) {
+		long containerSize = DSSUtils.getFileByteSize(zipArchive);
+		long allowedSize = containerSize * maxCompressionRatio;
+		long maxSize = Math.max(allowedSize, threshold);
+		// the same counter is shared by all entries, as for the eager extraction
+		ZipContentSizeCounter sizeCounter = new ZipContentSizeCounter(maxSize);
+
+		List<DSSDocument> result = new ArrayList<>();
+		try (ZipFile zipFile = new ZipFile(zipArchive.getFile())) {
+			long declaredSize = 0;
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				declaredSize += Math.max(entry.getSize(), 0);
+				if (declaredSize > maxSize) {
+					throw new IllegalInputException("Zip Bomb detected in the ZIP container. Validation is interrupted.");
+				}
+				if (isLoadedEagerly(entry.getName())) {
+					long extractedSize = byteCounter;
+					try (InputStream is = zipFile.getInputStream(entry)) {
+						result.add(getEntryDocument(is, entry, allowedSize));
+					}
+					sizeCounter.update(entry, byteCounter - extractedSize);
+				} else {
+					result.add(new FileArchiveEntry(zipArchive, entry, sizeCounter));
+				}
+				assertCollectionSizeValid(result);
+			}
+		} catch (IOException e) {
+			throw new IllegalInputException("Unable to extract content from zip archive", e);
+		}
+		return result;
+	}
+
+	private List<String> extractEntryNamesFromCentralDirectory(FileDocument zipArchive) {
+		List<String> result = new ArrayList<>();
+		try (ZipFile zipFile = new ZipFile(zipArchive.getFile())) {
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				result.add(entries.nextElement().getName());
+				assertCollectionSizeValid(result);
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to extract entries from zip archive", e);
+		}
+		return result;
+	}
+
+	private boolean isLoadedEagerly(String entryName) {
+		return ASiCUtils.isMimetype(entryName) || entryName.startsWith(ASiCUtils.META_INF_FOLDER);
+	}
+
 	/**
 	 * This method used to verify whether the provided archive container is supported by
 	 * java.util.zip.ZipFile implementation
@@ -242,6 +325,9 @@ public class SecureContainerHandler implements ZipContainerHandler {
 
 	@Override
 	public List<String> extractEntryNames(DSSDocument zipArchive) {
+		if (lazyLoading && isInFileProcessingSupported(zipArchive)) {
+			return extractEntryNamesFromCentralDirectory((FileDocument) zipArchive);
+		}
 		List<ZipEntry> zipEntries = extractZipEntries(zipArchive);
 		if (Utils.isCollectionNotEmpty(zipEntries)) {
 			return zipEntries.stream().map(ZipEntry::getName).collect(Collectors.toList());
@@ -420,8 +506,27 @@ public class SecureContainerHandler implements ZipContainerHandler {
 	 */
 	private DSSDocument getCurrentEntryDocument(ZipInputStream zis, ZipEntry entry, long containerSize) {
 		long allowedSize = containerSize * maxCompressionRatio;
+		try {
+			return getEntryDocument(zis, entry, allowedSize);
+
+		} catch (IOException e) {
+			closeEntry(zis);
+			throw new DSSException(String.format("Unable to read an entry binaries. Reason : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Reads the entry content from the given {@code is} into memory
+	 *
+	 * @param is {@link InputStream} of the entry
+	 * @param entry {@link ZipEntry} to read
+	 * @param allowedSize the maximum allowed size of the extracted content
+	 * @return {@link DSSDocument} created from the given {@code is}
+	 * @throws IOException if an exception occurs
+	 */
+	private DSSDocument getEntryDocument(InputStream is, ZipEntry entry, long allowedSize) throws IOException {
 		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-			secureCopy(zis, baos, allowedSize);
+			secureCopy(is, baos, allowedSize);
 			baos.flush();
 
 			DSSDocument currentDocument = new InMemoryDocument(baos.toByteArray());
@@ -430,10 +535,6 @@ public class SecureContainerHandler implements ZipContainerHandler {
 			currentDocument.setMimeType(MimeType.fromFileName(fileName));
 
 			return new ContainerEntryDocument(currentDocument, new DSSZipEntry(entry));
-
-		} catch (IOException e) {
-			closeEntry(zis);
-			throw new DSSException(String.format("Unable to read an entry binaries. Reason : %s", e.getMessage()), e);
 		}
 	}
 
@@ -0,0 +1,75 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.common;
+
+import eu.europa.esig.dss.exception.IllegalInputException;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+
+/**
+ * Internal class keeping the cumulative size of the content extracted from the entries of the same ZIP container,
+ * used to detect zip-bombing when the entries are read on request.
+ *
+ * For every entry, the biggest amount of bytes read so far is taken into account,
+ * thus re-reading the same entry does not increase the total size.
+ */
+class ZipContentSizeCounter {
+
+	/** The maximum allowed size of the extracted content of all entries */
+	private final long maxSize;
+
+	/** The biggest amount of bytes read so far for every entry */
+	private final Map<ZipEntry, Long> extractedSizes = new IdentityHashMap<>();
+
+	/** The cumulative size of the extracted content */
+	private long totalSize = 0;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param maxSize the maximum allowed size of the extracted content of all entries
+	 */
+	ZipContentSizeCounter(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Registers the amount of bytes read from the {@code zipEntry} within the current read operation
+	 *
+	 * @param zipEntry {@link ZipEntry} being read
+	 * @param readSize the amount of bytes read from the entry so far
+	 * @throws IllegalInputException if the cumulative size of the extracted content exceeds the limit
+	 */
+	synchronized void update(ZipEntry zipEntry, long readSize) {
+		Long previousSize = extractedSizes.get(zipEntry);
+		if (previousSize != null && previousSize >= readSize) {
+			return;
+		}
+		extractedSizes.put(zipEntry, readSize);
+		totalSize += readSize - (previousSize != null ? previousSize : 0);
+		if (totalSize > maxSize) {
+			throw new IllegalInputException("Zip Bomb detected in the ZIP container. Validation is interrupted.");
+		}
+	}
+
+}
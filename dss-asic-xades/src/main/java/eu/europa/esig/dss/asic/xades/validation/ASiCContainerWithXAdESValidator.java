@@ -102,6 +102,7 @@ public class ASiCContainerWithXAdESValidator extends AbstractASiCContainerValida
 				XMLDocumentValidator xadesValidator = new XMLDocumentValidator(signature);
 				xadesValidator.setCertificateVerifier(certificateVerifier);
 				xadesValidator.setProcessExecutor(processExecutor);
+				xadesValidator.setReferenceValidationExecutorService(referenceValidationExecutorService);
 				xadesValidator.setSignaturePolicyProvider(getSignaturePolicyProvider());
 
 				if (ASiCUtils.isOpenDocument(getMimeTypeDocument())) {
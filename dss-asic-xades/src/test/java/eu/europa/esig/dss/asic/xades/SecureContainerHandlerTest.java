@@ -24,9 +24,11 @@ import eu.europa.esig.dss.asic.common.ASiCUtils;
 import eu.europa.esig.dss.asic.common.ContainerEntryDocument;
 import eu.europa.esig.dss.asic.common.DSSZipEntry;
 import eu.europa.esig.dss.asic.common.DSSZipEntryDocument;
+import eu.europa.esig.dss.asic.common.FileArchiveEntry;
 import eu.europa.esig.dss.asic.common.SecureContainerHandler;
 import eu.europa.esig.dss.asic.common.ZipUtils;
 import eu.europa.esig.dss.asic.xades.validation.ASiCContainerWithXAdESValidator;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.MimeType;
 import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import eu.europa.esig.dss.exception.IllegalInputException;
@@ -42,8 +44,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -51,6 +56,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -157,6 +163,90 @@ public class SecureContainerHandlerTest {
 		}
 	}
 
+	@Test
+	public void extractContainerContentLazilyTest() {
+		DSSDocument document = new FileDocument("src/test/resources/validation/multifiles-ok.asice");
+		List<DSSDocument> expectedEntries = new SecureContainerHandler().extractContainerContent(document);
+
+		SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+		secureContainerHandler.setLazyLoading(true);
+		List<DSSDocument> entries = secureContainerHandler.extractContainerContent(document);
+		assertEquals(6, Utils.collectionSize(entries));
+		assertEquals(Utils.collectionSize(expectedEntries), Utils.collectionSize(entries));
+		for (int i = 0; i < entries.size(); i++) {
+			DSSDocument entry = entries.get(i);
+			assertTrue(entry instanceof DSSZipEntryDocument);
+			String name = entry.getName();
+			if (ASiCUtils.isMimetype(name) || name.startsWith(ASiCUtils.META_INF_FOLDER)) {
+				assertTrue(entry instanceof ContainerEntryDocument);
+			} else {
+				assertTrue(entry instanceof FileArchiveEntry);
+			}
+			assertEquals(expectedEntries.get(i).getName(), name);
+			assertEquals(expectedEntries.get(i).getDigest(DigestAlgorithm.SHA256), entry.getDigest(DigestAlgorithm.SHA256));
+		}
+
+		assertEquals(ZipUtils.getInstance().extractEntryNames(document), secureContainerHandler.extractEntryNames(document));
+	}
+
+	@Test
+	public void testLazyLoadingSmallerRatio() {
+		SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+		secureContainerHandler.setLazyLoading(true);
+		secureContainerHandler.setMaxCompressionRatio(50);
+		ZipUtils.getInstance().setZipContainerHandler(secureContainerHandler);
+
+		DocumentValidator validator = getValidator(smallerDocument);
+		Reports reports = validator.validateDocument();
+		assertNotNull(reports);
+
+		Exception exception = assertThrows(IllegalInputException.class, () -> getValidator(biggerDocument));
+		assertEquals("Zip Bomb detected in the ZIP container. Validation is interrupted.", exception.getMessage());
+	}
+
+	@Test
+	public void testLazyLoadingZeroDeclaredSizes() throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+			for (int i = 0; i < 3; i++) {
+				zos.putNextEntry(new ZipEntry("document" + i + ".bin"));
+				// 600 KB of zeros for each entry, below the default 1 MB threshold
+				zos.write(new byte[600_000]);
+				zos.closeEntry();
+			}
+		}
+		byte[] zipBinaries = baos.toByteArray();
+
+		// declare zero uncompressed sizes within the central directory
+		for (int i = 0; i < zipBinaries.length - 28; i++) {
+			if (zipBinaries[i] == 0x50 && zipBinaries[i + 1] == 0x4b && zipBinaries[i + 2] == 0x01 && zipBinaries[i + 3] == 0x02) {
+				Arrays.fill(zipBinaries, i + 24, i + 28, (byte) 0);
+			}
+		}
+
+		File zipArchiveFile = new File("target/zero-declared-sizes.zip");
+		try (OutputStream os = Files.newOutputStream(zipArchiveFile.toPath())) {
+			Utils.write(zipBinaries, os);
+		}
+		try {
+			SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+			secureContainerHandler.setLazyLoading(true);
+			List<DSSDocument> entries = secureContainerHandler.extractContainerContent(new FileDocument(zipArchiveFile));
+			assertEquals(3, entries.size());
+
+			// re-reading the same entry is not counted twice
+			assertEquals(600_000, DSSUtils.toByteArray(entries.get(0)).length);
+			assertEquals(600_000, DSSUtils.toByteArray(entries.get(0)).length);
+
+			// the limit is shared between the entries
+			Exception exception = assertThrows(IllegalInputException.class, () -> DSSUtils.toByteArray(entries.get(1)));
+			assertEquals("Zip Bomb detected in the ZIP container. Validation is interrupted.", exception.getMessage());
+
+		} finally {
+			assertTrue(zipArchiveFile.delete());
+		}
+	}
+
 	@Test
 	public void extractContainerContentInMemoryDocumentTest() {
 		DSSDocument document = new InMemoryDocument(
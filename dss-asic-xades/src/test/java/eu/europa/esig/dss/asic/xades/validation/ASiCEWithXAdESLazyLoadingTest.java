@@ -0,0 +1,113 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.xades.validation;
+
+import eu.europa.esig.dss.asic.common.ASiCContent;
+import eu.europa.esig.dss.asic.common.ASiCUtils;
+import eu.europa.esig.dss.asic.common.FileArchiveEntry;
+import eu.europa.esig.dss.asic.common.SecureContainerHandler;
+import eu.europa.esig.dss.asic.common.ZipUtils;
+import eu.europa.esig.dss.asic.xades.ASiCWithXAdESContainerExtractor;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ASiCEWithXAdESLazyLoadingTest extends AbstractASiCWithXAdESTestValidation {
+
+	private static final String ZIP_COMMENT = "LIB DigiDoc4j/DEV format: application/vnd.etsi.asic-e+zip signatureProfile: " +
+			"ASiC_E_BASELINE_LT Java: 1.8.0_111/Oracle Corporation OS: Linux/amd64/3.10.0-514.el7.x86_64 " +
+			"JVM: OpenJDK 64-Bit Server VM/Oracle Corporation/25.111-b15";
+
+	@BeforeEach
+	public void init() {
+		SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+		secureContainerHandler.setLazyLoading(true);
+		ZipUtils.getInstance().setZipContainerHandler(secureContainerHandler);
+	}
+
+	@AfterEach
+	public void reset() {
+		ZipUtils.getInstance().setZipContainerHandler(new SecureContainerHandler());
+	}
+
+	@Override
+	protected DSSDocument getSignedDocument() {
+		return new FileDocument("src/test/resources/validation/test-zip-comment.asice");
+	}
+
+	@Override
+	protected void checkNumberOfSignatures(DiagnosticData diagnosticData) {
+		super.checkNumberOfSignatures(diagnosticData);
+
+		assertEquals(1, diagnosticData.getSignatureIdList().size());
+	}
+
+	@Override
+	protected void checkBLevelValid(DiagnosticData diagnosticData) {
+		super.checkBLevelValid(diagnosticData);
+
+		SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+		assertTrue(signature.isSignatureIntact());
+		assertTrue(signature.isSignatureValid());
+	}
+
+	@Override
+	protected void checkContainerInfo(DiagnosticData diagnosticData) {
+		super.checkContainerInfo(diagnosticData);
+
+		assertEquals(ZIP_COMMENT, diagnosticData.getZipComment());
+		// the comment read from the end of the file is the same as the one read from the whole container
+		assertEquals(ZIP_COMMENT, ASiCUtils.getZipComment(new InMemoryDocument(DSSUtils.toByteArray(getSignedDocument()))));
+	}
+
+	@Override
+	protected void verifyOriginalDocuments(SignedDocumentValidator validator, DiagnosticData diagnosticData) {
+		super.verifyOriginalDocuments(validator, diagnosticData);
+
+		List<AdvancedSignature> signatures = validator.getSignatures();
+		assertEquals(1, signatures.size());
+		List<DSSDocument> originalDocuments = validator.getOriginalDocuments(signatures.get(0).getId());
+		assertEquals(1, originalDocuments.size());
+
+		ASiCContent asicContent = new ASiCWithXAdESContainerExtractor(getSignedDocument()).extract();
+		assertEquals(ZIP_COMMENT, asicContent.getZipComment());
+		assertEquals(1, asicContent.getSignedDocuments().size());
+		// the signed data is not loaded into memory, but streamed from the container file
+		DSSDocument signedDocument = asicContent.getSignedDocuments().get(0);
+		assertTrue(signedDocument instanceof FileArchiveEntry);
+		assertEquals("Screen Shot 2016-04-28 at 16.06.59.png", signedDocument.getName());
+		assertEquals(signedDocument.getDigest(DigestAlgorithm.SHA256), originalDocuments.get(0).getDigest(DigestAlgorithm.SHA256));
+	}
+
+}
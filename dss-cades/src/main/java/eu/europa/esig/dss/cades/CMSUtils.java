@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.cades;
 
+import eu.europa.esig.dss.cades.signature.CMSProcessableDSSDocument;
 import eu.europa.esig.dss.cades.signature.CustomMessageDigestCalculatorProvider;
 import eu.europa.esig.dss.cades.validation.PrecomputedDigestCalculatorProvider;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
@@ -29,6 +30,8 @@ import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.signature.resources.DSSResourcesHandler;
+import eu.europa.esig.dss.signature.resources.DSSResourcesHandlerBuilder;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.OID;
@@ -37,6 +40,7 @@ import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1EncodableVector;
 import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1OctetString;
 import org.bouncycastle.asn1.ASN1Set;
 import org.bouncycastle.asn1.ASN1UTCTime;
 import org.bouncycastle.asn1.DERSet;
@@ -44,6 +48,7 @@ import org.bouncycastle.asn1.DERTaggedObject;
 import org.bouncycastle.asn1.DLSet;
 import org.bouncycastle.asn1.cms.Attribute;
 import org.bouncycastle.asn1.cms.AttributeTable;
+import org.bouncycastle.asn1.cms.SignedData;
 import org.bouncycastle.asn1.ess.ESSCertID;
 import org.bouncycastle.asn1.ess.ESSCertIDv2;
 import org.bouncycastle.asn1.ess.SigningCertificate;
@@ -56,7 +61,9 @@ import org.bouncycastle.cms.CMSProcessableByteArray;
 import org.bouncycastle.cms.CMSProcessableFile;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.CMSSignedDataParser;
 import org.bouncycastle.cms.CMSTypedData;
+import org.bouncycastle.cms.CMSTypedStream;
 import org.bouncycastle.cms.SignerInformation;
 import org.bouncycastle.cms.SignerInformationStore;
 import org.bouncycastle.operator.DigestCalculatorProvider;
@@ -67,6 +74,8 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -360,7 +369,7 @@ public final class CMSUtils {
 			signedContent = cmsSignedData.getSignedContent();
 		}
 		if (signedContent != null && !isDetachedSignature(cmsSignedData)) {
-			return new InMemoryDocument(CMSUtils.getSignedContent(signedContent));
+			return new InMemoryDocument(getEncapsulatedContent(cmsSignedData, signedContent));
 		} else if (Utils.collectionSize(detachedDocuments) == 1) {
 			return detachedDocuments.get(0);
 		} else {
@@ -368,6 +377,56 @@ public final class CMSUtils {
 		}
 	}
 
+	/**
+	 * Extracts the encapsulated content of an enveloping CMS {@code document} in a streaming way,
+	 * without parsing the whole {@code CMSSignedData} in memory. The content is written to
+	 * a document created by the given {@code resourcesHandlerBuilder}
+	 * (e.g. {@code TempFileResourcesHandlerBuilder} spools the content to a temporary file).
+	 *
+	 * @param document {@link DSSDocument} representing an enveloping CMS signature
+	 * @param resourcesHandlerBuilder {@link DSSResourcesHandlerBuilder} used to store the extracted content
+	 * @return {@link DSSDocument} the encapsulated content
+	 */
+	public static DSSDocument extractEncapsulatedContent(DSSDocument document, DSSResourcesHandlerBuilder resourcesHandlerBuilder) {
+		Objects.requireNonNull(document, "Document cannot be null!");
+		Objects.requireNonNull(resourcesHandlerBuilder, "DSSResourcesHandlerBuilder cannot be null!");
+		try (InputStream is = document.openStream();
+			 DSSResourcesHandler resourcesHandler = resourcesHandlerBuilder.createResourcesHandler()) {
+			final CMSSignedDataParser parser = new CMSSignedDataParser(new BcDigestCalculatorProvider(), is);
+			final CMSTypedStream signedContent = parser.getSignedContent();
+			if (signedContent == null) {
+				throw new DSSException("The CMS signature does not contain an encapsulated content!");
+			}
+			try (OutputStream os = resourcesHandler.createOutputStream();
+				 InputStream contentStream = signedContent.getContentStream()) {
+				Utils.copy(contentStream, os);
+			}
+			return resourcesHandler.writeToDSSDocument();
+
+		} catch (CMSException | IOException e) {
+			throw new DSSException(String.format("Unable to extract the encapsulated content. Reason : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Returns a copy of the encapsulated content of an enveloping {@code cmsSignedData}.
+	 * When the content is encapsulated within an OCTET STRING, the octets already parsed within the
+	 * {@code CMSSignedData} are copied once, instead of being re-encoded through an intermediate stream.
+	 *
+	 * @param cmsSignedData {@link CMSSignedData} to get the encapsulated content from
+	 * @param signedContent {@link CMSTypedData} the signed content of the {@code cmsSignedData}
+	 * @return byte array representing the encapsulated content
+	 */
+	private static byte[] getEncapsulatedContent(CMSSignedData cmsSignedData, CMSTypedData signedContent) {
+		final SignedData signedData = SignedData.getInstance(cmsSignedData.toASN1Structure().getContent());
+		final ASN1Encodable content = signedData.getEncapContentInfo().getContent();
+		if (content instanceof ASN1OctetString) {
+			return ((ASN1OctetString) content).getOctets().clone();
+		}
+		// legacy PKCS#7 content, let BouncyCastle encode it
+		return getSignedContent(signedContent);
+	}
+
 	/**
 	 * Returns the content to be signed
 	 *
@@ -383,7 +442,7 @@ public final class CMSUtils {
 			FileDocument fileDocument = (FileDocument) toSignData;
 			content = new CMSProcessableFile(fileDocument.getFile());
 		} else {
-			content = new CMSProcessableByteArray(DSSUtils.toByteArray(toSignData));
+			content = new CMSProcessableDSSDocument(toSignData);
 		}
 		return content;
 	}
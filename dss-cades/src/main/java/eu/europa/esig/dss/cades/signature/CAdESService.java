@@ -46,6 +46,7 @@ import eu.europa.esig.dss.validation.timestamp.TimestampToken;
 import org.bouncycastle.cms.CMSException;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.CMSSignedDataStreamGenerator;
 import org.bouncycastle.cms.CMSTypedData;
 import org.bouncycastle.cms.SignerInfoGeneratorBuilder;
 import org.bouncycastle.cms.SignerInformation;
@@ -55,6 +56,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -176,6 +179,60 @@ public class CAdESService extends
 		return signature;
 	}
 
+	/**
+	 * Signs the document within an enveloping (attached) CAdES-BASELINE-B signature, streaming the document content
+	 * and writing the created signature directly to the {@code outputStream}.
+	 * The memory consumption of the method does not depend on the size of the document to be signed.
+	 *
+	 * NOTE: the document is always signed as a plain content (parallel signatures are not created),
+	 * and {@code DigestDocument}s are not supported. The created signature can be augmented to a higher level
+	 * using the {@code extendDocument} method.
+	 *
+	 * @param toSignDocument {@link DSSDocument} to be signed
+	 * @param parameters {@link CAdESSignatureParameters} set of the driving signing parameters
+	 * @param signatureValue {@link SignatureValue} the signature value to incorporate
+	 * @param outputStream {@link OutputStream} to write the created signature to
+	 */
+	public void signDocument(final DSSDocument toSignDocument, final CAdESSignatureParameters parameters,
+							 SignatureValue signatureValue, final OutputStream outputStream) {
+		Objects.requireNonNull(toSignDocument, "toSignDocument cannot be null!");
+		Objects.requireNonNull(parameters, "SignatureParameters cannot be null!");
+		Objects.requireNonNull(signatureValue, "SignatureValue cannot be null!");
+		Objects.requireNonNull(outputStream, "OutputStream cannot be null!");
+
+		assertSigningCertificateValid(parameters);
+		if (!SignaturePackaging.ENVELOPING.equals(parameters.getSignaturePackaging())) {
+			throw new IllegalArgumentException("Only ENVELOPING packaging is supported by the streaming signature creation!");
+		}
+		if (!SignatureLevel.CAdES_BASELINE_B.equals(parameters.getSignatureLevel())) {
+			throw new UnsupportedOperationException("Only CAdES-BASELINE-B level is supported by the streaming signature creation! " +
+					"Use extendDocument(...) method to augment the created signature.");
+		}
+		if (toSignDocument instanceof DigestDocument) {
+			throw new IllegalArgumentException("DigestDocument cannot be used for an ENVELOPING signature creation!");
+		}
+
+		final SignatureAlgorithm signatureAlgorithm = parameters.getSignatureAlgorithm();
+		signatureValue = ensureSignatureValue(signatureAlgorithm, signatureValue);
+
+		final CustomContentSigner customContentSigner = new CustomContentSigner(signatureAlgorithm.getJCEId(), signatureValue.getValue());
+		final DigestCalculatorProvider dcp = CMSUtils.getDigestCalculatorProvider(toSignDocument, parameters.getReferenceDigestAlgorithm());
+
+		final CMSSignedDataBuilder cmsSignedDataBuilder = new CMSSignedDataBuilder(certificateVerifier);
+		final SignerInfoGeneratorBuilder signerInfoGeneratorBuilder = cmsSignedDataBuilder.
+				getSignerInfoGeneratorBuilder(dcp, parameters, true, toSignDocument);
+		final CMSSignedDataStreamGenerator cmsSignedDataStreamGenerator = cmsSignedDataBuilder.createCMSSignedDataStreamGenerator(
+				parameters, customContentSigner, signerInfoGeneratorBuilder);
+
+		try (OutputStream signedContentStream = cmsSignedDataStreamGenerator.open(outputStream, true);
+			 InputStream is = toSignDocument.openStream()) {
+			Utils.copy(is, signedContentStream);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to create a CAdES signature. Reason : %s", e.getMessage()), e);
+		}
+		parameters.reinit();
+	}
+
 	@Override
 	public DSSDocument extendDocument(final DSSDocument toExtendDocument, final CAdESSignatureParameters parameters) {
 		Objects.requireNonNull(toExtendDocument, "toExtendDocument is not defined!");
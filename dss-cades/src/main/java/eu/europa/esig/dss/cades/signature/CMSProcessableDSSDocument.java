@@ -0,0 +1,87 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.utils.Utils;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.CMSTypedData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * The {@code CMSTypedData} streaming the content of a {@code DSSDocument},
+ * allowing to sign a document without loading its binaries into memory
+ *
+ */
+public class CMSProcessableDSSDocument implements CMSTypedData {
+
+	/** The document to be processed */
+	private final DSSDocument document;
+
+	/** The content type */
+	private final ASN1ObjectIdentifier contentType;
+
+	/**
+	 * Constructor with the default 'id-data' content type
+	 *
+	 * @param document {@link DSSDocument} to be processed
+	 */
+	public CMSProcessableDSSDocument(final DSSDocument document) {
+		this(document, CMSObjectIdentifiers.data);
+	}
+
+	/**
+	 * The default constructor
+	 *
+	 * @param document {@link DSSDocument} to be processed
+	 * @param contentType {@link ASN1ObjectIdentifier} the content type
+	 */
+	public CMSProcessableDSSDocument(final DSSDocument document, final ASN1ObjectIdentifier contentType) {
+		Objects.requireNonNull(document, "Document must be defined!");
+		Objects.requireNonNull(contentType, "ContentType must be defined!");
+		this.document = document;
+		this.contentType = contentType;
+	}
+
+	@Override
+	public ASN1ObjectIdentifier getContentType() {
+		return contentType;
+	}
+
+	@Override
+	public void write(OutputStream out) throws IOException, CMSException {
+		try (InputStream is = document.openStream()) {
+			Utils.copy(is, out);
+		}
+	}
+
+	@Override
+	public Object getContent() {
+		return document;
+	}
+
+}
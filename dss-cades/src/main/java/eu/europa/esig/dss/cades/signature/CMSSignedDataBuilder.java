@@ -43,6 +43,7 @@ import org.bouncycastle.cert.jcajce.JcaCertStore;
 import org.bouncycastle.cms.CMSException;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.CMSSignedDataStreamGenerator;
 import org.bouncycastle.cms.DefaultSignedAttributeTableGenerator;
 import org.bouncycastle.cms.SignerId;
 import org.bouncycastle.cms.SignerInfoGenerator;
@@ -145,6 +146,34 @@ public class CMSSignedDataBuilder {
 		}
 	}
 
+	/**
+	 * Creates a streaming CMSSignedData generator, writing the signature directly to an {@code OutputStream}.
+	 * Unlike {@code createCMSSignedDataGenerator}, the generator does not support an original signed data
+	 * (parallel signatures).
+	 *
+	 * @param parameters
+	 *            set of the driving signing parameters
+	 * @param contentSigner
+	 *            the contentSigner to get the hash of the data to be signed
+	 * @param signerInfoGeneratorBuilder
+	 *            the builder for the signer info generator
+	 * @return the bouncycastle streaming signed data generator
+	 */
+	protected CMSSignedDataStreamGenerator createCMSSignedDataStreamGenerator(final CAdESSignatureParameters parameters,
+			final ContentSigner contentSigner, final SignerInfoGeneratorBuilder signerInfoGeneratorBuilder) {
+		try {
+			final CMSSignedDataStreamGenerator generator = new CMSSignedDataStreamGenerator();
+			final SignerInfoGenerator signerInfoGenerator = getSignerInfoGenerator(signerInfoGeneratorBuilder, contentSigner, parameters);
+			generator.addSignerInfoGenerator(signerInfoGenerator);
+
+			final JcaCertStore jcaCertStore = getJcaCertStore(new LinkedList<>(), parameters);
+			generator.addCertificates(jcaCertStore);
+			return generator;
+		} catch (CMSException | OperatorCreationException e) {
+			throw new DSSException(String.format("Unable to create a CMSSignedDataStreamGenerator. Reason : %s", e.getMessage()), e);
+		}
+	}
+
 	/**
 	 * This method creates a builder of SignerInfoGenerator
 	 *
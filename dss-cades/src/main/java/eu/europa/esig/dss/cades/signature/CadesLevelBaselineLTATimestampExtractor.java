@@ -22,6 +22,7 @@ package eu.europa.esig.dss.cades.signature;
 
 import eu.europa.esig.dss.cades.CMSUtils;
 import eu.europa.esig.dss.cades.validation.CAdESSignature;
+import eu.europa.esig.dss.cades.validation.timestamp.CAdESAtsHashIndexDigestCache;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSMessageDigest;
@@ -60,6 +61,7 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 import static eu.europa.esig.dss.spi.OID.id_aa_ATSHashIndexV2;
@@ -95,6 +97,12 @@ public class CadesLevelBaselineLTATimestampExtractor {
 	private final CMSSignedData cmsSignedData;
 	private final Collection<CertificateToken> certificates;
 
+	/** Caches the digests of the elements incorporated into ats-hash-index */
+	private final CAdESAtsHashIndexDigestCache digestCache;
+
+	/** The entries of SignedData.crls (lazily extracted) */
+	private List<ASN1Encodable> signedDataCRLs;
+
 	/**
 	 * This is the default constructor for the {@code CadesLevelBaselineLTATimestampExtractor}.
 	 *
@@ -102,7 +110,8 @@ public class CadesLevelBaselineLTATimestampExtractor {
 	 *            {@code CAdESSignature} related to the archive timestamp
 	 */
 	public CadesLevelBaselineLTATimestampExtractor(final CAdESSignature cadesSignature) {
-		this(cadesSignature.getCmsSignedData(), cadesSignature.getCompleteCertificateSource().getAllCertificateTokens());
+		this(cadesSignature.getCmsSignedData(), cadesSignature.getCompleteCertificateSource().getAllCertificateTokens(),
+				cadesSignature.getAtsHashIndexDigestCache());
 		/* these attribute are validated elsewhere */
 		excludedAttributesFromAtsHashIndex.add(id_aa_ets_certValues);
 		excludedAttributesFromAtsHashIndex.add(id_aa_ets_revocationValues);
@@ -116,8 +125,24 @@ public class CadesLevelBaselineLTATimestampExtractor {
 	 */
 	public CadesLevelBaselineLTATimestampExtractor(final CMSSignedData cmsSignedData,
 												   final Collection<CertificateToken> certificates) {
+		this(cmsSignedData, certificates, new CAdESAtsHashIndexDigestCache());
+	}
+
+	/**
+	 * Constructor with a custom collection of certificates and a digest cache, allowing to re-use
+	 * the computed ats-hash-index digests between different archive timestamps of the same signature
+	 *
+	 * @param cmsSignedData {@link CMSSignedData}
+	 * @param certificates a collection of {@link CertificateToken}s
+	 * @param digestCache {@link CAdESAtsHashIndexDigestCache}
+	 */
+	public CadesLevelBaselineLTATimestampExtractor(final CMSSignedData cmsSignedData,
+												   final Collection<CertificateToken> certificates,
+												   final CAdESAtsHashIndexDigestCache digestCache) {
+		Objects.requireNonNull(digestCache, "CAdESAtsHashIndexDigestCache cannot be null!");
 		this.cmsSignedData = cmsSignedData;
 		this.certificates = certificates;
+		this.digestCache = digestCache;
 	}
 
 	/**
@@ -266,28 +291,40 @@ public class CadesLevelBaselineLTATimestampExtractor {
 	 *
 	 * @return {@link ASN1Sequence}
 	 */
-	@SuppressWarnings("unchecked")
 	private ASN1Sequence getCRLsHashIndex() {
 
 		final ASN1EncodableVector crlsHashIndex = new ASN1EncodableVector();
+		for (final ASN1Encodable asn1Encodable : getSignedDataCRLs()) {
+			digestAndAddToList(crlsHashIndex, asn1Encodable);
+		}
+		return new DERSequence(crlsHashIndex);
+	}
 
-		final SignedData signedData = SignedData.getInstance(cmsSignedData.toASN1Structure().getContent());
-		final ASN1Set signedDataCRLs = signedData.getCRLs();
-		if (signedDataCRLs != null) {
-			final Enumeration<ASN1Encodable> crLs = signedDataCRLs.getObjects();
-			if (crLs != null) {
-				while (crLs.hasMoreElements()) {
-					final ASN1Encodable asn1Encodable = crLs.nextElement();
-					digestAndAddToList(crlsHashIndex, DSSASN1Utils.getDEREncoded(asn1Encodable));
+	/**
+	 * Returns the entries of SignedData.crls, extracted once per instance
+	 *
+	 * @return a list of {@link ASN1Encodable}s
+	 */
+	@SuppressWarnings("unchecked")
+	private List<ASN1Encodable> getSignedDataCRLs() {
+		if (signedDataCRLs == null) {
+			signedDataCRLs = new ArrayList<>();
+			final SignedData signedData = SignedData.getInstance(cmsSignedData.toASN1Structure().getContent());
+			final ASN1Set crlSet = signedData.getCRLs();
+			if (crlSet != null) {
+				final Enumeration<ASN1Encodable> crLs = crlSet.getObjects();
+				if (crLs != null) {
+					while (crLs.hasMoreElements()) {
+						signedDataCRLs.add(crLs.nextElement());
+					}
 				}
 			}
 		}
-
-		return new DERSequence(crlsHashIndex);
+		return signedDataCRLs;
 	}
 
-	private void digestAndAddToList(ASN1EncodableVector crlsHashIndex, byte[] encoded) {
-		final byte[] digest = DSSUtils.digest(hashIndexDigestAlgorithm, encoded);
+	private void digestAndAddToList(ASN1EncodableVector crlsHashIndex, ASN1Encodable revocation) {
+		final byte[] digest = digestCache.getRevocationDigest(revocation, hashIndexDigestAlgorithm);
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Adding to crlsHashIndex with hash {}", Utils.toHex(digest));
 		}
@@ -305,22 +342,13 @@ public class CadesLevelBaselineLTATimestampExtractor {
 	 *
 	 * @return {@link ASN1Sequence}
 	 */
-	@SuppressWarnings("unchecked")
 	private ASN1Sequence getVerifiedCRLsHashIndex(final ASN1Sequence timestampHashIndex) {
 
 		final ASN1Sequence crlHashes = DSSASN1Utils.getCRLHashIndex(timestampHashIndex);
 		final List<DEROctetString> crlHashesList = DSSASN1Utils.getDEROctetStrings(crlHashes);
 
-		final SignedData signedData = SignedData.getInstance(cmsSignedData.toASN1Structure().getContent());
-		final ASN1Set signedDataCRLs = signedData.getCRLs();
-		if (signedDataCRLs != null) {
-			final Enumeration<ASN1Encodable> crLs = signedDataCRLs.getObjects();
-			if (crLs != null) {
-				while (crLs.hasMoreElements()) {
-					final ASN1Encodable asn1Encodable = crLs.nextElement();
-					handleRevocationEncoded(crlHashesList, DSSASN1Utils.getDEREncoded(asn1Encodable));
-				}
-			}
+		for (final ASN1Encodable asn1Encodable : getSignedDataCRLs()) {
+			handleRevocationEncoded(crlHashesList, asn1Encodable);
 		}
 
 		if (!crlHashesList.isEmpty()) {
@@ -332,9 +360,9 @@ public class CadesLevelBaselineLTATimestampExtractor {
 		return crlHashes;
 	}
 
-	private void handleRevocationEncoded(List<DEROctetString> crlHashesList, byte[] revocationEncoded) {
+	private void handleRevocationEncoded(List<DEROctetString> crlHashesList, ASN1Encodable revocation) {
 
-		final byte[] digest = DSSUtils.digest(hashIndexDigestAlgorithm, revocationEncoded);
+		final byte[] digest = digestCache.getRevocationDigest(revocation, hashIndexDigestAlgorithm);
 		final DEROctetString derOctetStringDigest = new DEROctetString(digest);
 		if (crlHashesList.remove(derOctetStringDigest)) {
 			// attribute present in signature and in timestamp
@@ -433,11 +461,10 @@ public class CadesLevelBaselineLTATimestampExtractor {
 	}
 
 	private List<DEROctetString> getAttributeDerOctetStringHashes(Attribute attribute, ASN1ObjectIdentifier atsHashIndexVersionIdentifier) {
-		List<byte[]> octets = DSSASN1Utils.getOctetStringForAtsHashIndex(attribute, atsHashIndexVersionIdentifier);
-		if (Utils.isCollectionNotEmpty(octets)) {
+		List<byte[]> digests = digestCache.getUnsignedAttributeDigests(attribute, hashIndexDigestAlgorithm, atsHashIndexVersionIdentifier);
+		if (Utils.isCollectionNotEmpty(digests)) {
 			List<DEROctetString> derOctetStrings = new ArrayList<>();
-			for (byte[] bytes : octets) {
-				final byte[] digest = DSSUtils.digest(hashIndexDigestAlgorithm, bytes);
+			for (byte[] digest : digests) {
 				derOctetStrings.add(new DEROctetString(digest));
 				if (LOG.isTraceEnabled()) {
 					LOG.trace("Digest string [{}] has been added to the hash table", Utils.toHex(digest));
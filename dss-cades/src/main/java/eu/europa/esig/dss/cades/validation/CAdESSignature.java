@@ -24,6 +24,7 @@ import eu.europa.esig.dss.cades.CMSUtils;
 import eu.europa.esig.dss.cades.SignedAssertion;
 import eu.europa.esig.dss.cades.SignedAssertions;
 import eu.europa.esig.dss.cades.SignerAttributeV2;
+import eu.europa.esig.dss.cades.validation.timestamp.CAdESAtsHashIndexDigestCache;
 import eu.europa.esig.dss.cades.validation.timestamp.CAdESTimestampSource;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.DigestMatcherType;
@@ -139,6 +140,9 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 	 */
 	private SignerInformationStore counterSignaturesStore;
 
+	/** Caches the digests of the elements incorporated into ats-hash-index (lazily created) */
+	private transient CAdESAtsHashIndexDigestCache atsHashIndexDigestCache;
+
 	/**
 	 * The default constructor for CAdESSignature.
 	 *
@@ -196,6 +200,19 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 		}
 		return (CAdESTimestampSource) signatureTimestampSource;
 	}
+
+	/**
+	 * Returns the cache of digests computed for ats-hash-index elements of the signature,
+	 * shared between the archive timestamps validation and the signature extension
+	 *
+	 * @return {@link CAdESAtsHashIndexDigestCache}
+	 */
+	public CAdESAtsHashIndexDigestCache getAtsHashIndexDigestCache() {
+		if (atsHashIndexDigestCache == null) {
+			atsHashIndexDigestCache = new CAdESAtsHashIndexDigestCache();
+		}
+		return atsHashIndexDigestCache;
+	}
 	
 	/**
 	 * Returns {@code SignerId} of the related to the signature {@code signerInformation}
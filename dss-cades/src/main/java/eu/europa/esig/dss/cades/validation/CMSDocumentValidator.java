@@ -20,10 +20,12 @@
  */
 package eu.europa.esig.dss.cades.validation;
 
+import eu.europa.esig.dss.cades.CMSUtils;
 import eu.europa.esig.dss.cades.validation.scope.CAdESSignatureScopeFinder;
 import eu.europa.esig.dss.exception.IllegalInputException;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.signature.resources.DSSResourcesHandlerBuilder;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.validation.AdvancedSignature;
@@ -51,6 +53,11 @@ public class CMSDocumentValidator extends SignedDocumentValidator {
 	/** The CMSSignedData to be validated */
 	protected CMSSignedData cmsSignedData;
 
+	/**
+	 * Used to extract the encapsulated content of an enveloping signature in a streaming way (optional)
+	 */
+	private DSSResourcesHandlerBuilder resourcesHandlerBuilder;
+
 	/**
 	 * The empty constructor, instantiate {@link CAdESSignatureScopeFinder}
 	 */
@@ -150,6 +157,21 @@ public class CMSDocumentValidator extends SignedDocumentValidator {
 		return cmsSignedData;
 	}
 
+	/**
+	 * Sets the builder of the resources handler used to extract the encapsulated content of an enveloping
+	 * signature, when the original document is requested. When defined, the content is streamed from the
+	 * validated document using a {@code CMSSignedDataParser} and written with the created resources handler
+	 * (e.g. {@code TempFileResourcesHandlerBuilder} spools the content to a temporary file), instead of being
+	 * copied from the parsed {@code CMSSignedData} into memory.
+	 *
+	 * Default : null (the encapsulated content is copied from the {@code CMSSignedData})
+	 *
+	 * @param resourcesHandlerBuilder {@link DSSResourcesHandlerBuilder}
+	 */
+	public void setResourcesHandlerBuilder(DSSResourcesHandlerBuilder resourcesHandlerBuilder) {
+		this.resourcesHandlerBuilder = resourcesHandlerBuilder;
+	}
+
 	@Override
 	protected CAdESDiagnosticDataBuilder initializeDiagnosticDataBuilder() {
 		return new CAdESDiagnosticDataBuilder();
@@ -159,6 +181,9 @@ public class CMSDocumentValidator extends SignedDocumentValidator {
 	public List<DSSDocument> getOriginalDocuments(final AdvancedSignature advancedSignature) {
 		final CAdESSignature cadesSignature = (CAdESSignature) advancedSignature;
 		try {
+			if (resourcesHandlerBuilder != null && document != null && !cmsSignedData.isDetachedSignature()) {
+				return Collections.singletonList(CMSUtils.extractEncapsulatedContent(document, resourcesHandlerBuilder));
+			}
 			return Arrays.asList(cadesSignature.getOriginalDocument());
 		} catch (DSSException e) {
 			LOG.error("Cannot retrieve a list of original documents");
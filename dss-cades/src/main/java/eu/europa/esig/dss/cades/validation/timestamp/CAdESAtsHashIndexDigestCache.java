@@ -0,0 +1,140 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.validation.timestamp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cms.Attribute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches the digests of the elements incorporated into an ats-hash-index (unsigned attributes and
+ * SignedData.crls entries), in order to avoid repeated DER-encoding and hashing of the same elements
+ * on validation of several archive-time-stamp-v3 of the same signature and on the signature extension.
+ *
+ * The digests are cached by the element instance (identity), the digest algorithm and
+ * the ats-hash-index version (for unsigned attributes).
+ * NOTE: the certificate digests are not cached here, as they are already cached within {@code CertificateToken}.
+ */
+public class CAdESAtsHashIndexDigestCache {
+
+	/** The map between cache keys and the computed digests */
+	private final Map<CacheKey, List<byte[]>> digests = new HashMap<>();
+
+	/**
+	 * Returns the digests of the {@code attribute} to be incorporated into unsignedAttrsHashIndex,
+	 * computed on the first request
+	 *
+	 * @param attribute {@link Attribute} unsigned attribute
+	 * @param digestAlgorithm {@link DigestAlgorithm} hashIndAlgorithm
+	 * @param atsHashIndexVersionIdentifier {@link ASN1ObjectIdentifier} ats-hash-index version
+	 * @return a list of digests
+	 */
+	public List<byte[]> getUnsignedAttributeDigests(Attribute attribute, DigestAlgorithm digestAlgorithm,
+													ASN1ObjectIdentifier atsHashIndexVersionIdentifier) {
+		Objects.requireNonNull(attribute, "Attribute cannot be null!");
+		Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+		/*
+		 * NOTE: Attribute instances are re-created by BouncyCastle on each AttributeTable request,
+		 * while the attribute values set remains the same object.
+		 */
+		return digests.computeIfAbsent(new CacheKey(attribute.getAttrValues(), digestAlgorithm, atsHashIndexVersionIdentifier),
+				k -> digest(digestAlgorithm, DSSASN1Utils.getOctetStringForAtsHashIndex(attribute, atsHashIndexVersionIdentifier)));
+	}
+
+	/**
+	 * Returns the digest of the DER-encoded {@code revocation} (RevocationInfoChoice) to be incorporated
+	 * into crlsHashIndex, computed on the first request
+	 *
+	 * @param revocation {@link ASN1Encodable} an entry of SignedData.crls
+	 * @param digestAlgorithm {@link DigestAlgorithm} hashIndAlgorithm
+	 * @return digest
+	 */
+	public byte[] getRevocationDigest(ASN1Encodable revocation, DigestAlgorithm digestAlgorithm) {
+		Objects.requireNonNull(revocation, "Revocation cannot be null!");
+		Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+		return digests.computeIfAbsent(new CacheKey(revocation, digestAlgorithm, null),
+				k -> Collections.singletonList(DSSUtils.digest(digestAlgorithm, DSSASN1Utils.getDEREncoded(revocation)))).get(0);
+	}
+
+	private List<byte[]> digest(DigestAlgorithm digestAlgorithm, List<byte[]> octets) {
+		final List<byte[]> result = new ArrayList<>();
+		for (byte[] bytes : octets) {
+			result.add(DSSUtils.digest(digestAlgorithm, bytes));
+		}
+		return result;
+	}
+
+	/**
+	 * Identifies a digest computation result by the element instance, the digest algorithm and
+	 * the ats-hash-index version
+	 */
+	private static final class CacheKey {
+
+		/** The digested element */
+		private final ASN1Encodable element;
+
+		/** The used digest algorithm */
+		private final DigestAlgorithm digestAlgorithm;
+
+		/** The ats-hash-index version (null for revocation data) */
+		private final ASN1ObjectIdentifier atsHashIndexVersionIdentifier;
+
+		private CacheKey(ASN1Encodable element, DigestAlgorithm digestAlgorithm,
+						 ASN1ObjectIdentifier atsHashIndexVersionIdentifier) {
+			this.element = element;
+			this.digestAlgorithm = digestAlgorithm;
+			this.atsHashIndexVersionIdentifier = atsHashIndexVersionIdentifier;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey cacheKey = (CacheKey) o;
+			return element == cacheKey.element && digestAlgorithm == cacheKey.digestAlgorithm
+					&& Objects.equals(atsHashIndexVersionIdentifier, cacheKey.atsHashIndexVersionIdentifier);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(element);
+			result = 31 * result + digestAlgorithm.hashCode();
+			result = 31 * result + Objects.hashCode(atsHashIndexVersionIdentifier);
+			return result;
+		}
+
+	}
+
+}
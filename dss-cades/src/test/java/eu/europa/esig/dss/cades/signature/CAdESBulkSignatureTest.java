@@ -0,0 +1,166 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import eu.europa.esig.dss.cades.CAdESSignatureParameters;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.signature.BulkSignaturePipeline;
+import eu.europa.esig.dss.signature.BulkSignatureResult;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CAdESBulkSignatureTest extends PKIFactoryAccess {
+
+	@Test
+	public void bLevelTest() {
+		CAdESService service = new CAdESService(getOfflineCertificateVerifier());
+
+		BulkSignaturePipeline<CAdESSignatureParameters, CAdESTimestampParameters> pipeline = new BulkSignaturePipeline<>(
+				service, getToken(), getPrivateKeyEntry(), document -> getSignatureParameters(SignatureLevel.CAdES_BASELINE_B));
+		pipeline.setBatchSize(3);
+
+		List<DSSDocument> documents = getDocuments(10);
+		List<BulkSignatureResult> results = pipeline.sign(documents);
+		assertEquals(documents.size(), results.size());
+
+		for (BulkSignatureResult result : results) {
+			assertTrue(result.isSuccess());
+			assertNull(result.getException());
+			assertNotNull(result.getSignedDocument());
+			verify(result.getSignedDocument(), SignatureLevel.CAdES_BASELINE_B);
+		}
+	}
+
+	@Test
+	public void tLevelTest() {
+		CAdESService service = new CAdESService(getOfflineCertificateVerifier());
+		service.setTspSource(getGoodTsa());
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			BulkSignaturePipeline<CAdESSignatureParameters, CAdESTimestampParameters> pipeline = new BulkSignaturePipeline<>(
+					service, getToken(), getPrivateKeyEntry(), document -> getSignatureParameters(SignatureLevel.CAdES_BASELINE_T));
+			pipeline.setExecutorService(executorService);
+
+			AtomicInteger counter = new AtomicInteger();
+			pipeline.sign(getDocuments(5).stream(), result -> {
+				assertTrue(result.isSuccess());
+				verify(result.getSignedDocument(), SignatureLevel.CAdES_BASELINE_T);
+				counter.incrementAndGet();
+			});
+			assertEquals(5, counter.get());
+			assertFalse(executorService.isShutdown());
+
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void failureTest() {
+		CAdESService service = new CAdESService(getOfflineCertificateVerifier());
+
+		BulkSignaturePipeline<CAdESSignatureParameters, CAdESTimestampParameters> pipeline = new BulkSignaturePipeline<>(
+				service, getToken(), getPrivateKeyEntry(), document -> {
+					if (document.getName().equals("doc-1.txt")) {
+						// missing signing certificate
+						return new CAdESSignatureParameters();
+					}
+					return getSignatureParameters(SignatureLevel.CAdES_BASELINE_B);
+				});
+
+		List<BulkSignatureResult> results = pipeline.sign(getDocuments(3));
+		assertEquals(3, results.size());
+
+		int failed = 0;
+		for (BulkSignatureResult result : results) {
+			if (!result.isSuccess()) {
+				assertEquals("doc-1.txt", result.getToSignDocument().getName());
+				assertNull(result.getSignedDocument());
+				assertNotNull(result.getException());
+				++failed;
+			}
+		}
+		assertEquals(1, failed);
+
+		assertThrows(IllegalArgumentException.class, () -> pipeline.setBatchSize(0));
+		assertThrows(NullPointerException.class, () -> new BulkSignaturePipeline<>(
+				service, null, getPrivateKeyEntry(), document -> new CAdESSignatureParameters()));
+	}
+
+	private CAdESSignatureParameters getSignatureParameters(SignatureLevel signatureLevel) {
+		CAdESSignatureParameters signatureParameters = new CAdESSignatureParameters();
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		signatureParameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		return signatureParameters;
+	}
+
+	private List<DSSDocument> getDocuments(int number) {
+		List<DSSDocument> documents = new ArrayList<>();
+		IntStream.range(0, number).forEach(i ->
+				documents.add(new InMemoryDocument(("Hello World " + i).getBytes(), "doc-" + i + ".txt")));
+		return documents;
+	}
+
+	private void verify(DSSDocument signedDocument, SignatureLevel signatureLevel) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		Reports reports = validator.validateDocument();
+
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		assertEquals(1, diagnosticData.getSignatures().size());
+		SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+		assertTrue(signature.isSignatureIntact());
+		assertTrue(signature.isSignatureValid());
+		assertEquals(signatureLevel, signature.getSignatureFormat());
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
@@ -0,0 +1,113 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import eu.europa.esig.dss.cades.CAdESSignatureParameters;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CAdESStreamingSignatureTest extends PKIFactoryAccess {
+
+	@Test
+	public void test() {
+		byte[] content = new byte[1024 * 1024];
+		Arrays.fill(content, (byte) 'a');
+		DSSDocument documentToSign = new InMemoryDocument(content, "large.txt");
+
+		CAdESSignatureParameters signatureParameters = getSignatureParameters(SignatureLevel.CAdES_BASELINE_B);
+		CAdESService service = new CAdESService(getOfflineCertificateVerifier());
+
+		ToBeSigned dataToSign = service.getDataToSign(documentToSign, signatureParameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		service.signDocument(documentToSign, signatureParameters, signatureValue, baos);
+		DSSDocument signedDocument = new InMemoryDocument(baos.toByteArray());
+
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		Reports reports = validator.validateDocument();
+
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		assertEquals(1, diagnosticData.getSignatures().size());
+		SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+		assertTrue(signature.isSignatureIntact());
+		assertTrue(signature.isSignatureValid());
+		assertEquals(SignatureLevel.CAdES_BASELINE_B, signature.getSignatureFormat());
+
+		List<DSSDocument> originalDocuments = validator.getOriginalDocuments(signature.getId());
+		assertEquals(1, originalDocuments.size());
+		assertArrayEquals(content, DSSUtils.toByteArray(originalDocuments.get(0)));
+	}
+
+	@Test
+	public void unsupportedParametersTest() {
+		DSSDocument documentToSign = new InMemoryDocument("Hello World".getBytes());
+		CAdESService service = new CAdESService(getOfflineCertificateVerifier());
+		SignatureValue signatureValue = new SignatureValue();
+
+		CAdESSignatureParameters detachedParameters = getSignatureParameters(SignatureLevel.CAdES_BASELINE_B);
+		detachedParameters.setSignaturePackaging(SignaturePackaging.DETACHED);
+		assertThrows(IllegalArgumentException.class, () ->
+				service.signDocument(documentToSign, detachedParameters, signatureValue, new ByteArrayOutputStream()));
+
+		CAdESSignatureParameters tLevelParameters = getSignatureParameters(SignatureLevel.CAdES_BASELINE_T);
+		assertThrows(UnsupportedOperationException.class, () ->
+				service.signDocument(documentToSign, tLevelParameters, signatureValue, new ByteArrayOutputStream()));
+	}
+
+	private CAdESSignatureParameters getSignatureParameters(SignatureLevel signatureLevel) {
+		CAdESSignatureParameters signatureParameters = new CAdESSignatureParameters();
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		signatureParameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		return signatureParameters;
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
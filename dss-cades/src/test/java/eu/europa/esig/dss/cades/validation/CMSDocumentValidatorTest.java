@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.cades.validation;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.FileInputStream;
@@ -35,9 +37,12 @@ import org.junit.jupiter.api.Test;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.signature.resources.TempFileResourcesHandlerBuilder;
+import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.test.validation.AbstractTestValidator;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
 
 public class CMSDocumentValidatorTest extends AbstractTestValidator {
@@ -66,6 +71,27 @@ public class CMSDocumentValidatorTest extends AbstractTestValidator {
 		assertTrue(Utils.isCollectionNotEmpty(signatures));
 	}
 
+	@Test
+	public void testOriginalDocumentWithResourcesHandlerBuilder() {
+		DSSDocument document = new FileDocument(PATH);
+		CMSDocumentValidator validator = new CMSDocumentValidator(document);
+		validator.setCertificateVerifier(new CommonCertificateVerifier());
+		AdvancedSignature signature = validator.getSignatures().get(0);
+		byte[] expectedContent = DSSUtils.toByteArray(validator.getOriginalDocuments(signature).get(0));
+
+		TempFileResourcesHandlerBuilder tempFileResourcesHandlerBuilder = new TempFileResourcesHandlerBuilder();
+		try {
+			validator.setResourcesHandlerBuilder(tempFileResourcesHandlerBuilder);
+			List<DSSDocument> originalDocuments = validator.getOriginalDocuments(signature);
+			assertEquals(1, originalDocuments.size());
+			// the encapsulated content is spooled to a temporary file
+			assertTrue(originalDocuments.get(0) instanceof FileDocument);
+			assertArrayEquals(expectedContent, DSSUtils.toByteArray(originalDocuments.get(0)));
+		} finally {
+			tempFileResourcesHandlerBuilder.clear();
+		}
+	}
+
 	@Override
 	protected SignedDocumentValidator initEmptyValidator() {
 		return new CMSDocumentValidator();
@@ -0,0 +1,100 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.validation.timestamp;
+
+import eu.europa.esig.dss.cades.CMSUtils;
+import eu.europa.esig.dss.cades.signature.CadesLevelBaselineLTATimestampExtractor;
+import eu.europa.esig.dss.cades.validation.CAdESSignature;
+import eu.europa.esig.dss.cades.validation.CMSDocumentValidator;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.timestamp.TimestampToken;
+import org.bouncycastle.asn1.cms.Attribute;
+import org.bouncycastle.asn1.cms.AttributeTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static eu.europa.esig.dss.spi.OID.id_aa_ATSHashIndexV3;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CAdESAtsHashIndexDigestCacheTest {
+
+	@Test
+	public void unsignedAttributeDigestsTest() {
+		CAdESSignature signature = getSignature();
+		CAdESAtsHashIndexDigestCache cache = new CAdESAtsHashIndexDigestCache();
+
+		Attribute attribute = (Attribute) CMSUtils.getUnsignedAttributes(signature.getSignerInformation())
+				.toASN1EncodableVector().get(0);
+		List<byte[]> digests = cache.getUnsignedAttributeDigests(attribute, DigestAlgorithm.SHA256, id_aa_ATSHashIndexV3);
+
+		List<byte[]> octets = DSSASN1Utils.getOctetStringForAtsHashIndex(attribute, id_aa_ATSHashIndexV3);
+		assertEquals(octets.size(), digests.size());
+		for (int i = 0; i < octets.size(); i++) {
+			assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, octets.get(i)), digests.get(i));
+		}
+
+		// a new attribute table is created on each call, the cached value shall be returned
+		Attribute sameAttribute = (Attribute) CMSUtils.getUnsignedAttributes(signature.getSignerInformation())
+				.toASN1EncodableVector().get(0);
+		assertSame(digests, cache.getUnsignedAttributeDigests(sameAttribute, DigestAlgorithm.SHA256, id_aa_ATSHashIndexV3));
+
+		assertNotSame(digests, cache.getUnsignedAttributeDigests(sameAttribute, DigestAlgorithm.SHA512, id_aa_ATSHashIndexV3));
+	}
+
+	@Test
+	public void archiveTimestampsValidationTest() {
+		CAdESSignature signature = getSignature();
+
+		List<TimestampToken> archiveTimestamps = signature.getArchiveTimestamps();
+		assertEquals(2, archiveTimestamps.size());
+		for (TimestampToken timestampToken : archiveTimestamps) {
+			assertTrue(timestampToken.isMessageImprintDataFound());
+			assertTrue(timestampToken.isMessageImprintDataIntact());
+		}
+
+		// ats-hash-index built with the populated cache shall be equal to the one computed from scratch
+		AttributeTable unsignedAttributes = CMSUtils.getUnsignedAttributes(signature.getSignerInformation());
+		Attribute cachedAtsHashIndex = new CadesLevelBaselineLTATimestampExtractor(signature)
+				.getAtsHashIndex(signature.getSignerInformation(), DigestAlgorithm.SHA256, id_aa_ATSHashIndexV3);
+		Attribute atsHashIndex = new CadesLevelBaselineLTATimestampExtractor(signature.getCmsSignedData(),
+				signature.getCompleteCertificateSource().getAllCertificateTokens(), new CAdESAtsHashIndexDigestCache())
+				.getAtsHashIndex(signature.getSignerInformation(), DigestAlgorithm.SHA256, id_aa_ATSHashIndexV3);
+		assertTrue(unsignedAttributes.size() > 0);
+		assertArrayEquals(DSSASN1Utils.getDEREncoded(atsHashIndex), DSSASN1Utils.getDEREncoded(cachedAtsHashIndex));
+	}
+
+	private CAdESSignature getSignature() {
+		CMSDocumentValidator validator = new CMSDocumentValidator(new FileDocument("src/test/resources/validation/CAdESDoubleLTA.p7m"));
+		List<AdvancedSignature> signatures = validator.getSignatures();
+		assertEquals(1, signatures.size());
+		return (CAdESSignature) signatures.get(0);
+	}
+
+}
@@ -0,0 +1,305 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.diagnostic;
+
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import org.xml.sax.SAXException;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * This class is used to write/read the DiagnosticData report in a compact binary format.
+ * <p>
+ * The binary format is intended for "validate-once, report-many" use cases, where a {@code XmlDiagnosticData}
+ * is stored after the validation and re-evaluated later against another validation policy.
+ * <p>
+ * The format is composed of:
+ * <ul>
+ *     <li>a 4 bytes magic header "DSSD";</li>
+ *     <li>a 1 byte format version;</li>
+ *     <li>the deflate-compressed XML representation of the diagnostic data, as produced by
+ *     {@code DiagnosticDataFacade}.</li>
+ * </ul>
+ * The content is therefore driven by the XSD of the diagnostic data and follows its compatibility rules
+ * between DSS versions. No Java deserialization is involved on reading.
+ */
+public class DiagnosticDataBinaryFacade {
+
+	/** The magic header of the binary diagnostic data format */
+	private static final byte[] MAGIC = new byte[] { 'D', 'S', 'S', 'D' };
+
+	/** The current version of the binary format (deflated XML) */
+	private static final byte VERSION = 1;
+
+	/** The compression level to be used */
+	private int compressionLevel = Deflater.BEST_SPEED;
+
+	/** Defines whether the XML content shall be validated against the XSD on writing and reading */
+	private boolean validate = false;
+
+	/** The maximum number of (decompressed) bytes accepted on reading */
+	private long maxBytes = 256L * 1024 * 1024;
+
+	/**
+	 * Default constructor
+	 */
+	protected DiagnosticDataBinaryFacade() {
+		// empty
+	}
+
+	/**
+	 * Creates a new instance of {@link DiagnosticDataBinaryFacade}
+	 *
+	 * @return {@link DiagnosticDataBinaryFacade}
+	 */
+	public static DiagnosticDataBinaryFacade newFacade() {
+		return new DiagnosticDataBinaryFacade();
+	}
+
+	/**
+	 * Sets the compression level to be used on writing (see {@code java.util.zip.Deflater})
+	 * Default : Deflater.BEST_SPEED (1)
+	 *
+	 * @param compressionLevel the compression level between 0 (no compression) and 9 (best compression)
+	 */
+	public void setCompressionLevel(int compressionLevel) {
+		if ((compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)
+				&& compressionLevel != Deflater.DEFAULT_COMPRESSION) {
+			throw new IllegalArgumentException(String.format("Invalid compression level : %s", compressionLevel));
+		}
+		this.compressionLevel = compressionLevel;
+	}
+
+	/**
+	 * Sets whether the XML content shall be validated against the XSD on writing and reading
+	 * Default : false
+	 *
+	 * @param validate whether the XSD validation shall be performed
+	 */
+	public void setValidate(boolean validate) {
+		this.validate = validate;
+	}
+
+	/**
+	 * Sets the maximum number of decompressed bytes accepted on reading
+	 * Default : 256 MB
+	 *
+	 * @param maxBytes the maximum number of bytes
+	 */
+	public void setMaxBytes(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * This method returns the binary representation of the diagnostic data
+	 *
+	 * @param diagnosticDataJaxb {@link XmlDiagnosticData} to be written
+	 * @return byte array
+	 * @throws JAXBException if an exception occurs while marshalling
+	 * @throws SAXException if an exception occurs while validating against the XSD
+	 * @throws IOException if an I/O error occurs
+	 */
+	public byte[] serialize(XmlDiagnosticData diagnosticDataJaxb) throws JAXBException, SAXException, IOException {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			serialize(diagnosticDataJaxb, baos);
+			return baos.toByteArray();
+		}
+	}
+
+	/**
+	 * This method writes the binary representation of the diagnostic data into the {@code OutputStream}.
+	 * The given {@code OutputStream} is not closed.
+	 *
+	 * @param diagnosticDataJaxb {@link XmlDiagnosticData} to be written
+	 * @param os {@link OutputStream} to write the binary into
+	 * @throws JAXBException if an exception occurs while marshalling
+	 * @throws SAXException if an exception occurs while validating against the XSD
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void serialize(XmlDiagnosticData diagnosticDataJaxb, OutputStream os) throws JAXBException, SAXException, IOException {
+		Objects.requireNonNull(diagnosticDataJaxb, "XmlDiagnosticData is null");
+		Objects.requireNonNull(os, "OutputStream is null");
+
+		os.write(MAGIC);
+		os.write(VERSION);
+
+		Deflater deflater = new Deflater(compressionLevel);
+		try {
+			DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(new NonClosingOutputStream(os), deflater);
+			DiagnosticDataFacade.newFacade().marshall(diagnosticDataJaxb, deflaterOutputStream, validate);
+			deflaterOutputStream.finish();
+			os.flush();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * This method reads the diagnostic data from its binary representation
+	 *
+	 * @param binary byte array
+	 * @return {@link XmlDiagnosticData}
+	 * @throws JAXBException if an exception occurs while unmarshalling
+	 * @throws XMLStreamException if an exception occurs while parsing the XML
+	 * @throws SAXException if an exception occurs while validating against the XSD
+	 * @throws IOException if an I/O error occurs or if the binary is not a valid diagnostic data
+	 */
+	public XmlDiagnosticData deserialize(byte[] binary) throws JAXBException, XMLStreamException, SAXException, IOException {
+		Objects.requireNonNull(binary, "Binary is null");
+		try (InputStream is = new ByteArrayInputStream(binary)) {
+			return deserialize(is);
+		}
+	}
+
+	/**
+	 * This method reads the diagnostic data from the {@code InputStream} containing its binary representation.
+	 * The given {@code InputStream} is not closed.
+	 *
+	 * @param is {@link InputStream} to read
+	 * @return {@link XmlDiagnosticData}
+	 * @throws JAXBException if an exception occurs while unmarshalling
+	 * @throws XMLStreamException if an exception occurs while parsing the XML
+	 * @throws SAXException if an exception occurs while validating against the XSD
+	 * @throws IOException if an I/O error occurs or if the binary is not a valid diagnostic data
+	 */
+	public XmlDiagnosticData deserialize(InputStream is) throws JAXBException, XMLStreamException, SAXException, IOException {
+		Objects.requireNonNull(is, "InputStream is null");
+
+		DataInputStream dis = new DataInputStream(is);
+		byte[] magic = new byte[MAGIC.length];
+		try {
+			dis.readFully(magic);
+		} catch (EOFException e) {
+			throw new StreamCorruptedException("The binary is too short to be a binary diagnostic data!");
+		}
+		if (!Arrays.equals(MAGIC, magic)) {
+			throw new StreamCorruptedException("The binary is not a binary diagnostic data!");
+		}
+		byte version = dis.readByte();
+		if (VERSION != version) {
+			throw new StreamCorruptedException(String.format(
+					"Unsupported version '%s' of the binary diagnostic data!", version));
+		}
+
+		Inflater inflater = new Inflater();
+		try {
+			InputStream xmlInputStream = new LimitedInputStream(new InflaterInputStream(is, inflater), maxBytes);
+			return DiagnosticDataFacade.newFacade().unmarshall(xmlInputStream, validate);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Keeps the wrapped {@code OutputStream} open when closed
+	 */
+	private static class NonClosingOutputStream extends FilterOutputStream {
+
+		/**
+		 * Default constructor
+		 *
+		 * @param out {@link OutputStream} to write into
+		 */
+		NonClosingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+
+	}
+
+	/**
+	 * Limits the amount of bytes to be read from the wrapped {@code InputStream}
+	 */
+	private static class LimitedInputStream extends FilterInputStream {
+
+		/** The remaining amount of bytes allowed to be read */
+		private long remaining;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param in {@link InputStream} to read
+		 * @param maxBytes the maximum amount of bytes to be read
+		 */
+		LimitedInputStream(InputStream in, long maxBytes) {
+			super(in);
+			this.remaining = maxBytes;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				count(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int nRead = super.read(b, off, len);
+			if (nRead > 0) {
+				count(nRead);
+			}
+			return nRead;
+		}
+
+		@Override
+		public void close() {
+			// the wrapped InputStream is closed by the caller
+		}
+
+		private void count(int nRead) throws IOException {
+			remaining -= nRead;
+			if (remaining < 0) {
+				throw new StreamCorruptedException("The binary diagnostic data exceeds the maximum allowed size!");
+			}
+		}
+
+	}
+
+}
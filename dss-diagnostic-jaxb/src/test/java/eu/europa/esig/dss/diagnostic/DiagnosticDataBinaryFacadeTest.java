@@ -0,0 +1,208 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.diagnostic;
+
+import eu.europa.esig.dss.diagnostic.jaxb.XmlCertificate;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlSignature;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DiagnosticDataBinaryFacadeTest {
+
+	private static final File DIAGNOSTIC_DATA_FILE = new File("src/test/resources/diag-data.xml");
+
+	private static XmlDiagnosticData xmlDiagnosticData;
+
+	@BeforeAll
+	public static void init() throws Exception {
+		xmlDiagnosticData = DiagnosticDataFacade.newFacade().unmarshall(DIAGNOSTIC_DATA_FILE);
+		assertNotNull(xmlDiagnosticData);
+	}
+
+	@Test
+	public void roundTripTest() throws Exception {
+		DiagnosticDataBinaryFacade binaryFacade = DiagnosticDataBinaryFacade.newFacade();
+		byte[] binary = binaryFacade.serialize(xmlDiagnosticData);
+		assertNotNull(binary);
+
+		XmlDiagnosticData restored = binaryFacade.deserialize(binary);
+		assertNotNull(restored);
+
+		DiagnosticDataFacade xmlFacade = DiagnosticDataFacade.newFacade();
+		assertEquals(xmlFacade.marshall(xmlDiagnosticData, false), xmlFacade.marshall(restored, false));
+	}
+
+	@Test
+	public void compressionTest() throws Exception {
+		byte[] xml = Files.readAllBytes(DIAGNOSTIC_DATA_FILE.toPath());
+
+		DiagnosticDataBinaryFacade binaryFacade = DiagnosticDataBinaryFacade.newFacade();
+		byte[] binary = binaryFacade.serialize(xmlDiagnosticData);
+		assertTrue(binary.length < xml.length);
+
+		binaryFacade.setCompressionLevel(9);
+		byte[] bestCompression = binaryFacade.serialize(xmlDiagnosticData);
+		assertTrue(bestCompression.length <= binary.length);
+
+		binaryFacade.setCompressionLevel(0);
+		byte[] noCompression = binaryFacade.serialize(xmlDiagnosticData);
+		assertTrue(noCompression.length > binary.length);
+
+		DiagnosticDataFacade xmlFacade = DiagnosticDataFacade.newFacade();
+		String expected = xmlFacade.marshall(xmlDiagnosticData, false);
+		assertEquals(expected, xmlFacade.marshall(binaryFacade.deserialize(bestCompression), false));
+		assertEquals(expected, xmlFacade.marshall(binaryFacade.deserialize(noCompression), false));
+
+		assertThrows(IllegalArgumentException.class, () -> binaryFacade.setCompressionLevel(10));
+	}
+
+	@Test
+	public void idRefTest() throws Exception {
+		DiagnosticDataBinaryFacade binaryFacade = DiagnosticDataBinaryFacade.newFacade();
+		XmlDiagnosticData restored = binaryFacade.deserialize(binaryFacade.serialize(xmlDiagnosticData));
+
+		assertEquals(xmlDiagnosticData.getSignatures().size(), restored.getSignatures().size());
+		assertEquals(xmlDiagnosticData.getUsedCertificates().size(), restored.getUsedCertificates().size());
+
+		// IDREF links must point to the same instances as within the unmarshalled XML
+		for (XmlSignature xmlSignature : restored.getSignatures()) {
+			if (xmlSignature.getSigningCertificate() != null && xmlSignature.getSigningCertificate().getCertificate() != null) {
+				XmlCertificate signingCertificate = xmlSignature.getSigningCertificate().getCertificate();
+				XmlCertificate usedCertificate = getCertificateById(restored, signingCertificate.getId());
+				assertSame(usedCertificate, signingCertificate);
+			}
+		}
+
+		DiagnosticData diagnosticData = new DiagnosticData(xmlDiagnosticData);
+		DiagnosticData restoredDiagnosticData = new DiagnosticData(restored);
+		assertEquals(diagnosticData.getSignatureIdList(), restoredDiagnosticData.getSignatureIdList());
+		assertEquals(diagnosticData.getValidationDate(), restoredDiagnosticData.getValidationDate());
+	}
+
+	@Test
+	public void streamTest() throws Exception {
+		DiagnosticDataBinaryFacade binaryFacade = DiagnosticDataBinaryFacade.newFacade();
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			binaryFacade.serialize(xmlDiagnosticData, baos);
+			byte[] binary = baos.toByteArray();
+			assertArrayEquals(binaryFacade.serialize(xmlDiagnosticData), binary);
+		}
+	}
+
+	@Test
+	public void invalidBinaryTest() {
+		DiagnosticDataBinaryFacade binaryFacade = DiagnosticDataBinaryFacade.newFacade();
+		assertThrows(StreamCorruptedException.class, () -> binaryFacade.deserialize(new byte[] { 'D', 'S' }));
+		assertThrows(StreamCorruptedException.class, () -> binaryFacade.deserialize(Files.readAllBytes(DIAGNOSTIC_DATA_FILE.toPath())));
+		assertThrows(StreamCorruptedException.class, () -> binaryFacade.deserialize(new byte[] { 'D', 'S', 'S', 'D', 2 }));
+		assertThrows(NullPointerException.class, () -> binaryFacade.deserialize((byte[]) null));
+		assertThrows(NullPointerException.class, () -> binaryFacade.serialize(null));
+	}
+
+	@Test
+	public void javaSerializationNotAcceptedTest() throws Exception {
+		// a Java serialized object graph is never deserialized
+		byte[] binary = writeRaw((byte) 1, new ArrayList<>(Arrays.asList(new File("test"))));
+
+		DiagnosticDataBinaryFacade binaryFacade = DiagnosticDataBinaryFacade.newFacade();
+		assertThrows(XMLStreamException.class, () -> binaryFacade.deserialize(binary));
+	}
+
+	@Test
+	public void xmlContentTest() throws Exception {
+		DiagnosticDataBinaryFacade binaryFacade = DiagnosticDataBinaryFacade.newFacade();
+		byte[] binary = binaryFacade.serialize(xmlDiagnosticData);
+
+		// the payload is the XML representation defined by the XSD
+		byte[] xml = inflate(Arrays.copyOfRange(binary, 5, binary.length));
+		XmlDiagnosticData unmarshalled = DiagnosticDataFacade.newFacade().unmarshall(new ByteArrayInputStream(xml), false);
+		DiagnosticDataFacade xmlFacade = DiagnosticDataFacade.newFacade();
+		assertEquals(xmlFacade.marshall(xmlDiagnosticData, false), xmlFacade.marshall(unmarshalled, false));
+	}
+
+	@Test
+	public void limitsTest() throws Exception {
+		DiagnosticDataBinaryFacade binaryFacade = DiagnosticDataBinaryFacade.newFacade();
+		byte[] binary = binaryFacade.serialize(xmlDiagnosticData);
+
+		binaryFacade.setMaxBytes(1000);
+		assertThrows(Exception.class, () -> binaryFacade.deserialize(binary));
+
+		binaryFacade.setMaxBytes(Long.MAX_VALUE);
+		assertNotNull(binaryFacade.deserialize(binary));
+	}
+
+	private XmlCertificate getCertificateById(XmlDiagnosticData diagnosticData, String id) {
+		for (XmlCertificate xmlCertificate : diagnosticData.getUsedCertificates()) {
+			if (id.equals(xmlCertificate.getId())) {
+				return xmlCertificate;
+			}
+		}
+		return null;
+	}
+
+	private byte[] writeRaw(byte version, Object object) throws IOException {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			baos.write(new byte[] { 'D', 'S', 'S', 'D', version });
+			DeflaterOutputStream dos = new DeflaterOutputStream(baos);
+			ObjectOutputStream oos = new ObjectOutputStream(dos);
+			oos.writeObject(object);
+			oos.flush();
+			dos.finish();
+			return baos.toByteArray();
+		}
+	}
+
+	private byte[] inflate(byte[] deflated) throws IOException {
+		try (InputStream is = new InflaterInputStream(new ByteArrayInputStream(deflated));
+			 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			byte[] buffer = new byte[8192];
+			int nRead;
+			while ((nRead = is.read(buffer)) != -1) {
+				baos.write(buffer, 0, nRead);
+			}
+			return baos.toByteArray();
+		}
+	}
+
+}
@@ -0,0 +1,390 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.EncryptionAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.SerializableSignatureParameters;
+import eu.europa.esig.dss.model.SerializableTimestampParameters;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.SignatureTokenConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * This class allows signing of a large number of documents with the same key within a single run.
+ *
+ * The documents are processed by batches of {@code batchSize} documents:
+ * <ol>
+ *     <li>the {@code ToBeSigned} data and its digest are computed in parallel for all documents of the batch;</li>
+ *     <li>the digests are signed sequentially within the same {@code SignatureTokenConnection} session
+ *     (the token is not accessed concurrently);</li>
+ *     <li>the signed documents are created in parallel, including the timestamp requests to the {@code TSPSource}
+ *     of the signature service (for -T levels and higher).</li>
+ * </ol>
+ *
+ * The pipeline works with any {@code DocumentSignatureService} (e.g. XAdES, CAdES or PAdES). The signature parameters
+ * are created for each document by the provided factory, so the signing date and the
+ * computed {@code ToBeSigned} data are consistent between the preparation and the signed document creation.
+ *
+ * The results are returned to the {@code BulkSignatureResultHandler} as soon as each document is signed,
+ * therefore the order of results may differ from the order of the provided documents.
+ *
+ * NOTE: the dependency to dss-token is optional for dss-document. The module providing
+ * the {@code SignatureTokenConnection} implementation (e.g. dss-token) shall be present in the classpath.
+ *
+ * @param <SP> SignatureParameters
+ * @param <TP> TimestampParameters
+ */
+public class BulkSignaturePipeline<SP extends SerializableSignatureParameters, TP extends SerializableTimestampParameters> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BulkSignaturePipeline.class);
+
+	/** The default number of documents processed within one token batch */
+	private static final int DEFAULT_BATCH_SIZE = 50;
+
+	/** The signature service used to create the signatures */
+	private final DocumentSignatureService<SP, TP> service;
+
+	/** The token connection used to compute the signature values */
+	private final SignatureTokenConnection token;
+
+	/** The private key to sign with */
+	private final DSSPrivateKeyEntry privateKey;
+
+	/** The factory creating signature parameters for each document */
+	private final Function<DSSDocument, SP> parametersFactory;
+
+	/** The ExecutorService used to prepare and create the signatures (if null, a new pool is created for each run) */
+	private ExecutorService executorService;
+
+	/** The number of documents processed within one token batch */
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param service {@link DocumentSignatureService} to be used to create the signatures
+	 * @param token {@link SignatureTokenConnection} to be used to compute the signature values
+	 * @param privateKey {@link DSSPrivateKeyEntry} to sign with
+	 * @param parametersFactory {@link Function} creating a new instance of signature parameters for a document
+	 */
+	public BulkSignaturePipeline(final DocumentSignatureService<SP, TP> service, final SignatureTokenConnection token,
+								 final DSSPrivateKeyEntry privateKey, final Function<DSSDocument, SP> parametersFactory) {
+		Objects.requireNonNull(service, "DocumentSignatureService cannot be null!");
+		Objects.requireNonNull(token, "SignatureTokenConnection cannot be null!");
+		Objects.requireNonNull(privateKey, "DSSPrivateKeyEntry cannot be null!");
+		Objects.requireNonNull(parametersFactory, "Parameters factory cannot be null!");
+		this.service = service;
+		this.token = token;
+		this.privateKey = privateKey;
+		this.parametersFactory = parametersFactory;
+	}
+
+	/**
+	 * Sets the ExecutorService to be used to prepare and create the signatures.
+	 * The ExecutorService is not shutdown at the end of a run.
+	 *
+	 * Default : a fixed thread pool, with a thread per available processor, created for each run
+	 *
+	 * @param executorService {@link ExecutorService}
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * Sets the number of documents for which the signature values are computed within one token batch.
+	 * The value limits as well the number of documents read from the source before their signing.
+	 *
+	 * Default : 50
+	 *
+	 * @param batchSize positive integer
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("The batch size shall be positive!");
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Signs all the given documents and returns the results once all documents are processed
+	 *
+	 * @param documents a list of {@link DSSDocument}s to sign
+	 * @return a list of {@link BulkSignatureResult}s
+	 */
+	public List<BulkSignatureResult> sign(List<DSSDocument> documents) {
+		Objects.requireNonNull(documents, "List of documents cannot be null!");
+		final List<BulkSignatureResult> results = Collections.synchronizedList(new ArrayList<>());
+		sign(documents.iterator(), results::add);
+		return new ArrayList<>(results);
+	}
+
+	/**
+	 * Signs all the documents from the given stream.
+	 * Returns when all the documents have been processed.
+	 *
+	 * @param documents a stream of {@link DSSDocument}s to sign
+	 * @param resultHandler {@link BulkSignatureResultHandler} receiving the result for each document
+	 */
+	public void sign(Stream<DSSDocument> documents, BulkSignatureResultHandler resultHandler) {
+		Objects.requireNonNull(documents, "Stream of documents cannot be null!");
+		sign(documents.iterator(), resultHandler);
+	}
+
+	/**
+	 * Signs all the documents from the given iterator.
+	 * Returns when all the documents have been processed.
+	 *
+	 * @param documents an iterator over {@link DSSDocument}s to sign
+	 * @param resultHandler {@link BulkSignatureResultHandler} receiving the result for each document
+	 */
+	public void sign(Iterator<DSSDocument> documents, BulkSignatureResultHandler resultHandler) {
+		Objects.requireNonNull(documents, "Iterator of documents cannot be null!");
+		Objects.requireNonNull(resultHandler, "BulkSignatureResultHandler cannot be null!");
+
+		final boolean ownExecutor = executorService == null;
+		final ExecutorService executor = ownExecutor ?
+				Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()) : executorService;
+		// the documents of the previous batch may still be finalized while the next one is prepared
+		final int maxDocumentsInProgress = 2 * batchSize;
+		final Semaphore semaphore = new Semaphore(maxDocumentsInProgress);
+
+		int counter = 0;
+		try {
+			while (documents.hasNext()) {
+				List<Future<PreparedDocument>> preparations = new ArrayList<>();
+				while (documents.hasNext() && preparations.size() < batchSize) {
+					semaphore.acquire();
+					DSSDocument document = documents.next();
+					preparations.add(submit(executor, semaphore, () -> prepare(document)));
+				}
+				counter += preparations.size();
+
+				List<PreparedDocument> preparedDocuments = new ArrayList<>();
+				for (Future<PreparedDocument> preparation : preparations) {
+					preparedDocuments.add(getResult(preparation));
+				}
+
+				signValues(preparedDocuments);
+
+				for (PreparedDocument preparedDocument : preparedDocuments) {
+					submit(executor, semaphore, () -> {
+						try {
+							handleResult(resultHandler, finalizeSignature(preparedDocument));
+						} finally {
+							semaphore.release();
+						}
+						return null;
+					});
+				}
+			}
+			// wait for all pending signatures
+			semaphore.acquire(maxDocumentsInProgress);
+			semaphore.release(maxDocumentsInProgress);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The bulk signing has been interrupted", e);
+
+		} finally {
+			if (ownExecutor) {
+				executor.shutdown();
+			}
+		}
+		LOG.info("Bulk signing of {} document(s) has been completed", counter);
+	}
+
+	private <T> Future<T> submit(ExecutorService executor, Semaphore semaphore, Callable<T> task) {
+		try {
+			return executor.submit(task);
+		} catch (RejectedExecutionException e) {
+			semaphore.release();
+			throw new DSSException(String.format("Unable to submit the signing task : %s", e.getMessage()), e);
+		}
+	}
+
+	private PreparedDocument getResult(Future<PreparedDocument> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			// not expected, the preparation errors are stored within PreparedDocument
+			throw new DSSException(String.format("Unable to prepare the document : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Creates the signature parameters and computes the data to be signed with its digest
+	 *
+	 * @param document {@link DSSDocument} to prepare
+	 * @return {@link PreparedDocument}
+	 */
+	private PreparedDocument prepare(DSSDocument document) {
+		PreparedDocument preparedDocument = new PreparedDocument(document);
+		try {
+			SP parameters = parametersFactory.apply(document);
+			Objects.requireNonNull(parameters, "The parameters factory returned null!");
+			preparedDocument.parameters = parameters;
+
+			ToBeSigned toBeSigned = service.getDataToSign(document, parameters);
+			preparedDocument.toBeSigned = toBeSigned;
+
+			SignatureAlgorithm signatureAlgorithm = parameters.getSignatureAlgorithm();
+			if (isDigestSigningSupported(signatureAlgorithm)) {
+				DigestAlgorithm digestAlgorithm = signatureAlgorithm.getDigestAlgorithm();
+				byte[] digestValue = DSSUtils.digest(digestAlgorithm, toBeSigned.getBytes());
+				if (EncryptionAlgorithm.RSA == signatureAlgorithm.getEncryptionAlgorithm()
+						&& signatureAlgorithm.getMaskGenerationFunction() == null) {
+					// RSA without PSS requires the DigestInfo encapsulation
+					digestValue = DSSUtils.encodeRSADigest(digestAlgorithm, digestValue);
+				}
+				preparedDocument.digest = new Digest(digestAlgorithm, digestValue);
+			}
+
+		} catch (Exception e) {
+			LOG.warn("Unable to prepare the document with name '{}' : {}", document.getName(), e.getMessage(), e);
+			preparedDocument.exception = e;
+		}
+		return preparedDocument;
+	}
+
+	private boolean isDigestSigningSupported(SignatureAlgorithm signatureAlgorithm) {
+		// some algorithms (e.g. EdDSA) do not support signing of pre-computed digests
+		return signatureAlgorithm.getDigestAlgorithm() != null && SignatureAlgorithm.getAlgorithm(
+				signatureAlgorithm.getEncryptionAlgorithm(), null, signatureAlgorithm.getMaskGenerationFunction()) != null;
+	}
+
+	/**
+	 * Computes the signature values for all prepared documents within the same token session
+	 *
+	 * @param preparedDocuments a list of {@link PreparedDocument}s
+	 */
+	private void signValues(List<PreparedDocument> preparedDocuments) {
+		synchronized (token) {
+			for (PreparedDocument preparedDocument : preparedDocuments) {
+				if (preparedDocument.exception != null) {
+					continue;
+				}
+				try {
+					SignatureAlgorithm signatureAlgorithm = preparedDocument.parameters.getSignatureAlgorithm();
+					if (preparedDocument.digest != null) {
+						preparedDocument.signatureValue = token.signDigest(preparedDocument.digest, signatureAlgorithm, privateKey);
+					} else {
+						preparedDocument.signatureValue = token.sign(preparedDocument.toBeSigned, signatureAlgorithm, privateKey);
+					}
+
+				} catch (Exception e) {
+					LOG.warn("Unable to compute the signature value for the document with name '{}' : {}",
+							preparedDocument.document.getName(), e.getMessage(), e);
+					preparedDocument.exception = e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates the signed document (incl. timestamp requests when required)
+	 *
+	 * @param preparedDocument {@link PreparedDocument}
+	 * @return {@link BulkSignatureResult}
+	 */
+	private BulkSignatureResult finalizeSignature(PreparedDocument preparedDocument) {
+		if (preparedDocument.exception != null) {
+			return new BulkSignatureResult(preparedDocument.document, preparedDocument.exception);
+		}
+		try {
+			DSSDocument signedDocument = service.signDocument(preparedDocument.document, preparedDocument.parameters,
+					preparedDocument.signatureValue);
+			return new BulkSignatureResult(preparedDocument.document, signedDocument);
+
+		} catch (Exception e) {
+			LOG.warn("Unable to sign the document with name '{}' : {}", preparedDocument.document.getName(), e.getMessage(), e);
+			return new BulkSignatureResult(preparedDocument.document, e);
+		}
+	}
+
+	private void handleResult(BulkSignatureResultHandler resultHandler, BulkSignatureResult result) {
+		try {
+			resultHandler.handle(result);
+		} catch (Exception e) {
+			LOG.error("An error occurred in the BulkSignatureResultHandler for the document with name '{}' : {}",
+					result.getToSignDocument().getName(), e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Contains intermediate data of a document signing
+	 */
+	private class PreparedDocument {
+
+		/** The document to sign */
+		private final DSSDocument document;
+
+		/** The signature parameters */
+		private SP parameters;
+
+		/** The data to be signed */
+		private ToBeSigned toBeSigned;
+
+		/** The digest of the data to be signed (null if the digest signing is not supported) */
+		private Digest digest;
+
+		/** The computed signature value */
+		private SignatureValue signatureValue;
+
+		/** The exception thrown during the processing */
+		private Exception exception;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param document {@link DSSDocument} to sign
+		 */
+		PreparedDocument(DSSDocument document) {
+			this.document = document;
+		}
+
+	}
+
+}
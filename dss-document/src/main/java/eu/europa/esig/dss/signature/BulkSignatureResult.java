@@ -0,0 +1,102 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import eu.europa.esig.dss.model.DSSDocument;
+
+/**
+ * Contains the outcome of a single document signing within a {@code BulkSignaturePipeline} run
+ */
+public class BulkSignatureResult {
+
+	/** The document to be signed */
+	private final DSSDocument toSignDocument;
+
+	/** The signed document (null if the signing failed) */
+	private final DSSDocument signedDocument;
+
+	/** The exception thrown during the signing (null if the signing succeeded) */
+	private final Exception exception;
+
+	/**
+	 * Constructor for a successful signing
+	 *
+	 * @param toSignDocument {@link DSSDocument} the original document
+	 * @param signedDocument {@link DSSDocument} the signed document
+	 */
+	public BulkSignatureResult(final DSSDocument toSignDocument, final DSSDocument signedDocument) {
+		this(toSignDocument, signedDocument, null);
+	}
+
+	/**
+	 * Constructor for a failed signing
+	 *
+	 * @param toSignDocument {@link DSSDocument} the original document
+	 * @param exception {@link Exception} thrown during the signing
+	 */
+	public BulkSignatureResult(final DSSDocument toSignDocument, final Exception exception) {
+		this(toSignDocument, null, exception);
+	}
+
+	private BulkSignatureResult(final DSSDocument toSignDocument, final DSSDocument signedDocument,
+								final Exception exception) {
+		this.toSignDocument = toSignDocument;
+		this.signedDocument = signedDocument;
+		this.exception = exception;
+	}
+
+	/**
+	 * Gets the original document
+	 *
+	 * @return {@link DSSDocument}
+	 */
+	public DSSDocument getToSignDocument() {
+		return toSignDocument;
+	}
+
+	/**
+	 * Gets the signed document
+	 *
+	 * @return {@link DSSDocument} if the signing succeeded, null otherwise
+	 */
+	public DSSDocument getSignedDocument() {
+		return signedDocument;
+	}
+
+	/**
+	 * Gets the exception thrown during the signing
+	 *
+	 * @return {@link Exception} if the signing failed, null otherwise
+	 */
+	public Exception getException() {
+		return exception;
+	}
+
+	/**
+	 * Returns whether the signed document has been created
+	 *
+	 * @return TRUE if the signing succeeded, FALSE otherwise
+	 */
+	public boolean isSuccess() {
+		return exception == null;
+	}
+
+}
@@ -66,6 +66,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Validates a signed document. The content of the document is determined
@@ -180,6 +181,13 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 	 */
 	protected boolean skipValidationContextExecution = false;
 
+	/**
+	 * The ExecutorService used to verify the signed references in parallel, when supported by the signature format
+	 *
+	 * Default: null (the references are verified sequentially)
+	 */
+	protected ExecutorService referenceValidationExecutorService;
+
 	/**
 	 * Cached list of signatures extracted from the document
 	 */
@@ -924,6 +932,20 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		this.skipValidationContextExecution = skipValidationContextExecution;
 	}
 
+	/**
+	 * Sets the ExecutorService to be used to verify the signed references (detached contents) in parallel,
+	 * when supported by the signature format (XAdES, JAdES).
+	 * The order of the obtained reference validations is not impacted.
+	 * The ExecutorService is not shutdown by the validator.
+	 *
+	 * Default : null (the references are verified sequentially)
+	 *
+	 * @param referenceValidationExecutorService {@link ExecutorService}
+	 */
+	public void setReferenceValidationExecutorService(ExecutorService referenceValidationExecutorService) {
+		this.referenceValidationExecutorService = referenceValidationExecutorService;
+	}
+
 	/**
 	 * Sets Locale for report messages generation
 	 *
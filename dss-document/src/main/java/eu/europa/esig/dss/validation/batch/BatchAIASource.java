@@ -0,0 +1,89 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.batch;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This AIA source is used within a {@code BatchDocumentValidator} run.
+ * It shares the issuer certificates obtained from the proxied source between all validated documents,
+ * so the AIA of a given certificate is accessed only once per run.
+ */
+public class BatchAIASource implements AIASource {
+
+	private static final long serialVersionUID = -4364796297473813047L;
+
+	/** The proxied AIA source */
+	private final AIASource proxiedSource;
+
+	/** The cache of obtained issuer certificates */
+	private transient BatchValidationCache<Set<CertificateToken>> cache = new BatchValidationCache<>();
+
+	/**
+	 * Default constructor
+	 *
+	 * @param proxiedSource {@link AIASource} to obtain issuer certificates from
+	 */
+	public BatchAIASource(final AIASource proxiedSource) {
+		Objects.requireNonNull(proxiedSource, "Proxied AIASource cannot be null!");
+		this.proxiedSource = proxiedSource;
+	}
+
+	@Override
+	public Set<CertificateToken> getCertificatesByAIA(CertificateToken certificateToken) {
+		Objects.requireNonNull(certificateToken, "CertificateToken cannot be null!");
+		Set<CertificateToken> certificates = cache.get(certificateToken.getDSSIdAsString(), () -> {
+			Set<CertificateToken> result = proxiedSource.getCertificatesByAIA(certificateToken);
+			return result != null ? Collections.unmodifiableSet(new HashSet<>(result)) : Collections.emptySet();
+		});
+		return new HashSet<>(certificates);
+	}
+
+	/**
+	 * Returns the number of certificates with cached AIA results
+	 *
+	 * @return number of cached entries
+	 */
+	public int getCachedEntriesNumber() {
+		return cache.size();
+	}
+
+	/**
+	 * Removes all the cached certificates
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		cache = new BatchValidationCache<>();
+	}
+
+}
@@ -0,0 +1,313 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.batch;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.CertificateVerifierBuilder;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * This class allows validation of a large number of documents within a single run.
+ *
+ * The documents are validated in parallel using the configured {@code ExecutorService}. The number of documents
+ * being processed at the same time is limited by {@code maxDocumentsInProgress}, so the documents are read
+ * from the provided source only when the validation of previous documents has been completed.
+ *
+ * All validations of the same run share the configured trusted and adjunct certificate sources, as well as
+ * a read-only view on the CRL, OCSP and AIA sources of the provided {@code CertificateVerifier} with an in-memory
+ * cache of the already obtained data. The cache is dropped at the end of the run.
+ *
+ * The results are returned to the {@code BatchValidationResultHandler} as soon as each document is processed,
+ * therefore the order of results may differ from the order of the provided documents.
+ */
+public class BatchDocumentValidator {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BatchDocumentValidator.class);
+
+	/** The default maximum number of documents being processed at the same time */
+	private static final int DEFAULT_MAX_DOCUMENTS_IN_PROGRESS = 100;
+
+	/** The CertificateVerifier to be used as a base configuration for all validations */
+	private final CertificateVerifier certificateVerifier;
+
+	/** The ExecutorService used to validate the documents (if null, a new pool is created for each run) */
+	private ExecutorService executorService;
+
+	/** The maximum number of documents being processed at the same time */
+	private int maxDocumentsInProgress = DEFAULT_MAX_DOCUMENTS_IN_PROGRESS;
+
+	/** The validation policy to be used for all documents (if null, the default policy is used) */
+	private ValidationPolicy validationPolicy;
+
+	/** The validation time to be used for all documents (if null, the current time is used) */
+	private Date validationTime;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param certificateVerifier {@link CertificateVerifier} to be used for all validations of the run
+	 */
+	public BatchDocumentValidator(final CertificateVerifier certificateVerifier) {
+		Objects.requireNonNull(certificateVerifier, "CertificateVerifier cannot be null!");
+		this.certificateVerifier = certificateVerifier;
+	}
+
+	/**
+	 * Sets the ExecutorService to be used to validate the documents.
+	 * The ExecutorService is not shutdown at the end of a run.
+	 *
+	 * Default : a fixed thread pool, with a thread per available processor, created for each run
+	 *
+	 * @param executorService {@link ExecutorService}
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * Sets the maximum number of documents being processed (read and validated) at the same time.
+	 * When the limit is reached, the next document is read from the source only after
+	 * the validation of a previous document is completed.
+	 *
+	 * Default : 100
+	 *
+	 * @param maxDocumentsInProgress positive integer
+	 */
+	public void setMaxDocumentsInProgress(int maxDocumentsInProgress) {
+		if (maxDocumentsInProgress < 1) {
+			throw new IllegalArgumentException("The maximum number of documents in progress shall be positive!");
+		}
+		this.maxDocumentsInProgress = maxDocumentsInProgress;
+	}
+
+	/**
+	 * Sets the validation policy to be used for all documents
+	 *
+	 * Default : the default validation policy
+	 *
+	 * @param validationPolicy {@link ValidationPolicy}
+	 */
+	public void setValidationPolicy(ValidationPolicy validationPolicy) {
+		this.validationPolicy = validationPolicy;
+	}
+
+	/**
+	 * Sets the validation time to be used for all documents
+	 *
+	 * Default : the current time at the validation of each document
+	 *
+	 * @param validationTime {@link Date}
+	 */
+	public void setValidationTime(Date validationTime) {
+		this.validationTime = validationTime;
+	}
+
+	/**
+	 * Validates all the given documents and returns the results once all validations are completed
+	 *
+	 * @param documents a list of {@link DSSDocument}s to validate
+	 * @return a list of {@link BatchValidationResult}s
+	 */
+	public List<BatchValidationResult> validate(List<DSSDocument> documents) {
+		Objects.requireNonNull(documents, "List of documents cannot be null!");
+		final List<BatchValidationResult> results = Collections.synchronizedList(new ArrayList<>());
+		validate(documents.iterator(), results::add);
+		return new ArrayList<>(results);
+	}
+
+	/**
+	 * Validates all the documents from the given stream.
+	 * Returns when all the documents have been processed.
+	 *
+	 * @param documents a stream of {@link DSSDocument}s to validate
+	 * @param resultHandler {@link BatchValidationResultHandler} receiving the result of each validation
+	 */
+	public void validate(Stream<DSSDocument> documents, BatchValidationResultHandler resultHandler) {
+		Objects.requireNonNull(documents, "Stream of documents cannot be null!");
+		validate(documents.iterator(), resultHandler);
+	}
+
+	/**
+	 * Validates all the documents from the given iterator.
+	 * Returns when all the documents have been processed.
+	 *
+	 * @param documents an iterator over {@link DSSDocument}s to validate
+	 * @param resultHandler {@link BatchValidationResultHandler} receiving the result of each validation
+	 */
+	public void validate(Iterator<DSSDocument> documents, BatchValidationResultHandler resultHandler) {
+		Objects.requireNonNull(documents, "Iterator of documents cannot be null!");
+		Objects.requireNonNull(resultHandler, "BatchValidationResultHandler cannot be null!");
+
+		final CertificateVerifier sharedCertificateVerifier = buildSharedCertificateVerifier();
+		final ValidationPolicy policy = getValidationPolicy();
+
+		final boolean ownExecutor = executorService == null;
+		final ExecutorService executor = ownExecutor ?
+				Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()) : executorService;
+		final Semaphore semaphore = new Semaphore(maxDocumentsInProgress);
+
+		int counter = 0;
+		try {
+			while (documents.hasNext()) {
+				semaphore.acquire();
+				DSSDocument document = documents.next();
+				try {
+					executor.execute(() -> {
+						try {
+							handleResult(resultHandler, validate(document, sharedCertificateVerifier, policy));
+						} finally {
+							semaphore.release();
+						}
+					});
+					++counter;
+				} catch (RejectedExecutionException e) {
+					semaphore.release();
+					throw new DSSException(String.format("Unable to submit the document validation : %s", e.getMessage()), e);
+				}
+			}
+			// wait for all pending validations
+			semaphore.acquire(maxDocumentsInProgress);
+			semaphore.release(maxDocumentsInProgress);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The batch validation has been interrupted", e);
+
+		} finally {
+			if (ownExecutor) {
+				executor.shutdown();
+			}
+			clearSharedSources(sharedCertificateVerifier);
+		}
+		LOG.info("Batch validation of {} document(s) has been completed", counter);
+	}
+
+	private BatchValidationResult validate(DSSDocument document, CertificateVerifier sharedCertificateVerifier,
+										   ValidationPolicy policy) {
+		try {
+			SignedDocumentValidator documentValidator = createDocumentValidator(document);
+			documentValidator.setCertificateVerifier(sharedCertificateVerifier);
+			if (validationTime != null) {
+				documentValidator.setValidationTime(validationTime);
+			}
+			Reports reports = documentValidator.validateDocument(policy);
+			return new BatchValidationResult(document, reports);
+
+		} catch (Exception e) {
+			LOG.warn("Unable to validate the document with name '{}' : {}", document.getName(), e.getMessage(), e);
+			return new BatchValidationResult(document, e);
+		}
+	}
+
+	private void handleResult(BatchValidationResultHandler resultHandler, BatchValidationResult result) {
+		try {
+			resultHandler.handle(result);
+		} catch (Exception e) {
+			LOG.error("An error occurred in the BatchValidationResultHandler for the document with name '{}' : {}",
+					result.getDocument().getName(), e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Creates a document validator for the given document.
+	 * The method can be overridden in order to provide a custom configuration (e.g. detached contents).
+	 *
+	 * NOTE: the CertificateVerifier, validation time and validation policy are set by the batch validator.
+	 *
+	 * @param document {@link DSSDocument} to be validated
+	 * @return {@link SignedDocumentValidator}
+	 */
+	protected SignedDocumentValidator createDocumentValidator(DSSDocument document) {
+		return SignedDocumentValidator.fromDocument(document);
+	}
+
+	/**
+	 * Builds a copy of the configured {@code CertificateVerifier} with the CRL, OCSP and AIA sources
+	 * shared between all validations of the run
+	 *
+	 * @return {@link CertificateVerifier}
+	 */
+	protected CertificateVerifier buildSharedCertificateVerifier() {
+		CertificateVerifier sharedCertificateVerifier = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
+		sharedCertificateVerifier.setRevocationFallback(certificateVerifier.isRevocationFallback());
+
+		RevocationSource<CRL> crlSource = certificateVerifier.getCrlSource();
+		if (crlSource != null) {
+			sharedCertificateVerifier.setCrlSource(new BatchRevocationSource<>(crlSource));
+		}
+		RevocationSource<OCSP> ocspSource = certificateVerifier.getOcspSource();
+		if (ocspSource != null) {
+			sharedCertificateVerifier.setOcspSource(new BatchRevocationSource<>(ocspSource));
+		}
+		AIASource aiaSource = certificateVerifier.getAIASource();
+		if (aiaSource != null) {
+			sharedCertificateVerifier.setAIASource(new BatchAIASource(aiaSource));
+		}
+		return sharedCertificateVerifier;
+	}
+
+	private void clearSharedSources(CertificateVerifier sharedCertificateVerifier) {
+		if (sharedCertificateVerifier.getCrlSource() instanceof BatchRevocationSource) {
+			((BatchRevocationSource<?>) sharedCertificateVerifier.getCrlSource()).clear();
+		}
+		if (sharedCertificateVerifier.getOcspSource() instanceof BatchRevocationSource) {
+			((BatchRevocationSource<?>) sharedCertificateVerifier.getOcspSource()).clear();
+		}
+		if (sharedCertificateVerifier.getAIASource() instanceof BatchAIASource) {
+			((BatchAIASource) sharedCertificateVerifier.getAIASource()).clear();
+		}
+	}
+
+	private ValidationPolicy getValidationPolicy() {
+		if (validationPolicy != null) {
+			return validationPolicy;
+		}
+		try {
+			return ValidationPolicyFacade.newFacade().getDefaultValidationPolicy();
+		} catch (Exception e) {
+			throw new DSSException(String.format("Unable to load the default validation policy : %s", e.getMessage()), e);
+		}
+	}
+
+}
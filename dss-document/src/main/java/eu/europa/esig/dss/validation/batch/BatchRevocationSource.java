@@ -0,0 +1,117 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.batch;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.utils.Utils;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This revocation source is used within a {@code BatchDocumentValidator} run.
+ * It shares the revocation data obtained from the proxied source between all validated documents,
+ * so the revocation data for a given certificate is requested only once per run.
+ * Missing revocation data (NULL responses) are not cached and requested again on a next call.
+ * Alternative URLs (e.g. provided by a trusted list) are forwarded to the proxied source when supported.
+ *
+ * @param <R> implementation of {@code Revocation} (CRL or OCSP)
+ */
+public class BatchRevocationSource<R extends Revocation> implements RevocationSourceAlternateUrlsSupport<R> {
+
+	private static final long serialVersionUID = 6157404426472385163L;
+
+	/** The proxied revocation source */
+	private final RevocationSource<R> proxiedSource;
+
+	/** The cache of obtained revocation tokens */
+	private transient BatchValidationCache<RevocationToken<R>> cache = new BatchValidationCache<>();
+
+	/**
+	 * Default constructor
+	 *
+	 * @param proxiedSource {@link RevocationSource} to obtain revocation data from
+	 */
+	public BatchRevocationSource(final RevocationSource<R> proxiedSource) {
+		Objects.requireNonNull(proxiedSource, "Proxied RevocationSource cannot be null!");
+		this.proxiedSource = proxiedSource;
+	}
+
+	@Override
+	public RevocationToken<R> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		Objects.requireNonNull(certificateToken, "CertificateToken cannot be null!");
+		String key = getKey(certificateToken, issuerCertificateToken, null);
+		return cache.get(key, () -> proxiedSource.getRevocationToken(certificateToken, issuerCertificateToken));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public RevocationToken<R> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+												 List<String> alternativeUrls) {
+		Objects.requireNonNull(certificateToken, "CertificateToken cannot be null!");
+		if (Utils.isCollectionEmpty(alternativeUrls) || !(proxiedSource instanceof RevocationSourceAlternateUrlsSupport)) {
+			return getRevocationToken(certificateToken, issuerCertificateToken);
+		}
+		String key = getKey(certificateToken, issuerCertificateToken, alternativeUrls);
+		return cache.get(key, () -> ((RevocationSourceAlternateUrlsSupport<R>) proxiedSource)
+				.getRevocationToken(certificateToken, issuerCertificateToken, alternativeUrls));
+	}
+
+	private String getKey(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+						  List<String> alternativeUrls) {
+		StringBuilder sb = new StringBuilder(certificateToken.getDSSIdAsString());
+		if (issuerCertificateToken != null) {
+			sb.append('|').append(issuerCertificateToken.getDSSIdAsString());
+		}
+		if (Utils.isCollectionNotEmpty(alternativeUrls)) {
+			sb.append('|').append(String.join(" ", alternativeUrls));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the number of certificates with a cached revocation response
+	 *
+	 * @return number of cached entries
+	 */
+	public int getCachedEntriesNumber() {
+		return cache.size();
+	}
+
+	/**
+	 * Removes all the cached revocation data
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		cache = new BatchValidationCache<>();
+	}
+
+}
@@ -0,0 +1,99 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.batch;
+
+import eu.europa.esig.dss.model.DSSException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe in-memory cache shared between the validations of a single batch run.
+ * Concurrent requests for the same key are executed only once, other callers wait for the result.
+ * NULL results and failed computations are not cached.
+ *
+ * @param <V> the cached value type
+ */
+class BatchValidationCache<V> {
+
+	/** Map between keys and their (possibly pending) values */
+	private final ConcurrentMap<String, FutureTask<V>> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the value for the given key, or computes it with the {@code loader} if absent
+	 *
+	 * @param key {@link String} the cache key
+	 * @param loader {@link Supplier} used to compute the value
+	 * @return the cached or computed value (can be null)
+	 */
+	V get(String key, Supplier<V> loader) {
+		FutureTask<V> task = entries.get(key);
+		if (task == null) {
+			FutureTask<V> newTask = new FutureTask<>(loader::get);
+			task = entries.putIfAbsent(key, newTask);
+			if (task == null) {
+				task = newTask;
+				task.run();
+			}
+		}
+		try {
+			V value = task.get();
+			if (value == null) {
+				// do not cache missing values, in order to request them again
+				entries.remove(key, task);
+			}
+			return value;
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException(String.format("Interrupted while waiting for the cache entry '%s'", key), e);
+
+		} catch (ExecutionException e) {
+			entries.remove(key, task);
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new DSSException(String.format("Unable to compute the cache entry '%s' : %s",
+					key, cause.getMessage()), cause);
+		}
+	}
+
+	/**
+	 * Returns the number of entries in the cache
+	 *
+	 * @return number of entries
+	 */
+	int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Removes all the entries from the cache
+	 */
+	void clear() {
+		entries.clear();
+	}
+
+}
@@ -0,0 +1,102 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.batch;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+/**
+ * Contains the outcome of a single document validation within a {@code BatchDocumentValidator} run
+ */
+public class BatchValidationResult {
+
+	/** The validated document */
+	private final DSSDocument document;
+
+	/** The validation reports (null if the validation failed) */
+	private final Reports reports;
+
+	/** The exception thrown during the validation (null if the validation succeeded) */
+	private final Exception exception;
+
+	/**
+	 * Constructor for a successful validation
+	 *
+	 * @param document {@link DSSDocument} validated document
+	 * @param reports {@link Reports} validation reports
+	 */
+	public BatchValidationResult(final DSSDocument document, final Reports reports) {
+		this(document, reports, null);
+	}
+
+	/**
+	 * Constructor for a failed validation
+	 *
+	 * @param document {@link DSSDocument} validated document
+	 * @param exception {@link Exception} thrown during the validation
+	 */
+	public BatchValidationResult(final DSSDocument document, final Exception exception) {
+		this(document, null, exception);
+	}
+
+	private BatchValidationResult(final DSSDocument document, final Reports reports, final Exception exception) {
+		this.document = document;
+		this.reports = reports;
+		this.exception = exception;
+	}
+
+	/**
+	 * Gets the validated document
+	 *
+	 * @return {@link DSSDocument}
+	 */
+	public DSSDocument getDocument() {
+		return document;
+	}
+
+	/**
+	 * Gets the validation reports
+	 *
+	 * @return {@link Reports} if the validation succeeded, null otherwise
+	 */
+	public Reports getReports() {
+		return reports;
+	}
+
+	/**
+	 * Gets the exception thrown during the validation
+	 *
+	 * @return {@link Exception} if the validation failed, null otherwise
+	 */
+	public Exception getException() {
+		return exception;
+	}
+
+	/**
+	 * Returns whether the validation process has been completed
+	 *
+	 * @return TRUE if the reports have been produced, FALSE otherwise
+	 */
+	public boolean isSuccess() {
+		return exception == null;
+	}
+
+}
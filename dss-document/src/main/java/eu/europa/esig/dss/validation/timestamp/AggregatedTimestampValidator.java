@@ -0,0 +1,99 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.timestamp;
+
+import eu.europa.esig.dss.enumerations.TimestampType;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.tsp.AggregatedTimestamp;
+import eu.europa.esig.dss.utils.Utils;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.tsp.TSPException;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Validator for an RFC 4998 ArchiveTimeStamp obtained with {@code AggregatingTimestampSource}.
+ *
+ * The timestamp covers the root of a hash tree, which is recomputed from the timestamped data digest
+ * and the reduced hash tree embedded in the ArchiveTimeStamp before the message-imprint verification.
+ */
+public class AggregatedTimestampValidator extends DetachedTimestampValidator {
+
+	/**
+	 * The default constructor
+	 *
+	 * @param archiveTimeStamp {@link DSSDocument} DER-encoded ArchiveTimeStamp to validate
+	 */
+	public AggregatedTimestampValidator(final DSSDocument archiveTimeStamp) {
+		this(archiveTimeStamp, TimestampType.CONTENT_TIMESTAMP);
+	}
+
+	/**
+	 * The default constructor with a type
+	 *
+	 * @param archiveTimeStamp {@link DSSDocument} DER-encoded ArchiveTimeStamp to validate
+	 * @param timestampType {@link TimestampType}
+	 */
+	public AggregatedTimestampValidator(final DSSDocument archiveTimeStamp, TimestampType timestampType) {
+		super(archiveTimeStamp, timestampType);
+	}
+
+	@Override
+	public boolean isSupported(DSSDocument dssDocument) {
+		try {
+			AggregatedTimestamp.fromEncoded(DSSUtils.toByteArray(dssDocument));
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	@Override
+	protected TimestampToken createTimestampToken() {
+		Objects.requireNonNull(certificateVerifier, "CertificateVerifier is not defined");
+		Objects.requireNonNull(document, "The timestampFile must be defined!");
+		Objects.requireNonNull(timestampType, "The TimestampType must be defined!");
+		try {
+			final AggregatedTimestamp aggregatedTimestamp = AggregatedTimestamp.fromEncoded(DSSUtils.toByteArray(document));
+			final TimestampToken newTimestampToken = new TimestampToken(
+					aggregatedTimestamp.getTimestampBinary().getBytes(), timestampType);
+			newTimestampToken.setFileName(document.getName());
+
+			final DSSDocument timestampedData = getTimestampedData();
+			if (timestampedData != null) {
+				byte[] leafDigest = Utils.fromBase64(timestampedData.getDigest(aggregatedTimestamp.getDigestAlgorithm()));
+				byte[] root = aggregatedTimestamp.computeRoot(leafDigest);
+				newTimestampToken.matchData(root != null ? root : leafDigest);
+			} else {
+				newTimestampToken.matchData((DSSDocument) null);
+			}
+			return newTimestampToken;
+
+		} catch (CMSException | TSPException | IOException e) {
+			throw new DSSException(String.format("Unable to create a TimestampToken. Reason : %s", e.getMessage()), e);
+
+		}
+	}
+
+}
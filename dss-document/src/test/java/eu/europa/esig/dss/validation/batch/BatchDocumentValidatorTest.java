@@ -0,0 +1,220 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.batch;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchDocumentValidatorTest {
+
+	private static final String[] TIMESTAMPS = new String[] { "src/test/resources/d-trust.tsr",
+			"src/test/resources/archive_timestamp.tst", "src/test/resources/disig.tst" };
+
+	@Test
+	public void validateListTest() {
+		List<DSSDocument> documents = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			for (String timestamp : TIMESTAMPS) {
+				documents.add(new FileDocument(timestamp));
+			}
+		}
+		documents.add(new FileDocument("src/test/resources/sample.xml"));
+
+		BatchDocumentValidator batchDocumentValidator = new BatchDocumentValidator(getOfflineCertificateVerifier());
+		batchDocumentValidator.setMaxDocumentsInProgress(4);
+		List<BatchValidationResult> results = batchDocumentValidator.validate(documents);
+		assertEquals(documents.size(), results.size());
+
+		int failed = 0;
+		for (BatchValidationResult result : results) {
+			assertNotNull(result.getDocument());
+			if (result.isSuccess()) {
+				assertNotNull(result.getReports());
+				assertNull(result.getException());
+				assertEquals(1, result.getReports().getDiagnosticData().getTimestampList().size());
+			} else {
+				assertNull(result.getReports());
+				assertNotNull(result.getException());
+				++failed;
+			}
+		}
+		assertEquals(1, failed);
+	}
+
+	@Test
+	public void validateStreamTest() {
+		ExecutorService executorService = Executors.newFixedThreadPool(3);
+		try {
+			Date validationTime = new Date();
+
+			BatchDocumentValidator batchDocumentValidator = new BatchDocumentValidator(getOfflineCertificateVerifier());
+			batchDocumentValidator.setExecutorService(executorService);
+			batchDocumentValidator.setMaxDocumentsInProgress(2);
+			batchDocumentValidator.setValidationTime(validationTime);
+
+			AtomicInteger counter = new AtomicInteger();
+			batchDocumentValidator.validate(Stream.of(TIMESTAMPS).map(FileDocument::new), result -> {
+				assertTrue(result.isSuccess());
+				assertEquals(validationTime, result.getReports().getDiagnosticData().getValidationDate());
+				counter.incrementAndGet();
+			});
+			assertEquals(TIMESTAMPS.length, counter.get());
+
+			// the executor service is not shutdown by the batch validator
+			assertFalse(executorService.isShutdown());
+
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void handlerExceptionTest() {
+		BatchDocumentValidator batchDocumentValidator = new BatchDocumentValidator(getOfflineCertificateVerifier());
+		batchDocumentValidator.setMaxDocumentsInProgress(1);
+
+		AtomicInteger counter = new AtomicInteger();
+		batchDocumentValidator.validate(Stream.of(TIMESTAMPS).map(FileDocument::new), result -> {
+			counter.incrementAndGet();
+			throw new IllegalStateException("Failure within the handler");
+		});
+		assertEquals(TIMESTAMPS.length, counter.get());
+	}
+
+	@Test
+	public void invalidConfigurationTest() {
+		assertThrows(NullPointerException.class, () -> new BatchDocumentValidator(null));
+
+		BatchDocumentValidator batchDocumentValidator = new BatchDocumentValidator(getOfflineCertificateVerifier());
+		assertThrows(IllegalArgumentException.class, () -> batchDocumentValidator.setMaxDocumentsInProgress(0));
+		assertThrows(NullPointerException.class, () -> batchDocumentValidator.validate((List<DSSDocument>) null));
+		assertThrows(NullPointerException.class, () -> batchDocumentValidator.validate(Stream.empty(), null));
+	}
+
+	@Test
+	public void sharedRevocationSourceTest() {
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/certificates/ec.europa.eu.crt"));
+
+		AtomicInteger counter = new AtomicInteger();
+		AtomicInteger alternateUrlsCounter = new AtomicInteger();
+		RevocationSourceAlternateUrlsSupport<OCSP> ocspSource = new RevocationSourceAlternateUrlsSupport<OCSP>() {
+
+			private static final long serialVersionUID = -6283495071824615397L;
+
+			@Override
+			public RevocationToken<OCSP> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+				counter.incrementAndGet();
+				return null;
+			}
+
+			@Override
+			public RevocationToken<OCSP> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+															List<String> alternativeUrls) {
+				alternateUrlsCounter.incrementAndGet();
+				return null;
+			}
+
+		};
+
+		BatchRevocationSource<OCSP> batchRevocationSource = new BatchRevocationSource<>(ocspSource);
+		for (int i = 0; i < 10; i++) {
+			assertNull(batchRevocationSource.getRevocationToken(certificateToken, certificateToken));
+		}
+		// missing revocation data is not cached
+		assertEquals(10, counter.get());
+		assertEquals(0, batchRevocationSource.getCachedEntriesNumber());
+
+		assertNull(batchRevocationSource.getRevocationToken(certificateToken, certificateToken,
+				Collections.singletonList("http://ocsp.alternative.url")));
+		assertEquals(10, counter.get());
+		assertEquals(1, alternateUrlsCounter.get());
+
+		assertNull(batchRevocationSource.getRevocationToken(certificateToken, certificateToken, Collections.emptyList()));
+		assertEquals(11, counter.get());
+		assertEquals(1, alternateUrlsCounter.get());
+	}
+
+	@Test
+	public void sharedAIASourceTest() {
+		CertificateToken certificateToken = DSSUtils.loadCertificate(new File("src/test/resources/certificates/ec.europa.eu.crt"));
+
+		AtomicInteger counter = new AtomicInteger();
+		AIASource aiaSource = new AIASource() {
+
+			private static final long serialVersionUID = 4127689358304616263L;
+
+			@Override
+			public Set<CertificateToken> getCertificatesByAIA(CertificateToken certificateToken) {
+				if (counter.incrementAndGet() == 1) {
+					throw new IllegalStateException("Temporary failure");
+				}
+				return Collections.singleton(certificateToken);
+			}
+
+		};
+
+		BatchAIASource batchAIASource = new BatchAIASource(aiaSource);
+		// failures are not cached
+		assertThrows(IllegalStateException.class, () -> batchAIASource.getCertificatesByAIA(certificateToken));
+		assertEquals(0, batchAIASource.getCachedEntriesNumber());
+
+		for (int i = 0; i < 10; i++) {
+			Set<CertificateToken> certificates = batchAIASource.getCertificatesByAIA(certificateToken);
+			assertEquals(1, certificates.size());
+		}
+		assertEquals(2, counter.get());
+		assertEquals(1, batchAIASource.getCachedEntriesNumber());
+	}
+
+	private CertificateVerifier getOfflineCertificateVerifier() {
+		CertificateVerifier cv = new CommonCertificateVerifier();
+		cv.setAIASource(null);
+		return cv;
+	}
+
+}
@@ -0,0 +1,190 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation.timestamp;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.TimestampWrapper;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.x509.tsp.AggregatedTimestamp;
+import eu.europa.esig.dss.spi.x509.tsp.MerkleHashTree;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.DigestCalculator;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.tsp.TSPAlgorithms;
+import org.bouncycastle.tsp.TimeStampRequest;
+import org.bouncycastle.tsp.TimeStampRequestGenerator;
+import org.bouncycastle.tsp.TimeStampTokenGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AggregatedTimestampValidatorTest {
+
+	private static final DigestAlgorithm DIGEST_ALGORITHM = DigestAlgorithm.SHA256;
+
+	private static KeyPair tsaKeyPair;
+
+	private static X509CertificateHolder tsaCertificate;
+
+	private static List<DSSDocument> documents;
+
+	private static MerkleHashTree hashTree;
+
+	@BeforeAll
+	public static void init() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		tsaKeyPair = keyPairGenerator.generateKeyPair();
+
+		X500Name subject = new X500Name("CN=Test TSA");
+		Date notBefore = new Date(System.currentTimeMillis() - 3600000L);
+		Date notAfter = new Date(System.currentTimeMillis() + 3600000L);
+		JcaX509v3CertificateBuilder certificateBuilder = new JcaX509v3CertificateBuilder(subject, BigInteger.ONE,
+				notBefore, notAfter, subject, tsaKeyPair.getPublic());
+		certificateBuilder.addExtension(Extension.extendedKeyUsage, true, new ExtendedKeyUsage(KeyPurposeId.id_kp_timeStamping));
+		ContentSigner contentSigner = new JcaContentSignerBuilder("SHA256withRSA").build(tsaKeyPair.getPrivate());
+		tsaCertificate = certificateBuilder.build(contentSigner);
+
+		documents = new ArrayList<>();
+		List<byte[]> leaves = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			DSSDocument document = new InMemoryDocument(("Hello World " + i).getBytes(), "doc-" + i + ".txt");
+			documents.add(document);
+			leaves.add(Utils.fromBase64(document.getDigest(DIGEST_ALGORITHM)));
+		}
+		hashTree = new MerkleHashTree(DIGEST_ALGORITHM, leaves);
+	}
+
+	@Test
+	public void validMerklePathTest() throws Exception {
+		for (int i = 0; i < documents.size(); i++) {
+			AggregatedTimestamp aggregatedTimestamp = new AggregatedTimestamp(DIGEST_ALGORITHM,
+					getTimestamp(hashTree.getRoot()), hashTree.getReducedHashTree(i));
+
+			AggregatedTimestampValidator validator = getValidator(aggregatedTimestamp, documents.get(i));
+			assertTrue(validator.isSupported(new InMemoryDocument(aggregatedTimestamp.getEncoded())));
+
+			TimestampWrapper timestampWrapper = getTimestampWrapper(validator);
+			assertTrue(timestampWrapper.isMessageImprintDataFound());
+			assertTrue(timestampWrapper.isMessageImprintDataIntact());
+			assertTrue(timestampWrapper.isSignatureIntact());
+		}
+	}
+
+	@Test
+	public void tamperedLeafTest() throws Exception {
+		AggregatedTimestamp aggregatedTimestamp = new AggregatedTimestamp(DIGEST_ALGORITHM,
+				getTimestamp(hashTree.getRoot()), hashTree.getReducedHashTree(2));
+
+		DSSDocument tamperedDocument = new InMemoryDocument("Hello World 2!".getBytes(), "doc-2.txt");
+		TimestampWrapper timestampWrapper = getTimestampWrapper(getValidator(aggregatedTimestamp, tamperedDocument));
+		assertTrue(timestampWrapper.isMessageImprintDataFound());
+		assertFalse(timestampWrapper.isMessageImprintDataIntact());
+		assertTrue(timestampWrapper.isSignatureIntact());
+
+		// other leaves only match when they are part of the first partial hash tree (i.e. a sibling of the leaf 2)
+		List<byte[]> firstPartialHashTree = aggregatedTimestamp.getReducedHashTree().get(0);
+		for (int i = 0; i < documents.size(); i++) {
+			byte[] leaf = Utils.fromBase64(documents.get(i).getDigest(DIGEST_ALGORITHM));
+			boolean sibling = firstPartialHashTree.stream().anyMatch(value -> Arrays.equals(leaf, value));
+			timestampWrapper = getTimestampWrapper(getValidator(aggregatedTimestamp, documents.get(i)));
+			assertEquals(sibling, timestampWrapper.isMessageImprintDataIntact());
+		}
+	}
+
+	@Test
+	public void wrongRootTest() throws Exception {
+		byte[] wrongRoot = new MerkleHashTree(DIGEST_ALGORITHM, Collections.singletonList(
+				Utils.fromBase64(new InMemoryDocument("Other".getBytes()).getDigest(DIGEST_ALGORITHM)))).getRoot();
+		AggregatedTimestamp aggregatedTimestamp = new AggregatedTimestamp(DIGEST_ALGORITHM,
+				getTimestamp(wrongRoot), hashTree.getReducedHashTree(1));
+
+		TimestampWrapper timestampWrapper = getTimestampWrapper(getValidator(aggregatedTimestamp, documents.get(1)));
+		assertTrue(timestampWrapper.isMessageImprintDataFound());
+		assertFalse(timestampWrapper.isMessageImprintDataIntact());
+		assertTrue(timestampWrapper.isSignatureIntact());
+	}
+
+	@Test
+	public void notAggregatedTimestampTest() throws Exception {
+		DSSDocument timestamp = new InMemoryDocument(getTimestamp(hashTree.getRoot()).getBytes());
+		assertFalse(new AggregatedTimestampValidator(timestamp).isSupported(timestamp));
+	}
+
+	private AggregatedTimestampValidator getValidator(AggregatedTimestamp aggregatedTimestamp, DSSDocument timestampedData) {
+		AggregatedTimestampValidator validator = new AggregatedTimestampValidator(
+				new InMemoryDocument(aggregatedTimestamp.getEncoded(), "ats.der"));
+		validator.setTimestampedData(timestampedData);
+		validator.setCertificateVerifier(new CommonCertificateVerifier());
+		return validator;
+	}
+
+	private TimestampWrapper getTimestampWrapper(AggregatedTimestampValidator validator) {
+		Reports reports = validator.validateDocument();
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		assertEquals(1, diagnosticData.getTimestampList().size());
+		return diagnosticData.getTimestampList().get(0);
+	}
+
+	private TimestampBinary getTimestamp(byte[] digest) throws Exception {
+		DigestCalculator sha1Calculator = new JcaDigestCalculatorProviderBuilder().build()
+				.get(new AlgorithmIdentifier(new ASN1ObjectIdentifier(DigestAlgorithm.SHA1.getOid())));
+		TimeStampTokenGenerator tokenGenerator = new TimeStampTokenGenerator(
+				new JcaSimpleSignerInfoGeneratorBuilder().build("SHA256withRSA", tsaKeyPair.getPrivate(), tsaCertificate),
+				sha1Calculator, new ASN1ObjectIdentifier("1.2.3.4"));
+		tokenGenerator.addCertificates(new JcaCertStore(Collections.singletonList(tsaCertificate)));
+
+		TimeStampRequestGenerator requestGenerator = new TimeStampRequestGenerator();
+		requestGenerator.setCertReq(true);
+		TimeStampRequest request = requestGenerator.generate(TSPAlgorithms.SHA256, digest);
+		return new TimestampBinary(tokenGenerator.generate(request, BigInteger.ONE, new Date()).getEncoded());
+	}
+
+}
@@ -55,8 +55,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.StandardCharsets;
@@ -64,6 +66,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -503,15 +506,36 @@ public class DSSJsonUtils {
 			throw new IllegalArgumentException("Unable to build a message-digest. Reason : the detached content is not provided!");
 		}
 
-		byte[] octets = null;
-		if (documents.size() == 1) {
-			octets = getDocumentOctets(documents.get(0), isBase64UrlEncoded);
-			digestCalculator.update(octets);
-
-		} else {
+		try (OutputStream os = digestCalculator.getOutputStream()) {
 			for (DSSDocument document : documents) {
-				octets = getDocumentOctets(document, isBase64UrlEncoded);
-				digestCalculator.update(octets);
+				writeDocumentOctets(document, isBase64UrlEncoded, os);
+			}
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to build a message-digest. Reason : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Writes binaries of the {@code document} to be used for payload computation to the {@code outputStream},
+	 * depending on the {@code isBase64UrlEncoded} parameter. The document content is processed as a stream
+	 * (base64url-encoded on the fly, when required).
+	 *
+	 * @param document {@link DSSDocument} to write octets of
+	 * @param isBase64UrlEncoded defines whether base64url-encoded octets shall be written
+	 * @param outputStream {@link OutputStream} to write to
+	 * @throws IOException if an error occurs while reading or writing the data
+	 */
+	public static void writeDocumentOctets(DSSDocument document, boolean isBase64UrlEncoded,
+										   OutputStream outputStream) throws IOException {
+		try (InputStream is = document.openStream()) {
+			if (isBase64UrlEncoded) {
+				// the encoder stream is closed in order to write the last block
+				try (OutputStream base64UrlOutputStream = Base64.getUrlEncoder().withoutPadding()
+						.wrap(new NonClosingOutputStream(outputStream))) {
+					Utils.copy(is, base64UrlOutputStream);
+				}
+			} else {
+				Utils.copy(is, outputStream);
 			}
 		}
 	}
@@ -914,6 +938,49 @@ public class DSSJsonUtils {
 	 * @return signing input bytes
 	 */
 	public static byte[] getSigningInputBytes(JWS jws) {
+		byte[] dataToSign;
+		try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+			writeSigningInput(jws, os);
+			dataToSign = os.toByteArray();
+
+		} catch (IOException e) {
+			throw new DSSException(String.format(
+					"Unable to compute the JWS Signature Input! Reason : %s", e.getMessage()), e);
+		}
+
+		if (LOG.isTraceEnabled()) {
+			LOG.trace("JWS Signature Input: ");
+			LOG.trace(new String(dataToSign));
+		}
+
+		return dataToSign;
+	}
+
+	/**
+	 * This method updates the {@code digestCalculator} with the signing input of a JWS signature.
+	 * A detached payload (see {@code JWS.getDetachedPayload()}) is processed as a stream.
+	 *
+	 * @param jws {@link JWS} to compute signing input digest for
+	 * @param digestCalculator {@link DSSMessageDigestCalculator} to update
+	 */
+	public static void writeSigningInput(JWS jws, DSSMessageDigestCalculator digestCalculator) {
+		try (OutputStream os = digestCalculator.getOutputStream()) {
+			writeSigningInput(jws, os);
+		} catch (IOException e) {
+			throw new DSSException(String.format(
+					"Unable to compute the JWS Signature Input digest! Reason : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * This method writes the signing input for a JWS signature to the given {@code outputStream}.
+	 * A detached payload (see {@code JWS.getDetachedPayload()}) is processed as a stream.
+	 *
+	 * @param jws {@link JWS} to write signing input for
+	 * @param outputStream {@link OutputStream} to write to
+	 * @throws IOException if an error occurs while reading or writing the data
+	 */
+	public static void writeSigningInput(JWS jws, OutputStream outputStream) throws IOException {
 		/*
         https://tools.ietf.org/html/rfc7797#section-3
         +-------+-----------------------------------------------------------+
@@ -926,37 +993,28 @@ public class DSSJsonUtils {
         |       | JWS Payload                                               |
         +-------+-----------------------------------------------------------+
 		*/
-		byte[] dataToSign;
-
-		if (!jws.isRfc7797UnencodedPayload()) {
-			String dataToBeSignedString = DSSJsonUtils.concatenate(jws.getEncodedHeader(), jws.getEncodedPayload());
-			dataToSign = DSSJsonUtils.getAsciiBytes(dataToBeSignedString);
-
-		} else {
-			try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-				// NOTE: unencoded payload shall not be converted to a string, it can lead to a data corruption!
-				os.write(DSSJsonUtils.getAsciiBytes(jws.getEncodedHeader()));
-				os.write(0x2e); // ascii for "."
-				byte[] payloadBytes = jws.getUnverifiedPayloadBytes();
-				if (Utils.isArrayNotEmpty(payloadBytes)) {
-					os.write(payloadBytes);
-				}
-				dataToSign = os.toByteArray();
+		outputStream.write(DSSJsonUtils.getAsciiBytes(jws.getEncodedHeader()));
+		outputStream.write(0x2e); // ascii for "."
 
-			} catch (IOException e) {
-				throw new DSSException(String.format(
-						"Unable to compute the JWS Signature Input for the unencoded payload! " +
-								"Reason : %s", e.getMessage()), e);
+		List<DSSDocument> detachedPayload = jws.getDetachedPayload();
+		if (Utils.isCollectionNotEmpty(detachedPayload)) {
+			for (DSSDocument document : detachedPayload) {
+				writeDocumentOctets(document, !jws.isRfc7797UnencodedPayload(), outputStream);
 			}
 
-		}
+		} else if (!jws.isRfc7797UnencodedPayload()) {
+			String encodedPayload = jws.getEncodedPayload();
+			if (Utils.isStringNotEmpty(encodedPayload)) {
+				outputStream.write(DSSJsonUtils.getAsciiBytes(encodedPayload));
+			}
 
-		if (LOG.isTraceEnabled()) {
-			LOG.trace("JWS Signature Input: ");
-			LOG.trace(new String(dataToSign));
+		} else {
+			// NOTE: unencoded payload shall not be converted to a string, it can lead to a data corruption!
+			byte[] payloadBytes = jws.getUnverifiedPayloadBytes();
+			if (Utils.isArrayNotEmpty(payloadBytes)) {
+				outputStream.write(payloadBytes);
+			}
 		}
-
-		return dataToSign;
 	}
 
 	/**
@@ -1236,4 +1294,25 @@ public class DSSJsonUtils {
 		return listOfNumbers;
 	}
 
+	/**
+	 * Keeps the wrapped output stream open when closed
+	 */
+	private static class NonClosingOutputStream extends FilterOutputStream {
+
+		NonClosingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+
+	}
+
 }
@@ -41,6 +41,7 @@ import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.SignaturePolicyStore;
 import eu.europa.esig.dss.model.SpDocSpecification;
 import eu.europa.esig.dss.model.UserNotice;
+import eu.europa.esig.dss.spi.DSSMessageDigestCalculator;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.x509.CandidatesForSigningCertificate;
 import eu.europa.esig.dss.spi.x509.CertificateValidity;
@@ -72,6 +73,10 @@ import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Represents the JAdES signature
@@ -98,6 +103,9 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 	/** The list of unsigned properties embedded into the 'etsiU' array */
 	private JAdESEtsiUHeader etsiUHeader;
 
+	/** The ExecutorService used to verify the sigD references in parallel (null by default, sequential) */
+	private transient ExecutorService referenceValidationExecutorService;
+
 	/**
 	 * Default constructor
 	 *
@@ -108,6 +116,19 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		this.isDetached = Utils.isArrayEmpty(jws.getUnverifiedPayloadBytes());
 	}
 
+	/**
+	 * Sets the ExecutorService to be used to verify the digests of the documents referenced
+	 * within the 'sigD' header (OBJECT_ID_BY_URI_HASH mechanism) in parallel.
+	 * The order of the returned {@code ReferenceValidation}s is preserved.
+	 *
+	 * Default : null (the references are verified sequentially)
+	 *
+	 * @param referenceValidationExecutorService {@link ExecutorService}
+	 */
+	public void setReferenceValidationExecutorService(ExecutorService referenceValidationExecutorService) {
+		this.referenceValidationExecutorService = referenceValidationExecutorService;
+	}
+
 	/**
 	 * Gets the associated {@code JWS}
 	 *
@@ -545,6 +566,9 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 	// TODO : no definition available in ETSI TS 119 442 - V1.1.1
 	@Override
 	public SignatureDigestReference getSignatureDigestReference(DigestAlgorithm digestAlgorithm) {
+		if (Utils.isCollectionNotEmpty(jws.getDetachedPayload())) {
+			return getSignatureDigestReferenceForDetachedPayload(digestAlgorithm);
+		}
 		String encodedHeader = jws.getEncodedHeader();
 		String payload = jws.isRfc7797UnencodedPayload() ? jws.getUnverifiedPayload() : jws.getEncodedPayload();
 		String encodedSignature = jws.getEncodedSignature();
@@ -552,6 +576,14 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		byte[] digestValue = DSSUtils.digest(digestAlgorithm, signatureReferenceBytes);
 		return new SignatureDigestReference(new Digest(digestAlgorithm, digestValue));
 	}
+
+	private SignatureDigestReference getSignatureDigestReferenceForDetachedPayload(DigestAlgorithm digestAlgorithm) {
+		final DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(digestAlgorithm);
+		DSSJsonUtils.writeSigningInput(jws, digestCalculator);
+		digestCalculator.update((byte) 0x2e); // ascii for "."
+		digestCalculator.update(DSSJsonUtils.getAsciiBytes(jws.getEncodedSignature()));
+		return new SignatureDigestReference(digestCalculator.getMessageDigest());
+	}
 	
 	@Override
 	public Digest getDataToBeSignedRepresentation() {
@@ -647,8 +679,7 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 
 					} else if (sigDMechanism == null && detachedContentPresent) {
 						// simple detached signature
-						byte[] payload = getIncorporatedPayload();
-						jws.setPayloadOctets(payload);
+						setDetachedPayload(Collections.singletonList(detachedContents.get(0)));
 						signatureValueReferenceValidation.setFound(detachedContents.size() == 1);
 
 					} else if (SigDMechanism.HTTP_HEADERS.equals(getSigDMechanism())) {
@@ -659,9 +690,9 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 
 					} else if (SigDMechanism.OBJECT_ID_BY_URI.equals(getSigDMechanism())) {
 						// detached with OBJECT_ID_BY_URI mechanism
-						byte[] payload = getPayloadForObjectIdByUriMechanism();
-						jws.setPayloadOctets(payload);
-						signatureValueReferenceValidation.setFound(payload != null);
+						List<DSSDocument> signedDocuments = getSignedDocumentsForObjectIdByUriMechanism();
+						setDetachedPayload(signedDocuments);
+						signatureValueReferenceValidation.setFound(Utils.isCollectionNotEmpty(signedDocuments));
 
 					} else if (SigDMechanism.OBJECT_ID_BY_URI_HASH.equals(getSigDMechanism())) {
 						// the sigD itself is signed with OBJECT_ID_BY_URI_HASH mechanism
@@ -683,16 +714,15 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 
 				SignatureAlgorithm signatureAlgorithm = getSignatureAlgorithm();
 				if (signatureAlgorithm != null) {
-					byte[] dataToSign = DSSJsonUtils.getSigningInputBytes(jws);
-					DigestAlgorithm digestAlgorithm = signatureAlgorithm.getDigestAlgorithm();
-					Digest digest = new Digest(digestAlgorithm, DSSUtils.digest(digestAlgorithm, dataToSign));
-					signatureValueReferenceValidation.setDigest(digest);
+					final DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(signatureAlgorithm.getDigestAlgorithm());
+					DSSJsonUtils.writeSigningInput(jws, digestCalculator);
+					signatureValueReferenceValidation.setDigest(digestCalculator.getMessageDigest());
 
 					jws.setDoKeyValidation(false); // restrict on key size,...
 	
 					CandidatesForSigningCertificate candidatesForSigningCertificate = getCandidatesForSigningCertificate();
 					
-					SignatureIntegrityValidator signingCertificateValidator = new JAdESSignatureIntegrityValidator(jws);
+					SignatureIntegrityValidator signingCertificateValidator = new JAdESSignatureIntegrityValidator(jws, signatureAlgorithm);
 					CertificateValidity certificateValidity = signingCertificateValidator.validate(candidatesForSigningCertificate);
 					if (certificateValidity != null) {
 						candidatesForSigningCertificate.setTheCertificateValidity(certificateValidity);
@@ -756,9 +786,6 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		return null;
 	}
 
-	private byte[] getIncorporatedPayload() {
-		return DSSJsonUtils.getDocumentOctets(detachedContents.get(0), !jws.isRfc7797UnencodedPayload());
-	}
 	
 	private byte[] getPayloadForHttpHeadersMechanism() {
 		if (Utils.isCollectionEmpty(detachedContents)) {
@@ -817,13 +844,21 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		return signedDocuments;
 	}
 	
-	private byte[] getPayloadForObjectIdByUriMechanism() {
-		if (Utils.isCollectionEmpty(detachedContents)) {
+	/**
+	 * Defines the detached payload of the JWS. The documents are processed as a stream on validation
+	 * when supported by the signature algorithm, otherwise the payload binaries are loaded into the JWS.
+	 *
+	 * @param documents a list of signed {@link DSSDocument}s
+	 */
+	private void setDetachedPayload(List<DSSDocument> documents) {
+		if (Utils.isCollectionEmpty(documents)) {
 			throw new IllegalArgumentException("The detached contents shall be provided for validating a detached signature!");
 		}
-
-		List<DSSDocument> signedDocumentsByUri = getSignedDocumentsForObjectIdByUriMechanism();
-		return DSSJsonUtils.concatenateDSSDocuments(signedDocumentsByUri, !jws.isRfc7797UnencodedPayload());
+		if (JAdESSignatureIntegrityValidator.isStreamingVerificationSupported(getSignatureAlgorithm())) {
+			jws.setDetachedPayload(documents);
+		} else {
+			jws.setPayloadOctets(DSSJsonUtils.concatenateDSSDocuments(documents, !jws.isRfc7797UnencodedPayload()));
+		}
 	}
 
 	/**
@@ -876,6 +911,8 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		}
 		
 		List<JAdESReferenceValidation> detachedReferenceValidations = new ArrayList<>();
+		// the digest computations to be executed in parallel (LinkedHashMap is used to keep the original order)
+		Map<JAdESReferenceValidation, Callable<Boolean>> digestMatchTasks = new LinkedHashMap<>();
 
 		for (Map.Entry<String, String> signedDataEntry : signedDataHashMap.entrySet()) {
 			JAdESReferenceValidation referenceValidation = new JAdESReferenceValidation();
@@ -899,8 +936,14 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 
 			if (detachedDocument != null) {
 				referenceValidation.setFound(true);
-				if (digestAlgorithm != null && isDocumentDigestMatch(detachedDocument, digestAlgorithm, expectedDigest)) {
-					referenceValidation.setIntact(true);
+				if (digestAlgorithm != null) {
+					if (referenceValidationExecutorService != null) {
+						final DSSDocument document = detachedDocument;
+						digestMatchTasks.put(referenceValidation,
+								() -> isDocumentDigestMatch(document, digestAlgorithm, expectedDigest, false));
+					} else if (isDocumentDigestMatch(detachedDocument, digestAlgorithm, expectedDigest, true)) {
+						referenceValidation.setIntact(true);
+					}
 				}
 			} else {
 				LOG.warn("A detached document for the '{}' header with name '{}' has not been found!",
@@ -909,6 +952,8 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 			
 			detachedReferenceValidations.add(referenceValidation);
 		}
+
+		verifyDigestsInParallel(digestMatchTasks);
 		
 		if (Utils.isCollectionEmpty(detachedReferenceValidations)) {
 			// add an empty reference if none found
@@ -983,15 +1028,50 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		return Collections.emptyList();
 	}
 	
+	private void verifyDigestsInParallel(Map<JAdESReferenceValidation, Callable<Boolean>> digestMatchTasks) {
+		if (Utils.isMapEmpty(digestMatchTasks)) {
+			return;
+		}
+		Map<JAdESReferenceValidation, Future<Boolean>> futures = new LinkedHashMap<>();
+		for (Map.Entry<JAdESReferenceValidation, Callable<Boolean>> entry : digestMatchTasks.entrySet()) {
+			futures.put(entry.getKey(), referenceValidationExecutorService.submit(entry.getValue()));
+		}
+		for (Map.Entry<JAdESReferenceValidation, Future<Boolean>> entry : futures.entrySet()) {
+			JAdESReferenceValidation referenceValidation = entry.getKey();
+			try {
+				referenceValidation.setIntact(entry.getValue().get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOG.warn("Interrupted while verifying the detached document with name '{}'", referenceValidation.getName());
+			} catch (ExecutionException e) {
+				LOG.warn("Unable to verify the detached document with name '{}' : {}", referenceValidation.getName(),
+						e.getCause().getMessage(), e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the digest of the {@code document} matches the {@code expectedDigest}
+	 *
+	 * @param document {@link DSSDocument} to compute digest on
+	 * @param digestAlgorithm {@link DigestAlgorithm} to use
+	 * @param expectedDigest the expected digest value
+	 * @param useCachedDigest defines whether the digest cached within the document can be used
+	 *                        (false when executed in parallel, as the cache is not thread-safe)
+	 * @return TRUE if the digests match, FALSE otherwise
+	 */
 	private boolean isDocumentDigestMatch(DSSDocument document, DigestAlgorithm digestAlgorithm,
-			byte[] expectedDigest) {
+			byte[] expectedDigest, boolean useCachedDigest) {
 		byte[] computedDigestValue;
-		if (jws.isRfc7797UnencodedPayload() || document instanceof DigestDocument) {
+		if (document instanceof DigestDocument || (jws.isRfc7797UnencodedPayload() && useCachedDigest)) {
 			String computedDigestBase64 = document.getDigest(digestAlgorithm);
 			computedDigestValue = Utils.fromBase64(computedDigestBase64);
+		} else if (jws.isRfc7797UnencodedPayload()) {
+			computedDigestValue = DSSUtils.digest(digestAlgorithm, document);
 		} else {
-			String base64UrlEncodedDocument = DSSJsonUtils.toBase64Url(document);
-			computedDigestValue = DSSUtils.digest(digestAlgorithm, base64UrlEncodedDocument.getBytes());
+			DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(digestAlgorithm);
+			DSSJsonUtils.writeDocumentsDigest(Collections.singletonList(document), true, digestCalculator);
+			computedDigestValue = digestCalculator.getMessageDigest().getValue();
 		}
 
 		if (Arrays.equals(expectedDigest, computedDigestValue)) {
@@ -1014,7 +1094,13 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 				referenceValidation.setFound(true);
 			}
 
-			byte[] unverifiedPayloadBytes = getJws().getUnverifiedPayloadBytes();
+			byte[] unverifiedPayloadBytes;
+			if (Utils.collectionSize(getJws().getDetachedPayload()) == 1) {
+				// the signature value of the master signature is small, therefore can be loaded
+				unverifiedPayloadBytes = DSSUtils.toByteArray(getJws().getDetachedPayload().get(0));
+			} else {
+				unverifiedPayloadBytes = getJws().getUnverifiedPayloadBytes();
+			}
 			if (Utils.isArrayNotEmpty(unverifiedPayloadBytes)) {
 				boolean intact = Arrays.equals(signatureValue, unverifiedPayloadBytes);
 				if (!intact) {
@@ -20,11 +20,21 @@
  */
 package eu.europa.esig.dss.jades.validation;
 
+import eu.europa.esig.dss.enumerations.EncryptionAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.jades.DSSJsonUtils;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.spi.DSSSecurityProvider;
 import eu.europa.esig.dss.spi.x509.SignatureIntegrityValidator;
+import eu.europa.esig.dss.utils.Utils;
 import org.jose4j.lang.JoseException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
 import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
 
 /**
  * Checks the integrity of a JAdES SignatureValue
@@ -34,17 +44,51 @@ public class JAdESSignatureIntegrityValidator extends SignatureIntegrityValidato
 	/** The JWS signature to validate */
 	private final JWS jws;
 
+	/** The signature algorithm used to verify a JWS with a detached payload as a stream (can be null) */
+	private final SignatureAlgorithm signatureAlgorithm;
+
 	/**
 	 * Default constructor
 	 *
 	 * @param jws {@link JWS}
 	 */
 	public JAdESSignatureIntegrityValidator(final JWS jws) {
+		this(jws, null);
+	}
+
+	/**
+	 * Constructor allowing verification of a JWS with a detached payload (see {@code JWS.getDetachedPayload()})
+	 * as a stream, when the {@code signatureAlgorithm} is supported
+	 * (see {@code #isStreamingVerificationSupported(SignatureAlgorithm)})
+	 *
+	 * @param jws {@link JWS}
+	 * @param signatureAlgorithm {@link SignatureAlgorithm} of the JWS
+	 */
+	public JAdESSignatureIntegrityValidator(final JWS jws, final SignatureAlgorithm signatureAlgorithm) {
 		this.jws = jws;
+		this.signatureAlgorithm = signatureAlgorithm;
+	}
+
+	/**
+	 * Checks whether a JWS with the given {@code signatureAlgorithm} can be verified
+	 * with a detached payload processed as a stream
+	 *
+	 * @param signatureAlgorithm {@link SignatureAlgorithm} to check
+	 * @return TRUE if the streaming verification is supported, FALSE otherwise
+	 */
+	public static boolean isStreamingVerificationSupported(SignatureAlgorithm signatureAlgorithm) {
+		if (signatureAlgorithm == null) {
+			return false;
+		}
+		EncryptionAlgorithm encryptionAlgorithm = signatureAlgorithm.getEncryptionAlgorithm();
+		return EncryptionAlgorithm.RSA.equals(encryptionAlgorithm) || EncryptionAlgorithm.ECDSA.equals(encryptionAlgorithm);
 	}
 
 	@Override
 	protected boolean verify(PublicKey publicKey) throws DSSException {
+		if (Utils.isCollectionNotEmpty(jws.getDetachedPayload()) && isStreamingVerificationSupported(signatureAlgorithm)) {
+			return verifyStream(publicKey);
+		}
 		try {
 			jws.setKey(publicKey);
 			return jws.verifySignature();
@@ -53,4 +97,54 @@ public class JAdESSignatureIntegrityValidator extends SignatureIntegrityValidato
 		}
 	}
 
+	private boolean verifyStream(PublicKey publicKey) throws DSSException {
+		try {
+			Signature signature = Signature.getInstance(getJCEId(), DSSSecurityProvider.getSecurityProviderName());
+			signature.initVerify(publicKey);
+			try (OutputStream os = new SignatureOutputStream(signature)) {
+				DSSJsonUtils.writeSigningInput(jws, os);
+			}
+			return signature.verify(jws.getSignatureValue());
+		} catch (GeneralSecurityException | IOException e) {
+			throw new DSSException(String.format("Unable to verify the JWS signature value. Reason : %s", e.getMessage()), e);
+		}
+	}
+
+	private String getJCEId() {
+		if (EncryptionAlgorithm.ECDSA.equals(signatureAlgorithm.getEncryptionAlgorithm())) {
+			// JWS signature value is a concatenation R || S (see RFC 7518)
+			return SignatureAlgorithm.getAlgorithm(EncryptionAlgorithm.PLAIN_ECDSA,
+					signatureAlgorithm.getDigestAlgorithm()).getJCEId();
+		}
+		return signatureAlgorithm.getJCEId();
+	}
+
+	/**
+	 * Updates the {@code Signature} with the written bytes
+	 */
+	private static class SignatureOutputStream extends OutputStream {
+
+		/** The signature to update */
+		private final Signature signature;
+
+		SignatureOutputStream(Signature signature) {
+			this.signature = signature;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			try {
+				signature.update(b, off, len);
+			} catch (SignatureException e) {
+				throw new IOException(e);
+			}
+		}
+
+	}
+
 }
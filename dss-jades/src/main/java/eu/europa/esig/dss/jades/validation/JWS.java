@@ -23,6 +23,7 @@ package eu.europa.esig.dss.jades.validation;
 import eu.europa.esig.dss.exception.IllegalInputException;
 import eu.europa.esig.dss.jades.DSSJsonUtils;
 import eu.europa.esig.dss.jades.JWSJsonSerializationObject;
+import eu.europa.esig.dss.model.DSSDocument;
 import org.jose4j.jws.JsonWebSignature;
 import org.jose4j.lang.JoseException;
 
@@ -49,6 +50,12 @@ public class JWS extends JsonWebSignature implements Serializable {
 	 */
 	private JWSJsonSerializationObject jwsJsonSerializationObject;
 
+	/**
+	 * The detached payload documents to be processed as a stream on signature validation
+	 * (used instead of the payload octets, when defined)
+	 */
+	private List<DSSDocument> detachedPayload;
+
 	/**
 	 * The default constructor creating an empty JsonWebSignature
 	 */
@@ -174,6 +181,25 @@ public class JWS extends JsonWebSignature implements Serializable {
 		this.jwsJsonSerializationObject = jwsJsonSerializationObject;
 	}
 	
+	/**
+	 * Gets the detached payload documents, when defined
+	 *
+	 * @return a list of {@link DSSDocument}s
+	 */
+	public List<DSSDocument> getDetachedPayload() {
+		return detachedPayload;
+	}
+
+	/**
+	 * Sets the detached payload documents, which binaries are processed as a stream
+	 * on the signing input computation, instead of being loaded into the payload octets
+	 *
+	 * @param detachedPayload a list of {@link DSSDocument}s
+	 */
+	public void setDetachedPayload(List<DSSDocument> detachedPayload) {
+		this.detachedPayload = detachedPayload;
+	}
+
 	/**
 	 * Sets values of the 'crit' header that must be known and proceeded
 	 * 
@@ -72,6 +72,7 @@ public class JWSCompactDocumentValidator extends AbstractJWSDocumentValidator {
 		jadesSignature.setSignatureFilename(document.getName());
 		jadesSignature.setSigningCertificateSource(signingCertificateSource);
 		jadesSignature.setDetachedContents(detachedContents);
+		jadesSignature.setReferenceValidationExecutorService(referenceValidationExecutorService);
 		jadesSignature.prepareOfflineCertificateVerifier(certificateVerifier);
 		return Collections.singletonList(jadesSignature);
 	}
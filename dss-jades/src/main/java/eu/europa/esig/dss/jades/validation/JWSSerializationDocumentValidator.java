@@ -91,6 +91,7 @@ public class JWSSerializationDocumentValidator extends AbstractJWSDocumentValida
 			jadesSignature.setSignatureFilename(document.getName());
 			jadesSignature.setSigningCertificateSource(signingCertificateSource);
 			jadesSignature.setDetachedContents(detachedContents);
+			jadesSignature.setReferenceValidationExecutorService(referenceValidationExecutorService);
 			jadesSignature.prepareOfflineCertificateVerifier(certificateVerifier);
 			signatures.add(jadesSignature);
 		}
@@ -148,6 +148,11 @@ public class JAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 	}
 	
 	private void writeJWSPayloadValue(DSSMessageDigestCalculator digestCalculator) {
+		List<DSSDocument> detachedPayload = signature.getJws().getDetachedPayload();
+		if (Utils.isCollectionNotEmpty(detachedPayload)) {
+			DSSJsonUtils.writeDocumentsDigest(detachedPayload, !signature.getJws().isRfc7797UnencodedPayload(), digestCalculator);
+			return;
+		}
 		byte[] payload;
 		if (signature.getJws().isRfc7797UnencodedPayload()) {
 			payload = signature.getJws().getUnverifiedPayloadBytes();
@@ -26,12 +26,15 @@ import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSMessageDigestCalculator;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import org.jose4j.jws.EcdsaUsingShaAlgorithm;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -112,4 +115,26 @@ public class DSSJsonUtilsTest {
 		assertFalse(DSSJsonUtils.isJsonDocument(new DigestDocument(DigestAlgorithm.SHA1, Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA1, jsonDoc)))));
 	}
 
+	@Test
+	public void writeDocumentOctetsTest() throws Exception {
+		for (int length : new int[] { 0, 1, 2, 3, 4, 100, 8193 }) {
+			byte[] content = new byte[length];
+			for (int i = 0; i < length; i++) {
+				content[i] = (byte) (i * 31);
+			}
+			InMemoryDocument document = new InMemoryDocument(content);
+			for (boolean isBase64UrlEncoded : new boolean[] { true, false }) {
+				try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+					DSSJsonUtils.writeDocumentOctets(document, isBase64UrlEncoded, baos);
+					assertArrayEquals(DSSJsonUtils.getDocumentOctets(document, isBase64UrlEncoded), baos.toByteArray());
+				}
+
+				DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(DigestAlgorithm.SHA256);
+				DSSJsonUtils.writeDocumentsDigest(Arrays.asList(document, document), isBase64UrlEncoded, digestCalculator);
+				byte[] octets = DSSJsonUtils.getDocumentOctets(document, isBase64UrlEncoded);
+				assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, octets, octets), digestCalculator.getMessageDigest().getValue());
+			}
+		}
+	}
+
 }
@@ -0,0 +1,153 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.jades.validation;
+
+import eu.europa.esig.dss.enumerations.DigestMatcherType;
+import eu.europa.esig.dss.enumerations.SigDMechanism;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.jades.JAdESSignatureParameters;
+import eu.europa.esig.dss.jades.signature.JAdESService;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.ReferenceValidation;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JAdESParallelReferenceValidationTest extends PKIFactoryAccess {
+
+	private static final int NUMBER_OF_DOCUMENTS = 20;
+
+	private ExecutorService executorService;
+
+	private List<DSSDocument> documents;
+
+	private DSSDocument signedDocument;
+
+	@BeforeEach
+	public void init() {
+		executorService = Executors.newFixedThreadPool(4);
+
+		documents = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_DOCUMENTS; i++) {
+			documents.add(new InMemoryDocument(("Hello World " + i).getBytes(), "doc" + i + ".txt"));
+		}
+
+		JAdESSignatureParameters signatureParameters = new JAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(new Date());
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.DETACHED);
+		signatureParameters.setSigDMechanism(SigDMechanism.OBJECT_ID_BY_URI_HASH);
+		signatureParameters.setSignatureLevel(SignatureLevel.JAdES_BASELINE_B);
+
+		JAdESService service = new JAdESService(getOfflineCertificateVerifier());
+		ToBeSigned dataToSign = service.getDataToSign(documents, signatureParameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		signedDocument = service.signDocument(documents, signatureParameters, signatureValue);
+	}
+
+	@AfterEach
+	public void shutdown() {
+		executorService.shutdown();
+	}
+
+	@Test
+	public void test() {
+		List<ReferenceValidation> sequentialValidations = getReferenceValidations(documents, null);
+		List<ReferenceValidation> parallelValidations = getReferenceValidations(documents, executorService);
+		assertSameResults(sequentialValidations, parallelValidations);
+
+		int sigDEntriesCounter = 0;
+		for (ReferenceValidation referenceValidation : parallelValidations) {
+			assertTrue(referenceValidation.isFound());
+			assertTrue(referenceValidation.isIntact());
+			if (DigestMatcherType.SIG_D_ENTRY.equals(referenceValidation.getType())) {
+				++sigDEntriesCounter;
+			}
+		}
+		assertEquals(NUMBER_OF_DOCUMENTS, sigDEntriesCounter);
+	}
+
+	@Test
+	public void alteredDocumentTest() {
+		List<DSSDocument> detachedContents = new ArrayList<>(documents);
+		detachedContents.set(5, new InMemoryDocument("Bye World".getBytes(), "doc5.txt"));
+
+		List<ReferenceValidation> sequentialValidations = getReferenceValidations(detachedContents, null);
+		List<ReferenceValidation> parallelValidations = getReferenceValidations(detachedContents, executorService);
+		assertSameResults(sequentialValidations, parallelValidations);
+
+		int notIntactCounter = 0;
+		for (ReferenceValidation referenceValidation : parallelValidations) {
+			assertTrue(referenceValidation.isFound());
+			if (!referenceValidation.isIntact()) {
+				assertEquals("doc5.txt", referenceValidation.getName());
+				++notIntactCounter;
+			}
+		}
+		assertEquals(1, notIntactCounter);
+	}
+
+	private List<ReferenceValidation> getReferenceValidations(List<DSSDocument> detachedContents,
+															  ExecutorService executorService) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		validator.setDetachedContents(detachedContents);
+		validator.setReferenceValidationExecutorService(executorService);
+		List<AdvancedSignature> signatures = validator.getSignatures();
+		assertEquals(1, signatures.size());
+		return signatures.get(0).getReferenceValidations();
+	}
+
+	private void assertSameResults(List<ReferenceValidation> expected, List<ReferenceValidation> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getType(), actual.get(i).getType());
+			assertEquals(expected.get(i).getName(), actual.get(i).getName());
+			assertEquals(expected.get(i).isFound(), actual.get(i).isFound());
+			assertEquals(expected.get(i).isIntact(), actual.get(i).isIntact());
+		}
+		assertFalse(actual.isEmpty());
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
@@ -0,0 +1,164 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.x509;
+
+import eu.europa.esig.dss.model.identifier.EntityIdentifier;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the successfully verified certificate signatures.
+ *
+ * Each entry represents an issuer to subject edge, identified by the digest of the subject certificate
+ * and the digest of the issuer's public key. As both identifiers are computed on the binaries,
+ * the result of the signature verification does not change for the same entry and can be reused between
+ * different {@code CertificateToken} instances representing the same certificate (e.g. between validations).
+ *
+ * Only successful verifications are cached. The cache is bounded and evicts the least recently used entries.
+ *
+ * NOTE: the cache is disabled by default, as its content is shared by all validations within the JVM.
+ */
+public final class CertificateSignatureCache {
+
+	/** The default maximal number of cached entries */
+	private static final int DEFAULT_MAX_SIZE = 10000;
+
+	/** Defines whether the cache is used (false by default) */
+	private static volatile boolean enabled = false;
+
+	/** The maximal number of cached entries */
+	private static volatile int maxSize = DEFAULT_MAX_SIZE;
+
+	/** The verified edges, the value is not used */
+	private static final Map<String, Boolean> VERIFIED_EDGES = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 2516716612356745328L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+			return size() > maxSize;
+		}
+
+	};
+
+	/**
+	 * Utils class
+	 */
+	private CertificateSignatureCache() {
+		// empty
+	}
+
+	/**
+	 * Sets whether the verified signatures shall be cached
+	 *
+	 * Default : false
+	 *
+	 * @param enabled whether the cache is used
+	 */
+	public static void setEnabled(boolean enabled) {
+		CertificateSignatureCache.enabled = enabled;
+		if (!enabled) {
+			clear();
+		}
+	}
+
+	/**
+	 * Returns whether the cache is used
+	 *
+	 * @return TRUE if the cache is enabled, FALSE otherwise
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the maximal number of cached entries
+	 *
+	 * Default : 10000
+	 *
+	 * @param maxSize the maximal number of entries
+	 */
+	public static void setMaxSize(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximal size shall be a positive number!");
+		}
+		CertificateSignatureCache.maxSize = maxSize;
+	}
+
+	/**
+	 * Checks whether the signature of the certificate has already been successfully verified with the given key
+	 *
+	 * @param certificateToken {@link CertificateToken} the subject certificate
+	 * @param issuerKey {@link EntityIdentifier} of the issuer's public key
+	 * @return TRUE if the signature has been verified, FALSE otherwise
+	 */
+	static boolean isVerified(CertificateToken certificateToken, EntityIdentifier issuerKey) {
+		if (!enabled) {
+			return false;
+		}
+		final String key = getKey(certificateToken, issuerKey);
+		synchronized (VERIFIED_EDGES) {
+			return VERIFIED_EDGES.get(key) != null;
+		}
+	}
+
+	/**
+	 * Registers a successful verification of the certificate signature with the given key
+	 *
+	 * @param certificateToken {@link CertificateToken} the subject certificate
+	 * @param issuerKey {@link EntityIdentifier} of the issuer's public key
+	 */
+	static void addVerified(CertificateToken certificateToken, EntityIdentifier issuerKey) {
+		if (!enabled) {
+			return;
+		}
+		final String key = getKey(certificateToken, issuerKey);
+		synchronized (VERIFIED_EDGES) {
+			VERIFIED_EDGES.put(key, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Returns the number of cached entries
+	 *
+	 * @return number of entries
+	 */
+	public static int size() {
+		synchronized (VERIFIED_EDGES) {
+			return VERIFIED_EDGES.size();
+		}
+	}
+
+	/**
+	 * Removes all cached entries
+	 */
+	public static void clear() {
+		synchronized (VERIFIED_EDGES) {
+			VERIFIED_EDGES.clear();
+		}
+	}
+
+	private static String getKey(CertificateToken certificateToken, EntityIdentifier issuerKey) {
+		return certificateToken.getDSSId().asXmlId() + "|" + issuerKey.asXmlId();
+	}
+
+}
@@ -27,6 +27,7 @@ import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.identifier.CertificateTokenIdentifier;
 import eu.europa.esig.dss.model.identifier.EntityIdentifier;
 import eu.europa.esig.dss.model.identifier.TokenIdentifier;
+import eu.europa.esig.dss.model.x509.extension.DecodedCertificateExtensions;
 
 import javax.security.auth.x500.X500Principal;
 import java.math.BigInteger;
@@ -72,6 +73,11 @@ public class CertificateToken extends Token {
 	 */
 	private List<KeyUsageBit> keyUsageBits;
 
+	/**
+	 * Cached decoded certificate extensions (lazily populated)
+	 */
+	private final DecodedCertificateExtensions decodedExtensions;
+
 	/**
 	 * Creates a CertificateToken wrapping the provided X509Certificate.
 	 *
@@ -79,9 +85,24 @@ public class CertificateToken extends Token {
 	 *            the X509Certificate object
 	 */
 	public CertificateToken(X509Certificate x509Certificate) {
+		this(x509Certificate, new DecodedCertificateExtensions());
+	}
+
+	/**
+	 * Creates a CertificateToken from the provided X509Certificate, sharing the given holder
+	 * of the decoded certificate extensions (e.g. between instances of the same pooled certificate)
+	 *
+	 * @param x509Certificate
+	 *            the X509Certificate object
+	 * @param decodedExtensions
+	 *            {@link DecodedCertificateExtensions} of the same certificate
+	 */
+	public CertificateToken(X509Certificate x509Certificate, DecodedCertificateExtensions decodedExtensions) {
 		Objects.requireNonNull(x509Certificate, "X509 certificate is missing");
+		Objects.requireNonNull(decodedExtensions, "DecodedCertificateExtensions cannot be null!");
 
 		this.x509Certificate = x509Certificate;
+		this.decodedExtensions = decodedExtensions;
 		this.entityKey = new EntityIdentifier(x509Certificate.getPublicKey());
 
 		// The Algorithm OID is used and not the name {@code x509Certificate.getSigAlgName()}
@@ -281,9 +302,17 @@ public class CertificateToken extends Token {
 	protected SignatureValidity checkIsSignedBy(final PublicKey publicKey) {
 		signatureValidity = SignatureValidity.INVALID;
 		signatureInvalidityReason = "";
+		final EntityIdentifier issuerKey = CertificateSignatureCache.isEnabled() ? new EntityIdentifier(publicKey) : null;
+		if (issuerKey != null && CertificateSignatureCache.isVerified(this, issuerKey)) {
+			signatureValidity = SignatureValidity.VALID;
+			return signatureValidity;
+		}
 		try {
 			x509Certificate.verify(publicKey);
 			signatureValidity = SignatureValidity.VALID;
+			if (issuerKey != null) {
+				CertificateSignatureCache.addVerified(this, issuerKey);
+			}
 		} catch (NoSuchProviderException e) { // if there's no default provider.
 			throw new DSSException(String.format("No provider has been found for signature validation : %s", e.getMessage()), e);
 		} catch (Exception e) {
@@ -323,6 +352,16 @@ public class CertificateToken extends Token {
 		return keyUsageBits;
 	}
 
+	/**
+	 * Returns the holder of the decoded certificate extensions, populated on the first access
+	 * to the corresponding certificate extension
+	 *
+	 * @return {@link DecodedCertificateExtensions}
+	 */
+	public DecodedCertificateExtensions getDecodedExtensions() {
+		return decodedExtensions;
+	}
+
 	/**
 	 * This method checks if the BasicConstraint is present
 	 * 
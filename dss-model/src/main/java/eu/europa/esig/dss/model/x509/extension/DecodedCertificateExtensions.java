@@ -0,0 +1,113 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.model.x509.extension;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe holder of the decoded certificate extensions of a {@code CertificateToken}.
+ *
+ * The holder is populated lazily, on the first extraction of a certificate extension,
+ * and allows to avoid repetitive parsing of the same extension value.
+ * The absence of an extension within the certificate is cached as well.
+ * NOTE: the returned objects are shared and shall not be modified.
+ *
+ */
+public class DecodedCertificateExtensions implements Serializable {
+
+    private static final long serialVersionUID = -4096378515632479024L;
+
+    /** Placeholder used to cache an absent (or not parsable) certificate extension */
+    private static final CertificateExtension ABSENT = new CertificateExtension("absent");
+
+    /** Map between the certificate extension OIDs and the decoded values */
+    private final Map<String, CertificateExtension> extensions = new ConcurrentHashMap<>();
+
+    /** Contains all certificate extensions, when computed */
+    private volatile CertificateExtensions certificateExtensions;
+
+    /**
+     * Default constructor instantiating an empty holder
+     */
+    public DecodedCertificateExtensions() {
+        // empty
+    }
+
+    /**
+     * Checks whether the certificate extension with the given OID has been already decoded
+     *
+     * @param oid {@link String} of the certificate extension
+     * @return TRUE if the certificate extension has been already decoded, FALSE otherwise
+     */
+    public boolean isDecoded(String oid) {
+        return extensions.containsKey(oid);
+    }
+
+    /**
+     * Returns the decoded certificate extension with the given OID
+     *
+     * @param oid {@link String} of the certificate extension
+     * @return {@link CertificateExtension} if decoded and present, NULL otherwise
+     */
+    public CertificateExtension getExtension(String oid) {
+        CertificateExtension certificateExtension = extensions.get(oid);
+        return certificateExtension != ABSENT ? certificateExtension : null;
+    }
+
+    /**
+     * Stores the decoded certificate extension
+     *
+     * NOTE: the value is stored only once, the previously decoded value is returned if present.
+     *
+     * @param oid {@link String} of the certificate extension
+     * @param certificateExtension {@link CertificateExtension} the decoded value, NULL if not present
+     * @return {@link CertificateExtension} the cached value
+     */
+    public CertificateExtension putExtension(String oid, CertificateExtension certificateExtension) {
+        CertificateExtension value = certificateExtension != null ? certificateExtension : ABSENT;
+        CertificateExtension previous = extensions.putIfAbsent(oid, value);
+        if (previous != null) {
+            value = previous;
+        }
+        return value != ABSENT ? value : null;
+    }
+
+    /**
+     * Returns all certificate extensions, when computed
+     *
+     * @return {@link CertificateExtensions}
+     */
+    public CertificateExtensions getCertificateExtensions() {
+        return certificateExtensions;
+    }
+
+    /**
+     * Sets all certificate extensions
+     *
+     * @param certificateExtensions {@link CertificateExtensions}
+     */
+    public void setCertificateExtensions(CertificateExtensions certificateExtensions) {
+        this.certificateExtensions = certificateExtensions;
+    }
+
+}
@@ -0,0 +1,211 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pades.validation;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Computes digests of the ByteRanges of a PDF document.
+ *
+ * All the registered ByteRanges are digested within a single sequential pass over the PDF document
+ * for a requested digest algorithm, instead of re-reading the document from the beginning for every revision.
+ * When the PDF document is represented by a {@code FileDocument}, the content is read directly
+ * from a {@code FileChannel}.
+ *
+ */
+public class PdfByteRangeDigestEngine implements Serializable {
+
+    private static final long serialVersionUID = -2806381282693094530L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(PdfByteRangeDigestEngine.class);
+
+    /** The size of the buffer used to read the document */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Input PDF document to read */
+    private final DSSDocument pdfDocument;
+
+    /** The ByteRanges to be digested */
+    private final Set<ByteRange> byteRanges = new LinkedHashSet<>();
+
+    /** The computed digests per digest algorithm */
+    private final Map<DigestAlgorithm, Map<ByteRange, byte[]>> digests = new EnumMap<>(DigestAlgorithm.class);
+
+    /**
+     * Default constructor
+     *
+     * @param pdfDocument {@link DSSDocument} input PDF document to read
+     */
+    public PdfByteRangeDigestEngine(final DSSDocument pdfDocument) {
+        Objects.requireNonNull(pdfDocument, "PDF document cannot be null!");
+        this.pdfDocument = pdfDocument;
+    }
+
+    /**
+     * Registers the {@code byteRange} to be digested within the next pass over the document
+     *
+     * NOTE: throws {@code IllegalInputException} if the {@code byteRange} is not valid
+     *
+     * @param byteRange {@link ByteRange} to be digested
+     */
+    public synchronized void register(final ByteRange byteRange) {
+        Objects.requireNonNull(byteRange, "ByteRange cannot be null!");
+        if (!byteRanges.contains(byteRange)) {
+            // the sequential processing requires ordered non-overlapping parts
+            byteRange.validate();
+            byteRanges.add(byteRange);
+        }
+    }
+
+    /**
+     * Returns the digest of the {@code byteRange} content.
+     * On the first request for the given {@code digestAlgorithm} digests of all registered ByteRanges are computed.
+     *
+     * @param byteRange {@link ByteRange} to get digest for
+     * @param digestAlgorithm {@link DigestAlgorithm} to be used
+     * @return digest of the ByteRange content
+     */
+    public synchronized byte[] getDigest(final ByteRange byteRange, final DigestAlgorithm digestAlgorithm) {
+        Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+        register(byteRange);
+        final Map<ByteRange, byte[]> computedDigests = digests.computeIfAbsent(digestAlgorithm, k -> new HashMap<>());
+        byte[] digest = computedDigests.get(byteRange);
+        if (digest == null) {
+            computeDigests(digestAlgorithm, computedDigests);
+            digest = computedDigests.get(byteRange);
+        }
+        return digest;
+    }
+
+    private void computeDigests(final DigestAlgorithm digestAlgorithm, final Map<ByteRange, byte[]> computedDigests) {
+        final List<ByteRange> toCompute = new ArrayList<>();
+        for (ByteRange byteRange : byteRanges) {
+            if (!computedDigests.containsKey(byteRange)) {
+                toCompute.add(byteRange);
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Computing {} digests for ByteRanges {}", digestAlgorithm, toCompute);
+        }
+
+        final List<MessageDigest> messageDigests = new ArrayList<>();
+        long end = 0;
+        for (ByteRange byteRange : toCompute) {
+            messageDigests.add(DSSUtils.getMessageDigest(digestAlgorithm));
+            end = Math.max(end, getSecondPartEndPosition(byteRange));
+        }
+
+        try {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            if (pdfDocument instanceof FileDocument) {
+                readFromChannel((FileDocument) pdfDocument, buffer, end, toCompute, messageDigests);
+            } else {
+                readFromStream(buffer, end, toCompute, messageDigests);
+            }
+        } catch (IOException e) {
+            throw new DSSException(String.format("Unable to compute digests of the ByteRanges : %s", e.getMessage()), e);
+        }
+
+        for (int i = 0; i < toCompute.size(); i++) {
+            computedDigests.put(toCompute.get(i), messageDigests.get(i).digest());
+        }
+    }
+
+    private void readFromChannel(FileDocument fileDocument, byte[] buffer, long end, List<ByteRange> toCompute,
+                                 List<MessageDigest> messageDigests) throws IOException {
+        try (FileChannel channel = FileChannel.open(fileDocument.getFile().toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            long position = 0;
+            while (position < end) {
+                byteBuffer.clear();
+                byteBuffer.limit((int) Math.min(buffer.length, end - position));
+                int count = channel.read(byteBuffer, position);
+                if (count < 0) {
+                    break;
+                }
+                update(buffer, position, count, toCompute, messageDigests);
+                position += count;
+            }
+        }
+    }
+
+    private void readFromStream(byte[] buffer, long end, List<ByteRange> toCompute,
+                                List<MessageDigest> messageDigests) throws IOException {
+        try (InputStream is = pdfDocument.openStream()) {
+            long position = 0;
+            while (position < end) {
+                int count = is.read(buffer, 0, (int) Math.min(buffer.length, end - position));
+                if (count < 0) {
+                    break;
+                }
+                update(buffer, position, count, toCompute, messageDigests);
+                position += count;
+            }
+        }
+    }
+
+    private void update(byte[] buffer, long position, int count, List<ByteRange> toCompute,
+                        List<MessageDigest> messageDigests) {
+        for (int i = 0; i < toCompute.size(); i++) {
+            final ByteRange byteRange = toCompute.get(i);
+            final MessageDigest messageDigest = messageDigests.get(i);
+            update(messageDigest, buffer, position, count,
+                    byteRange.getFirstPartStart(), (long) byteRange.getFirstPartStart() + byteRange.getFirstPartEnd());
+            update(messageDigest, buffer, position, count,
+                    byteRange.getSecondPartStart(), getSecondPartEndPosition(byteRange));
+        }
+    }
+
+    private void update(MessageDigest messageDigest, byte[] buffer, long position, int count, long start, long end) {
+        final long from = Math.max(start, position);
+        final long to = Math.min(end, position + count);
+        if (from < to) {
+            messageDigest.update(buffer, (int) (from - position), (int) (to - from));
+        }
+    }
+
+    private long getSecondPartEndPosition(ByteRange byteRange) {
+        return (long) byteRange.getSecondPartStart() + byteRange.getSecondPartEnd();
+    }
+
+}
@@ -20,8 +20,10 @@
  */
 package eu.europa.esig.dss.pades.validation;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.CommonDocument;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.utils.Utils;
 
 import java.io.InputStream;
 
@@ -39,6 +41,9 @@ public class PdfByteRangeDocument extends CommonDocument {
     /** The ByteRange to be read */
     private final ByteRange byteRange;
 
+    /** Digest engine shared between ByteRanges of the same PDF document (optional) */
+    private final PdfByteRangeDigestEngine digestEngine;
+
     /**
      * Default constructor
      *
@@ -46,8 +51,25 @@ public class PdfByteRangeDocument extends CommonDocument {
      * @param byteRange {@link ByteRange} of the revision to be read
      */
     public PdfByteRangeDocument(final DSSDocument pdfDocument, final ByteRange byteRange) {
+        this(pdfDocument, byteRange, null);
+    }
+
+    /**
+     * Constructor with a digest engine, used to compute digests of several ByteRanges of the same
+     * PDF document within a single pass
+     *
+     * @param pdfDocument {@link DSSDocument} input PDF document to read
+     * @param byteRange {@link ByteRange} of the revision to be read
+     * @param digestEngine {@link PdfByteRangeDigestEngine} for the {@code pdfDocument}
+     */
+    public PdfByteRangeDocument(final DSSDocument pdfDocument, final ByteRange byteRange,
+                                final PdfByteRangeDigestEngine digestEngine) {
         this.pdfDocument = pdfDocument;
         this.byteRange = byteRange;
+        this.digestEngine = digestEngine;
+        if (digestEngine != null) {
+            digestEngine.register(byteRange);
+        }
     }
 
     /**
@@ -59,6 +81,19 @@ public class PdfByteRangeDocument extends CommonDocument {
         return byteRange;
     }
 
+    @Override
+    public String getDigest(DigestAlgorithm digestAlgorithm) {
+        if (digestEngine == null) {
+            return super.getDigest(digestAlgorithm);
+        }
+        String base64EncodeDigest = base64EncodeDigestMap.get(digestAlgorithm);
+        if (base64EncodeDigest == null) {
+            base64EncodeDigest = Utils.toBase64(digestEngine.getDigest(byteRange, digestAlgorithm));
+            base64EncodeDigestMap.put(digestAlgorithm, base64EncodeDigest);
+        }
+        return base64EncodeDigest;
+    }
+
     @Override
     public InputStream openStream() {
         return new ByteRangeInputStream(pdfDocument.openStream(), byteRange);
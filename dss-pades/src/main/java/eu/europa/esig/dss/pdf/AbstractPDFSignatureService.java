@@ -33,6 +33,7 @@ import eu.europa.esig.dss.pades.SignatureImageParameters;
 import eu.europa.esig.dss.pades.exception.InvalidPasswordException;
 import eu.europa.esig.dss.pades.validation.ByteRange;
 import eu.europa.esig.dss.pades.validation.PAdESSignature;
+import eu.europa.esig.dss.pades.validation.PdfByteRangeDigestEngine;
 import eu.europa.esig.dss.pades.validation.PdfByteRangeDocument;
 import eu.europa.esig.dss.pades.validation.PdfRevision;
 import eu.europa.esig.dss.pades.validation.PdfSignatureDictionary;
@@ -335,6 +336,8 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 	public List<PdfRevision> getRevisions(final DSSDocument document, final char[] pwd) {
 		final List<PdfRevision> revisions = new ArrayList<>();
 		final List<PdfByteRangeDocument> revisionDocuments = PAdESUtils.extractRevisions(document);
+		// computes digests of all signed ByteRanges within a single pass over the document
+		final PdfByteRangeDigestEngine digestEngine = new PdfByteRangeDigestEngine(document);
 
 		try (PdfDocumentReader reader = loadPdfDocumentReader(document, pwd)) {
 
@@ -362,7 +365,7 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 
 					final DSSDocument signedContent;
 					if (byteRangeValid) {
-						signedContent = new PdfByteRangeDocument(document, byteRange);
+						signedContent = new PdfByteRangeDocument(document, byteRange, digestEngine);
 					} else {
 						signedContent = InMemoryDocument.createEmptyDocument();
 						LOG.warn("The signature '{}' has an invalid /ByteRange! " +
@@ -24,6 +24,7 @@ import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import org.bouncycastle.cms.CMSSignedData;
@@ -35,6 +36,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -61,6 +63,23 @@ public class PdfByteRangeDocumentTest {
         assertEquals("tlP+GBlImCLCAZGWWWTLmiHtZVVTqHeiRq+ddk5hV+M=", pdfRevisionDocument.getDigest(DigestAlgorithm.SHA256));
     }
 
+    @Test
+    public void digestEngineTest() {
+        ByteRange revisionByteRange = new ByteRange(new int[]{0, 50000, 50000, 0});
+        DSSDocument inMemoryDocument = new InMemoryDocument(DSSUtils.toByteArray(pdfDocument));
+        for (DSSDocument document : Arrays.asList(pdfDocument, inMemoryDocument)) {
+            PdfByteRangeDigestEngine digestEngine = new PdfByteRangeDigestEngine(document);
+            PdfByteRangeDocument pdfRevisionDocument = new PdfByteRangeDocument(document, byteRange, digestEngine);
+            PdfByteRangeDocument previousRevisionDocument = new PdfByteRangeDocument(document, revisionByteRange, digestEngine);
+
+            assertEquals("tlP+GBlImCLCAZGWWWTLmiHtZVVTqHeiRq+ddk5hV+M=", pdfRevisionDocument.getDigest(DigestAlgorithm.SHA256));
+            assertEquals(new PdfByteRangeDocument(document, revisionByteRange).getDigest(DigestAlgorithm.SHA256),
+                    previousRevisionDocument.getDigest(DigestAlgorithm.SHA256));
+            assertEquals(new PdfByteRangeDocument(document, byteRange).getDigest(DigestAlgorithm.SHA512),
+                    pdfRevisionDocument.getDigest(DigestAlgorithm.SHA512));
+        }
+    }
+
     @Test
     public void readByByteTest() throws IOException, NoSuchAlgorithmException {
         PdfByteRangeDocument pdfRevisionDocument = new PdfByteRangeDocument(pdfDocument, byteRange);
@@ -167,6 +167,19 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
 		}
 	}
 
+	@Override
+	protected RevocationToken<CRL> getRevocationTokenForCertificate(final RevocationToken<CRL> cachedToken,
+			final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+		RevocationToken<CRL> revocationToken = super.getRevocationTokenForCertificate(cachedToken, certificateToken, issuerCertificateToken);
+		if (revocationToken == null) {
+			// the parsed CRL is shared between the certificates, only the status of the certificate is computed
+			CRLToken crlToken = new CRLToken(certificateToken, ((CRLToken) cachedToken).getCrlValidity());
+			crlToken.setExternalOrigin(RevocationOrigin.CACHED);
+			revocationToken = crlToken;
+		}
+		return revocationToken;
+	}
+
 	@Override
 	protected void insertRevocation(final String revocationKey, final RevocationToken<CRL> token) {
 		CRLToken crlToken = (CRLToken) token;
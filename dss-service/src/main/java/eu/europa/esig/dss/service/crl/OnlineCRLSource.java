@@ -180,12 +180,12 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 		if (Utils.isCollectionEmpty(crlUrls)) {
 			return null;
 		}
-		prioritize(crlUrls);
+		final List<String> urls = prioritize(crlUrls);
 
 		if (LOG.isDebugEnabled()) {
-			LOG.debug("Trying to retrieve a CRL from URL(s) {}...", crlUrls);
+			LOG.debug("Trying to retrieve a CRL from URL(s) {}...", urls);
 		}
-		final DataLoader.DataAndUrl dataAndUrl = downloadCrl(crlUrls);
+		final DataLoader.DataAndUrl dataAndUrl = downloadCrl(urls);
 		if (dataAndUrl == null) {
 			return null;
 		}
@@ -230,11 +230,12 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	 * NOTE: This is not standard conformant! However in the major number of
 	 * cases LDAP is much slower then HTTP!
 	 *
-	 * @param urls
-	 *            {@code List} of urls to prioritize
+	 * @param crlUrls
+	 *            {@code List} of urls to prioritize (not modified)
+	 * @return a new prioritized {@code List} of urls
 	 */
-	private void prioritize(final List<String> urls) {
-
+	private List<String> prioritize(final List<String> crlUrls) {
+		final List<String> urls = new ArrayList<>(crlUrls);
 		if (preferredProtocol != null) {
 
 			final List<String> priorityUrls = new ArrayList<>();
@@ -248,6 +249,7 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 				urls.add(0, priorityUrls.get(ii));
 			}
 		}
+		return urls;
 	}
 
 }
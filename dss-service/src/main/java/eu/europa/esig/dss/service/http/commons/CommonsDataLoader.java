@@ -24,7 +24,7 @@ import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.service.http.proxy.ProxyProperties;
 import eu.europa.esig.dss.spi.DSSUtils;
-import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.client.http.ConditionalDataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
 import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
@@ -55,9 +55,12 @@ import org.apache.hc.client5.http.ssl.DefaultHostnameVerifier;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.HttpClientResponseHandler;
 import org.apache.hc.core5.http.io.SocketConfig;
 import org.apache.hc.core5.http.io.entity.BufferedHttpEntity;
@@ -103,7 +106,7 @@ import java.util.StringTokenizer;
  * proxy management through {@code ProxyPreferenceManager}. The authentication
  * is also supported.
  */
-public class CommonsDataLoader implements DataLoader {
+public class CommonsDataLoader implements ConditionalDataLoader {
 
 	private static final long serialVersionUID = -805432648564425522L;
 
@@ -163,6 +166,9 @@ public class CommonsDataLoader implements DataLoader {
 	/** Defines if the default system network properties shall be used */
 	private boolean useSystemProperties = false;
 
+	/** Defines if the compressed transfer (gzip/deflate) shall be negotiated with the server */
+	private boolean contentCompressionEnabled = true;
+
 	/** Contains rules credentials for authentication to different resources */
 	private Map<HostConnection, UserCredentials> authenticationMap;
 
@@ -460,6 +466,29 @@ public class CommonsDataLoader implements DataLoader {
 		this.useSystemProperties = useSystemProperties;
 	}
 
+	/**
+	 * Gets if the compressed content transfer is enabled
+	 *
+	 * @return TRUE if the compressed content transfer is enabled, FALSE otherwise
+	 */
+	public boolean isContentCompressionEnabled() {
+		return contentCompressionEnabled;
+	}
+
+	/**
+	 * Sets if the compressed content transfer shall be enabled.
+	 * When enabled, the 'Accept-Encoding' header (gzip, deflate) is sent with a request and
+	 * the obtained response is decompressed transparently. The size limit defined within
+	 * {@code CommonsHttpClientResponseHandler#setMaxResponseSize} applies to the decompressed content.
+	 *
+	 * Default: TRUE (compressed content transfer is enabled)
+	 *
+	 * @param contentCompressionEnabled if the compressed content transfer shall be enabled
+	 */
+	public void setContentCompressionEnabled(boolean contentCompressionEnabled) {
+		this.contentCompressionEnabled = contentCompressionEnabled;
+	}
+
 	/**
 	 * Gets the content type
 	 *
@@ -996,6 +1025,66 @@ public class CommonsDataLoader implements DataLoader {
 		}
 	}
 
+	@Override
+	public ConditionalResponse conditionalGet(final String url, final String eTag, final String lastModified) {
+		if (!Protocol.isHttpUrl(url)) {
+			// conditional requests are only defined for HTTP(S)
+			return new ConditionalResponse(false, get(url), null, null);
+		}
+
+		HttpGet httpRequest = null;
+		CloseableHttpClient client = null;
+
+		try {
+			httpRequest = getHttpRequest(url);
+			if (Utils.isStringNotEmpty(eTag)) {
+				httpRequest.setHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+			}
+			if (Utils.isStringNotEmpty(lastModified)) {
+				httpRequest.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+			}
+			client = getHttpClient(url);
+			return executeConditional(client, httpRequest);
+
+		} catch (URISyntaxException | IOException e) {
+			throw new DSSExternalResourceException(String.format("Unable to process conditional GET call for url [%s]. Reason : [%s]", url, DSSUtils.getExceptionMessage(e)), e);
+
+		} finally {
+			closeQuietly(httpRequest, client);
+
+		}
+	}
+
+	/**
+	 * Processes the conditional {@code httpRequest} and returns the {@code ConditionalResponse}.
+	 * A response with status 304 (Not Modified) results in a {@code ConditionalResponse} without content,
+	 * other responses are processed by the configured {@code HttpClientResponseHandler}.
+	 *
+	 * @param client {@link CloseableHttpClient}
+	 * @param httpRequest {@link HttpUriRequest}
+	 * @return {@link ConditionalResponse}
+	 * @throws IOException if an exception occurs
+	 */
+	protected ConditionalResponse executeConditional(final CloseableHttpClient client, final HttpUriRequest httpRequest) throws IOException {
+		final HttpHost targetHost = getHttpHost(httpRequest);
+		final HttpContext localContext = getHttpContext(targetHost);
+		final HttpClientResponseHandler<byte[]> responseHandler = getHttpClientResponseHandler();
+		return client.execute(targetHost, httpRequest, localContext, response -> {
+			final String responseETag = getHeaderValue(response.getFirstHeader(HttpHeaders.ETAG));
+			final String responseLastModified = getHeaderValue(response.getFirstHeader(HttpHeaders.LAST_MODIFIED));
+			if (HttpStatus.SC_NOT_MODIFIED == response.getCode()) {
+				LOG.debug("The resource at [{}] has not been modified.", httpRequest.getRequestUri());
+				EntityUtils.consume(response.getEntity());
+				return new ConditionalResponse(true, null, responseETag, responseLastModified);
+			}
+			return new ConditionalResponse(false, responseHandler.handleResponse(response), responseETag, responseLastModified);
+		});
+	}
+
+	private String getHeaderValue(Header header) {
+		return header != null ? header.getValue() : null;
+	}
+
 	@Override
 	public byte[] post(final String url, final byte[] content) {
 
@@ -1337,6 +1426,10 @@ public class CommonsDataLoader implements DataLoader {
 		httpClientBuilder.setConnectionManager(getConnectionManager())
 				.setDefaultRequestConfig(requestConfigBuilder.build())
 				.setRetryStrategy(retryStrategy);
+
+		if (!contentCompressionEnabled) {
+			httpClientBuilder.disableContentCompression();
+		}
 		
 		return httpClientBuilder;
 	}
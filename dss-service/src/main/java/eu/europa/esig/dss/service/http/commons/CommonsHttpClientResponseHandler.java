@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.service.http.commons;
 
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.MaxSizeInputStream;
 import eu.europa.esig.dss.utils.Utils;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.HttpEntity;
@@ -48,6 +49,9 @@ public class CommonsHttpClientResponseHandler implements HttpClientResponseHandl
     /** Defines the accepted HTTP statuses */
     private List<Integer> acceptedHttpStatuses = ACCEPTED_HTTP_STATUS;
 
+    /** The maximum size of the (decompressed) response content, 0 for no limit */
+    private int maxResponseSize = 0;
+
     /**
      * Default constructor to instantiate the {@code CommonsHttpClientResponseHandler}
      */
@@ -75,6 +79,28 @@ public class CommonsHttpClientResponseHandler implements HttpClientResponseHandl
         this.acceptedHttpStatuses = acceptedHttpStatuses;
     }
 
+    /**
+     * Gets the maximum size of the response content
+     *
+     * @return maximum size of the response content
+     */
+    public int getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    /**
+     * Sets the maximum size of the response content to be read.
+     * When a compressed transfer is used, the limit applies to the decompressed content.
+     * Zero (0) value is used for no limit.
+     *
+     * Default: 0 (no limit)
+     *
+     * @param maxResponseSize maximum size of the response content
+     */
+    public void setMaxResponseSize(int maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+    }
+
     @Override
     public byte[] handleResponse(ClassicHttpResponse classicHttpResponse) throws IOException {
         try {
@@ -108,6 +134,9 @@ public class CommonsHttpClientResponseHandler implements HttpClientResponseHandl
      */
     protected byte[] getContent(final HttpEntity responseEntity) throws IOException {
         try (InputStream content = responseEntity.getContent()) {
+            if (maxResponseSize > 0) {
+                return Utils.toByteArray(new MaxSizeInputStream(content, maxResponseSize, "HTTP response"));
+            }
             return DSSUtils.toByteArray(content);
         }
     }
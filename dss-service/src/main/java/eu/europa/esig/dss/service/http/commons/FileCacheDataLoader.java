@@ -24,7 +24,9 @@ import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.ConditionalDataLoader;
 import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
@@ -34,13 +36,31 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * This class provides some caching features to handle the resources. The default cache folder is set to
@@ -56,6 +76,42 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 	/** The error message if the dataloader is not configured */
 	private static final String DATA_LOADER_NOT_CONFIGURED = "The DataLoader is not configured";
 
+	/** The extension of the file storing the HTTP validators (ETag, Last-Modified) of a cached resource */
+	private static final String VALIDATORS_FILE_EXTENSION = ".validators";
+
+	/** The property name of the ETag validator */
+	private static final String ETAG_PROPERTY = "ETag";
+
+	/** The property name of the Last-Modified validator */
+	private static final String LAST_MODIFIED_PROPERTY = "Last-Modified";
+
+	/** The extension of a compressed cache file */
+	private static final String COMPRESSED_FILE_EXTENSION = ".gz";
+
+	/** The extension of the index file of a compressed cache file, storing its stored and original sizes */
+	private static final String INDEX_FILE_EXTENSION = ".index";
+
+	/** The prefix of the files used to lock the cache entries between processes */
+	private static final String LOCK_FILE_PREFIX = "dss-file-cache-";
+
+	/** The extension of the files used to lock the cache entries between processes */
+	private static final String LOCK_FILE_EXTENSION = ".lock";
+
+	/** The extension of a temporary file, used to write a cache entry before its atomic move */
+	private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+	/** The number of lock stripes (and lock files) the cache entries of a directory are distributed between */
+	private static final int LOCK_STRIPES = 64;
+
+	/** The default maximal number of entries within the in-memory index of the cache entries */
+	private static final int DEFAULT_MAX_CACHE_ENTRIES = 10000;
+
+	/**
+	 * The locks coordinating the access to the cache entries within the current JVM, shared between all instances
+	 * and keyed by the canonical path of the lock stripe
+	 */
+	private static final Map<String, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
 	/** The directory to cache files */
 	private File fileCacheDirectory = new File(System.getProperty("java.io.tmpdir"));
 
@@ -74,6 +130,24 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 	/** The dataloader to be used for a remote files access */
 	private DataLoader dataLoader;
 
+	/** Defines whether conditional GET requests shall be used to revalidate expired cached files */
+	private boolean conditionalRequestsEnabled = true;
+
+	/** Defines whether the cached files shall be stored in a compressed (GZIP) form */
+	private boolean compressCache = false;
+
+	/** Defines whether the cache entries shall be locked using file locks, to share the directory between processes */
+	private boolean fileLockingEnabled = false;
+
+	/** The maximal number of entries within the in-memory index of the cache entries */
+	private int maxCacheEntries = DEFAULT_MAX_CACHE_ENTRIES;
+
+	/**
+	 * The in-memory index of the known cache entries (file name to the entry).
+	 * The least recently used entries are evicted when the maximal size is reached.
+	 */
+	private transient volatile Map<String, CacheEntry> cacheEntries;
+
 	/**
 	 * Empty constructor
 	 */
@@ -117,6 +191,7 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		Objects.requireNonNull(fileCacheDirectory, "File cache directory cannot be null!");
 
 		this.fileCacheDirectory = fileCacheDirectory;
+		getCacheEntries().clear();
 		if (!this.fileCacheDirectory.exists()) {
 			if (this.fileCacheDirectory.mkdirs()) {
 				LOG.info("A new directory '{}' has been successfully created.", fileCacheDirectory.getPath());
@@ -142,6 +217,78 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		this.cacheExpirationTime = cacheExpirationTimeInMilliseconds;
 	}
 
+	/**
+	 * Sets whether conditional GET requests (using 'If-None-Match' and 'If-Modified-Since' headers) shall be used
+	 * in order to revalidate an expired or refreshed cached file, when the underlying {@code DataLoader}
+	 * is an instance of {@code ConditionalDataLoader}. When the server responds with 304 (Not Modified),
+	 * the cached file is reused and its expiration time is reset, avoiding the re-download of the resource.
+	 *
+	 * Default: TRUE (conditional requests are used when supported by the {@code DataLoader})
+	 *
+	 * @param conditionalRequestsEnabled whether conditional GET requests shall be used
+	 */
+	public void setConditionalRequestsEnabled(boolean conditionalRequestsEnabled) {
+		this.conditionalRequestsEnabled = conditionalRequestsEnabled;
+	}
+
+	/**
+	 * Sets whether the cached files shall be stored in a compressed (GZIP) form.
+	 * The sizes of a compressed entry are recorded within its own '.index' file, written under the lock
+	 * of the entry, allowing to detect incomplete entries. Cache files stored in another form remain readable,
+	 * so the value can be changed for an existing cache directory.
+	 *
+	 * Default: FALSE (the cached files are stored as obtained)
+	 *
+	 * @param compressCache whether the cached files shall be compressed
+	 */
+	public void setCompressCache(boolean compressCache) {
+		this.compressCache = compressCache;
+	}
+
+	/**
+	 * Sets whether the access to the cache entries shall be additionally coordinated using file locks.
+	 * This allows to share the same cache directory between several processes: a cache entry
+	 * (the cached file, its validators and index files) is read and written only while holding the lock
+	 * of the entry. The entries are distributed between a fixed number of lock files
+	 * ('dss-file-cache-N.lock'), which are reused. When enabled, the in-memory index of the cache entries
+	 * is not used, as the entries may be modified by another process.
+	 *
+	 * NOTE: within the same JVM the cache entries are always coordinated using striped locks, shared between
+	 * all instances using the same cache directory.
+	 *
+	 * Default: FALSE (file locks are not used)
+	 *
+	 * @param fileLockingEnabled whether file locks shall be used
+	 */
+	public void setFileLockingEnabled(boolean fileLockingEnabled) {
+		this.fileLockingEnabled = fileLockingEnabled;
+	}
+
+	/**
+	 * Sets the maximal number of entries kept within the in-memory index of the cache entries.
+	 * The least recently used entries are evicted from the index when the limit is reached
+	 * (the cached files themselves are not removed).
+	 *
+	 * Default: 10000
+	 *
+	 * @param maxCacheEntries the maximal number of indexed cache entries
+	 */
+	public void setMaxCacheEntries(int maxCacheEntries) {
+		if (maxCacheEntries < 1) {
+			throw new IllegalArgumentException("The maximal number of cache entries shall be a positive number!");
+		}
+		this.maxCacheEntries = maxCacheEntries;
+	}
+
+	/**
+	 * Returns the number of entries within the in-memory index of the cache entries
+	 *
+	 * @return number of indexed cache entries
+	 */
+	public int getCacheEntriesNumber() {
+		return getCacheEntries().size();
+	}
+
 	/**
 	 * Sets the ResourceLoader for an absolute path creation
 	 *
@@ -219,13 +366,17 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 			throw new DSSExternalResourceException(String.format("The toBeLoaded list does not contain URL [%s]!", url));
 		}
 		final String fileName = DSSUtils.getNormalizedString(url);
-		final File file = getCacheFile(fileName);
-		final boolean fileExists = file.exists();
-		final boolean isCacheExpired = isCacheExpired(file);
+		return executeWithLock(fileName, () -> getDocument(url, fileName, refresh));
+	}
+
+	private DSSDocument getDocument(final String url, final String fileName, final boolean refresh) {
+		final File file = getStoredFile(fileName);
+		final boolean fileExists = isValidStoredFile(file);
+		final boolean isCacheExpired = isCacheExpired(fileName, file);
 		
 		if (fileExists && !refresh && !isCacheExpired) {
 			LOG.debug("Cached file was used");
-			return new FileDocument(file);
+			return toDocument(file);
 			
 		} else {
 			
@@ -241,14 +392,17 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		if (!isNetworkProtocol(url)) {
 			bytes = getLocalFileContent(url);
 			
+		} else if (conditionalRequestsEnabled && dataLoader instanceof ConditionalDataLoader) {
+			return getDocumentConditionally(url, fileName, file, fileExists);
+
 		} else {
 			bytes = dataLoader.get(url);
 			
 		}
 		
 		if (Utils.isArrayNotEmpty(bytes)) {
-			final File out = createFile(fileName, bytes);
-			return new FileDocument(out);
+			final File out = storeFile(fileName, bytes);
+			return toDocument(out);
 			
 		} 
 		throw new DSSExternalResourceException(String.format("Cannot retrieve data from url [%s]. Empty content is obtained!", url));
@@ -259,11 +413,90 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 	public DSSDocument getDocument(String url) {
 		return getDocument(url, false);
 	}
+
+	private DSSDocument getDocumentConditionally(final String url, final String fileName, final File file,
+												 final boolean fileExists) {
+		final File validatorsFile = getCacheFile(fileName + VALIDATORS_FILE_EXTENSION);
+		final Properties validators = fileExists ? loadValidators(validatorsFile) : new Properties();
+
+		final ConditionalDataLoader.ConditionalResponse response = ((ConditionalDataLoader) dataLoader).conditionalGet(
+				url, validators.getProperty(ETAG_PROPERTY), validators.getProperty(LAST_MODIFIED_PROPERTY));
+		if (response.isNotModified() && fileExists) {
+			LOG.debug("The resource has not been modified. Cached file was revalidated");
+			final long currentTime = new Date().getTime();
+			if (!file.setLastModified(currentTime)) {
+				LOG.warn("Unable to update the last modification time of the cached file '{}'", file.getName());
+			}
+			registerCacheEntry(fileName, file, currentTime);
+			// a 304 response may contain only a part of the validators, the other ones remain valid
+			saveValidators(validatorsFile, response, validators);
+			return toDocument(file);
+		}
+
+		final byte[] bytes = response.getContent();
+		if (Utils.isArrayNotEmpty(bytes)) {
+			final File out = storeFile(fileName, bytes);
+			saveValidators(validatorsFile, response, new Properties());
+			return toDocument(out);
+		}
+		throw new DSSExternalResourceException(String.format("Cannot retrieve data from url [%s]. Empty content is obtained!", url));
+	}
+
+	private Properties loadValidators(File validatorsFile) {
+		final Properties validators = new Properties();
+		if (validatorsFile.exists()) {
+			try (InputStream is = Files.newInputStream(validatorsFile.toPath())) {
+				validators.load(is);
+			} catch (IOException e) {
+				LOG.warn("Unable to load the validators from file '{}' : {}", validatorsFile.getName(), e.getMessage());
+			}
+		}
+		return validators;
+	}
+
+	/**
+	 * Stores the validators obtained within the {@code response}, merged into the {@code validators}
+	 *
+	 * @param validatorsFile {@link File} to store the validators into
+	 * @param response {@link ConditionalDataLoader.ConditionalResponse} obtained
+	 * @param validators {@link Properties} the previous validators to be updated (empty for a new content)
+	 */
+	private void saveValidators(File validatorsFile, ConditionalDataLoader.ConditionalResponse response,
+								Properties validators) {
+		if (response.getETag() != null) {
+			validators.setProperty(ETAG_PROPERTY, response.getETag());
+		}
+		if (response.getLastModified() != null) {
+			validators.setProperty(LAST_MODIFIED_PROPERTY, response.getLastModified());
+		}
+		if (validators.isEmpty()) {
+			if (validatorsFile.exists() && !validatorsFile.delete()) {
+				LOG.warn("Unable to remove the outdated validators file '{}'", validatorsFile.getName());
+			}
+			return;
+		}
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			validators.store(baos, null);
+			saveToFile(baos.toByteArray(), validatorsFile);
+		} catch (IOException | DSSException e) {
+			LOG.warn("Unable to store the validators to file '{}' : {}", validatorsFile.getName(), e.getMessage());
+		}
+	}
 	
 	@Override
 	public boolean remove(String url) {
 		final String fileName = DSSUtils.getNormalizedString(url);
-		final File file = getCacheFile(fileName);
+		return executeWithLock(fileName, () -> remove(url, fileName));
+	}
+
+	private boolean remove(final String url, final String fileName) {
+		getCacheEntries().remove(fileName);
+		final File file = getStoredFile(fileName);
+		final File validatorsFile = getCacheFile(fileName + VALIDATORS_FILE_EXTENSION);
+		if (validatorsFile.exists() && !validatorsFile.delete()) {
+			LOG.warn("Unable to remove the validators file corresponding to URL '{}'!", url);
+		}
+		removeFromIndex(file);
 		if (file.exists()) {
 			if (LOG.isTraceEnabled()) {
 				LOG.trace("Deleting the file corresponding to URL '{}'...", url);
@@ -321,9 +554,7 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
      */
 	public File createFile(final String urlString, final byte[] bytes) {
 		final String fileName = DSSUtils.getNormalizedString(urlString);
-		final File file = getCacheFile(fileName);
-		DSSUtils.saveToFile(bytes, file);
-		return file;
+		return executeWithLock(fileName, () -> storeFile(fileName, bytes));
 	}
 
 	/**
@@ -335,11 +566,13 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 	 */
 	public byte[] loadFileFromCache(final String urlString) throws DSSException {
 		final String fileName = DSSUtils.getNormalizedString(urlString);
-		final File file = getCacheFile(fileName);
-		if (file.exists()) {
-			return DSSUtils.toByteArray(file);
-		}
-		throw new DSSExternalResourceException(String.format("The file with URL [%s] does not exist in the cache!", urlString));
+		return executeWithLock(fileName, () -> {
+			final File file = getStoredFile(fileName);
+			if (isValidStoredFile(file)) {
+				return readStoredFile(file);
+			}
+			throw new DSSExternalResourceException(String.format("The file with URL [%s] does not exist in the cache!", urlString));
+		});
 	}
 
 	@Override
@@ -357,13 +590,17 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		final byte[] digest = DSSUtils.digest(DigestAlgorithm.MD5, content);
 		final String digestHexEncoded = DSSUtils.toHex(digest);
 		final String cacheFileName = fileName + "." + digestHexEncoded;
-		final File file = getCacheFile(cacheFileName);
-		final boolean fileExists = file.exists();
-		final boolean isCacheExpired = isCacheExpired(file);
+		return executeWithLock(cacheFileName, () -> post(urlString, content, cacheFileName));
+	}
+
+	private byte[] post(final String urlString, final byte[] content, final String cacheFileName) {
+		final File file = getStoredFile(cacheFileName);
+		final boolean fileExists = isValidStoredFile(file);
+		final boolean isCacheExpired = isCacheExpired(cacheFileName, file);
 
 		if (fileExists && !isCacheExpired) {
 			LOG.debug("Cached file was used");
-			return DSSUtils.toByteArray(file);
+			return readStoredFile(file);
 		} else {
 			LOG.debug("There is no cached file!");
 		}
@@ -374,22 +611,299 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		}
 		
 		if (Utils.isArrayNotEmpty(returnedBytes)) {
-			final File cacheFile = getCacheFile(cacheFileName);
-			DSSUtils.saveToFile(returnedBytes, cacheFile);
+			storeFile(cacheFileName, returnedBytes);
 			return returnedBytes;
 		}
 		throw new DSSExternalResourceException(String.format("Cannot retrieve data from URL [%s]", urlString));
 	}
 
-	private boolean isCacheExpired(File file) {
+	/**
+	 * Returns the cache file corresponding to the given file name, taking into account its compressed version
+	 *
+	 * @param fileName {@link String} normalized file name
+	 * @return {@link File}
+	 */
+	private File getStoredFile(final String fileName) {
+		if (!fileLockingEnabled) {
+			final CacheEntry cacheEntry = getCacheEntries().get(fileName);
+			if (cacheEntry != null) {
+				if (cacheEntry.file.exists()) {
+					return cacheEntry.file;
+				}
+				getCacheEntries().remove(fileName);
+			}
+		}
+		final File compressedFile = getCacheFile(fileName + COMPRESSED_FILE_EXTENSION);
+		if (compressedFile.exists()) {
+			return compressedFile;
+		}
+		return getCacheFile(fileName);
+	}
+
+	private boolean isCompressed(File file) {
+		return file.getName().endsWith(COMPRESSED_FILE_EXTENSION);
+	}
+
+	/**
+	 * Checks whether the stored file exists and, for a compressed file, whether it has been completely written
+	 *
+	 * @param file {@link File} to check
+	 * @return TRUE if the stored file can be used, FALSE otherwise
+	 */
+	private boolean isValidStoredFile(File file) {
+		if (!file.exists()) {
+			return false;
+		}
+		if (isCompressed(file)) {
+			final long[] sizes = getIndexedSizes(file);
+			if (sizes == null || sizes[0] != file.length()) {
+				LOG.warn("The compressed cache file '{}' is not consistent with the cache index. The file is skipped.", file.getName());
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private File storeFile(final String fileName, final byte[] bytes) {
+		final File rawFile = getCacheFile(fileName);
+		final File compressedFile = getCacheFile(fileName + COMPRESSED_FILE_EXTENSION);
+		final File storedFile;
+		if (compressCache) {
+			final byte[] compressed = compress(bytes);
+			addToIndex(compressedFile, compressed.length, bytes.length);
+			saveToFile(compressed, compressedFile);
+			deleteQuietly(rawFile);
+			storedFile = compressedFile;
+
+		} else {
+			saveToFile(bytes, rawFile);
+			if (compressedFile.exists()) {
+				removeFromIndex(compressedFile);
+				deleteQuietly(compressedFile);
+			}
+			storedFile = rawFile;
+		}
+		registerCacheEntry(fileName, storedFile, storedFile.lastModified());
+		return storedFile;
+	}
+
+	private byte[] readStoredFile(File file) {
+		if (!isCompressed(file)) {
+			return DSSUtils.toByteArray(file);
+		}
+		final long[] sizes = getIndexedSizes(file);
+		final int originalSize = sizes != null ? (int) sizes[1] : 0;
+		try (InputStream is = new GZIPInputStream(Files.newInputStream(file.toPath()));
+			 ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(originalSize, 32))) {
+			Utils.copy(is, baos);
+			return baos.toByteArray();
+		} catch (IOException e) {
+			throw new DSSExternalResourceException(String.format("Unable to read the compressed cache file '%s' : %s",
+					file.getName(), e.getMessage()), e);
+		}
+	}
+
+	private DSSDocument toDocument(File file) {
+		if (isCompressed(file)) {
+			return new InMemoryDocument(readStoredFile(file));
+		}
+		return new FileDocument(file);
+	}
+
+	private byte[] compress(byte[] bytes) {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			try (GZIPOutputStream gzos = new GZIPOutputStream(baos)) {
+				gzos.write(bytes);
+			}
+			return baos.toByteArray();
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to compress the content : %s", e.getMessage()), e);
+		}
+	}
+
+	private void deleteQuietly(File file) {
+		if (file.exists() && !file.delete()) {
+			LOG.warn("Unable to remove the cache file '{}'", file.getName());
+		}
+	}
+
+	private File getIndexFile(File storedFile) {
+		return new File(storedFile.getParentFile(), storedFile.getName() + INDEX_FILE_EXTENSION);
+	}
+
+	/**
+	 * Returns the stored and original sizes of the compressed file, read from its index file
+	 *
+	 * @param storedFile {@link File} compressed cache file
+	 * @return an array of the stored and the original sizes, null if not available
+	 */
+	private long[] getIndexedSizes(File storedFile) {
+		final File indexFile = getIndexFile(storedFile);
+		if (!indexFile.exists()) {
+			return null;
+		}
+		String value = null;
+		try {
+			value = new String(Files.readAllBytes(indexFile.toPath()), StandardCharsets.US_ASCII).trim();
+			final String[] sizes = value.split(",");
+			return new long[] { Long.parseLong(sizes[0]), Long.parseLong(sizes[1]) };
+		} catch (IOException | RuntimeException e) {
+			LOG.warn("Invalid cache index entry for '{}' : {}", storedFile.getName(), value);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the index file of the compressed cache file. The index is stored before the compressed file itself,
+	 * so a partially written compressed file is detected by a size mismatch.
+	 *
+	 * @param storedFile {@link File} compressed cache file
+	 * @param storedSize the size of the compressed file
+	 * @param originalSize the size of the original content
+	 */
+	private void addToIndex(File storedFile, long storedSize, long originalSize) {
+		saveToFile((storedSize + "," + originalSize).getBytes(StandardCharsets.US_ASCII), getIndexFile(storedFile));
+	}
+
+	private void removeFromIndex(File storedFile) {
+		deleteQuietly(getIndexFile(storedFile));
+	}
+
+	/**
+	 * Writes the {@code bytes} to a temporary file, which is then atomically moved to the {@code file},
+	 * so a concurrent reader never obtains a partially written file
+	 *
+	 * @param bytes the content to write
+	 * @param file {@link File} the target file
+	 */
+	private void saveToFile(final byte[] bytes, final File file) {
+		File tempFile = null;
+		try {
+			tempFile = File.createTempFile("." + file.getName() + ".", TEMP_FILE_EXTENSION, fileCacheDirectory);
+			DSSUtils.saveToFile(bytes, tempFile);
+			try {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				LOG.debug("Atomic move is not supported : {}", e.getMessage());
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			throw new DSSExternalResourceException(String.format("Unable to store the cache file '%s' : %s",
+					file.getName(), e.getMessage()), e);
+		} finally {
+			if (tempFile != null) {
+				deleteQuietly(tempFile);
+			}
+		}
+	}
+
+	/**
+	 * Executes the {@code supplier} while holding the lock of the cache entry with the given {@code fileName}
+	 *
+	 * @param fileName {@link String} the normalized file name of the cache entry
+	 * @param supplier {@link Supplier} to execute
+	 * @param <T> the result type
+	 * @return the result of the {@code supplier}
+	 */
+	private <T> T executeWithLock(final String fileName, final Supplier<T> supplier) {
+		final File lockFile = getLockFile(fileName);
+		final ReentrantLock lock = getLock(lockFile);
+		lock.lock();
+		try {
+			if (fileLockingEnabled) {
+				return executeWithFileLock(lockFile, supplier);
+			}
+			return supplier.get();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Executes the {@code supplier} while holding the file lock on the {@code lockFile}.
+	 * The file lock is acquired only when holding the corresponding JVM lock, so the same file is never locked
+	 * twice within the JVM (see {@code java.nio.channels.OverlappingFileLockException}).
+	 *
+	 * @param lockFile {@link File} to lock
+	 * @param supplier {@link Supplier} to execute
+	 * @param <T> the result type
+	 * @return the result of the {@code supplier}
+	 */
+	private <T> T executeWithFileLock(final File lockFile, final Supplier<T> supplier) {
+		try (FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			 FileLock fileLock = channel.lock()) {
+			LOG.trace("The file lock '{}' is acquired", fileLock);
+			return supplier.get();
+		} catch (IOException e) {
+			throw new DSSExternalResourceException(String.format("Unable to lock the cache file '%s' : %s",
+					lockFile.getName(), e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Returns the lock file of the stripe the cache entry with the given {@code fileName} belongs to.
+	 * The stripe is computed in the same way by all processes.
+	 *
+	 * @param fileName {@link String} the normalized file name of the cache entry
+	 * @return {@link File}
+	 */
+	private File getLockFile(final String fileName) {
+		final int stripe = (fileName.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES;
+		return new File(fileCacheDirectory, LOCK_FILE_PREFIX + stripe + LOCK_FILE_EXTENSION);
+	}
+
+	private ReentrantLock getLock(final File lockFile) {
+		String path;
+		try {
+			path = lockFile.getCanonicalPath();
+		} catch (IOException e) {
+			LOG.debug("Unable to get the canonical path of the file '{}' : {}", lockFile, e.getMessage());
+			path = lockFile.getAbsolutePath();
+		}
+		return LOCKS.computeIfAbsent(path, k -> new ReentrantLock());
+	}
+
+	private Map<String, CacheEntry> getCacheEntries() {
+		Map<String, CacheEntry> currentEntries = cacheEntries;
+		if (currentEntries == null) {
+			synchronized (this) {
+				currentEntries = cacheEntries;
+				if (currentEntries == null) {
+					currentEntries = Collections.synchronizedMap(new CacheEntriesMap());
+					cacheEntries = currentEntries;
+				}
+			}
+		}
+		return currentEntries;
+	}
+
+	private void registerCacheEntry(final String fileName, final File file, final long lastModified) {
+		if (!fileLockingEnabled) {
+			getCacheEntries().put(fileName, new CacheEntry(file, lastModified));
+		}
+	}
+
+	private boolean isCacheExpired(String fileName, File file) {
 		if (cacheExpirationTime < 0) {
 			return false;
 		}
 		if (!file.exists()) {
+			// the file may have been removed outside the loader
+			if (!fileLockingEnabled) {
+				getCacheEntries().remove(fileName);
+			}
 			return true;
 		}
+		long lastModified = file.lastModified();
+		if (!fileLockingEnabled) {
+			final CacheEntry cacheEntry = getCacheEntries().get(fileName);
+			if (cacheEntry != null && cacheEntry.file.equals(file)) {
+				lastModified = cacheEntry.lastModified;
+			}
+		}
 		long currentTime = new Date().getTime();
-		if (currentTime - file.lastModified() >= cacheExpirationTime) {
+		if (currentTime - lastModified >= cacheExpirationTime) {
 			LOG.debug("Cache is expired");
 			return true;
 		}
@@ -426,4 +940,49 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		dataLoader.setContentType(contentType);
 	}
 	
+	/**
+	 * The in-memory cache index, evicting the least recently used entries when the maximal size is reached
+	 */
+	private final class CacheEntriesMap extends LinkedHashMap<String, CacheEntry> {
+
+		private static final long serialVersionUID = 6227843214638409742L;
+
+		/**
+		 * Default constructor creating an access-ordered map
+		 */
+		private CacheEntriesMap() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+			return size() > maxCacheEntries;
+		}
+
+	}
+
+	/**
+	 * Represents an entry of the in-memory cache index
+	 */
+	private static final class CacheEntry {
+
+		/** The stored file */
+		private final File file;
+
+		/** The time of the last file update */
+		private final long lastModified;
+
+		/**
+		 * The default constructor
+		 *
+		 * @param file {@link File} stored
+		 * @param lastModified the time of the last file update
+		 */
+		private CacheEntry(File file, long lastModified) {
+			this.file = file;
+			this.lastModified = lastModified;
+		}
+
+	}
+
 }
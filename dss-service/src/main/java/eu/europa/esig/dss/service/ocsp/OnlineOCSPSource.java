@@ -56,9 +56,14 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Online OCSP repository. This implementation will contact the OCSP Responder
@@ -84,6 +89,16 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 	 */
 	private DigestAlgorithm certIDDigestAlgorithm = DigestAlgorithm.SHA1;
 
+	/**
+	 * The maximal number of CertIDs included within a single OCSP request (10 by default)
+	 */
+	private int maxCertIDsPerRequest = 10;
+
+	/**
+	 * The OCSP responder URLs which do not support requests with multiple CertIDs
+	 */
+	private final Set<String> singleRequestOnlyUrls = ConcurrentHashMap.newKeySet();
+
 	/**
 	 * Create an OCSP source The default constructor for OnlineOCSPSource. The
 	 * default {@code OCSPDataLoader} is set. It is possible to change it with
@@ -132,11 +147,173 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 		this.certIDDigestAlgorithm = certIDDigestAlgorithm;
 	}
 
+	/**
+	 * This method allows setting of the maximal number of CertIDs to be included within a single OCSP request
+	 * on a batch request (see {@code #getRevocationTokens(Collection, CertificateToken)})
+	 *
+	 * Default : 10
+	 *
+	 * @param maxCertIDsPerRequest the maximal number of CertIDs
+	 */
+	public void setMaxCertIDsPerRequest(int maxCertIDsPerRequest) {
+		if (maxCertIDsPerRequest < 1) {
+			throw new IllegalArgumentException("The maximal number of CertIDs shall be a positive number!");
+		}
+		this.maxCertIDsPerRequest = maxCertIDsPerRequest;
+	}
+
 	@Override
 	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
 		return getRevocationToken(certificateToken, issuerCertificateToken, Collections.emptyList());
 	}
 
+	/**
+	 * Retrieves OCSP tokens for several certificates issued by the same issuer.
+	 *
+	 * The certificates sharing the same OCSP access locations are requested together within a single OCSP request
+	 * containing several CertIDs (see RFC 6960, 4.1.1). When the responder rejects such a request or does not
+	 * return a response for some certificates, the missing OCSP tokens are requested one by one.
+	 * The responders rejecting multi-certificate requests are remembered and requested one by one afterwards.
+	 *
+	 * NOTE: the method is not used by the validation process, which requests the revocation data certificate
+	 * by certificate (see {@code #getRevocationToken(CertificateToken, CertificateToken)}). It shall be called
+	 * explicitly, e.g. to retrieve the status of certificates issued by the same CA at once.
+	 *
+	 * @param certificateTokens a collection of {@link CertificateToken}s issued by {@code issuerCertificateToken}
+	 * @param issuerCertificateToken {@link CertificateToken} issuer of the certificates
+	 * @return a map between {@link CertificateToken}s and the obtained {@link OCSPToken}s
+	 *         (certificates without an obtained OCSP token are not included)
+	 */
+	public Map<CertificateToken, OCSPToken> getRevocationTokens(Collection<CertificateToken> certificateTokens,
+																CertificateToken issuerCertificateToken) {
+		Objects.requireNonNull(dataLoader, "DataLoader is not provided !");
+		Objects.requireNonNull(certificateTokens, "CertificateTokens shall be provided!");
+		Objects.requireNonNull(issuerCertificateToken, "The issuer CertificateToken shall be provided!");
+
+		final Map<List<String>, List<CertificateToken>> certificatesByUrls = new LinkedHashMap<>();
+		for (CertificateToken certificateToken : certificateTokens) {
+			List<String> ocspAccessUrls = CertificateExtensionsUtils.getOCSPAccessUrls(certificateToken);
+			if (Utils.isCollectionEmpty(ocspAccessUrls)) {
+				LOG.warn("No OCSP location found for {}", certificateToken.getDSSIdAsString());
+				continue;
+			}
+			certificatesByUrls.computeIfAbsent(ocspAccessUrls, k -> new ArrayList<>()).add(certificateToken);
+		}
+
+		final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+		for (Map.Entry<List<String>, List<CertificateToken>> entry : certificatesByUrls.entrySet()) {
+			final List<String> ocspUrls = entry.getKey();
+			final List<CertificateToken> certificates = entry.getValue();
+			for (int i = 0; i < certificates.size(); i += maxCertIDsPerRequest) {
+				List<CertificateToken> batch = certificates.subList(i, Math.min(i + maxCertIDsPerRequest, certificates.size()));
+				if (batch.size() > 1) {
+					result.putAll(getMultipleRevocationTokens(batch, issuerCertificateToken, ocspUrls));
+				}
+				for (CertificateToken certificateToken : batch) {
+					if (!result.containsKey(certificateToken)) {
+						OCSPToken ocspToken = getSingleRevocationToken(certificateToken, issuerCertificateToken, ocspUrls);
+						if (ocspToken != null) {
+							result.put(certificateToken, ocspToken);
+						}
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private OCSPToken getSingleRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+											   List<String> ocspUrls) {
+		try {
+			RevocationTokenAndUrl<OCSP> revocationTokenAndUrl = getRevocationTokenAndUrl(certificateToken, issuerCertificateToken, ocspUrls);
+			if (revocationTokenAndUrl != null) {
+				return (OCSPToken) revocationTokenAndUrl.getRevocationToken();
+			}
+		} catch (DSSExternalResourceException e) {
+			LOG.warn(e.getMessage());
+		}
+		return null;
+	}
+
+	/**
+	 * Extracts OCSP tokens for the {@code certificateTokens} from the given list of {@code ocspUrls}
+	 * using a single OCSP request with multiple CertIDs
+	 *
+	 * @param certificateTokens a list of {@link CertificateToken}s to get OCSP tokens for
+	 * @param issuerToken {@link CertificateToken} issued the {@code certificateTokens}
+	 * @param ocspUrls a list of {@link String} URLs to use to access the OCSP tokens
+	 * @return a map between {@link CertificateToken}s and the obtained {@link OCSPToken}s
+	 */
+	protected Map<CertificateToken, OCSPToken> getMultipleRevocationTokens(List<CertificateToken> certificateTokens,
+																		   CertificateToken issuerToken, List<String> ocspUrls) {
+		final Map<CertificateToken, OCSPToken> result = new LinkedHashMap<>();
+
+		final List<CertificateID> certIds = new ArrayList<>();
+		for (CertificateToken certificateToken : certificateTokens) {
+			certIds.add(DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerToken, certIDDigestAlgorithm));
+		}
+
+		BigInteger nonce = null;
+		if (nonceSource != null) {
+			nonce = nonceSource.getNonce();
+		}
+
+		final byte[] content = buildOCSPRequest(certIds, nonce);
+
+		for (String ocspAccessLocation : ocspUrls) {
+			if (singleRequestOnlyUrls.contains(ocspAccessLocation)) {
+				LOG.debug("OCSP responder with URL '{}' does not support multiple CertIDs requests.", ocspAccessLocation);
+				continue;
+			}
+			LOG.debug("Trying to retrieve an OCSP response for {} certificates from URL '{}'...",
+					certificateTokens.size(), ocspAccessLocation);
+
+			try {
+				final byte[] ocspRespBytes = dataLoader.post(ocspAccessLocation, content);
+				if (Utils.isArrayEmpty(ocspRespBytes)) {
+					LOG.warn("OCSP Data Loader for {} certificates responded with an empty byte array!", certificateTokens.size());
+					continue;
+				}
+
+				final OCSPResp ocspResp = new OCSPResp(ocspRespBytes);
+				OCSPRespStatus status = OCSPRespStatus.fromInt(ocspResp.getStatus());
+				if (!OCSPRespStatus.SUCCESSFUL.equals(status)) {
+					LOG.info("OCSP responder with URL '{}' rejected the request with multiple CertIDs : status -> {}",
+							ocspAccessLocation, status);
+					if (OCSPRespStatus.MALFORMED_REQUEST.equals(status) || OCSPRespStatus.UNAUTHORIZED.equals(status)) {
+						singleRequestOnlyUrls.add(ocspAccessLocation);
+					}
+					continue;
+				}
+				verifyNonce(ocspResp, nonce);
+
+				BasicOCSPResp basicResponse = (BasicOCSPResp) ocspResp.getResponseObject();
+				for (CertificateToken certificateToken : certificateTokens) {
+					SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerToken);
+					if (latestSingleResponse != null) {
+						OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerToken);
+						ocspToken.setSourceURL(ocspAccessLocation);
+						ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+						result.put(certificateToken, ocspToken);
+					}
+				}
+				if (result.size() < certificateTokens.size()) {
+					LOG.info("OCSP responder with URL '{}' returned {} responses for {} requested certificates.",
+							ocspAccessLocation, result.size(), certificateTokens.size());
+					if (result.isEmpty()) {
+						singleRequestOnlyUrls.add(ocspAccessLocation);
+					}
+				}
+				return result;
+
+			} catch (Exception e) {
+				LOG.warn("Unable to retrieve OCSP response for multiple certificates with URL '{}' : {}",
+						ocspAccessLocation, e.getMessage());
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
 			List<String> alternativeUrls) {
@@ -175,7 +352,7 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 			LOG.warn("No OCSP location found for {}", certificateToken.getDSSIdAsString());
 			return null;
 		}
-		return getRevocationTokenAndUrl(certificateToken, issuerToken, ocspAccessLocations);
+		return getRevocationTokenAndUrl(certificateToken, issuerToken, new ArrayList<>(ocspAccessLocations));
 	}
 
 	/**
@@ -195,7 +372,7 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 			nonce = nonceSource.getNonce();
 		}
 
-		final byte[] content = buildOCSPRequest(certId, nonce);
+		final byte[] content = buildOCSPRequest(Collections.singletonList(certId), nonce);
 
 		int nbTries = ocspUrls.size();
 		for (String ocspAccessLocation : ocspUrls) {
@@ -249,10 +426,12 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 		return null;
 	}
 
-	private byte[] buildOCSPRequest(final CertificateID certId, BigInteger nonce) throws DSSException {
+	private byte[] buildOCSPRequest(final List<CertificateID> certIds, BigInteger nonce) throws DSSException {
 		try {
 			final OCSPReqBuilder ocspReqBuilder = new OCSPReqBuilder();
-			ocspReqBuilder.addRequest(certId);
+			for (CertificateID certId : certIds) {
+				ocspReqBuilder.addRequest(certId);
+			}
 			/*
 			 * The nonce extension is used to bind a request to a response to
 			 * prevent replay attacks. RFC 6960 (OCSP) section 4.1.2 such
@@ -22,10 +22,13 @@ package eu.europa.esig.dss.service.crl;
 
 import eu.europa.esig.dss.enumerations.RevocationOrigin;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationRefreshStatistics;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
 import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.AfterEach;
@@ -34,14 +37,20 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -150,6 +159,84 @@ public class JdbcCacheCrlSourceTest {
 		assertEquals(RevocationOrigin.EXTERNAL, savedRevocationToken.getExternalOrigin()); // expired crl
 	}
 
+	@Test
+	public void memoryCacheTest() throws Exception {
+		DataLoader dataLoader = new CommonsDataLoader();
+		CertificateToken certificateToken = DSSUtils.loadCertificate(dataLoader.get("http://dss.nowina.lu/pki-factory/crt/good-user-crl-ocsp.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(dataLoader.get("http://dss.nowina.lu/pki-factory/crt/good-ca.crt"));
+
+		List<String> invalidatedKeys = new ArrayList<>();
+		crlSource.setMemoryCacheMaxSize(1024 * 1024);
+		crlSource.setCacheInvalidationListener(invalidatedKeys::add);
+		crlSource.setProxySource(new OnlineCRLSource());
+
+		CRLToken revocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertEquals(1, invalidatedKeys.size());
+
+		CRLToken savedRevocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotNull(savedRevocationToken);
+		assertEquals(RevocationOrigin.CACHED, savedRevocationToken.getExternalOrigin());
+		int dbRequests = crlSource.findRevocationsCounter;
+
+		CRLToken memoryCachedToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertSame(savedRevocationToken, memoryCachedToken);
+		assertEquals(dbRequests, crlSource.findRevocationsCounter);
+
+		crlSource.invalidateMemoryCache(invalidatedKeys.get(0));
+		CRLToken reloadedToken = crlSource.getRevocationToken(certificateToken, caToken);
+		assertNotSame(savedRevocationToken, reloadedToken);
+		compareTokens(savedRevocationToken, reloadedToken);
+		assertEquals(dbRequests + 1, crlSource.findRevocationsCounter);
+	}
+
+	@Test
+	public void staleWhileRevalidateTest() throws Exception {
+		DataLoader dataLoader = new CommonsDataLoader();
+		CertificateToken certificateToken = DSSUtils.loadCertificate(dataLoader.get("http://dss.nowina.lu/pki-factory/crt/good-user-crl-ocsp.crt"));
+		CertificateToken caToken = DSSUtils.loadCertificate(dataLoader.get("http://dss.nowina.lu/pki-factory/crt/good-ca.crt"));
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			crlSource.setProxySource(new OnlineCRLSource());
+			crlSource.setRefreshExecutorService(executorService);
+			crlSource.setStaleWhileRevalidateDelay(3600L);
+
+			CRLToken revocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+			assertNotNull(revocationToken);
+			assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+
+			crlSource.setMaxNextUpdateDelay(1L);
+
+			// wait one second
+			Calendar nextSecond = Calendar.getInstance();
+			nextSecond.setTime(revocationToken.getThisUpdate());
+			nextSecond.add(Calendar.SECOND, 1);
+			await().atMost(2, TimeUnit.SECONDS).until(() -> Calendar.getInstance().getTime().after(nextSecond.getTime()));
+
+			// expired revocation data is returned within the grace window
+			CRLToken staleRevocationToken = crlSource.getRevocationToken(certificateToken, caToken);
+			assertNotNull(staleRevocationToken);
+			assertEquals(RevocationOrigin.CACHED, staleRevocationToken.getExternalOrigin());
+
+			RevocationRefreshStatistics refreshStatistics = crlSource.getRefreshStatistics();
+			assertEquals(1, refreshStatistics.getStaleResponsesNumber());
+			await().atMost(10, TimeUnit.SECONDS).until(() -> refreshStatistics.getRefreshesNumber() == 1);
+			assertEquals(0, refreshStatistics.getFailedRefreshesNumber());
+			assertTrue(refreshStatistics.getMaxRefreshLag() > 0);
+
+			// out of the grace window, the data is refreshed synchronously
+			crlSource.setStaleWhileRevalidateDelay(null);
+			CRLToken refreshedToken = crlSource.getRevocationToken(certificateToken, caToken);
+			assertNotNull(refreshedToken);
+			assertEquals(RevocationOrigin.EXTERNAL, refreshedToken.getExternalOrigin());
+
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
 	@AfterEach
 	public void cleanUp() throws SQLException {
 		crlSource.destroyTable();
@@ -161,6 +248,15 @@ public class JdbcCacheCrlSourceTest {
 	
 	@SuppressWarnings("serial")
 	private static class MockJdbcCacheCRLSource extends JdbcCacheCRLSource {
+
+		private int findRevocationsCounter = 0;
+
+		@Override
+		protected List<RevocationToken<CRL>> findRevocations(String key, CertificateToken certificateToken,
+															 CertificateToken issuerCertificateToken) {
+			++findRevocationsCounter;
+			return super.findRevocations(key, certificateToken, issuerCertificateToken);
+		}
 		
 		@Override
 		protected void removeRevocation(String revocationTokenKey) {
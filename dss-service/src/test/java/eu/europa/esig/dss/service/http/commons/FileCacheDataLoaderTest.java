@@ -23,6 +23,7 @@ package eu.europa.esig.dss.service.http.commons;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.ConditionalDataLoader;
 import eu.europa.esig.dss.spi.client.http.DataLoader.DataAndUrl;
 import eu.europa.esig.dss.spi.client.http.IgnoreDataLoader;
 import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
@@ -35,17 +36,26 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FileCacheDataLoaderTest {
@@ -179,6 +189,230 @@ public class FileCacheDataLoaderTest {
 		assertNotNull(dataAndUrl.getData());
 	}
 
+	@Test
+	public void conditionalRequestTest() {
+		MockConditionalDataLoader conditionalDataLoader = new MockConditionalDataLoader();
+		FileCacheDataLoader fileCacheDataLoader = new FileCacheDataLoader(conditionalDataLoader);
+		fileCacheDataLoader.setCacheExpirationTime(0);
+		fileCacheDataLoader.setFileCacheDirectory(cacheDirectory);
+
+		byte[] content = fileCacheDataLoader.get(URL_TO_LOAD);
+		assertArrayEquals(MockConditionalDataLoader.CONTENT, content);
+		assertNull(conditionalDataLoader.receivedETag);
+		assertNull(conditionalDataLoader.receivedLastModified);
+		assertEquals(1, conditionalDataLoader.downloads);
+
+		conditionalDataLoader.notModified = true;
+		content = fileCacheDataLoader.get(URL_TO_LOAD);
+		assertArrayEquals(MockConditionalDataLoader.CONTENT, content);
+		assertEquals(MockConditionalDataLoader.ETAG, conditionalDataLoader.receivedETag);
+		assertEquals(MockConditionalDataLoader.LAST_MODIFIED, conditionalDataLoader.receivedLastModified);
+		assertEquals(1, conditionalDataLoader.downloads);
+
+		// a 304 response without validators does not discard the stored ones
+		conditionalDataLoader.returnValidators = false;
+		fileCacheDataLoader.get(URL_TO_LOAD);
+		fileCacheDataLoader.get(URL_TO_LOAD);
+		assertEquals(MockConditionalDataLoader.ETAG, conditionalDataLoader.receivedETag);
+		assertEquals(MockConditionalDataLoader.LAST_MODIFIED, conditionalDataLoader.receivedLastModified);
+		assertEquals(1, conditionalDataLoader.downloads);
+		conditionalDataLoader.returnValidators = true;
+
+		assertTrue(fileCacheDataLoader.remove(URL_TO_LOAD));
+		assertFalse(new File(cacheDirectory, DSSUtils.getNormalizedString(URL_TO_LOAD) + ".validators").exists());
+
+		conditionalDataLoader.notModified = false;
+		content = fileCacheDataLoader.get(URL_TO_LOAD);
+		assertArrayEquals(MockConditionalDataLoader.CONTENT, content);
+		assertNull(conditionalDataLoader.receivedETag);
+		assertEquals(2, conditionalDataLoader.downloads);
+
+		fileCacheDataLoader.setConditionalRequestsEnabled(false);
+		content = fileCacheDataLoader.get(URL_TO_LOAD);
+		assertArrayEquals(MockConditionalDataLoader.CONTENT, content);
+		assertEquals(3, conditionalDataLoader.downloads);
+	}
+
+	@Test
+	public void compressedCacheTest() throws IOException {
+		byte[] content = new byte[4096];
+		Arrays.fill(content, (byte) 'a');
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put("content", content);
+
+		FileCacheDataLoader fileCacheDataLoader = new FileCacheDataLoader(new MemoryDataLoader(dataMap));
+		fileCacheDataLoader.setFileCacheDirectory(cacheDirectory);
+		fileCacheDataLoader.setCompressCache(true);
+
+		assertArrayEquals(content, fileCacheDataLoader.get("content"));
+		File compressedFile = new File(cacheDirectory, "content.gz");
+		assertTrue(compressedFile.exists());
+		assertTrue(compressedFile.length() < content.length);
+		assertFalse(new File(cacheDirectory, "content").exists());
+		assertTrue(new File(cacheDirectory, "content.gz.index").exists());
+
+		// cached compressed entry is used
+		assertArrayEquals(content, fileCacheDataLoader.get("content"));
+		assertArrayEquals(content, DSSUtils.toByteArray(fileCacheDataLoader.getDocument("content")));
+		assertArrayEquals(content, fileCacheDataLoader.loadFileFromCache("content"));
+
+		// a new loader reads the existing compressed entry using the index
+		FileCacheDataLoader uncompressedDataLoader = new FileCacheDataLoader(new IgnoreDataLoader());
+		uncompressedDataLoader.setFileCacheDirectory(cacheDirectory);
+		assertArrayEquals(content, uncompressedDataLoader.get("content"));
+
+		// an incomplete entry is not used
+		Files.write(compressedFile.toPath(), new byte[] { 1, 2, 3 });
+		assertThrows(DSSException.class, () -> uncompressedDataLoader.get("content"));
+
+		assertTrue(fileCacheDataLoader.remove("content"));
+		assertFalse(compressedFile.exists());
+		assertFalse(new File(cacheDirectory, "content.gz.index").exists());
+	}
+
+	@Test
+	public void compressedCacheSharedDirectoryTest() {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put("first", "first content".getBytes());
+		dataMap.put("second", "second content".getBytes());
+
+		FileCacheDataLoader firstDataLoader = new FileCacheDataLoader(new MemoryDataLoader(dataMap));
+		firstDataLoader.setFileCacheDirectory(cacheDirectory);
+		firstDataLoader.setCompressCache(true);
+
+		FileCacheDataLoader secondDataLoader = new FileCacheDataLoader(new MemoryDataLoader(dataMap));
+		secondDataLoader.setFileCacheDirectory(cacheDirectory);
+		secondDataLoader.setCompressCache(true);
+
+		// nothing is cached yet
+		assertThrows(DSSException.class, () -> firstDataLoader.loadFileFromCache("second"));
+		assertThrows(DSSException.class, () -> secondDataLoader.loadFileFromCache("first"));
+
+		firstDataLoader.get("first");
+		secondDataLoader.get("second");
+
+		// the index entries written by a loader are not overwritten by the other one
+		assertArrayEquals("first content".getBytes(), secondDataLoader.loadFileFromCache("first"));
+		assertArrayEquals("second content".getBytes(), firstDataLoader.loadFileFromCache("second"));
+	}
+
+	@Test
+	public void cacheEntriesIndexTest() {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put("first", "first content".getBytes());
+		dataMap.put("second", "second content".getBytes());
+		dataMap.put("third", "third content".getBytes());
+
+		FileCacheDataLoader fileCacheDataLoader = new FileCacheDataLoader(new MemoryDataLoader(dataMap));
+		fileCacheDataLoader.setFileCacheDirectory(cacheDirectory);
+		fileCacheDataLoader.setMaxCacheEntries(2);
+		assertThrows(IllegalArgumentException.class, () -> fileCacheDataLoader.setMaxCacheEntries(0));
+
+		fileCacheDataLoader.get("first");
+		fileCacheDataLoader.get("second");
+		fileCacheDataLoader.get("third");
+		// the index is bounded, the evicted entries are still read from the directory
+		assertEquals(2, fileCacheDataLoader.getCacheEntriesNumber());
+		assertArrayEquals("first content".getBytes(), fileCacheDataLoader.loadFileFromCache("first"));
+
+		// the entries of the files removed outside the loader are evicted
+		fileCacheDataLoader.setCacheExpirationTime(Long.MAX_VALUE);
+		assertTrue(new File(cacheDirectory, "third").delete());
+		assertArrayEquals("third content".getBytes(), fileCacheDataLoader.get("third"));
+		assertTrue(new File(cacheDirectory, "third").exists());
+		assertEquals(2, fileCacheDataLoader.getCacheEntriesNumber());
+
+		assertTrue(new File(cacheDirectory, "third").delete());
+		assertThrows(DSSException.class, () -> fileCacheDataLoader.loadFileFromCache("third"));
+		assertEquals(1, fileCacheDataLoader.getCacheEntriesNumber());
+	}
+
+	@Test
+	public void concurrentAccessTest() throws Exception {
+		concurrentAccess(false);
+	}
+
+	@Test
+	public void concurrentAccessWithFileLocksTest() throws Exception {
+		concurrentAccess(true);
+	}
+
+	private void concurrentAccess(boolean fileLockingEnabled) throws Exception {
+		byte[] content = "content".getBytes();
+		AtomicInteger downloads = new AtomicInteger();
+		MemoryDataLoader countingDataLoader = new MemoryDataLoader(Collections.singletonMap(URL_TO_LOAD, content)) {
+
+			private static final long serialVersionUID = -3524843826564547473L;
+
+			@Override
+			public byte[] get(String url) {
+				downloads.incrementAndGet();
+				return super.get(url);
+			}
+
+		};
+
+		FileCacheDataLoader fileCacheDataLoader = new FileCacheDataLoader(countingDataLoader);
+		fileCacheDataLoader.setFileCacheDirectory(cacheDirectory);
+		fileCacheDataLoader.setConditionalRequestsEnabled(false);
+		fileCacheDataLoader.setFileLockingEnabled(fileLockingEnabled);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(10);
+		try {
+			List<Future<byte[]>> futures = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				futures.add(executorService.submit(() -> fileCacheDataLoader.get(URL_TO_LOAD)));
+			}
+			for (Future<byte[]> future : futures) {
+				assertArrayEquals(content, future.get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+		assertEquals(1, downloads.get());
+
+		File[] tempFiles = cacheDirectory.listFiles((dir, name) -> name.endsWith(".tmp"));
+		assertNotNull(tempFiles);
+		assertEquals(0, tempFiles.length);
+	}
+
+	@Test
+	public void concurrentInstancesWithFileLocksTest() throws Exception {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			dataMap.put("url" + i, ("content" + i).getBytes());
+		}
+
+		List<FileCacheDataLoader> fileCacheDataLoaders = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			FileCacheDataLoader fileCacheDataLoader = new FileCacheDataLoader(new MemoryDataLoader(dataMap));
+			fileCacheDataLoader.setFileCacheDirectory(cacheDirectory);
+			fileCacheDataLoader.setFileLockingEnabled(true);
+			fileCacheDataLoaders.add(fileCacheDataLoader);
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(10);
+		try {
+			List<Future<byte[]>> futures = new ArrayList<>();
+			for (int i = 0; i < 300; i++) {
+				// instances sharing the same directory do not lock the same file concurrently
+				FileCacheDataLoader fileCacheDataLoader = fileCacheDataLoaders.get(i % fileCacheDataLoaders.size());
+				String url = "url" + (i % 100);
+				futures.add(executorService.submit(() -> fileCacheDataLoader.get(url)));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				assertArrayEquals(("content" + (i % 100)).getBytes(), futures.get(i).get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+
+		// the lock files are shared between the entries
+		File[] lockFiles = cacheDirectory.listFiles((dir, name) -> name.endsWith(".lock"));
+		assertNotNull(lockFiles);
+		assertTrue(lockFiles.length > 0 && lockFiles.length <= 64);
+	}
+
 	private long getUrlAndReturnCacheCreationTime() {
 		byte[] bytesArray = dataLoader.get(URL_TO_LOAD);
 		assertTrue(bytesArray.length > 0);
@@ -195,7 +429,7 @@ public class FileCacheDataLoaderTest {
 	private File getCachedFile(File cacheDirectory) {
 		File cachedFile = null;
 		if (cacheDirectory.exists()) {
-			File[] files = cacheDirectory.listFiles();
+			File[] files = cacheDirectory.listFiles((dir, name) -> !name.endsWith(".validators") && !name.endsWith(".lock"));
 			if (files != null && files.length > 0) {
 				cachedFile = files[0];
 			}
@@ -208,4 +442,47 @@ public class FileCacheDataLoaderTest {
 		nextSecond.add(Calendar.SECOND, 1);
 		await().atMost(2, TimeUnit.SECONDS).until(() -> Calendar.getInstance().getTime().compareTo(nextSecond.getTime()) > 0);
 	}
+
+	@SuppressWarnings("serial")
+	private static class MockConditionalDataLoader extends MemoryDataLoader implements ConditionalDataLoader {
+
+		private static final byte[] CONTENT = "content".getBytes();
+
+		private static final String ETAG = "\"abc\"";
+
+		private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+		private boolean notModified;
+
+		private boolean returnValidators = true;
+
+		private int downloads;
+
+		private String receivedETag;
+
+		private String receivedLastModified;
+
+		MockConditionalDataLoader() {
+			super(Collections.singletonMap(URL_TO_LOAD, CONTENT));
+		}
+
+		@Override
+		public byte[] get(String url) {
+			downloads++;
+			return super.get(url);
+		}
+
+		@Override
+		public ConditionalResponse conditionalGet(String url, String eTag, String lastModified) {
+			receivedETag = eTag;
+			receivedLastModified = lastModified;
+			if (notModified) {
+				return returnValidators ? new ConditionalResponse(true, null, ETAG, LAST_MODIFIED) :
+						new ConditionalResponse(true, null, null, null);
+			}
+			return new ConditionalResponse(false, get(url), ETAG, LAST_MODIFIED);
+		}
+
+	}
+
 }
@@ -35,6 +35,8 @@ import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.spi.x509.AlternateUrlsSourceAdapter;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -42,11 +44,13 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class OnlineOCSPSourceTest {
 
@@ -238,4 +242,75 @@ public class OnlineOCSPSourceTest {
 		assertEquals("DataLoader is not provided !", exception.getMessage());
 	}
 	
+	@Test
+	public void testMultipleCertIDsRequest() {
+		CommonsDataLoader dataLoader = new CommonsDataLoader();
+		CertificateToken goodUserCrlOcsp = DSSUtils.loadCertificate(dataLoader.get("http://dss.nowina.lu/pki-factory/crt/good-user-crl-ocsp.crt"));
+
+		MockOCSPDataLoader ocspDataLoader = new MockOCSPDataLoader(false);
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource(ocspDataLoader);
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(Arrays.asList(goodUser, goodUserCrlOcsp), goodCa);
+		assertEquals(2, ocspTokens.size());
+		assertEquals(1, ocspDataLoader.requestsCounter);
+		assertEquals(2, ocspDataLoader.certIDsCounter);
+
+		OCSPToken goodUserOcspToken = ocspTokens.get(goodUser);
+		assertNotNull(goodUserOcspToken);
+		assertEquals(goodUser, goodUserOcspToken.getRelatedCertificate());
+		assertTrue(goodUserOcspToken.isValid());
+
+		OCSPToken goodUserCrlOcspToken = ocspTokens.get(goodUserCrlOcsp);
+		assertNotNull(goodUserCrlOcspToken);
+		assertEquals(goodUserCrlOcsp, goodUserCrlOcspToken.getRelatedCertificate());
+		assertTrue(goodUserCrlOcspToken.isValid());
+	}
+
+	@Test
+	public void testMultipleCertIDsRequestFallback() {
+		CommonsDataLoader dataLoader = new CommonsDataLoader();
+		CertificateToken goodUserCrlOcsp = DSSUtils.loadCertificate(dataLoader.get("http://dss.nowina.lu/pki-factory/crt/good-user-crl-ocsp.crt"));
+
+		MockOCSPDataLoader ocspDataLoader = new MockOCSPDataLoader(true);
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource(ocspDataLoader);
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getRevocationTokens(Arrays.asList(goodUser, goodUserCrlOcsp), goodCa);
+		assertEquals(2, ocspTokens.size());
+		assertEquals(3, ocspDataLoader.requestsCounter);
+
+		// the responder is known as not supporting multiple CertIDs
+		ocspTokens = ocspSource.getRevocationTokens(Arrays.asList(goodUser, goodUserCrlOcsp), goodCa);
+		assertEquals(2, ocspTokens.size());
+		assertEquals(5, ocspDataLoader.requestsCounter);
+	}
+
+	private static class MockOCSPDataLoader extends OCSPDataLoader {
+
+		private static final long serialVersionUID = 2460307569011446357L;
+
+		private final boolean rejectMultipleCertIDs;
+
+		private int requestsCounter = 0;
+
+		private int certIDsCounter = 0;
+
+		private MockOCSPDataLoader(boolean rejectMultipleCertIDs) {
+			this.rejectMultipleCertIDs = rejectMultipleCertIDs;
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			++requestsCounter;
+			try {
+				int certIDsNumber = new OCSPReq(content).getRequestList().length;
+				certIDsCounter += certIDsNumber;
+				if (rejectMultipleCertIDs && certIDsNumber > 1) {
+					return new OCSPRespBuilder().build(OCSPRespBuilder.MALFORMED_REQUEST, null).getEncoded();
+				}
+			} catch (Exception e) {
+				fail(e);
+			}
+			return super.post(url, content);
+		}
+
+	}
+
 }
@@ -34,6 +34,7 @@ import eu.europa.esig.dss.model.x509.extension.CertificateExtension;
 import eu.europa.esig.dss.model.x509.extension.CertificateExtensions;
 import eu.europa.esig.dss.model.x509.extension.CertificatePolicies;
 import eu.europa.esig.dss.model.x509.extension.CertificatePolicy;
+import eu.europa.esig.dss.model.x509.extension.DecodedCertificateExtensions;
 import eu.europa.esig.dss.model.x509.extension.ExtendedKeyUsages;
 import eu.europa.esig.dss.model.x509.extension.GeneralSubtree;
 import eu.europa.esig.dss.model.x509.extension.InhibitAnyPolicy;
@@ -81,6 +82,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * This class contains utility methods for extraction certificate extension (whether critical or not)
@@ -98,18 +100,44 @@ public class CertificateExtensionsUtils {
     }
 
     /**
-     * This method extracts the certificate extensions from the given {@code certificateToken}
+     * This method extracts the certificate extensions from the given {@code certificateToken}.
+     * The decoded extensions are cached within the {@code certificateToken} and shall not be modified.
      *
      * @param certificateToken {@link CertificateToken} to get certificate extension from
      * @return {@link CertificateExtensions}
      */
     public static CertificateExtensions getCertificateExtensions(CertificateToken certificateToken) {
-        final CertificateExtensions certificateExtensions = new CertificateExtensions();
-        setCertificateExtensions(certificateExtensions, certificateToken, certificateToken.getCertificate().getCriticalExtensionOIDs());
-        setCertificateExtensions(certificateExtensions, certificateToken, certificateToken.getCertificate().getNonCriticalExtensionOIDs());
+        final DecodedCertificateExtensions decodedExtensions = certificateToken.getDecodedExtensions();
+        CertificateExtensions certificateExtensions = decodedExtensions.getCertificateExtensions();
+        if (certificateExtensions == null) {
+            certificateExtensions = new CertificateExtensions();
+            setCertificateExtensions(certificateExtensions, certificateToken, certificateToken.getCertificate().getCriticalExtensionOIDs());
+            setCertificateExtensions(certificateExtensions, certificateToken, certificateToken.getCertificate().getNonCriticalExtensionOIDs());
+            decodedExtensions.setCertificateExtensions(certificateExtensions);
+        }
         return certificateExtensions;
     }
 
+    /**
+     * Returns the decoded certificate extension from the cache of the {@code certificateToken},
+     * decodes and caches the extension on the first call
+     *
+     * @param certificateToken {@link CertificateToken} to get certificate extension from
+     * @param certificateExtensionEnum {@link CertificateExtensionEnum} the extension to be returned
+     * @param decoder {@link Function} used to decode the extension value
+     * @return the decoded certificate extension, NULL if not present
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends CertificateExtension> T getDecodedExtension(CertificateToken certificateToken,
+            CertificateExtensionEnum certificateExtensionEnum, Function<CertificateToken, T> decoder) {
+        final DecodedCertificateExtensions decodedExtensions = certificateToken.getDecodedExtensions();
+        final String oid = certificateExtensionEnum.getOid();
+        if (decodedExtensions.isDecoded(oid)) {
+            return (T) decodedExtensions.getExtension(oid);
+        }
+        return (T) decodedExtensions.putExtension(oid, decoder.apply(certificateToken));
+    }
+
     private static void setCertificateExtensions(CertificateExtensions certificateExtensions,
                                                  CertificateToken certificateToken, Collection<String> extensionOIDs) {
         if (Utils.isCollectionNotEmpty(extensionOIDs)) {
@@ -308,6 +336,10 @@ public class CertificateExtensionsUtils {
      * @return {@link SubjectAlternativeNames}
      */
     public static SubjectAlternativeNames getSubjectAlternativeNames(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.SUBJECT_ALTERNATIVE_NAME, CertificateExtensionsUtils::decodeSubjectAlternativeNames);
+    }
+
+    private static SubjectAlternativeNames decodeSubjectAlternativeNames(CertificateToken certificateToken) {
         try {
             final SubjectAlternativeNames subjectAlternateNames = new SubjectAlternativeNames();
             subjectAlternateNames.setOctets(certificateToken.getCertificate().getExtensionValue(subjectAlternateNames.getOid()));
@@ -386,6 +418,10 @@ public class CertificateExtensionsUtils {
      * @return {@link AuthorityInformationAccess}
      */
     public static AuthorityInformationAccess getAuthorityInformationAccess(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.AUTHORITY_INFORMATION_ACCESS, CertificateExtensionsUtils::decodeAuthorityInformationAccess);
+    }
+
+    private static AuthorityInformationAccess decodeAuthorityInformationAccess(CertificateToken certificateToken) {
         final byte[] authInfoAccessExtensionValue = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.AUTHORITY_INFORMATION_ACCESS.getOid());
         if (Utils.isArrayEmpty(authInfoAccessExtensionValue)) {
@@ -433,22 +469,22 @@ public class CertificateExtensionsUtils {
      * Returns the CA issuers URIs extracted from authorityInfoAccess.caIssuers field
      *
      * @param certificate {@link CertificateToken}
-     * @return a list of CA issuers URIs, or empty list if the extension is not present.
+     * @return an unmodifiable list of CA issuers URIs, or empty list if the extension is not present.
      */
     public static List<String> getCAIssuersAccessUrls(final CertificateToken certificate) {
         AuthorityInformationAccess aia = CertificateExtensionsUtils.getAuthorityInformationAccess(certificate);
-        return aia != null ? aia.getCaIssuers() : Collections.emptyList();
+        return aia != null ? unmodifiableCopy(aia.getCaIssuers()) : Collections.emptyList();
     }
 
     /**
      * Returns the OCSP URIs extracted from authorityInfoAccess.ocsp field
      *
      * @param certificate {@link CertificateToken}
-     * @return a list of OCSP URIs, or empty list if the extension is not present.
+     * @return an unmodifiable list of OCSP URIs, or empty list if the extension is not present.
      */
     public static List<String> getOCSPAccessUrls(final CertificateToken certificate) {
         AuthorityInformationAccess aia = CertificateExtensionsUtils.getAuthorityInformationAccess(certificate);
-        return aia != null ? aia.getOcsp() : Collections.emptyList();
+        return aia != null ? unmodifiableCopy(aia.getOcsp()) : Collections.emptyList();
     }
 
     /**
@@ -458,6 +494,10 @@ public class CertificateExtensionsUtils {
      * @return {@link SubjectKeyIdentifier}
      */
     public static AuthorityKeyIdentifier getAuthorityKeyIdentifier(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.AUTHORITY_KEY_IDENTIFIER, CertificateExtensionsUtils::decodeAuthorityKeyIdentifier);
+    }
+
+    private static AuthorityKeyIdentifier decodeAuthorityKeyIdentifier(CertificateToken certificateToken) {
         byte[] extensionValue = certificateToken.getCertificate().getExtensionValue(CertificateExtensionEnum.AUTHORITY_KEY_IDENTIFIER.getOid());
         if (Utils.isArrayEmpty(extensionValue)) {
             return null;
@@ -490,6 +530,10 @@ public class CertificateExtensionsUtils {
      * @return {@link SubjectKeyIdentifier}
      */
     public static SubjectKeyIdentifier getSubjectKeyIdentifier(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.SUBJECT_KEY_IDENTIFIER, CertificateExtensionsUtils::decodeSubjectKeyIdentifier);
+    }
+
+    private static SubjectKeyIdentifier decodeSubjectKeyIdentifier(CertificateToken certificateToken) {
         byte[] extensionValue = certificateToken.getCertificate().getExtensionValue(CertificateExtensionEnum.SUBJECT_KEY_IDENTIFIER.getOid());
         if (Utils.isArrayEmpty(extensionValue)) {
             return null;
@@ -518,6 +562,10 @@ public class CertificateExtensionsUtils {
      * @return {@link CRLDistributionPoints}
      */
     public static CRLDistributionPoints getCRLDistributionPoints(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.CRL_DISTRIBUTION_POINTS, CertificateExtensionsUtils::decodeCRLDistributionPoints);
+    }
+
+    private static CRLDistributionPoints decodeCRLDistributionPoints(CertificateToken certificateToken) {
         final byte[] crlDistributionPointsBytes = certificateToken.getCertificate().getExtensionValue(CertificateExtensionEnum.CRL_DISTRIBUTION_POINTS.getOid());
         if (crlDistributionPointsBytes != null) {
             try {
@@ -572,11 +620,25 @@ public class CertificateExtensionsUtils {
      * Returns the CRL distribution URIs extracted from cRLDistributionPoints field
      *
      * @param certificate {@link CertificateToken}
-     * @return a list of CA issuers URIs, or empty list if the extension is not present.
+     * @return an unmodifiable list of CRL URIs, or empty list if the extension is not present.
      */
     public static List<String> getCRLAccessUrls(final CertificateToken certificate) {
         CRLDistributionPoints crlDistributionPoints = CertificateExtensionsUtils.getCRLDistributionPoints(certificate);
-        return crlDistributionPoints != null ? crlDistributionPoints.getCrlUrls() : Collections.emptyList();
+        return crlDistributionPoints != null ? unmodifiableCopy(crlDistributionPoints.getCrlUrls()) : Collections.emptyList();
+    }
+
+    /**
+     * Returns an unmodifiable copy of a list obtained from a cached extension,
+     * in order to prevent the modification of the cached value by the caller
+     *
+     * @param urls a list of {@link String} URLs
+     * @return an unmodifiable list of {@link String} URLs
+     */
+    private static List<String> unmodifiableCopy(List<String> urls) {
+        if (Utils.isCollectionEmpty(urls)) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(urls));
     }
 
     /**
@@ -586,6 +648,10 @@ public class CertificateExtensionsUtils {
      * @return {@link BasicConstraints}
      */
     public static BasicConstraints getBasicConstraints(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.BASIC_CONSTRAINTS, CertificateExtensionsUtils::decodeBasicConstraints);
+    }
+
+    private static BasicConstraints decodeBasicConstraints(CertificateToken certificateToken) {
         final BasicConstraints basicConstraints = new BasicConstraints();
         basicConstraints.setOctets(certificateToken.getCertificate().getExtensionValue(basicConstraints.getOid()));
 
@@ -603,6 +669,10 @@ public class CertificateExtensionsUtils {
      * @return {@link NameConstraints}
      */
     public static NameConstraints getNameConstraints(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.NAME_CONSTRAINTS, CertificateExtensionsUtils::decodeNameConstraints);
+    }
+
+    private static NameConstraints decodeNameConstraints(CertificateToken certificateToken) {
         final byte[] nameConstraintsBinaries = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.NAME_CONSTRAINTS.getOid());
         if (Utils.isArrayNotEmpty(nameConstraintsBinaries)) {
@@ -664,6 +734,10 @@ public class CertificateExtensionsUtils {
      * @return {@link PolicyConstraints}
      */
     public static PolicyConstraints getPolicyConstraints(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.POLICY_CONSTRAINTS, CertificateExtensionsUtils::decodePolicyConstraints);
+    }
+
+    private static PolicyConstraints decodePolicyConstraints(CertificateToken certificateToken) {
         final byte[] policyConstraintsBinaries = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.POLICY_CONSTRAINTS.getOid());
         if (Utils.isArrayNotEmpty(policyConstraintsBinaries)) {
@@ -699,6 +773,10 @@ public class CertificateExtensionsUtils {
      * @return {@link PolicyConstraints}
      */
     public static InhibitAnyPolicy getInhibitAnyPolicy(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.INHIBIT_ANY_POLICY, CertificateExtensionsUtils::decodeInhibitAnyPolicy);
+    }
+
+    private static InhibitAnyPolicy decodeInhibitAnyPolicy(CertificateToken certificateToken) {
         final byte[] inhibitAnyPolicyBinaries = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.INHIBIT_ANY_POLICY.getOid());
         if (Utils.isArrayNotEmpty(inhibitAnyPolicyBinaries)) {
@@ -730,6 +808,10 @@ public class CertificateExtensionsUtils {
      * @return {@link KeyUsage}
      */
     public static KeyUsage getKeyUsage(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.KEY_USAGE, CertificateExtensionsUtils::decodeKeyUsage);
+    }
+
+    private static KeyUsage decodeKeyUsage(CertificateToken certificateToken) {
         final boolean[] keyUsageArray = certificateToken.getCertificate().getKeyUsage();
         if (keyUsageArray != null) {
             final KeyUsage keyUsage = new KeyUsage();
@@ -755,6 +837,10 @@ public class CertificateExtensionsUtils {
      * @return {@link ExtendedKeyUsages}
      */
     public static ExtendedKeyUsages getExtendedKeyUsage(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.EXTENDED_KEY_USAGE, CertificateExtensionsUtils::decodeExtendedKeyUsage);
+    }
+
+    private static ExtendedKeyUsages decodeExtendedKeyUsage(CertificateToken certificateToken) {
         try {
             final ExtendedKeyUsages extendedKeyUsage = new ExtendedKeyUsages();
             extendedKeyUsage.setOctets(certificateToken.getCertificate().getExtensionValue(extendedKeyUsage.getOid()));
@@ -775,6 +861,10 @@ public class CertificateExtensionsUtils {
      * @return {@link CertificatePolicies}
      */
     public static CertificatePolicies getCertificatePolicies(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.CERTIFICATE_POLICIES, CertificateExtensionsUtils::decodeCertificatePolicies);
+    }
+
+    private static CertificatePolicies decodeCertificatePolicies(CertificateToken certificateToken) {
         final byte[] certificatePoliciesBinaries = certificateToken.getCertificate()
                 .getExtensionValue(CertificateExtensionEnum.CERTIFICATE_POLICIES.getOid());
         if (Utils.isArrayNotEmpty(certificatePoliciesBinaries)) {
@@ -821,6 +911,10 @@ public class CertificateExtensionsUtils {
      * @return {@link OCSPNoCheck}
      */
     public static OCSPNoCheck getOcspNoCheck(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.OCSP_NOCHECK, CertificateExtensionsUtils::decodeOcspNoCheck);
+    }
+
+    private static OCSPNoCheck decodeOcspNoCheck(CertificateToken certificateToken) {
         final byte[] extensionValue = certificateToken.getCertificate().getExtensionValue(OCSPObjectIdentifiers.id_pkix_ocsp_nocheck.getId());
         if (extensionValue != null) {
             final OCSPNoCheck ocspNoCheck = new OCSPNoCheck();
@@ -853,6 +947,10 @@ public class CertificateExtensionsUtils {
      * @return {@link ValidityAssuredShortTerm}
      */
     public static ValidityAssuredShortTerm getValAssuredSTCerts(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.VALIDITY_ASSURED_SHORT_TERM, CertificateExtensionsUtils::decodeValAssuredSTCerts);
+    }
+
+    private static ValidityAssuredShortTerm decodeValAssuredSTCerts(CertificateToken certificateToken) {
         final byte[] extensionValue = certificateToken.getCertificate().getExtensionValue(OID.id_etsi_ext_valassured_ST_certs.getId());
         if (extensionValue != null) {
             final ValidityAssuredShortTerm validityAssuredShortTerm = new ValidityAssuredShortTerm();
@@ -899,6 +997,10 @@ public class CertificateExtensionsUtils {
      * @return {@link QcStatements}
      */
     public static QcStatements getQcStatements(CertificateToken certificateToken) {
+        return getDecodedExtension(certificateToken, CertificateExtensionEnum.QC_STATEMENTS, CertificateExtensionsUtils::decodeQcStatements);
+    }
+
+    private static QcStatements decodeQcStatements(CertificateToken certificateToken) {
         final QcStatements qcStatements = QcStatementUtils.getQcStatements(certificateToken);
         if (qcStatements != null) {
             qcStatements.checkCritical(certificateToken);
@@ -0,0 +1,259 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A bounded in-memory cache with a least-recently-used eviction policy.
+ *
+ * The cache size is limited by a total weight of the stored values (e.g. the size of the encoded binaries),
+ * computed with the provided weigher. Each entry has its own expiration time, after which it is not returned anymore.
+ *
+ * The class is thread-safe.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class MemoryCache<K, V> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MemoryCache.class);
+
+	/** The maximal total weight of the cached values */
+	private final long maxWeight;
+
+	/** Computes the weight of a value */
+	private final ToLongFunction<V> weigher;
+
+	/** The cached entries in the access order */
+	private final LinkedHashMap<K, CacheEntry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** The total weight of the cached values */
+	private long currentWeight;
+
+	/** The number of successful lookups */
+	private long hitsNumber;
+
+	/** The number of failed lookups */
+	private long missesNumber;
+
+	/** The number of entries evicted because of the weight limit */
+	private long evictionsNumber;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param maxWeight the maximal total weight of the cached values
+	 * @param weigher {@link ToLongFunction} computing the weight of a value
+	 */
+	public MemoryCache(final long maxWeight, final ToLongFunction<V> weigher) {
+		if (maxWeight <= 0) {
+			throw new IllegalArgumentException("The maximal weight shall be a positive number!");
+		}
+		Objects.requireNonNull(weigher, "Weigher cannot be null!");
+		this.maxWeight = maxWeight;
+		this.weigher = weigher;
+	}
+
+	/**
+	 * Returns the value cached for the given key, if present and not expired
+	 *
+	 * @param key the key
+	 * @return the cached value, null if not present or expired
+	 */
+	public synchronized V get(K key) {
+		final CacheEntry<V> entry = entries.get(key);
+		if (entry == null) {
+			missesNumber++;
+			return null;
+		}
+		if (entry.expirationTime <= System.currentTimeMillis()) {
+			remove(key);
+			missesNumber++;
+			return null;
+		}
+		hitsNumber++;
+		return entry.value;
+	}
+
+	/**
+	 * Caches the value with the given key until the expiration time.
+	 * A value heavier than the maximal weight of the cache is not cached.
+	 *
+	 * @param key the key
+	 * @param value the value to cache
+	 * @param expirationTime the expiration time in milliseconds (see {@code System.currentTimeMillis()})
+	 */
+	public synchronized void put(K key, V value, long expirationTime) {
+		Objects.requireNonNull(key, "Key cannot be null!");
+		Objects.requireNonNull(value, "Value cannot be null!");
+		remove(key);
+		if (expirationTime <= System.currentTimeMillis()) {
+			return;
+		}
+		final long weight = weigher.applyAsLong(value);
+		if (weight > maxWeight) {
+			LOG.debug("The value with key '{}' is too heavy to be cached ({} > {})", key, weight, maxWeight);
+			return;
+		}
+		entries.put(key, new CacheEntry<>(value, weight, expirationTime));
+		currentWeight += weight;
+		evict();
+	}
+
+	/**
+	 * Removes the entry with the given key
+	 *
+	 * @param key the key
+	 */
+	public synchronized void invalidate(K key) {
+		remove(key);
+	}
+
+	/**
+	 * Removes all entries with a key matching the predicate
+	 *
+	 * @param predicate {@link Predicate}
+	 */
+	public synchronized void invalidateIf(Predicate<K> predicate) {
+		final Iterator<Map.Entry<K, CacheEntry<V>>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<K, CacheEntry<V>> entry = iterator.next();
+			if (predicate.test(entry.getKey())) {
+				currentWeight -= entry.getValue().weight;
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries
+	 */
+	public synchronized void invalidateAll() {
+		entries.clear();
+		currentWeight = 0;
+	}
+
+	/**
+	 * Returns the number of cached entries (including the expired entries not yet removed)
+	 *
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the total weight of the cached values
+	 *
+	 * @return total weight
+	 */
+	public synchronized long getWeight() {
+		return currentWeight;
+	}
+
+	/**
+	 * Returns the number of lookups returning a cached value
+	 *
+	 * @return number of hits
+	 */
+	public synchronized long getHitsNumber() {
+		return hitsNumber;
+	}
+
+	/**
+	 * Returns the number of lookups without a cached value
+	 *
+	 * @return number of misses
+	 */
+	public synchronized long getMissesNumber() {
+		return missesNumber;
+	}
+
+	/**
+	 * Returns the number of entries evicted because of the weight limit
+	 *
+	 * @return number of evictions
+	 */
+	public synchronized long getEvictionsNumber() {
+		return evictionsNumber;
+	}
+
+	private void remove(K key) {
+		final CacheEntry<V> removed = entries.remove(key);
+		if (removed != null) {
+			currentWeight -= removed.weight;
+		}
+	}
+
+	private void evict() {
+		final long now = System.currentTimeMillis();
+		final Iterator<CacheEntry<V>> iterator = entries.values().iterator();
+		while (currentWeight > maxWeight && iterator.hasNext()) {
+			CacheEntry<V> entry = iterator.next();
+			currentWeight -= entry.weight;
+			iterator.remove();
+			if (entry.expirationTime > now) {
+				evictionsNumber++;
+			}
+		}
+	}
+
+	/**
+	 * Represents a cached value
+	 *
+	 * @param <V> the value type
+	 */
+	private static class CacheEntry<V> {
+
+		/** The cached value */
+		private final V value;
+
+		/** The weight of the value */
+		private final long weight;
+
+		/** The expiration time in milliseconds */
+		private final long expirationTime;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param value the cached value
+		 * @param weight the weight of the value
+		 * @param expirationTime the expiration time in milliseconds
+		 */
+		private CacheEntry(V value, long weight, long expirationTime) {
+			this.value = value;
+			this.weight = weight;
+			this.expirationTime = expirationTime;
+		}
+
+	}
+
+}
@@ -0,0 +1,122 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.client.http;
+
+/**
+ * The {@code DataLoader} supporting conditional GET requests (RFC 7232), based on the validators
+ * (ETag and Last-Modified values) obtained from a previous response
+ *
+ */
+public interface ConditionalDataLoader extends DataLoader {
+
+	/**
+	 * Executes a conditional GET request to the given URL.
+	 * When the resource has not been modified since the response the validators have been obtained from,
+	 * the returned {@code ConditionalResponse} is marked as not modified and does not contain the content.
+	 *
+	 * @param url {@link String} to access
+	 * @param eTag {@link String} the ETag value of the cached resource (sent within 'If-None-Match' header), can be null
+	 * @param lastModified {@link String} the Last-Modified value of the cached resource
+	 *                     (sent within 'If-Modified-Since' header), can be null
+	 * @return {@link ConditionalResponse}
+	 */
+	ConditionalResponse conditionalGet(final String url, final String eTag, final String lastModified);
+
+	/**
+	 * Represents a response to a conditional GET request
+	 */
+	class ConditionalResponse {
+
+		/**
+		 * Defines whether the resource has not been modified
+		 */
+		private final boolean notModified;
+
+		/**
+		 * The obtained content, null if not modified
+		 */
+		private final byte[] content;
+
+		/**
+		 * The ETag value returned by the server
+		 */
+		private final String eTag;
+
+		/**
+		 * The Last-Modified value returned by the server
+		 */
+		private final String lastModified;
+
+		/**
+		 * The default constructor
+		 *
+		 * @param notModified whether the resource has not been modified
+		 * @param content byte array of the obtained content, null if the resource has not been modified
+		 * @param eTag {@link String} the ETag value returned by the server, can be null
+		 * @param lastModified {@link String} the Last-Modified value returned by the server, can be null
+		 */
+		public ConditionalResponse(final boolean notModified, final byte[] content,
+								   final String eTag, final String lastModified) {
+			this.notModified = notModified;
+			this.content = content;
+			this.eTag = eTag;
+			this.lastModified = lastModified;
+		}
+
+		/**
+		 * Returns whether the resource has not been modified (HTTP status 304)
+		 *
+		 * @return TRUE if the resource has not been modified, FALSE otherwise
+		 */
+		public boolean isNotModified() {
+			return notModified;
+		}
+
+		/**
+		 * Returns the obtained content
+		 *
+		 * @return byte array, null if the resource has not been modified
+		 */
+		public byte[] getContent() {
+			return content;
+		}
+
+		/**
+		 * Returns the ETag value returned by the server
+		 *
+		 * @return {@link String}
+		 */
+		public String getETag() {
+			return eTag;
+		}
+
+		/**
+		 * Returns the Last-Modified value returned by the server
+		 *
+		 * @return {@link String}
+		 */
+		public String getLastModified() {
+			return lastModified;
+		}
+
+	}
+
+}
@@ -29,6 +29,8 @@ import java.io.OutputStream;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.concurrent.Callable;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * The call of native java DataLoader using the java.net.URL class.
@@ -39,6 +41,15 @@ public class NativeDataLoaderCall implements Callable<byte[]> {
 	/** The default error message */
 	private static final String ERROR_MESSAGE = "An error occurred while reading from url '%s' : %s";
 
+	/** The 'Accept-Encoding' request header */
+	private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+	/** The gzip content encoding */
+	private static final String GZIP_ENCODING = "gzip";
+
+	/** The deflate content encoding */
+	private static final String DEFLATE_ENCODING = "deflate";
+
 	/** The URL */
 	private final String url;
 
@@ -57,6 +68,9 @@ public class NativeDataLoaderCall implements Callable<byte[]> {
 	/** Timeout on reading a response from remote resource */
 	private final int readTimeout;
 
+	/** Defines if the compressed content transfer (gzip/deflate) shall be requested */
+	private final boolean contentCompressionEnabled;
+
 	/**
 	 * Constructor with unconfigured timeout
 	 *
@@ -81,12 +95,29 @@ public class NativeDataLoaderCall implements Callable<byte[]> {
 	 */
 	public NativeDataLoaderCall(String url, byte[] content, boolean useCaches, int maxInputSize,
 								int connectTimeout, int readTimeout) {
+		this(url, content, useCaches, maxInputSize, connectTimeout, readTimeout, false);
+	}
+
+	/**
+	 * Constructor with configured timeouts and compressed content transfer
+	 *
+	 * @param url {@link String}
+	 * @param content byte array
+	 * @param useCaches if the caches shall be used
+	 * @param maxInputSize maximum InputStream size (applies to the decompressed content)
+	 * @param connectTimeout timeout on opening a connection (in milliseconds)
+	 * @param readTimeout timeout on reading a response from a remote resource (in milliseconds)
+	 * @param contentCompressionEnabled if the compressed content transfer (gzip/deflate) shall be requested
+	 */
+	public NativeDataLoaderCall(String url, byte[] content, boolean useCaches, int maxInputSize,
+								int connectTimeout, int readTimeout, boolean contentCompressionEnabled) {
 		this.url = url;
 		this.content = content;
 		this.useCaches = useCaches;
 		this.maxInputSize = maxInputSize;
 		this.connectTimeout = connectTimeout;
 		this.readTimeout = readTimeout;
+		this.contentCompressionEnabled = contentCompressionEnabled;
 	}
 	
 	@Override
@@ -104,12 +135,15 @@ public class NativeDataLoaderCall implements Callable<byte[]> {
 			if (readTimeout > 0) {
 				connection.setReadTimeout(readTimeout);
 			}
+			if (contentCompressionEnabled) {
+				connection.setRequestProperty(ACCEPT_ENCODING, GZIP_ENCODING + ", " + DEFLATE_ENCODING);
+			}
 			if (content != null) {
 				connection.setDoOutput(true);
 				os = connection.getOutputStream();
 				Utils.write(content, os);
 			}
-			is = connection.getInputStream();
+			is = decode(connection.getInputStream(), connection.getContentEncoding());
 			if (maxInputSize > 0) {
 				is = new MaxSizeInputStream(is, maxInputSize, url);
 			}
@@ -124,6 +158,27 @@ public class NativeDataLoaderCall implements Callable<byte[]> {
 		return result;
 	}
 
+	/**
+	 * Wraps the {@code inputStream} with a decompressing stream, when a compressed content encoding is used
+	 *
+	 * @param inputStream {@link InputStream} to decode
+	 * @param contentEncoding {@link String} the value of the 'Content-Encoding' response header, can be null
+	 * @return {@link InputStream} decoded
+	 * @throws IOException if an exception occurs
+	 */
+	protected InputStream decode(InputStream inputStream, String contentEncoding) throws IOException {
+		if (contentEncoding == null) {
+			return inputStream;
+		}
+		final String encoding = Utils.trim(contentEncoding).toLowerCase();
+		if (GZIP_ENCODING.equals(encoding) || "x-gzip".equals(encoding)) {
+			return new GZIPInputStream(inputStream);
+		} else if (DEFLATE_ENCODING.equals(encoding)) {
+			return new InflaterInputStream(inputStream);
+		}
+		return inputStream;
+	}
+
 	/**
 	 * Creates connection
 	 *
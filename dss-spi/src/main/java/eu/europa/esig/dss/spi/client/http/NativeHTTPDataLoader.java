@@ -50,6 +50,11 @@ public class NativeHTTPDataLoader implements DataLoader {
 	 */
 	private int readTimeout = 0;
 
+	/**
+	 * Defines if the compressed content transfer (gzip/deflate) shall be requested
+	 */
+	private boolean contentCompressionEnabled = false;
+
 	/**
 	 * Default constructor instantiating object with null values
 	 */
@@ -132,6 +137,27 @@ public class NativeHTTPDataLoader implements DataLoader {
 		this.readTimeout = readTimeout;
 	}
 
+	/**
+	 * Gets if the compressed content transfer is enabled
+	 *
+	 * @return TRUE if the compressed content transfer is enabled, FALSE otherwise
+	 */
+	public boolean isContentCompressionEnabled() {
+		return contentCompressionEnabled;
+	}
+
+	/**
+	 * Sets if the compressed content transfer (gzip/deflate) shall be requested.
+	 * The obtained content is decompressed transparently, and the {@code maxInputSize} limit
+	 * applies to the decompressed content.
+	 * Default: FALSE (compressed content transfer is not requested)
+	 *
+	 * @param contentCompressionEnabled if the compressed content transfer shall be requested
+	 */
+	public void setContentCompressionEnabled(boolean contentCompressionEnabled) {
+		this.contentCompressionEnabled = contentCompressionEnabled;
+	}
+
 	/**
 	 * Execute the request
 	 *
@@ -162,7 +188,8 @@ public class NativeHTTPDataLoader implements DataLoader {
 	 * @return {@link Callable} task
 	 */
 	protected Callable<byte[]> createNativeDataLoaderCall(String url, HttpMethod method, byte[] content, boolean refresh) {
-		return new NativeDataLoaderCall(url, content, !refresh, maxInputSize, connectTimeout, readTimeout);
+		return new NativeDataLoaderCall(url, content, !refresh, maxInputSize, connectTimeout, readTimeout,
+				contentCompressionEnabled);
 	}
 
 	@Override
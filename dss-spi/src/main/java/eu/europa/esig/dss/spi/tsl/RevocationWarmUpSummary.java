@@ -0,0 +1,167 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.tsl;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Computes summary for a revocation data warm-up executed on trusted certificates
+ * and the certificates issued by them
+ *
+ */
+public class RevocationWarmUpSummary implements Serializable {
+
+	private static final long serialVersionUID = 6412815729386271057L;
+
+	/**
+	 * The time of the warm-up start
+	 */
+	private final Date startTime;
+
+	/**
+	 * The time of the warm-up end
+	 */
+	private final Date endTime;
+
+	/**
+	 * The number of processed certificates (trusted certificates and certificates issued by them)
+	 */
+	private final int numberOfProcessedCertificates;
+
+	/**
+	 * The number of certificates skipped (without revocation access point)
+	 */
+	private final int numberOfSkippedCertificates;
+
+	/**
+	 * The number of successfully loaded CRLs
+	 */
+	private final int numberOfLoadedCRLs;
+
+	/**
+	 * The number of successfully loaded OCSP responses
+	 */
+	private final int numberOfLoadedOCSPResponses;
+
+	/**
+	 * Map between the certificate identifiers (or CRL urls) and the failure reasons
+	 */
+	private final Map<String, String> failures;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param startTime {@link Date} the time of the warm-up start
+	 * @param endTime {@link Date} the time of the warm-up end
+	 * @param numberOfProcessedCertificates the number of processed certificates
+	 * @param numberOfSkippedCertificates the number of certificates which do not require revocation data
+	 * @param numberOfLoadedCRLs the number of successfully loaded CRLs
+	 * @param numberOfLoadedOCSPResponses the number of successfully loaded OCSP responses
+	 * @param failures a map between the certificate identifiers (or CRL urls) and the failure reasons
+	 */
+	public RevocationWarmUpSummary(final Date startTime, final Date endTime, final int numberOfProcessedCertificates,
+								   final int numberOfSkippedCertificates, final int numberOfLoadedCRLs,
+								   final int numberOfLoadedOCSPResponses, final Map<String, String> failures) {
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.numberOfProcessedCertificates = numberOfProcessedCertificates;
+		this.numberOfSkippedCertificates = numberOfSkippedCertificates;
+		this.numberOfLoadedCRLs = numberOfLoadedCRLs;
+		this.numberOfLoadedOCSPResponses = numberOfLoadedOCSPResponses;
+		this.failures = failures;
+	}
+
+	/**
+	 * Returns the time of the warm-up start
+	 *
+	 * @return {@link Date}
+	 */
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Returns the time of the warm-up end
+	 *
+	 * @return {@link Date}
+	 */
+	public Date getEndTime() {
+		return endTime;
+	}
+
+	/**
+	 * Returns the number of processed certificates (trusted certificates and certificates issued by them)
+	 *
+	 * @return {@code int}
+	 */
+	public int getNumberOfProcessedCertificates() {
+		return numberOfProcessedCertificates;
+	}
+
+	/**
+	 * Returns the number of certificates skipped, because without a revocation access point
+	 *
+	 * @return {@code int}
+	 */
+	public int getNumberOfSkippedCertificates() {
+		return numberOfSkippedCertificates;
+	}
+
+	/**
+	 * Returns the number of successfully loaded CRLs
+	 *
+	 * @return {@code int}
+	 */
+	public int getNumberOfLoadedCRLs() {
+		return numberOfLoadedCRLs;
+	}
+
+	/**
+	 * Returns the number of successfully loaded OCSP responses
+	 *
+	 * @return {@code int}
+	 */
+	public int getNumberOfLoadedOCSPResponses() {
+		return numberOfLoadedOCSPResponses;
+	}
+
+	/**
+	 * Returns the number of certificates for which the revocation data loading failed
+	 *
+	 * @return {@code int}
+	 */
+	public int getNumberOfFailures() {
+		return failures != null ? failures.size() : 0;
+	}
+
+	/**
+	 * Returns a map between the certificate identifiers (or CRL urls) and the failure reasons
+	 *
+	 * @return a map of failures
+	 */
+	public Map<String, String> getFailures() {
+		return failures != null ? Collections.unmodifiableMap(failures) : Collections.emptyMap();
+	}
+
+}
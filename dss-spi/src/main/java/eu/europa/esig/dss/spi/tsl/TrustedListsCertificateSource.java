@@ -22,6 +22,7 @@ package eu.europa.esig.dss.spi.tsl;
 
 import eu.europa.esig.dss.enumerations.CertificateSourceType;
 import eu.europa.esig.dss.model.identifier.EntityIdentifier;
+import eu.europa.esig.dss.model.identifier.Identifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
 import eu.europa.esig.dss.utils.Utils;
@@ -29,10 +30,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class allows injection of trusted certificates from Trusted Lists
@@ -46,7 +50,10 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	private TLValidationJobSummary summary;
 
 	/** The map of trust properties by EntityIdentifier (public keys) */
-	private Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity = new HashMap<>();
+	private volatile Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity = new HashMap<>();
+
+	/** The trust properties by certificates, grouped by the identifiers of the trusted lists */
+	private volatile Map<Identifier, Map<CertificateToken, List<TrustProperties>>> trustPropertiesByTL = new LinkedHashMap<>();
 
 	/**
 	 * The default constructor.
@@ -93,19 +100,83 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 
 	/**
 	 * The method allows to fill the CertificateSource
+	 *
+	 * NOTE: the content is built separately and replaced at once, the readers are never blocked.
+	 *
 	 * @param trustPropertiesByCerts map between {@link CertificateToken}s and a list of {@link TrustProperties}
 	 */
 	public synchronized void setTrustPropertiesByCertificates(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
-		this.trustPropertiesByEntity = new HashMap<>(); // reinit the map
-		super.reset();
-		trustPropertiesByCerts.forEach(this::addCertificate);
+		final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> newTrustPropertiesByTL = new LinkedHashMap<>();
+		trustPropertiesByCerts.forEach((certificateToken, trustPropertiesList) -> {
+			for (TrustProperties trustProperties : trustPropertiesList) {
+				addTrustProperties(newTrustPropertiesByTL.computeIfAbsent(trustProperties.getTLIdentifier(), k -> new LinkedHashMap<>()),
+						certificateToken, Collections.singletonList(trustProperties));
+			}
+		});
+		buildContent(trustPropertiesByCerts, newTrustPropertiesByTL);
+	}
+
+	/**
+	 * The method allows to update the CertificateSource only for the changed trusted lists.
+	 * The trust properties of the other trusted lists are kept untouched.
+	 *
+	 * NOTE: the content is built separately and replaced at once, the readers are never blocked.
+	 *
+	 * @param updatedTLs map between the identifiers of the added or modified trusted lists and their certificates
+	 *                   with the corresponding {@link TrustProperties}
+	 * @param removedTLs a collection of identifiers of the trusted lists to be removed
+	 */
+	public synchronized void updateTrustPropertiesByTrustedLists(
+			final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> updatedTLs, final Collection<Identifier> removedTLs) {
+		final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> newTrustPropertiesByTL = new LinkedHashMap<>(trustPropertiesByTL);
+		if (Utils.isCollectionNotEmpty(removedTLs)) {
+			for (Identifier tlId : removedTLs) {
+				newTrustPropertiesByTL.remove(tlId);
+			}
+		}
+		if (Utils.isMapNotEmpty(updatedTLs)) {
+			newTrustPropertiesByTL.putAll(updatedTLs);
+		}
+
+		final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new LinkedHashMap<>();
+		for (Map<CertificateToken, List<TrustProperties>> tlTrustProperties : newTrustPropertiesByTL.values()) {
+			tlTrustProperties.forEach((certificateToken, trustPropertiesList) ->
+					addTrustProperties(trustPropertiesByCerts, certificateToken, trustPropertiesList));
+		}
+		buildContent(trustPropertiesByCerts, newTrustPropertiesByTL);
+	}
+
+	/**
+	 * Returns identifiers of the trusted lists which have been synchronized within the current source
+	 *
+	 * @return a set of {@link Identifier}s
+	 */
+	public Set<Identifier> getSynchronizedTrustedListIdentifiers() {
+		return Collections.unmodifiableSet(trustPropertiesByTL.keySet());
 	}
-	
-	private void addCertificate(CertificateToken certificateToken, List<TrustProperties> trustPropertiesList) {
-		super.addCertificate(certificateToken);
-		
-		EntityIdentifier entityKey = certificateToken.getEntityKey();
-		List<TrustProperties> list = trustPropertiesByEntity.computeIfAbsent(entityKey, k -> new ArrayList<>());
+
+	private void buildContent(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts,
+							  final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> newTrustPropertiesByTL) {
+		final CommonTrustedCertificateSource newContent = new CommonTrustedCertificateSource();
+		final Map<EntityIdentifier, List<TrustProperties>> newTrustPropertiesByEntity = new HashMap<>();
+		trustPropertiesByCerts.forEach((certificateToken, trustPropertiesList) -> {
+			newContent.addCertificate(certificateToken);
+			List<TrustProperties> list = newTrustPropertiesByEntity.computeIfAbsent(certificateToken.getEntityKey(), k -> new ArrayList<>());
+			for (TrustProperties trustProperties : trustPropertiesList) {
+				if (!list.contains(trustProperties)) {
+					list.add(trustProperties);
+				}
+			}
+		});
+
+		super.replaceContent(newContent);
+		this.trustPropertiesByEntity = newTrustPropertiesByEntity;
+		this.trustPropertiesByTL = newTrustPropertiesByTL;
+	}
+
+	private void addTrustProperties(Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts,
+									CertificateToken certificateToken, List<TrustProperties> trustPropertiesList) {
+		List<TrustProperties> list = trustPropertiesByCerts.computeIfAbsent(certificateToken, k -> new ArrayList<>());
 		for (TrustProperties trustProperties : trustPropertiesList) {
 			if (!list.contains(trustProperties)) {
 				list.add(trustProperties);
@@ -114,7 +185,7 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	}
 
 	@Override
-	public synchronized List<TrustProperties> getTrustServices(CertificateToken token) {
+	public List<TrustProperties> getTrustServices(CertificateToken token) {
 		List<TrustProperties> currentTrustProperties = trustPropertiesByEntity.get(token.getEntityKey());
 		if (currentTrustProperties != null) {
 			return currentTrustProperties;
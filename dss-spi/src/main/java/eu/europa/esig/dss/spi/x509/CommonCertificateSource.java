@@ -61,14 +61,14 @@ public class CommonCertificateSource implements CertificateSource {
 	 * 
 	 * All entries share the same key pair
 	 */
-	private Map<EntityIdentifier, CertificateSourceEntity> entriesByPublicKeyHash = new HashMap<>();
+	private volatile Map<EntityIdentifier, CertificateSourceEntity> entriesByPublicKeyHash = new HashMap<>();
 
 	/**
 	 * Map of tokens, the key is the properties map of SubjectX500Principal
 	 * 
 	 * For a same SubjectX500Principal, different key pairs (and certificates) are possible
 	 */
-	private Map<Map<String, String>, Set<CertificateToken>> tokensBySubject = new HashMap<>();
+	private volatile Map<Map<String, String>, Set<CertificateToken>> tokensBySubject = new HashMap<>();
 
 	/**
 	 * The default constructor
@@ -166,6 +166,19 @@ public class CommonCertificateSource implements CertificateSource {
 		tokensBySubject = new HashMap<>();
 	}
 
+	/**
+	 * This method replaces the content of the current source by the content of the given {@code certificateSource}.
+	 * The internal indexes are swapped by reference, so the readers are never exposed to a partially filled source.
+	 * The given {@code certificateSource} shall not be modified after the call.
+	 *
+	 * @param certificateSource {@link CommonCertificateSource} containing the new content
+	 */
+	protected void replaceContent(final CommonCertificateSource certificateSource) {
+		Objects.requireNonNull(certificateSource, "The certificate source must be filled");
+		entriesByPublicKeyHash = certificateSource.entriesByPublicKeyHash;
+		tokensBySubject = certificateSource.tokensBySubject;
+	}
+
 	@Override
 	public boolean isKnown(CertificateToken token) {
 		final CertificateSourceEntity poolEntity = entriesByPublicKeyHash.get(token.getEntityKey());
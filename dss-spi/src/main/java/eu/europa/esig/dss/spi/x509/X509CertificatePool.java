@@ -0,0 +1,206 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.extension.DecodedCertificateExtensions;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+
+import java.security.cert.X509Certificate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Process-wide bounded pool of parsed certificates, keyed by the SHA-256 digest of the certificate.
+ *
+ * When enabled, the certificates loaded with {@code DSSUtils.loadCertificate(...)} methods are interned,
+ * meaning the same parsed {@code X509Certificate} instance and the same holder of its decoded extensions
+ * ({@code DecodedCertificateExtensions}) are reused for the same certificate between validations.
+ * The {@code CertificateToken}s are not shared: each call returns a new {@code CertificateToken} instance, as
+ * the token keeps the state of the validation (e.g. the signer's public key or the trust information).
+ * The least recently used certificates are evicted when the maximal size is reached.
+ *
+ * NOTE: the pool is disabled by default.
+ */
+public final class X509CertificatePool {
+
+	/** The default maximal number of pooled certificates */
+	private static final int DEFAULT_MAX_SIZE = 5000;
+
+	/** Defines whether the pool is used (false by default) */
+	private static volatile boolean enabled = false;
+
+	/** The maximal number of pooled certificates */
+	private static volatile int maxSize = DEFAULT_MAX_SIZE;
+
+	/** The pooled certificates by the hex-encoded SHA-256 digest of their binaries */
+	private static final Map<String, PooledCertificate> POOL = new LinkedHashMap<String, PooledCertificate>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = -2951542012455016227L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, PooledCertificate> eldest) {
+			return size() > maxSize;
+		}
+
+	};
+
+	/**
+	 * Utils class
+	 */
+	private X509CertificatePool() {
+		// empty
+	}
+
+	/**
+	 * Sets whether the loaded certificates shall be interned
+	 *
+	 * Default : false
+	 *
+	 * @param enabled whether the pool is used
+	 */
+	public static void setEnabled(boolean enabled) {
+		X509CertificatePool.enabled = enabled;
+		if (!enabled) {
+			clear();
+		}
+	}
+
+	/**
+	 * Returns whether the pool is used
+	 *
+	 * @return TRUE if the pool is enabled, FALSE otherwise
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the maximal number of pooled certificates
+	 *
+	 * Default : 5000
+	 *
+	 * @param maxSize the maximal number of certificates
+	 */
+	public static void setMaxSize(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximal size shall be a positive number!");
+		}
+		X509CertificatePool.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns a {@code CertificateToken} wrapping the pooled instance of the given certificate, or adds
+	 * the certificate to the pool if not present yet. When the pool is disabled, the given certificate is returned.
+	 *
+	 * @param certificateToken {@link CertificateToken} to intern
+	 * @return {@link CertificateToken} not shared with other callers
+	 */
+	public static CertificateToken intern(CertificateToken certificateToken) {
+		Objects.requireNonNull(certificateToken, "CertificateToken cannot be null!");
+		if (!enabled) {
+			return certificateToken;
+		}
+		final String key = Utils.toHex(certificateToken.getDigest(DigestAlgorithm.SHA256));
+		synchronized (POOL) {
+			final PooledCertificate pooled = POOL.get(key);
+			if (pooled != null) {
+				return pooled.toCertificateToken();
+			}
+			POOL.put(key, new PooledCertificate(certificateToken));
+			return certificateToken;
+		}
+	}
+
+	/**
+	 * Returns a new {@code CertificateToken} wrapping the pooled certificate with the given DER-encoded binaries
+	 *
+	 * @param derEncoded the DER-encoded certificate
+	 * @return {@link CertificateToken}, null if not present or the pool is disabled
+	 */
+	public static CertificateToken get(byte[] derEncoded) {
+		if (!enabled || derEncoded == null) {
+			return null;
+		}
+		final String key = Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHA256, derEncoded));
+		final PooledCertificate pooled;
+		synchronized (POOL) {
+			pooled = POOL.get(key);
+		}
+		return pooled != null ? pooled.toCertificateToken() : null;
+	}
+
+	/**
+	 * Returns the number of pooled certificates
+	 *
+	 * @return number of certificates
+	 */
+	public static int size() {
+		synchronized (POOL) {
+			return POOL.size();
+		}
+	}
+
+	/**
+	 * Removes all pooled certificates
+	 */
+	public static void clear() {
+		synchronized (POOL) {
+			POOL.clear();
+		}
+	}
+
+	/**
+	 * The shared state of a pooled certificate
+	 */
+	private static final class PooledCertificate {
+
+		/** The parsed certificate */
+		private final X509Certificate certificate;
+
+		/** The decoded extensions of the certificate */
+		private final DecodedCertificateExtensions decodedExtensions;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param certificateToken {@link CertificateToken} to be pooled
+		 */
+		private PooledCertificate(CertificateToken certificateToken) {
+			this.certificate = certificateToken.getCertificate();
+			this.decodedExtensions = certificateToken.getDecodedExtensions();
+		}
+
+		/**
+		 * Returns a new {@code CertificateToken} sharing the pooled state
+		 *
+		 * @return {@link CertificateToken}
+		 */
+		private CertificateToken toCertificateToken() {
+			return new CertificateToken(certificate, decodedExtensions);
+		}
+
+	}
+
+}
@@ -21,6 +21,8 @@
 package eu.europa.esig.dss.spi.x509.aia;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.cache.CacheInvalidationListener;
+import eu.europa.esig.dss.spi.cache.MemoryCache;
 import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
@@ -51,6 +53,26 @@ public abstract class RepositoryAIASource implements AIASource {
      */
     protected OnlineAIASource proxiedSource;
 
+    /**
+     * The maximal total size in bytes of the certificates kept in memory (0 means the memory cache is disabled)
+     */
+    private long memoryCacheMaxSize = 0;
+
+    /**
+     * The maximal time in milliseconds the certificates are kept in memory
+     */
+    private long memoryCacheTimeToLive = 300000; // 5 minutes
+
+    /**
+     * In-memory cache of the certificates extracted from the repository
+     */
+    private transient MemoryCache<String, Set<CertificateToken>> memoryCache;
+
+    /**
+     * Listener notified on modifications of the repository
+     */
+    private transient CacheInvalidationListener cacheInvalidationListener;
+
     /**
      * Default constructor instantiating object with null proxied source
      */
@@ -68,6 +90,88 @@ public abstract class RepositoryAIASource implements AIASource {
         this.proxiedSource = proxiedSource;
     }
 
+    /**
+     * Sets the maximal total size in bytes of the certificates kept in memory in front of the repository.
+     * The least recently used entries are evicted when the size is exceeded.
+     *
+     * Default : 0 (the memory cache is disabled)
+     *
+     * @param memoryCacheMaxSize the maximal size in bytes
+     */
+    public synchronized void setMemoryCacheMaxSize(long memoryCacheMaxSize) {
+        this.memoryCacheMaxSize = memoryCacheMaxSize;
+        this.memoryCache = null;
+    }
+
+    /**
+     * Sets the maximal time in seconds the certificates are kept in memory
+     *
+     * Default : 300 seconds
+     *
+     * @param memoryCacheTimeToLive long value (seconds)
+     */
+    public void setMemoryCacheTimeToLive(long memoryCacheTimeToLive) {
+        this.memoryCacheTimeToLive = memoryCacheTimeToLive * 1000; // to milliseconds
+    }
+
+    /**
+     * Sets a listener to be notified when AIA certificates are inserted or removed in the repository
+     * by the current instance. Allows to propagate the invalidation to the memory caches of other instances
+     * (see {@code invalidateMemoryCache(aiaKey)}).
+     *
+     * @param cacheInvalidationListener {@link CacheInvalidationListener}
+     */
+    public void setCacheInvalidationListener(CacheInvalidationListener cacheInvalidationListener) {
+        this.cacheInvalidationListener = cacheInvalidationListener;
+    }
+
+    /**
+     * Removes the certificates with the given AIA key from the memory cache
+     *
+     * @param aiaKey {@link String} representing an AIA URL identifier
+     */
+    public void invalidateMemoryCache(String aiaKey) {
+        final MemoryCache<String, Set<CertificateToken>> cache = getMemoryCache();
+        if (cache != null) {
+            cache.invalidate(aiaKey);
+        }
+    }
+
+    /**
+     * Removes all certificates from the memory cache
+     */
+    public void invalidateMemoryCache() {
+        final MemoryCache<String, Set<CertificateToken>> cache = getMemoryCache();
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the memory cache, when enabled
+     *
+     * @return {@link MemoryCache}, null if the memory cache is disabled
+     */
+    protected synchronized MemoryCache<String, Set<CertificateToken>> getMemoryCache() {
+        if (memoryCache == null && memoryCacheMaxSize > 0) {
+            memoryCache = new MemoryCache<>(memoryCacheMaxSize, certificates -> {
+                long size = 0;
+                for (CertificateToken certificate : certificates) {
+                    size += certificate.getEncoded().length;
+                }
+                return size;
+            });
+        }
+        return memoryCache;
+    }
+
+    private void onRepositoryUpdate(String aiaKey) {
+        invalidateMemoryCache(aiaKey);
+        if (cacheInvalidationListener != null) {
+            cacheInvalidationListener.onInvalidate(aiaKey);
+        }
+    }
+
     @Override
     public Set<CertificateToken> getCertificatesByAIA(CertificateToken certificateToken) {
        return getCertificatesByAIA(certificateToken, false);
@@ -124,6 +228,7 @@ public abstract class RepositoryAIASource implements AIASource {
             if (existingAIAKeys.contains(aiaKey)) {
                 LOG.info("AIA Certificates with key '{}' have been removed from DB", aiaKey);
                 removeCertificates(aiaKey);
+                onRepositoryUpdate(aiaKey);
             }
         }
 
@@ -137,6 +242,7 @@ public abstract class RepositoryAIASource implements AIASource {
                 if (Utils.isCollectionNotEmpty(certificateTokens)) {
                     insertCertificates(aiaUrl, certificateTokens);
                     certificatesByAIA.addAll(certificateTokens);
+                    onRepositoryUpdate(initCertificateAIAKeys(Collections.singletonList(aiaUrl)).get(0));
                     LOG.info("Certificate tokens with AIA '{}' are added into the cache", aiaUrl);
                 }
             }
@@ -167,13 +273,32 @@ public abstract class RepositoryAIASource implements AIASource {
     }
 
     private Set<CertificateToken> extractAIAFromCacheSource(List<String> aiaKeys) {
+        final MemoryCache<String, Set<CertificateToken>> cache = getMemoryCache();
         Set<CertificateToken> certificateTokens = new LinkedHashSet<>();
         for (String key : aiaKeys) {
-            certificateTokens.addAll(findCertificates(key));
+            Set<CertificateToken> certificates = cache != null ? cache.get(key) : null;
+            if (certificates == null) {
+                certificates = findCertificates(key);
+                if (cache != null && Utils.isCollectionNotEmpty(certificates)) {
+                    cache.put(key, Collections.unmodifiableSet(new LinkedHashSet<>(certificates)),
+                            getMemoryCacheExpirationTime(certificates));
+                }
+            }
+            certificateTokens.addAll(certificates);
         }
         return certificateTokens;
     }
 
+    private long getMemoryCacheExpirationTime(Set<CertificateToken> certificates) {
+        long expirationTime = System.currentTimeMillis() + memoryCacheTimeToLive;
+        for (CertificateToken certificate : certificates) {
+            if (certificate.getNotAfter() != null && certificate.getNotAfter().getTime() < expirationTime) {
+                expirationTime = certificate.getNotAfter().getTime();
+            }
+        }
+        return expirationTime;
+    }
+
     /**
      * This method returns a set of certificates from a DB with the given key
      *
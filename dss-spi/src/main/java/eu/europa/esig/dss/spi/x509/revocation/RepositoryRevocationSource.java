@@ -22,16 +22,27 @@ package eu.europa.esig.dss.spi.x509.revocation;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.spi.cache.CacheInvalidationListener;
+import eu.europa.esig.dss.spi.cache.MemoryCache;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -66,6 +77,68 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	 */
 	private boolean removeExpired = true;
 
+	/**
+	 * The maximal total size in bytes of the revocation data kept in memory (0 means the memory cache is disabled)
+	 */
+	private long memoryCacheMaxSize = 0;
+
+	/**
+	 * The maximal time in milliseconds a revocation token is kept in memory
+	 */
+	private long memoryCacheTimeToLive = 300000; // 5 minutes
+
+	/**
+	 * In-memory cache of the revocation tokens extracted from the repository, stored once per revocation key
+	 */
+	private transient MemoryCache<String, List<RevocationToken<R>>> memoryCache;
+
+	/**
+	 * Listener notified on modifications of the repository
+	 */
+	private transient CacheInvalidationListener cacheInvalidationListener;
+
+	/**
+	 * Executes the background refresh of the revocation data (null means the background refresh is disabled)
+	 */
+	private transient ExecutorService refreshExecutorService;
+
+	/**
+	 * The time in milliseconds before the nextUpdate, from which the revocation data is refreshed in background
+	 */
+	private Long preRefreshDelay;
+
+	/**
+	 * The time in milliseconds after the nextUpdate, during which the expired revocation data is still returned
+	 * while being refreshed in background
+	 */
+	private Long staleWhileRevalidateDelay;
+
+	/**
+	 * The time in milliseconds after the last access, during which the revocation data is considered as hot
+	 */
+	private long hotEntryTimeToLive = 86400000; // 24 hours
+
+	/**
+	 * The maximal number of recently accessed revocation keys kept for the background refresh
+	 */
+	private int maxHotEntries = 10000;
+
+	/**
+	 * The recently accessed revocation keys with the certificates used to refresh them
+	 * (the least recently accessed and expired entries are evicted on access)
+	 */
+	private final Map<String, HotRevocationEntry> hotEntries = Collections.synchronizedMap(new HotEntriesMap());
+
+	/**
+	 * The revocation keys being currently refreshed
+	 */
+	private final Set<String> refreshesInProgress = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The background refresh metrics
+	 */
+	private final RevocationRefreshStatistics refreshStatistics = new RevocationRefreshStatistics();
+
 	/**
 	 * Default constructor instantiating object with null values
 	 */
@@ -203,6 +276,287 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	public void setRemoveExpired(boolean removeExpired) {
 		this.removeExpired = removeExpired;
 	}
+
+	/**
+	 * Sets the maximal total size in bytes of the revocation data kept in memory in front of the repository.
+	 * When defined, the revocation tokens extracted from the repository are kept in memory until their nextUpdate
+	 * (computed with respect to nextUpdateDelay and maxNextUpdateDelay) or the memory cache time-to-live is reached,
+	 * whichever comes first. The least recently used tokens are evicted when the size is exceeded.
+	 *
+	 * Default : 0 (the memory cache is disabled)
+	 *
+	 * @param memoryCacheMaxSize
+	 *            the maximal size in bytes
+	 */
+	public synchronized void setMemoryCacheMaxSize(long memoryCacheMaxSize) {
+		this.memoryCacheMaxSize = memoryCacheMaxSize;
+		this.memoryCache = null;
+	}
+
+	/**
+	 * Sets the maximal time in seconds a revocation token is kept in memory.
+	 * Allows to take into account modifications of a repository shared between several instances
+	 * when no {@code CacheInvalidationListener} is used.
+	 *
+	 * Default : 300 seconds
+	 *
+	 * @param memoryCacheTimeToLive
+	 *            long value (seconds)
+	 */
+	public void setMemoryCacheTimeToLive(long memoryCacheTimeToLive) {
+		this.memoryCacheTimeToLive = memoryCacheTimeToLive * 1000; // to milliseconds
+	}
+
+	/**
+	 * Sets a listener to be notified when a revocation entry is inserted, updated or removed in the repository
+	 * by the current instance. Allows to propagate the invalidation to the memory caches of other instances
+	 * (see {@code invalidateMemoryCache(revocationKey)}).
+	 *
+	 * @param cacheInvalidationListener
+	 *            {@link CacheInvalidationListener}
+	 */
+	public void setCacheInvalidationListener(CacheInvalidationListener cacheInvalidationListener) {
+		this.cacheInvalidationListener = cacheInvalidationListener;
+	}
+
+	/**
+	 * Sets the executor service used to refresh the revocation data in background.
+	 * When not defined, the revocation data is always refreshed synchronously on the validation thread.
+	 *
+	 * Default : null (the background refresh is disabled)
+	 *
+	 * @param refreshExecutorService
+	 *            {@link ExecutorService}
+	 */
+	public void setRefreshExecutorService(ExecutorService refreshExecutorService) {
+		this.refreshExecutorService = refreshExecutorService;
+	}
+
+	/**
+	 * Sets the time in seconds before the nextUpdate (computed with respect to nextUpdateDelay and
+	 * maxNextUpdateDelay parameters), from which an accessed revocation data is refreshed in background.
+	 * Requires a refresh executor service to be defined.
+	 *
+	 * {@code
+	 *  If nextUpdate - preRefreshDelay < currentTime < nextUpdate, then the cached revocation data is returned
+	 *  and the refresh is started in background
+	 *}
+	 *
+	 * @param preRefreshDelay
+	 *            long value (seconds)
+	 */
+	public void setPreRefreshDelay(final Long preRefreshDelay) {
+		this.preRefreshDelay = preRefreshDelay == null ? null : preRefreshDelay * 1000; // to milliseconds
+	}
+
+	/**
+	 * Sets the grace window in seconds after the nextUpdate (computed with respect to nextUpdateDelay and
+	 * maxNextUpdateDelay parameters), during which the expired revocation data is still returned from the cache
+	 * while a fresh copy is downloaded in background. Requires a refresh executor service to be defined.
+	 *
+	 * {@code
+	 *  If nextUpdate < currentTime < nextUpdate + staleWhileRevalidateDelay, then the cached revocation data
+	 *  is returned and the refresh is started in background
+	 *}
+	 *
+	 * @param staleWhileRevalidateDelay
+	 *            long value (seconds)
+	 */
+	public void setStaleWhileRevalidateDelay(final Long staleWhileRevalidateDelay) {
+		this.staleWhileRevalidateDelay = staleWhileRevalidateDelay == null ? null : staleWhileRevalidateDelay * 1000; // to milliseconds
+	}
+
+	/**
+	 * Sets the time in seconds after the last access, during which a revocation entry is refreshed
+	 * by {@code refreshHotEntries()}
+	 *
+	 * Default : 86400 seconds (24 hours)
+	 *
+	 * @param hotEntryTimeToLive
+	 *            long value (seconds)
+	 */
+	public void setHotEntryTimeToLive(long hotEntryTimeToLive) {
+		this.hotEntryTimeToLive = hotEntryTimeToLive * 1000; // to milliseconds
+	}
+
+	/**
+	 * Sets the maximal number of recently accessed revocation entries kept in memory for the background refresh.
+	 * When the number is exceeded, the least recently accessed entry is forgotten.
+	 *
+	 * Default : 10000
+	 *
+	 * @param maxHotEntries
+	 *            positive number of entries
+	 */
+	public void setMaxHotEntries(int maxHotEntries) {
+		if (maxHotEntries < 1) {
+			throw new IllegalArgumentException("The maximal number of hot entries shall be positive!");
+		}
+		this.maxHotEntries = maxHotEntries;
+	}
+
+	/**
+	 * Returns the number of recently accessed revocation entries kept for the background refresh
+	 *
+	 * @return number of entries
+	 */
+	public int getHotEntriesNumber() {
+		return hotEntries.size();
+	}
+
+	/**
+	 * Returns the background refresh metrics
+	 *
+	 * @return {@link RevocationRefreshStatistics}
+	 */
+	public RevocationRefreshStatistics getRefreshStatistics() {
+		return refreshStatistics;
+	}
+
+	/**
+	 * Starts the background refresh for all recently accessed revocation entries which are going to expire
+	 * within the pre-refresh delay (or already expired), and forgets the entries not accessed anymore.
+	 *
+	 * The method is intended to be called periodically (e.g. with a {@code ScheduledExecutorService}),
+	 * so the frequently used revocation data is refreshed before a validation requests it.
+	 */
+	public void refreshHotEntries() {
+		final long currentTime = System.currentTimeMillis();
+		final Map<String, HotRevocationEntry> currentHotEntries;
+		synchronized (hotEntries) {
+			currentHotEntries = new HashMap<>(hotEntries);
+		}
+		for (Map.Entry<String, HotRevocationEntry> entry : currentHotEntries.entrySet()) {
+			final HotRevocationEntry hotEntry = entry.getValue();
+			if (currentTime - hotEntry.lastAccessTime > hotEntryTimeToLive) {
+				hotEntries.remove(entry.getKey(), hotEntry);
+			} else if (isRefreshRequired(hotEntry.nextUpdate, currentTime)) {
+				scheduleRefresh(entry.getKey(), hotEntry);
+			}
+		}
+	}
+
+	/**
+	 * Removes the revocation tokens with the given key from the memory cache
+	 *
+	 * @param revocationKey
+	 *            {@link String}
+	 */
+	public void invalidateMemoryCache(String revocationKey) {
+		final MemoryCache<String, List<RevocationToken<R>>> cache = getMemoryCache();
+		if (cache != null) {
+			cache.invalidate(revocationKey);
+		}
+	}
+
+	/**
+	 * Removes all revocation tokens from the memory cache
+	 */
+	public void invalidateMemoryCache() {
+		final MemoryCache<String, List<RevocationToken<R>>> cache = getMemoryCache();
+		if (cache != null) {
+			cache.invalidateAll();
+		}
+	}
+
+	/**
+	 * Stores the revocation token obtained outside the proxied source (e.g. pre-loaded on a revocation warm-up)
+	 * within the repository, in order to be reused by the following requests.
+	 * The revocation token is stored with the key computed from its related certificate (which may be null
+	 * for a CRL not related to a particular certificate) and its source URL.
+	 *
+	 * @param revocationToken {@link RevocationToken} to be stored
+	 * @return TRUE if the revocation token has been stored, FALSE if the token is not valid
+	 */
+	public boolean storeRevocationToken(final RevocationToken<R> revocationToken) {
+		Objects.requireNonNull(revocationToken, "RevocationToken cannot be null!");
+		if (!revocationToken.isValid()) {
+			LOG.warn("The revocation token with Id '{}' is invalid and will not be stored! Reason: {}",
+					revocationToken.getDSSIdAsString(), revocationToken.getInvalidityReason());
+			return false;
+		}
+
+		final String revocationTokenKey = getRevocationTokenKey(revocationToken.getRelatedCertificate(),
+				revocationToken.getSourceURL());
+		removeRevocation(revocationTokenKey);
+		insertRevocation(revocationTokenKey, revocationToken);
+		onRepositoryUpdate(revocationTokenKey);
+		LOG.info("Revocation token with Id '{}' is stored into the cache", revocationToken.getDSSIdAsString());
+		return true;
+	}
+
+	/**
+	 * Returns the memory cache, when enabled
+	 *
+	 * @return {@link MemoryCache}, null if the memory cache is disabled
+	 */
+	protected synchronized MemoryCache<String, List<RevocationToken<R>>> getMemoryCache() {
+		if (memoryCache == null && memoryCacheMaxSize > 0) {
+			memoryCache = new MemoryCache<>(memoryCacheMaxSize, tokens -> {
+				long size = 0;
+				for (RevocationToken<R> token : tokens) {
+					size += token.getEncoded().length;
+				}
+				return size;
+			});
+		}
+		return memoryCache;
+	}
+
+	/**
+	 * Returns the revocation token for the given certificate, based on a token kept in the memory cache.
+	 * The memory cache contains one entry per revocation key, therefore the cached token may have been
+	 * extracted for another certificate covered by the same revocation data (e.g. a CRL).
+	 * The method shall be overridden in order to re-use the cached revocation data for the other certificates.
+	 *
+	 * Default : returns the cached token when it has been extracted for the same certificate, null otherwise
+	 *
+	 * @param cachedToken {@link RevocationToken} kept in the memory cache
+	 * @param certificateToken {@link CertificateToken} to get the revocation token for
+	 * @param issuerCertificateToken {@link CertificateToken} of the issuer
+	 * @return {@link RevocationToken} for the given certificate, null if the cached token cannot be used
+	 */
+	protected RevocationToken<R> getRevocationTokenForCertificate(final RevocationToken<R> cachedToken,
+																  final CertificateToken certificateToken,
+																  final CertificateToken issuerCertificateToken) {
+		if (certificateToken.equals(cachedToken.getRelatedCertificate())) {
+			return cachedToken;
+		}
+		return null;
+	}
+
+	private List<RevocationToken<R>> getFromMemoryCache(final MemoryCache<String, List<RevocationToken<R>>> cache,
+														 final String revocationKey, final CertificateToken certificateToken,
+														 final CertificateToken issuerCertificateToken) {
+		final List<RevocationToken<R>> cachedTokens = cache.get(revocationKey);
+		if (cachedTokens == null) {
+			return null;
+		}
+		final List<RevocationToken<R>> result = new ArrayList<>();
+		for (RevocationToken<R> cachedToken : cachedTokens) {
+			RevocationToken<R> revocationToken;
+			try {
+				revocationToken = getRevocationTokenForCertificate(cachedToken, certificateToken, issuerCertificateToken);
+			} catch (Exception e) {
+				LOG.debug("Unable to use the memory cached revocation data with key '{}' for certificate with Id '{}' : {}",
+						revocationKey, certificateToken.getDSSIdAsString(), e.getMessage());
+				revocationToken = null;
+			}
+			if (revocationToken == null) {
+				// the repository is requested
+				return null;
+			}
+			result.add(revocationToken);
+		}
+		return result;
+	}
+
+	private void onRepositoryUpdate(String revocationKey) {
+		invalidateMemoryCache(revocationKey);
+		if (cacheInvalidationListener != null) {
+			cacheInvalidationListener.onInvalidate(revocationKey);
+		}
+	}
 	
 	@Override
 	public RevocationToken<R> getRevocationToken(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
@@ -295,18 +649,39 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	private Map<String, List<RevocationToken<R>>> extractRevocationFromCacheSource(
 			final CertificateToken certificateToken,final CertificateToken issuerCertificateToken, Collection<String> keys) {
 		final Map<String, List<RevocationToken<R>>> result = new HashMap<>();
+		final MemoryCache<String, List<RevocationToken<R>>> cache = getMemoryCache();
 		for (String key : keys) {
+			if (cache != null) {
+				final List<RevocationToken<R>> memoryCachedTokens = getFromMemoryCache(cache, key, certificateToken, issuerCertificateToken);
+				if (memoryCachedTokens != null) {
+					LOG.debug("Revocation token for certificate with Id '{}' has been found in the memory cache",
+							certificateToken.getDSSIdAsString());
+					result.put(key, memoryCachedTokens);
+					onCachedRevocationAccess(key, certificateToken, issuerCertificateToken, memoryCachedTokens);
+					continue;
+				}
+			}
+
 			final List<RevocationToken<R>> revocationTokens = findRevocations(key, certificateToken, issuerCertificateToken);
 			if (Utils.isCollectionNotEmpty(revocationTokens)) {
 				final List<RevocationToken<R>> freshRevocationData = revocationTokens.stream()
 						.filter(r -> isNotExpired(r, issuerCertificateToken)).collect(Collectors.toList());
 				if (Utils.isCollectionNotEmpty(freshRevocationData)) {
 					result.put(key, freshRevocationData);
+					putInMemoryCache(key, freshRevocationData);
+					onCachedRevocationAccess(key, certificateToken, issuerCertificateToken, freshRevocationData);
+				} else if (isStaleAllowed(revocationTokens)) {
+					LOG.debug("Revocation token is expired in the cache for certificate with Id '{}'. " +
+							"The stale revocation data is returned while being refreshed.", certificateToken.getDSSIdAsString());
+					result.put(key, revocationTokens);
+					refreshStatistics.recordStaleResponse();
+					onCachedRevocationAccess(key, certificateToken, issuerCertificateToken, revocationTokens);
 				} else {
 					LOG.debug("Revocation token is expired in the cache for certificate with Id '{}'",
 							certificateToken.getDSSIdAsString());
 					if (removeExpired) {
 						removeRevocation(key);
+						onRepositoryUpdate(key);
 					}
 				}
 			}
@@ -318,6 +693,95 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 		return result;
 	}
 
+	private void onCachedRevocationAccess(String key, CertificateToken certificateToken,
+										  CertificateToken issuerCertificateToken, List<RevocationToken<R>> revocationTokens) {
+		if (refreshExecutorService == null) {
+			return;
+		}
+		Date nextUpdate = null;
+		for (RevocationToken<R> revocationToken : revocationTokens) {
+			Date tokenNextUpdate = getCacheNextUpdate(revocationToken);
+			if (tokenNextUpdate != null && (nextUpdate == null || tokenNextUpdate.after(nextUpdate))) {
+				nextUpdate = tokenNextUpdate;
+			}
+		}
+		final HotRevocationEntry hotEntry = new HotRevocationEntry(certificateToken, issuerCertificateToken,
+				nextUpdate, System.currentTimeMillis());
+		hotEntries.put(key, hotEntry);
+		evictExpiredHotEntries(hotEntry.lastAccessTime);
+		if (isRefreshRequired(nextUpdate, hotEntry.lastAccessTime)) {
+			scheduleRefresh(key, hotEntry);
+		}
+	}
+
+	private void evictExpiredHotEntries(long currentTime) {
+		synchronized (hotEntries) {
+			// the entries are in the access order, thus the check stops on the first entry accessed recently
+			final Iterator<HotRevocationEntry> iterator = hotEntries.values().iterator();
+			while (iterator.hasNext() && currentTime - iterator.next().lastAccessTime > hotEntryTimeToLive) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private boolean isRefreshRequired(Date nextUpdate, long currentTime) {
+		if (nextUpdate == null) {
+			return false;
+		}
+		if (nextUpdate.getTime() <= currentTime) {
+			return true;
+		}
+		return preRefreshDelay != null && nextUpdate.getTime() - preRefreshDelay <= currentTime;
+	}
+
+	private boolean isStaleAllowed(List<RevocationToken<R>> revocationTokens) {
+		if (refreshExecutorService == null || staleWhileRevalidateDelay == null) {
+			return false;
+		}
+		final long currentTime = System.currentTimeMillis();
+		for (RevocationToken<R> revocationToken : revocationTokens) {
+			Date nextUpdate = getCacheNextUpdate(revocationToken);
+			if (nextUpdate != null && nextUpdate.getTime() + staleWhileRevalidateDelay > currentTime) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void scheduleRefresh(String key, HotRevocationEntry hotEntry) {
+		final ExecutorService executorService = refreshExecutorService;
+		if (executorService == null || !refreshesInProgress.add(key)) {
+			return;
+		}
+		try {
+			executorService.submit(() -> refresh(key, hotEntry));
+		} catch (RejectedExecutionException e) {
+			LOG.warn("Unable to schedule the refresh of the revocation data with key '{}' : {}", key, e.getMessage());
+			refreshesInProgress.remove(key);
+		}
+	}
+
+	private void refresh(String key, HotRevocationEntry hotEntry) {
+		try {
+			LOG.debug("Refreshing the revocation data with key '{}' in background", key);
+			RevocationToken<R> revocationToken = extractAndInsertRevocationTokenFromProxiedSource(
+					hotEntry.certificateToken, hotEntry.issuerCertificateToken, Collections.singletonList(key));
+			if (revocationToken != null && revocationToken.isValid()) {
+				long refreshLag = hotEntry.nextUpdate != null ? System.currentTimeMillis() - hotEntry.nextUpdate.getTime() : 0;
+				refreshStatistics.recordRefresh(refreshLag);
+				hotEntries.computeIfPresent(key, (k, v) -> new HotRevocationEntry(v.certificateToken,
+						v.issuerCertificateToken, getCacheNextUpdate(revocationToken), v.lastAccessTime));
+			} else {
+				refreshStatistics.recordFailedRefresh();
+			}
+		} catch (Exception e) {
+			LOG.warn("Unable to refresh the revocation data with key '{}' : {}", key, e.getMessage());
+			refreshStatistics.recordFailedRefresh();
+		} finally {
+			refreshesInProgress.remove(key);
+		}
+	}
+
 	private RevocationToken<R> getLatestRevocationData(Collection<RevocationToken<R>> revocationTokens) {
 		RevocationToken<R> latestRevocationData = null;
 		if (Utils.isCollectionNotEmpty(revocationTokens)) {
@@ -363,6 +827,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 					updateRevocation(revocationTokenKey, newToken);
 					LOG.info("Revocation token for certificate '{}' is updated in the cache", certificateToken.getDSSIdAsString());
 				}
+				onRepositoryUpdate(revocationTokenKey);
 			} else {
 				LOG.warn("The extracted revocation token with Id '{}' is invalid! Reason: {}",
 						newToken.getDSSIdAsString(), newToken.getInvalidityReason());
@@ -394,8 +859,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	private boolean isNotExpired(RevocationToken<R> revocationToken, CertificateToken certificateTokenIssuer) {
 		Date validationDate = new Date();
 		
-		Date nextUpdate = revocationToken.getNextUpdate();
-		if (nextUpdate == null) {
+		if (revocationToken.getNextUpdate() == null) {
 			// check the validity of the issuer certificate
 			CertificateToken revocationIssuer = revocationToken.getIssuerCertificateToken();
 			if (revocationIssuer == null) {
@@ -407,21 +871,109 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 		}
 		
 		// check the validity of the revocation token itself
+		Date nextUpdate = getCacheNextUpdate(revocationToken);
+		if (nextUpdate != null) {
+			return nextUpdate.after(validationDate);
+		}
+		
+		return false;
+	}
+
+	/**
+	 * Returns the time until which the revocation token can be used from the cache,
+	 * with respect of nextUpdateDelay and maxNexUpdateDelay parameters.
+	 *
+	 * @param revocationToken
+	 *              {@code CRLToken} or {@code OCSPToken}
+	 * @return {@link Date}, null if not defined
+	 */
+	private Date getCacheNextUpdate(RevocationToken<R> revocationToken) {
+		Date nextUpdate = revocationToken.getNextUpdate();
 		final Date thisUpdate = revocationToken.getThisUpdate();
 		if (nextUpdate == null && defaultNextUpdateDelay != null && thisUpdate != null) {
 			nextUpdate = new Date(thisUpdate.getTime() + defaultNextUpdateDelay);
 		}
-		if (nextUpdate != null) {
-			if (maxNextUpdateDelay != null && thisUpdate != null) {
-				Date maxNextUpdate = new Date(thisUpdate.getTime() + maxNextUpdateDelay);
-				if (nextUpdate.after(maxNextUpdate)) {
-					nextUpdate = maxNextUpdate;
-				}
+		if (nextUpdate != null && maxNextUpdateDelay != null && thisUpdate != null) {
+			Date maxNextUpdate = new Date(thisUpdate.getTime() + maxNextUpdateDelay);
+			if (nextUpdate.after(maxNextUpdate)) {
+				nextUpdate = maxNextUpdate;
 			}
-			return nextUpdate.after(validationDate);
 		}
-		
-		return false;
+		return nextUpdate;
+	}
+
+	private void putInMemoryCache(String revocationKey, List<RevocationToken<R>> revocationTokens) {
+		final MemoryCache<String, List<RevocationToken<R>>> cache = getMemoryCache();
+		if (cache == null) {
+			return;
+		}
+		long expirationTime = System.currentTimeMillis() + memoryCacheTimeToLive;
+		for (RevocationToken<R> revocationToken : revocationTokens) {
+			Date nextUpdate = getCacheNextUpdate(revocationToken);
+			if (nextUpdate != null && nextUpdate.getTime() < expirationTime) {
+				expirationTime = nextUpdate.getTime();
+			}
+		}
+		cache.put(revocationKey, revocationTokens, expirationTime);
+	}
+
+	/**
+	 * Keeps the hot entries in the access order, and evicts the least recently accessed entry
+	 * when the maximal number of entries is exceeded
+	 */
+	private class HotEntriesMap extends LinkedHashMap<String, HotRevocationEntry> {
+
+		private static final long serialVersionUID = 2923568741457382710L;
+
+		/**
+		 * Default constructor
+		 */
+		private HotEntriesMap() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, HotRevocationEntry> eldest) {
+			return size() > maxHotEntries;
+		}
+
+	}
+
+	/**
+	 * Contains the information required to refresh a recently accessed revocation entry
+	 */
+	private static class HotRevocationEntry implements Serializable {
+
+		private static final long serialVersionUID = -6151383622735307427L;
+
+		/** The certificate the revocation data has been requested for */
+		private final CertificateToken certificateToken;
+
+		/** The issuer of the certificate */
+		private final CertificateToken issuerCertificateToken;
+
+		/** The nextUpdate of the cached revocation data */
+		private final Date nextUpdate;
+
+		/** The time of the last access in milliseconds */
+		private final long lastAccessTime;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param certificateToken {@link CertificateToken}
+		 * @param issuerCertificateToken {@link CertificateToken}
+		 * @param nextUpdate {@link Date}
+		 * @param lastAccessTime the time of the last access in milliseconds
+		 */
+		private HotRevocationEntry(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+								   Date nextUpdate, long lastAccessTime) {
+			this.certificateToken = certificateToken;
+			this.issuerCertificateToken = issuerCertificateToken;
+			this.nextUpdate = nextUpdate;
+			this.lastAccessTime = lastAccessTime;
+		}
+
 	}
 
 }
@@ -0,0 +1,129 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contains metrics of the background refresh of the revocation data cached within a {@code RepositoryRevocationSource}.
+ *
+ * The refresh lag is the time between the nextUpdate of the cached revocation data and the moment a new version
+ * has been obtained. A negative value means the data has been refreshed before its expiration.
+ */
+public class RevocationRefreshStatistics implements Serializable {
+
+	private static final long serialVersionUID = 3850145412367519946L;
+
+	/** The number of successful background refreshes */
+	private final AtomicLong refreshesNumber = new AtomicLong();
+
+	/** The number of failed background refreshes */
+	private final AtomicLong failedRefreshesNumber = new AtomicLong();
+
+	/** The number of times an expired revocation data has been returned within the grace window */
+	private final AtomicLong staleResponsesNumber = new AtomicLong();
+
+	/** The sum of all refresh lags in milliseconds */
+	private final AtomicLong totalRefreshLag = new AtomicLong();
+
+	/** The maximal observed refresh lag in milliseconds */
+	private final AtomicLong maxRefreshLag = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * Records a successful refresh
+	 *
+	 * @param refreshLag the refresh lag in milliseconds
+	 */
+	void recordRefresh(long refreshLag) {
+		refreshesNumber.incrementAndGet();
+		totalRefreshLag.addAndGet(refreshLag);
+		maxRefreshLag.accumulateAndGet(refreshLag, Math::max);
+	}
+
+	/**
+	 * Records a failed refresh
+	 */
+	void recordFailedRefresh() {
+		failedRefreshesNumber.incrementAndGet();
+	}
+
+	/**
+	 * Records a stale response returned within the grace window
+	 */
+	void recordStaleResponse() {
+		staleResponsesNumber.incrementAndGet();
+	}
+
+	/**
+	 * Returns the number of successful background refreshes
+	 *
+	 * @return number of refreshes
+	 */
+	public long getRefreshesNumber() {
+		return refreshesNumber.get();
+	}
+
+	/**
+	 * Returns the number of failed background refreshes
+	 *
+	 * @return number of failed refreshes
+	 */
+	public long getFailedRefreshesNumber() {
+		return failedRefreshesNumber.get();
+	}
+
+	/**
+	 * Returns the number of times an expired revocation data has been returned within the grace window
+	 *
+	 * @return number of stale responses
+	 */
+	public long getStaleResponsesNumber() {
+		return staleResponsesNumber.get();
+	}
+
+	/**
+	 * Returns the average refresh lag in milliseconds
+	 *
+	 * @return average refresh lag, 0 if no refresh has been performed
+	 */
+	public long getAverageRefreshLag() {
+		long refreshes = refreshesNumber.get();
+		return refreshes == 0 ? 0 : totalRefreshLag.get() / refreshes;
+	}
+
+	/**
+	 * Returns the maximal refresh lag in milliseconds
+	 *
+	 * @return maximal refresh lag, 0 if no refresh has been performed
+	 */
+	public long getMaxRefreshLag() {
+		return refreshesNumber.get() == 0 ? 0 : maxRefreshLag.get();
+	}
+
+	@Override
+	public String toString() {
+		return "RevocationRefreshStatistics [refreshesNumber=" + getRefreshesNumber() + ", failedRefreshesNumber="
+				+ getFailedRefreshesNumber() + ", staleResponsesNumber=" + getStaleResponsesNumber()
+				+ ", averageRefreshLag=" + getAverageRefreshLag() + ", maxRefreshLag=" + getMaxRefreshLag() + "]";
+	}
+
+}
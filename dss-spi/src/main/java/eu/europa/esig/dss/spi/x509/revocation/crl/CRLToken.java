@@ -79,6 +79,21 @@ public class CRLToken extends RevocationToken<CRL> {
 		}
 	}
 
+	/**
+	 * The constructor to be used for a CRL not related to a particular certificate
+	 * (e.g. a CRL pre-loaded from a CRL service supply point of a trust anchor).
+	 * The revocation status is not defined for such a token.
+	 *
+	 * @param crlValidity
+	 *            {@code CRLValidity} containing the information about the
+	 *            validity of the CRL
+	 */
+	public CRLToken(final CRLValidity crlValidity) {
+		Objects.requireNonNull(crlValidity, "CRL Validity cannot be null");
+		this.crlValidity = crlValidity;
+		initInfo();
+	}
+
 	private void initInfo() {
 		this.signatureAlgorithm = crlValidity.getSignatureAlgorithm();
 		this.thisUpdate = crlValidity.getThisUpdate();
@@ -0,0 +1,208 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.ASN1TaggedObject;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.DERTaggedObject;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a timestamp obtained on a root of a {@code MerkleHashTree} combined with
+ * a reduced hash tree for a particular leaf digest.
+ *
+ * The object can be encoded to (and parsed from) an ArchiveTimeStamp structure as defined in RFC 4998:
+ * <pre>
+ * ArchiveTimeStamp ::= SEQUENCE {
+ *   digestAlgorithm [0] AlgorithmIdentifier OPTIONAL,
+ *   attributes      [1] Attributes OPTIONAL,
+ *   reducedHashtree [2] SEQUENCE OF PartialHashtree OPTIONAL,
+ *   timeStamp       ContentInfo }
+ *
+ * PartialHashtree ::= SEQUENCE OF OCTET STRING
+ * </pre>
+ */
+public class AggregatedTimestamp implements Serializable {
+
+	private static final long serialVersionUID = -4510628815282718498L;
+
+	/** The digest algorithm used to build the hash tree */
+	private final DigestAlgorithm digestAlgorithm;
+
+	/** The timestamp obtained on the root hash value */
+	private final byte[] timestampBinaries;
+
+	/** The reduced hash tree for the leaf */
+	private final List<List<byte[]>> reducedHashTree;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param digestAlgorithm {@link DigestAlgorithm} used to build the hash tree
+	 * @param timestampBinary {@link TimestampBinary} obtained on the root hash value
+	 * @param reducedHashTree a list of partial hash trees for the leaf
+	 */
+	public AggregatedTimestamp(final DigestAlgorithm digestAlgorithm, final TimestampBinary timestampBinary,
+							   final List<List<byte[]>> reducedHashTree) {
+		Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+		Objects.requireNonNull(timestampBinary, "TimestampBinary cannot be null!");
+		this.digestAlgorithm = digestAlgorithm;
+		this.timestampBinaries = timestampBinary.getBytes();
+		this.reducedHashTree = reducedHashTree != null ? reducedHashTree : Collections.emptyList();
+	}
+
+	/**
+	 * Gets the digest algorithm used to build the hash tree
+	 *
+	 * @return {@link DigestAlgorithm}
+	 */
+	public DigestAlgorithm getDigestAlgorithm() {
+		return digestAlgorithm;
+	}
+
+	/**
+	 * Gets the timestamp obtained on the root hash value
+	 *
+	 * @return {@link TimestampBinary}
+	 */
+	public TimestampBinary getTimestampBinary() {
+		return new TimestampBinary(timestampBinaries);
+	}
+
+	/**
+	 * Gets the reduced hash tree (the first list contains the leaf value itself)
+	 *
+	 * @return a list of partial hash trees
+	 */
+	public List<List<byte[]>> getReducedHashTree() {
+		return Collections.unmodifiableList(reducedHashTree);
+	}
+
+	/**
+	 * Computes the root hash value for the given leaf digest, which should be covered by the timestamp
+	 *
+	 * @param leafDigest the digest of the timestamped data
+	 * @return the root hash value, or null if the leaf is not a part of the reduced hash tree
+	 */
+	public byte[] computeRoot(byte[] leafDigest) {
+		return MerkleHashTree.computeRoot(digestAlgorithm, leafDigest, reducedHashTree);
+	}
+
+	/**
+	 * Returns DER-encoded RFC 4998 ArchiveTimeStamp
+	 *
+	 * @return DER-encoded binaries
+	 */
+	public byte[] getEncoded() {
+		final ASN1EncodableVector archiveTimeStamp = new ASN1EncodableVector();
+		archiveTimeStamp.add(new DERTaggedObject(false, 0,
+				new AlgorithmIdentifier(new ASN1ObjectIdentifier(digestAlgorithm.getOid()))));
+		if (!reducedHashTree.isEmpty()) {
+			final ASN1EncodableVector partialHashTrees = new ASN1EncodableVector();
+			for (List<byte[]> partialHashTree : reducedHashTree) {
+				final ASN1EncodableVector values = new ASN1EncodableVector();
+				for (byte[] value : partialHashTree) {
+					values.add(new DEROctetString(value));
+				}
+				partialHashTrees.add(new DERSequence(values));
+			}
+			archiveTimeStamp.add(new DERTaggedObject(false, 2, new DERSequence(partialHashTrees)));
+		}
+		archiveTimeStamp.add(toASN1Primitive(timestampBinaries));
+		return DSSASN1Utils.getDEREncoded(new DERSequence(archiveTimeStamp));
+	}
+
+	/**
+	 * Parses DER-encoded RFC 4998 ArchiveTimeStamp
+	 *
+	 * @param encoded DER-encoded binaries
+	 * @return {@link AggregatedTimestamp}
+	 */
+	public static AggregatedTimestamp fromEncoded(byte[] encoded) {
+		Objects.requireNonNull(encoded, "Encoded binaries cannot be null!");
+		try {
+			final ASN1Sequence archiveTimeStamp = ASN1Sequence.getInstance(toASN1Primitive(encoded));
+
+			DigestAlgorithm digestAlgorithm = null;
+			final List<List<byte[]>> reducedHashTree = new ArrayList<>();
+			ASN1Encodable timeStamp = null;
+			for (ASN1Encodable element : archiveTimeStamp) {
+				if (element instanceof ASN1TaggedObject) {
+					final ASN1TaggedObject taggedObject = (ASN1TaggedObject) element;
+					if (taggedObject.getTagNo() == 0) {
+						final AlgorithmIdentifier algorithmIdentifier = AlgorithmIdentifier.getInstance(taggedObject, false);
+						digestAlgorithm = DigestAlgorithm.forOID(algorithmIdentifier.getAlgorithm().getId());
+					} else if (taggedObject.getTagNo() == 2) {
+						for (ASN1Encodable partialHashTree : ASN1Sequence.getInstance(taggedObject, false)) {
+							final List<byte[]> values = new ArrayList<>();
+							for (ASN1Encodable value : ASN1Sequence.getInstance(partialHashTree)) {
+								values.add(ASN1OctetString.getInstance(value).getOctets());
+							}
+							reducedHashTree.add(values);
+						}
+					}
+				} else {
+					timeStamp = element;
+				}
+			}
+			if (digestAlgorithm == null) {
+				throw new DSSException("The digest algorithm is not defined within the ArchiveTimeStamp!");
+			}
+			if (timeStamp == null) {
+				throw new DSSException("The timeStamp is not found within the ArchiveTimeStamp!");
+			}
+			return new AggregatedTimestamp(digestAlgorithm,
+					new TimestampBinary(DSSASN1Utils.getDEREncoded(timeStamp)), reducedHashTree);
+
+		} catch (DSSException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new DSSException(String.format("Unable to parse the ArchiveTimeStamp : %s", e.getMessage()), e);
+		}
+	}
+
+	private static ASN1Primitive toASN1Primitive(byte[] binaries) {
+		try {
+			return ASN1Primitive.fromByteArray(binaries);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to read ASN.1 structure : %s", e.getMessage()), e);
+		}
+	}
+
+}
@@ -0,0 +1,232 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * This class allows to obtain timestamps for a large number of digests concurrently requested by different threads
+ * while performing a single request to the underlying {@code TSPSource} per aggregation window.
+ *
+ * All digests received within the aggregation window (or until the maximal batch size is reached) are used as leaves
+ * of a {@code MerkleHashTree}, and only the root of the tree is timestamped. Each caller receives an
+ * {@code AggregatedTimestamp} containing the timestamp on the root together with the reduced hash tree
+ * of its own digest, which allows to link the timestamp to the original data (see RFC 4998).
+ *
+ * NOTE: the class does not implement {@code TSPSource}, because the obtained timestamp's message-imprint
+ * does not match the original digest. Use {@code AggregatedTimestamp.computeRoot(digest)} to verify the link.
+ */
+public class AggregatingTimestampSource {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AggregatingTimestampSource.class);
+
+	/** The underlying TSP source used to timestamp the root hash values */
+	private final TSPSource tspSource;
+
+	/** The digest algorithm used to build the hash tree and to request the timestamp */
+	private final DigestAlgorithm digestAlgorithm;
+
+	/** Time in milliseconds to wait for other digests before requesting a timestamp (100 ms by default) */
+	private long aggregationWindow = 100;
+
+	/** The maximal number of digests aggregated within a single timestamp (1000 by default) */
+	private int maxBatchSize = 1000;
+
+	/** The lock used to synchronize the batch creation */
+	private final Object lock = new Object();
+
+	/** The batch currently collecting digests */
+	private Batch currentBatch;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param tspSource {@link TSPSource} to request the timestamps from
+	 * @param digestAlgorithm {@link DigestAlgorithm} to be used for the hash tree and the timestamp requests
+	 */
+	public AggregatingTimestampSource(final TSPSource tspSource, final DigestAlgorithm digestAlgorithm) {
+		Objects.requireNonNull(tspSource, "TSPSource cannot be null!");
+		Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+		this.tspSource = tspSource;
+		this.digestAlgorithm = digestAlgorithm;
+	}
+
+	/**
+	 * Sets time in milliseconds to wait for other digests before requesting a timestamp
+	 *
+	 * Default : 100 ms
+	 *
+	 * @param aggregationWindow time in milliseconds
+	 */
+	public void setAggregationWindow(long aggregationWindow) {
+		if (aggregationWindow < 0) {
+			throw new IllegalArgumentException("The aggregation window cannot be negative!");
+		}
+		this.aggregationWindow = aggregationWindow;
+	}
+
+	/**
+	 * Sets the maximal number of digests aggregated within a single timestamp.
+	 * When the limit is reached, the timestamp is requested without waiting for the end of the aggregation window.
+	 *
+	 * Default : 1000
+	 *
+	 * @param maxBatchSize the maximal number of digests
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("The maximal batch size shall be a positive number!");
+		}
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Gets the digest algorithm to be used for the digest computation
+	 *
+	 * @return {@link DigestAlgorithm}
+	 */
+	public DigestAlgorithm getDigestAlgorithm() {
+		return digestAlgorithm;
+	}
+
+	/**
+	 * Returns an aggregated timestamp for the given digest. The method blocks until the timestamp
+	 * for the current aggregation window is obtained.
+	 *
+	 * @param digest the digest value computed with {@code getDigestAlgorithm()} to be timestamped
+	 * @return {@link AggregatedTimestamp}
+	 * @throws DSSException if the timestamp cannot be obtained
+	 */
+	public AggregatedTimestamp getAggregatedTimestamp(final byte[] digest) throws DSSException {
+		Objects.requireNonNull(digest, "Digest cannot be null!");
+
+		final Batch batch;
+		final int leafIndex;
+		final boolean leader;
+		synchronized (lock) {
+			if (currentBatch == null) {
+				currentBatch = new Batch();
+				leader = true;
+			} else {
+				leader = false;
+			}
+			batch = currentBatch;
+			leafIndex = batch.leaves.size();
+			batch.leaves.add(digest);
+			if (batch.leaves.size() >= maxBatchSize) {
+				currentBatch = null;
+				lock.notifyAll();
+			}
+		}
+
+		if (leader) {
+			timestamp(batch);
+		} else {
+			awaitCompletion(batch);
+		}
+
+		if (batch.exception != null) {
+			throw new DSSExternalResourceException(String.format(
+					"Unable to retrieve the aggregated timestamp : %s", batch.exception.getMessage()), batch.exception);
+		}
+		return new AggregatedTimestamp(digestAlgorithm, batch.timestampBinary, batch.tree.getReducedHashTree(leafIndex));
+	}
+
+	private void timestamp(Batch batch) {
+		try {
+			closeBatch(batch);
+
+			batch.tree = new MerkleHashTree(digestAlgorithm, batch.leaves);
+			LOG.debug("Requesting a timestamp for a hash tree with {} leaves", batch.tree.getLeavesNumber());
+			TimestampBinary timestampBinary = tspSource.getTimeStampResponse(digestAlgorithm, batch.tree.getRoot());
+			if (timestampBinary == null) {
+				throw new DSSException("The TSPSource returned an empty response!");
+			}
+			batch.timestampBinary = timestampBinary;
+
+		} catch (Exception e) {
+			batch.exception = e;
+		} finally {
+			batch.completed.countDown();
+		}
+	}
+
+	private void closeBatch(Batch batch) {
+		final long deadline = System.currentTimeMillis() + aggregationWindow;
+		synchronized (lock) {
+			try {
+				long remaining = aggregationWindow;
+				while (currentBatch == batch && remaining > 0) {
+					lock.wait(remaining);
+					remaining = deadline - System.currentTimeMillis();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				if (currentBatch == batch) {
+					currentBatch = null;
+				}
+			}
+		}
+	}
+
+	private void awaitCompletion(Batch batch) {
+		try {
+			batch.completed.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted while waiting for the aggregated timestamp", e);
+		}
+	}
+
+	/**
+	 * Contains the digests collected within one aggregation window and the obtained result
+	 */
+	private static class Batch {
+
+		/** The collected digests */
+		private final List<byte[]> leaves = new ArrayList<>();
+
+		/** Released when the timestamp request is processed */
+		private final CountDownLatch completed = new CountDownLatch(1);
+
+		/** The built hash tree */
+		private volatile MerkleHashTree tree;
+
+		/** The obtained timestamp */
+		private volatile TimestampBinary timestampBinary;
+
+		/** The exception thrown on the timestamp request, if any */
+		private volatile Exception exception;
+
+	}
+
+}
@@ -0,0 +1,484 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class allows to retrieve a timestamp from multiple TSP sources while balancing the load between them.
+ *
+ * For each source latency and error statistics are collected. The sources are tried in the order of their score
+ * (the moving average latency divided by the source weight), and the sources which failed several times in a row
+ * are tried last during the configured cool-down period. A source without a successful request yet is scored
+ * with the mean latency of the other sources and is preferred only over the sources with the same score.
+ *
+ * When the fastest source does not respond within the hedge delay (computed from the latency percentile of the source),
+ * a second, hedged, request is sent to the next source and the first obtained response is returned.
+ * A failed request is replaced immediately by a request to the next source.
+ *
+ * Be careful, all given tspSources MUST accept the same digest algorithm.
+ *
+ */
+public class LoadBalancedTSPSource implements TSPSource {
+
+	private static final long serialVersionUID = -5313706283402406392L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(LoadBalancedTSPSource.class);
+
+	/** The default maximum number of threads of the internal executor service */
+	private static final int DEFAULT_MAX_THREADS = 10;
+
+	/** The time in seconds after which an idle thread of the internal executor service is released */
+	private static final long THREAD_KEEP_ALIVE_TIME = 60;
+
+	/** A map of source keys and corresponding TSP Sources */
+	private Map<String, TSPSource> tspSources = new LinkedHashMap<>();
+
+	/** A map of source keys and corresponding weights */
+	private final Map<String, Double> weights = new HashMap<>();
+
+	/** A map of source keys and corresponding statistics */
+	private final Map<String, TSPSourceStatistics> statistics = new HashMap<>();
+
+	/** The executor service used to perform parallel requests (an internal bounded pool if not defined) */
+	private transient ExecutorService executorService;
+
+	/** The internal executor service, lazily created when no executor service is defined */
+	private transient ExecutorService defaultExecutorService;
+
+	/** The maximum number of threads of the internal executor service (10 by default) */
+	private int maxThreads = DEFAULT_MAX_THREADS;
+
+	/** Defines whether the hedged requests are enabled (true by default) */
+	private boolean hedgingEnabled = true;
+
+	/** The latency percentile used to compute the hedge delay (95 by default) */
+	private double hedgeDelayPercentile = 95;
+
+	/** The hedge delay in milliseconds used when no statistics are available for a source (1000 ms by default) */
+	private long defaultHedgeDelay = 1000;
+
+	/** The minimal hedge delay in milliseconds (50 ms by default) */
+	private long minHedgeDelay = 50;
+
+	/** The number of consecutive failures after which a source is considered as unhealthy (3 by default) */
+	private int maxConsecutiveFailures = 3;
+
+	/** The time in milliseconds during which an unhealthy source is tried last (30 seconds by default) */
+	private long coolDownPeriod = 30000;
+
+	/** The number of latest successful requests used for percentile computation (100 by default) */
+	private int statisticsWindowSize = 100;
+
+	/**
+	 * Default constructor instantiating object with an empty sources map
+	 */
+	public LoadBalancedTSPSource() {
+		// empty
+	}
+
+	/**
+	 * This setter allows to provide multiple tspSources. Be careful, all given tspSources MUST accept the same digest
+	 * algorithm.
+	 *
+	 * @param tspSources
+	 *            a {@code Map} of String and TSPSource with a label and its corresponding source
+	 */
+	public synchronized void setTspSources(Map<String, TSPSource> tspSources) {
+		Objects.requireNonNull(tspSources, "TspSources cannot be null!");
+		this.tspSources = new LinkedHashMap<>(tspSources);
+		this.statistics.keySet().retainAll(tspSources.keySet());
+		this.weights.keySet().retainAll(tspSources.keySet());
+	}
+
+	/**
+	 * Sets the weight of a source. A source with a higher weight receives more requests for the same latency.
+	 *
+	 * Default : 1
+	 *
+	 * @param sourceKey {@link String} the source label
+	 * @param weight positive weight value
+	 */
+	public synchronized void setWeight(String sourceKey, double weight) {
+		Objects.requireNonNull(sourceKey, "Source key cannot be null!");
+		if (weight <= 0) {
+			throw new IllegalArgumentException("The weight shall be a positive number!");
+		}
+		weights.put(sourceKey, weight);
+	}
+
+	/**
+	 * Sets the executor service used to perform the requests.
+	 * The lifecycle of the provided executor service is managed by the caller.
+	 *
+	 * Default : a bounded pool of daemon threads (see {@code setMaxThreads}), created for the instance
+	 *
+	 * @param executorService {@link ExecutorService}
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		Objects.requireNonNull(executorService, "ExecutorService cannot be null!");
+		this.executorService = executorService;
+	}
+
+	/**
+	 * Sets the maximum number of threads of the internal executor service, used when no executor service is defined.
+	 * The requests exceeding the limit are queued until a thread is available.
+	 * Shall be set before the first request.
+	 *
+	 * Default : 10
+	 *
+	 * @param maxThreads positive number of threads
+	 */
+	public void setMaxThreads(int maxThreads) {
+		if (maxThreads < 1) {
+			throw new IllegalArgumentException("The maximum number of threads shall be positive!");
+		}
+		this.maxThreads = maxThreads;
+	}
+
+	/**
+	 * Sets whether a hedged request shall be sent to the next source when the current one is slow.
+	 * When disabled, the next source is requested only after a failure.
+	 *
+	 * Default : true
+	 *
+	 * @param hedgingEnabled whether the hedged requests are enabled
+	 */
+	public void setHedgingEnabled(boolean hedgingEnabled) {
+		this.hedgingEnabled = hedgingEnabled;
+	}
+
+	/**
+	 * Sets the latency percentile of a source used as a delay before sending a hedged request
+	 *
+	 * Default : 95
+	 *
+	 * @param hedgeDelayPercentile percentile in the range (0, 100]
+	 */
+	public void setHedgeDelayPercentile(double hedgeDelayPercentile) {
+		if (hedgeDelayPercentile <= 0 || hedgeDelayPercentile > 100) {
+			throw new IllegalArgumentException("The percentile shall be in the range (0, 100]!");
+		}
+		this.hedgeDelayPercentile = hedgeDelayPercentile;
+	}
+
+	/**
+	 * Sets the hedge delay in milliseconds used when no statistics are available for a source
+	 *
+	 * Default : 1000 ms
+	 *
+	 * @param defaultHedgeDelay time in milliseconds
+	 */
+	public void setDefaultHedgeDelay(long defaultHedgeDelay) {
+		this.defaultHedgeDelay = defaultHedgeDelay;
+	}
+
+	/**
+	 * Sets the minimal hedge delay in milliseconds
+	 *
+	 * Default : 50 ms
+	 *
+	 * @param minHedgeDelay time in milliseconds
+	 */
+	public void setMinHedgeDelay(long minHedgeDelay) {
+		this.minHedgeDelay = minHedgeDelay;
+	}
+
+	/**
+	 * Sets the number of consecutive failures after which a source is tried last during the cool-down period
+	 *
+	 * Default : 3
+	 *
+	 * @param maxConsecutiveFailures number of failures
+	 */
+	public void setMaxConsecutiveFailures(int maxConsecutiveFailures) {
+		this.maxConsecutiveFailures = maxConsecutiveFailures;
+	}
+
+	/**
+	 * Sets the time in milliseconds after the last failure during which an unhealthy source is tried last
+	 *
+	 * Default : 30000 ms
+	 *
+	 * @param coolDownPeriod time in milliseconds
+	 */
+	public void setCoolDownPeriod(long coolDownPeriod) {
+		this.coolDownPeriod = coolDownPeriod;
+	}
+
+	/**
+	 * Sets the number of latest successful requests used for the latency percentile computation.
+	 * Applies to the statistics created after the call.
+	 *
+	 * Default : 100
+	 *
+	 * @param statisticsWindowSize number of requests
+	 */
+	public void setStatisticsWindowSize(int statisticsWindowSize) {
+		this.statisticsWindowSize = statisticsWindowSize;
+	}
+
+	/**
+	 * Returns the collected statistics for the source with the given key
+	 *
+	 * @param sourceKey {@link String} the source label
+	 * @return {@link TSPSourceStatistics}
+	 */
+	public synchronized TSPSourceStatistics getStatistics(String sourceKey) {
+		return getOrCreateStatistics(sourceKey);
+	}
+
+	/**
+	 * Returns the collected statistics for all sources
+	 *
+	 * @return a map of source labels and corresponding {@link TSPSourceStatistics}
+	 */
+	public synchronized Map<String, TSPSourceStatistics> getStatistics() {
+		final Map<String, TSPSourceStatistics> result = new LinkedHashMap<>();
+		for (String sourceKey : tspSources.keySet()) {
+			result.put(sourceKey, getOrCreateStatistics(sourceKey));
+		}
+		return Collections.unmodifiableMap(result);
+	}
+
+	/**
+	 * Checks whether the source with the given key is considered as healthy
+	 *
+	 * @param sourceKey {@link String} the source label
+	 * @return TRUE if the source is healthy, FALSE otherwise
+	 */
+	public boolean isHealthy(String sourceKey) {
+		final TSPSourceStatistics sourceStatistics = getStatistics(sourceKey);
+		if (sourceStatistics.getConsecutiveFailures() < maxConsecutiveFailures) {
+			return true;
+		}
+		return sourceStatistics.getLastFailureTime() == null ||
+				System.currentTimeMillis() - sourceStatistics.getLastFailureTime().getTime() > coolDownPeriod;
+	}
+
+	@Override
+	public TimestampBinary getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digestValue) throws DSSException {
+		final List<String> orderedKeys = getOrderedSourceKeys();
+		if (orderedKeys.isEmpty()) {
+			throw new DSSExternalResourceException("No TSPSource is defined!");
+		}
+
+		final CompletionService<TimestampBinary> completionService = new ExecutorCompletionService<>(getExecutorService());
+		final Map<Future<TimestampBinary>, String> futures = new HashMap<>();
+		int nextIndex = 0;
+		try {
+			futures.put(submit(completionService, orderedKeys.get(nextIndex++), digestAlgorithm, digestValue), orderedKeys.get(0));
+
+			int inProgress = 1;
+			while (inProgress > 0) {
+				Future<TimestampBinary> future;
+				if (hedgingEnabled && nextIndex < orderedKeys.size() && inProgress == 1) {
+					future = completionService.poll(getHedgeDelay(orderedKeys.get(nextIndex - 1)), TimeUnit.MILLISECONDS);
+				} else {
+					future = completionService.take();
+				}
+
+				if (future == null) {
+					String sourceKey = orderedKeys.get(nextIndex++);
+					LOG.debug("No response received within the hedge delay. Sending a hedged request to TSPSource '{}'", sourceKey);
+					futures.put(submit(completionService, sourceKey, digestAlgorithm, digestValue), sourceKey);
+					inProgress++;
+					continue;
+				}
+
+				inProgress--;
+				String sourceKey = futures.remove(future);
+				try {
+					TimestampBinary timestampBinary = future.get();
+					LOG.debug("Successfully retrieved timestamp with TSPSource '{}'", sourceKey);
+					return timestampBinary;
+
+				} catch (ExecutionException e) {
+					LOG.warn("Unable to retrieve the timestamp with TSPSource '{}' : {}", sourceKey, e.getCause().getMessage());
+					if (nextIndex < orderedKeys.size()) {
+						String nextSourceKey = orderedKeys.get(nextIndex++);
+						futures.put(submit(completionService, nextSourceKey, digestAlgorithm, digestValue), nextSourceKey);
+						inProgress++;
+					}
+				}
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSExternalResourceException("Interrupted while waiting for the timestamp", e);
+
+		} finally {
+			for (Future<TimestampBinary> future : futures.keySet()) {
+				future.cancel(true);
+			}
+		}
+		throw new DSSExternalResourceException("Unable to retrieve the timestamp (" + nextIndex + " tries)");
+	}
+
+	private Future<TimestampBinary> submit(CompletionService<TimestampBinary> completionService, String sourceKey,
+										   DigestAlgorithm digestAlgorithm, byte[] digestValue) {
+		final TSPSource tspSource = getTspSource(sourceKey);
+		final TSPSourceStatistics sourceStatistics = getStatistics(sourceKey);
+		LOG.debug("Trying to get timestamp with TSPSource '{}'", sourceKey);
+		return completionService.submit(() -> {
+			final long start = System.currentTimeMillis();
+			try {
+				TimestampBinary timestampBinary = tspSource.getTimeStampResponse(digestAlgorithm, digestValue);
+				if (timestampBinary == null) {
+					throw new DSSExternalResourceException("Empty response");
+				}
+				sourceStatistics.recordSuccess(System.currentTimeMillis() - start);
+				return timestampBinary;
+
+			} catch (Exception e) {
+				// a cancelled hedged request is not an error of the source
+				if (!Thread.currentThread().isInterrupted()) {
+					sourceStatistics.recordFailure();
+				}
+				throw e;
+			}
+		});
+	}
+
+	/**
+	 * Returns the source keys ordered by the score (healthy sources first)
+	 *
+	 * @return a list of source keys
+	 */
+	protected synchronized List<String> getOrderedSourceKeys() {
+		final List<String> keys = new ArrayList<>(tspSources.keySet());
+		final Map<String, Boolean> healthy = new HashMap<>();
+		final Map<String, Double> scores = new HashMap<>();
+		final Map<String, Long> requests = new HashMap<>();
+		final double defaultLatency = getMeanAverageLatency(keys);
+		for (String key : keys) {
+			healthy.put(key, isHealthy(key));
+			scores.put(key, getScore(key, defaultLatency));
+			requests.put(key, getOrCreateStatistics(key).getRequestsNumber());
+		}
+		// the sort is stable, thus the order of the map is kept for equal scores and requests numbers
+		keys.sort(Comparator.<String, Boolean>comparing(k -> !healthy.get(k)).thenComparing(scores::get)
+				.thenComparing(requests::get));
+		return keys;
+	}
+
+	/**
+	 * Returns the mean of the average latencies of the sources with at least one successful request
+	 *
+	 * @param keys a list of source keys
+	 * @return mean latency, 0 if no source has been successfully requested yet
+	 */
+	private double getMeanAverageLatency(List<String> keys) {
+		double sum = 0;
+		int number = 0;
+		for (String key : keys) {
+			double averageLatency = getOrCreateStatistics(key).getAverageLatency();
+			if (averageLatency >= 0) {
+				sum += averageLatency;
+				number++;
+			}
+		}
+		return number == 0 ? 0 : sum / number;
+	}
+
+	private double getScore(String sourceKey, double defaultLatency) {
+		final TSPSourceStatistics sourceStatistics = getOrCreateStatistics(sourceKey);
+		final double weight = weights.getOrDefault(sourceKey, 1d);
+		double averageLatency = sourceStatistics.getAverageLatency();
+		if (averageLatency < 0) {
+			// neutral prior for a source without a successful request
+			averageLatency = defaultLatency;
+		}
+		return averageLatency * (1 + sourceStatistics.getErrorRate()) / weight;
+	}
+
+	private long getHedgeDelay(String sourceKey) {
+		long percentile = getStatistics(sourceKey).getLatencyPercentile(hedgeDelayPercentile);
+		if (percentile < 0) {
+			return defaultHedgeDelay;
+		}
+		return Math.max(percentile, minHedgeDelay);
+	}
+
+	private synchronized TSPSource getTspSource(String sourceKey) {
+		return tspSources.get(sourceKey);
+	}
+
+	private TSPSourceStatistics getOrCreateStatistics(String sourceKey) {
+		return statistics.computeIfAbsent(sourceKey, k -> new TSPSourceStatistics(statisticsWindowSize));
+	}
+
+	private synchronized ExecutorService getExecutorService() {
+		if (executorService != null) {
+			return executorService;
+		}
+		if (defaultExecutorService == null) {
+			// idle threads are released, thus the pool does not need to be shutdown
+			ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxThreads, maxThreads,
+					THREAD_KEEP_ALIVE_TIME, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DaemonThreadFactory());
+			threadPoolExecutor.allowCoreThreadTimeOut(true);
+			defaultExecutorService = threadPoolExecutor;
+		}
+		return defaultExecutorService;
+	}
+
+	/**
+	 * Creates daemon threads, in order to not prevent the JVM from exiting
+	 */
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		/** Used to generate the thread names */
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "dss-tsp-load-balancer-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
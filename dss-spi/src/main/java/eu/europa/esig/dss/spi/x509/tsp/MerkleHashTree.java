@@ -0,0 +1,197 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builds a binary hash tree over a list of digests, as defined in RFC 4998 "Evidence Record Syntax (ERS)", chapter 4.2.
+ *
+ * The parent node value is computed as a digest of the concatenation of its children values
+ * sorted in binary ascending order. A node without a sibling is promoted to the upper level unchanged.
+ *
+ * The tree allows to obtain the root hash value (to be timestamped) and the reduced hash tree for each leaf,
+ * which allows to recompute the root value from the leaf digest only.
+ */
+public class MerkleHashTree {
+
+	/** Compares the byte arrays in binary ascending order (unsigned) */
+	static final Comparator<byte[]> BINARY_ASCENDING_ORDER = (o1, o2) -> {
+		int length = Math.min(o1.length, o2.length);
+		for (int i = 0; i < length; i++) {
+			int diff = (o1[i] & 0xff) - (o2[i] & 0xff);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return o1.length - o2.length;
+	};
+
+	/** The digest algorithm used to compute the node values */
+	private final DigestAlgorithm digestAlgorithm;
+
+	/** The tree levels, starting from the leaves (index 0) up to the root */
+	private final List<List<byte[]>> levels = new ArrayList<>();
+
+	/**
+	 * Builds the hash tree for the given leaf digests
+	 *
+	 * @param digestAlgorithm {@link DigestAlgorithm} used to compute the leaf digests and the node values
+	 * @param leaves a list of leaf digest values
+	 */
+	public MerkleHashTree(final DigestAlgorithm digestAlgorithm, final List<byte[]> leaves) {
+		Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+		if (Utils.isCollectionEmpty(leaves)) {
+			throw new IllegalArgumentException("At least one leaf shall be provided!");
+		}
+		this.digestAlgorithm = digestAlgorithm;
+
+		List<byte[]> level = new ArrayList<>(leaves);
+		levels.add(level);
+		while (level.size() > 1) {
+			List<byte[]> parentLevel = new ArrayList<>();
+			for (int i = 0; i < level.size(); i += 2) {
+				if (i + 1 < level.size()) {
+					parentLevel.add(computeParent(digestAlgorithm, Arrays.asList(level.get(i), level.get(i + 1))));
+				} else {
+					parentLevel.add(level.get(i));
+				}
+			}
+			levels.add(parentLevel);
+			level = parentLevel;
+		}
+	}
+
+	/**
+	 * Gets the digest algorithm used to build the tree
+	 *
+	 * @return {@link DigestAlgorithm}
+	 */
+	public DigestAlgorithm getDigestAlgorithm() {
+		return digestAlgorithm;
+	}
+
+	/**
+	 * Returns the number of leaves
+	 *
+	 * @return number of leaves
+	 */
+	public int getLeavesNumber() {
+		return levels.get(0).size();
+	}
+
+	/**
+	 * Returns the root hash value of the tree.
+	 * For a tree with a single leaf, the root value is equal to the leaf value.
+	 *
+	 * @return root hash value
+	 */
+	public byte[] getRoot() {
+		return levels.get(levels.size() - 1).get(0);
+	}
+
+	/**
+	 * Returns the reduced hash tree for the leaf with the given index, as defined in RFC 4998.
+	 *
+	 * The first list contains the leaf value together with its sibling,
+	 * each following list contains the sibling of the computed node on the upper level.
+	 * The returned list is empty for a tree with a single leaf.
+	 *
+	 * @param leafIndex the index of the leaf (in the order provided on the tree creation)
+	 * @return a list of partial hash trees
+	 */
+	public List<List<byte[]>> getReducedHashTree(int leafIndex) {
+		if (leafIndex < 0 || leafIndex >= getLeavesNumber()) {
+			throw new IndexOutOfBoundsException(String.format("Invalid leaf index : %s", leafIndex));
+		}
+		final List<List<byte[]>> reducedHashTree = new ArrayList<>();
+		int index = leafIndex;
+		for (int i = 0; i < levels.size() - 1; i++) {
+			List<byte[]> level = levels.get(i);
+			int siblingIndex = index % 2 == 0 ? index + 1 : index - 1;
+			if (siblingIndex < level.size()) {
+				if (reducedHashTree.isEmpty()) {
+					reducedHashTree.add(Arrays.asList(level.get(index), level.get(siblingIndex)));
+				} else {
+					reducedHashTree.add(Collections.singletonList(level.get(siblingIndex)));
+				}
+			}
+			index = index / 2;
+		}
+		return reducedHashTree;
+	}
+
+	/**
+	 * Computes the root hash value from the given leaf digest and its reduced hash tree,
+	 * as defined in RFC 4998, chapter 4.3.
+	 *
+	 * @param digestAlgorithm {@link DigestAlgorithm} used to build the tree
+	 * @param leaf the leaf digest value
+	 * @param reducedHashTree a list of partial hash trees
+	 * @return the root hash value, or null if the leaf is not a part of the reduced hash tree
+	 */
+	public static byte[] computeRoot(DigestAlgorithm digestAlgorithm, byte[] leaf, List<List<byte[]>> reducedHashTree) {
+		Objects.requireNonNull(digestAlgorithm, "DigestAlgorithm cannot be null!");
+		Objects.requireNonNull(leaf, "Leaf value cannot be null!");
+		if (Utils.isCollectionEmpty(reducedHashTree)) {
+			return leaf;
+		}
+
+		byte[] current = leaf;
+		for (int i = 0; i < reducedHashTree.size(); i++) {
+			List<byte[]> partialHashTree = new ArrayList<>(reducedHashTree.get(i));
+			if (i == 0) {
+				if (!contains(partialHashTree, current)) {
+					return null;
+				}
+			} else {
+				partialHashTree.add(current);
+			}
+			current = computeParent(digestAlgorithm, partialHashTree);
+		}
+		return current;
+	}
+
+	private static boolean contains(List<byte[]> values, byte[] value) {
+		for (byte[] candidate : values) {
+			if (Arrays.equals(candidate, value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] computeParent(DigestAlgorithm digestAlgorithm, List<byte[]> children) {
+		List<byte[]> sortedChildren = new ArrayList<>(children);
+		sortedChildren.sort(BINARY_ASCENDING_ORDER);
+		return DSSUtils.digest(digestAlgorithm, sortedChildren.toArray(new byte[sortedChildren.size()][]));
+	}
+
+}
@@ -0,0 +1,185 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Contains latency and error statistics collected for a single {@code TSPSource}.
+ *
+ * The latency is computed as an exponentially weighted moving average, while the percentiles are computed
+ * over a sliding window of the latest successful requests. The duration of the failed requests is not taken
+ * into account in the latency values.
+ *
+ * The class is thread-safe.
+ */
+public class TSPSourceStatistics implements Serializable {
+
+	private static final long serialVersionUID = -2473470616185658716L;
+
+	/** The smoothing factor used for the moving average latency computation */
+	private static final double SMOOTHING_FACTOR = 0.2;
+
+	/** The latest latency values in milliseconds (circular buffer) */
+	private final long[] latencies;
+
+	/** The number of latency values within the buffer */
+	private int latenciesNumber;
+
+	/** The position of the next latency value to be written in the buffer */
+	private int latencyPosition;
+
+	/** The moving average latency in milliseconds (-1 if no successful request has been processed) */
+	private double averageLatency = -1;
+
+	/** The total number of processed requests */
+	private long requestsNumber;
+
+	/** The number of failed requests */
+	private long failuresNumber;
+
+	/** The number of failures since the last successful request */
+	private int consecutiveFailures;
+
+	/** The time of the last failure */
+	private Date lastFailureTime;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param windowSize the number of latest latency values to be kept for percentile computation
+	 */
+	public TSPSourceStatistics(int windowSize) {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("The window size shall be a positive number!");
+		}
+		this.latencies = new long[windowSize];
+	}
+
+	/**
+	 * Records a successful request
+	 *
+	 * @param latency the request duration in milliseconds
+	 */
+	public synchronized void recordSuccess(long latency) {
+		requestsNumber++;
+		consecutiveFailures = 0;
+
+		latencies[latencyPosition] = latency;
+		latencyPosition = (latencyPosition + 1) % latencies.length;
+		if (latenciesNumber < latencies.length) {
+			latenciesNumber++;
+		}
+		averageLatency = latenciesNumber == 1 ? latency : SMOOTHING_FACTOR * latency + (1 - SMOOTHING_FACTOR) * averageLatency;
+	}
+
+	/**
+	 * Records a failed request. The failure is reflected in the error rate, but not in the latency values.
+	 */
+	public synchronized void recordFailure() {
+		requestsNumber++;
+		failuresNumber++;
+		consecutiveFailures++;
+		lastFailureTime = new Date();
+	}
+
+	/**
+	 * Returns the total number of processed requests
+	 *
+	 * @return number of requests
+	 */
+	public synchronized long getRequestsNumber() {
+		return requestsNumber;
+	}
+
+	/**
+	 * Returns the number of failed requests
+	 *
+	 * @return number of failures
+	 */
+	public synchronized long getFailuresNumber() {
+		return failuresNumber;
+	}
+
+	/**
+	 * Returns the number of failures since the last successful request
+	 *
+	 * @return number of consecutive failures
+	 */
+	public synchronized int getConsecutiveFailures() {
+		return consecutiveFailures;
+	}
+
+	/**
+	 * Returns the time of the last failed request
+	 *
+	 * @return {@link Date}, null if no failure occurred
+	 */
+	public synchronized Date getLastFailureTime() {
+		return lastFailureTime;
+	}
+
+	/**
+	 * Returns the ratio of failed requests (between 0 and 1)
+	 *
+	 * @return error rate
+	 */
+	public synchronized double getErrorRate() {
+		return requestsNumber == 0 ? 0 : (double) failuresNumber / requestsNumber;
+	}
+
+	/**
+	 * Returns the moving average latency in milliseconds
+	 *
+	 * @return average latency, -1 if no successful request has been processed
+	 */
+	public synchronized double getAverageLatency() {
+		return averageLatency;
+	}
+
+	/**
+	 * Returns the latency percentile computed over the latest successful requests
+	 *
+	 * @param percentile the percentile to compute (e.g. 95)
+	 * @return latency in milliseconds, -1 if no successful request has been processed
+	 */
+	public synchronized long getLatencyPercentile(double percentile) {
+		if (percentile <= 0 || percentile > 100) {
+			throw new IllegalArgumentException("The percentile shall be in the range (0, 100]!");
+		}
+		if (latenciesNumber == 0) {
+			return -1;
+		}
+		long[] sorted = Arrays.copyOf(latencies, latenciesNumber);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100 * latenciesNumber) - 1;
+		return sorted[Math.max(index, 0)];
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TSPSourceStatistics [requestsNumber=" + requestsNumber + ", failuresNumber=" + failuresNumber
+				+ ", consecutiveFailures=" + consecutiveFailures + ", averageLatency=" + Math.round(averageLatency) + "]";
+	}
+
+}
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.spi;
 
+import eu.europa.esig.dss.enumerations.CertificateExtensionEnum;
 import eu.europa.esig.dss.enumerations.ExtendedKeyUsage;
 import eu.europa.esig.dss.enumerations.GeneralNameType;
 import eu.europa.esig.dss.model.x509.CertificateToken;
@@ -29,6 +30,7 @@ import eu.europa.esig.dss.model.x509.extension.CRLDistributionPoints;
 import eu.europa.esig.dss.model.x509.extension.CertificateExtensions;
 import eu.europa.esig.dss.model.x509.extension.CertificatePolicies;
 import eu.europa.esig.dss.model.x509.extension.CertificatePolicy;
+import eu.europa.esig.dss.model.x509.extension.DecodedCertificateExtensions;
 import eu.europa.esig.dss.model.x509.extension.ExtendedKeyUsages;
 import eu.europa.esig.dss.model.x509.extension.GeneralName;
 import eu.europa.esig.dss.model.x509.extension.InhibitAnyPolicy;
@@ -49,6 +51,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CertificateExtensionUtilsTest {
@@ -164,6 +168,11 @@ public class CertificateExtensionUtilsTest {
         assertEquals(1, Utils.collectionSize(crlUrls));
         assertEquals("http://crl.luxtrust.lu/LTQCA.crl", crlUrls.get(0));
         assertEquals(crlUrls, CertificateExtensionsUtils.getCRLAccessUrls(certificate));
+
+        // the cached value cannot be modified through the returned list
+        List<String> crlAccessUrls = CertificateExtensionsUtils.getCRLAccessUrls(certificate);
+        assertThrows(UnsupportedOperationException.class, () -> crlAccessUrls.add(0, "ldap://crl.luxtrust.lu"));
+        assertEquals(1, CertificateExtensionsUtils.getCRLAccessUrls(certificate).size());
     }
 
     @Test
@@ -355,4 +364,28 @@ public class CertificateExtensionUtilsTest {
         assertEquals(nameConstraints.getExcludedSubtrees().size(), nameConstraintsExt.getExcludedSubtrees().size());
     }
 
+    @Test
+    public void decodedExtensionsCache() {
+        CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/TSP_Certificate_2014.crt"));
+        DecodedCertificateExtensions decodedExtensions = certificate.getDecodedExtensions();
+        assertFalse(decodedExtensions.isDecoded(CertificateExtensionEnum.AUTHORITY_INFORMATION_ACCESS.getOid()));
+        assertNull(decodedExtensions.getCertificateExtensions());
+
+        AuthorityInformationAccess aia = CertificateExtensionsUtils.getAuthorityInformationAccess(certificate);
+        assertNotNull(aia);
+        assertTrue(decodedExtensions.isDecoded(CertificateExtensionEnum.AUTHORITY_INFORMATION_ACCESS.getOid()));
+        assertSame(aia, CertificateExtensionsUtils.getAuthorityInformationAccess(certificate));
+        assertEquals(aia.getCaIssuers(), CertificateExtensionsUtils.getCAIssuersAccessUrls(certificate));
+
+        // absence of the extension is cached
+        assertNull(CertificateExtensionsUtils.getNameConstraints(certificate));
+        assertTrue(decodedExtensions.isDecoded(CertificateExtensionEnum.NAME_CONSTRAINTS.getOid()));
+        assertNull(CertificateExtensionsUtils.getNameConstraints(certificate));
+
+        CertificateExtensions certificateExtensions = CertificateExtensionsUtils.getCertificateExtensions(certificate);
+        assertSame(certificateExtensions, CertificateExtensionsUtils.getCertificateExtensions(certificate));
+        assertSame(aia, certificateExtensions.getAuthorityInformationAccess());
+        assertSame(certificateExtensions.getCertificatePolicies(), CertificateExtensionsUtils.getCertificatePolicies(certificate));
+    }
+
 }
@@ -0,0 +1,109 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MemoryCacheTest {
+
+	@Test
+	public void getAndPutTest() {
+		MemoryCache<String, byte[]> cache = new MemoryCache<>(100, v -> v.length);
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.getMissesNumber());
+
+		byte[] value = new byte[10];
+		cache.put("a", value, System.currentTimeMillis() + 60000);
+		assertEquals(value, cache.get("a"));
+		assertEquals(1, cache.getHitsNumber());
+		assertEquals(10, cache.getWeight());
+
+		cache.put("a", new byte[20], System.currentTimeMillis() + 60000);
+		assertEquals(1, cache.size());
+		assertEquals(20, cache.getWeight());
+	}
+
+	@Test
+	public void expirationTest() {
+		MemoryCache<String, byte[]> cache = new MemoryCache<>(100, v -> v.length);
+		cache.put("expired", new byte[10], System.currentTimeMillis() - 1);
+		assertEquals(0, cache.size());
+
+		cache.put("a", new byte[10], System.currentTimeMillis() + 60000);
+		cache.put("b", new byte[10], System.currentTimeMillis() + 60000);
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void evictionTest() {
+		MemoryCache<String, byte[]> cache = new MemoryCache<>(30, v -> v.length);
+		long expirationTime = System.currentTimeMillis() + 60000;
+		cache.put("a", new byte[10], expirationTime);
+		cache.put("b", new byte[10], expirationTime);
+		cache.put("c", new byte[10], expirationTime);
+
+		// access "a", so "b" becomes the least recently used
+		cache.get("a");
+		cache.put("d", new byte[10], expirationTime);
+
+		assertEquals(3, cache.size());
+		assertEquals(30, cache.getWeight());
+		assertNull(cache.get("b"));
+		assertEquals(1, cache.getEvictionsNumber());
+
+		// too heavy value is not cached
+		cache.put("e", new byte[31], expirationTime);
+		assertNull(cache.get("e"));
+		assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void invalidationTest() {
+		MemoryCache<String, byte[]> cache = new MemoryCache<>(100, v -> v.length);
+		long expirationTime = System.currentTimeMillis() + 60000;
+		cache.put("key1|a", new byte[10], expirationTime);
+		cache.put("key1|b", new byte[10], expirationTime);
+		cache.put("key2|a", new byte[10], expirationTime);
+
+		cache.invalidateIf(k -> k.startsWith("key1|"));
+		assertEquals(1, cache.size());
+		assertEquals(10, cache.getWeight());
+
+		cache.invalidate("key2|a");
+		assertEquals(0, cache.size());
+
+		cache.put("key3", new byte[10], expirationTime);
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+	}
+
+	@Test
+	public void invalidConfigurationTest() {
+		assertThrows(IllegalArgumentException.class, () -> new MemoryCache<String, byte[]>(0, v -> v.length));
+		assertThrows(NullPointerException.class, () -> new MemoryCache<String, byte[]>(10, null));
+	}
+
+}
@@ -23,15 +23,22 @@ package eu.europa.esig.dss.spi.client.http;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.URLConnection;
 import java.time.Duration;
 import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
@@ -91,6 +98,28 @@ public class NativeHTTPDataLoaderTest {
 		assertThrows(DSSException.class, () -> dataLoader.get(HTTP_URL_TO_LOAD, true));
 	}
 
+	@Test
+	public void decodeCompressedContentTest() throws IOException {
+		byte[] content = DSSUtils.toByteArray(new File("src/test/resources/belgiumrs2.crt"));
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzos = new GZIPOutputStream(baos)) {
+			gzos.write(content);
+		}
+		byte[] compressed = baos.toByteArray();
+
+		NativeDataLoaderCall call = new NativeDataLoaderCall(FILE_URL_TO_LOAD, null, true, 0, 0, 0, true);
+		try (InputStream is = call.decode(new ByteArrayInputStream(compressed), "gzip")) {
+			assertArrayEquals(content, DSSUtils.toByteArray(is));
+		}
+		try (InputStream is = call.decode(new ByteArrayInputStream(content), null)) {
+			assertArrayEquals(content, DSSUtils.toByteArray(is));
+		}
+		try (InputStream is = new MaxSizeInputStream(call.decode(new ByteArrayInputStream(compressed), "gzip"),
+				compressed.length, FILE_URL_TO_LOAD)) {
+			assertThrows(IOException.class, () -> Utils.toByteArray(is));
+		}
+	}
+
 	@Test
 	public void unresponsiveServiceTest() throws Exception {
 		// Creates a localhost:9090 to simulate an unresponsive service
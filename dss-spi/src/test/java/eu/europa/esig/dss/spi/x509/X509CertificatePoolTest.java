@@ -0,0 +1,125 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.CertificateExtensionEnum;
+import eu.europa.esig.dss.model.x509.CertificateSignatureCache;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class X509CertificatePoolTest {
+
+	@AfterEach
+	public void reset() {
+		X509CertificatePool.setEnabled(false);
+		X509CertificatePool.setMaxSize(5000);
+		CertificateSignatureCache.setEnabled(false);
+	}
+
+	@Test
+	public void disabledTest() {
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		CertificateToken sameCertificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		assertEquals(certificate, sameCertificate);
+		assertNotSame(certificate, sameCertificate);
+		assertEquals(0, X509CertificatePool.size());
+		assertNull(X509CertificatePool.get(certificate.getEncoded()));
+	}
+
+	@Test
+	public void internTest() {
+		X509CertificatePool.setEnabled(true);
+
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		CertificateToken sameCertificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		// the parsed certificate is shared, but not the token
+		assertNotSame(certificate, sameCertificate);
+		assertEquals(certificate, sameCertificate);
+		assertSame(certificate.getCertificate(), sameCertificate.getCertificate());
+		assertSame(certificate.getCertificate(), DSSUtils.loadCertificate(certificate.getEncoded()).getCertificate());
+		assertSame(certificate.getCertificate(), X509CertificatePool.get(certificate.getEncoded()).getCertificate());
+		assertEquals(1, X509CertificatePool.size());
+
+		// the decoded extensions are shared as well
+		assertSame(certificate.getDecodedExtensions(), sameCertificate.getDecodedExtensions());
+		assertNotNull(CertificateExtensionsUtils.getKeyUsage(certificate));
+		assertTrue(sameCertificate.getDecodedExtensions().isDecoded(CertificateExtensionEnum.KEY_USAGE.getOid()));
+
+		CertificateToken issuer = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		assertEquals(2, X509CertificatePool.size());
+		assertTrue(certificate.isSignedBy(issuer));
+
+		// the validation state is not shared
+		assertNull(sameCertificate.getPublicKeyOfTheSigner());
+	}
+
+	@Test
+	public void evictionTest() {
+		X509CertificatePool.setEnabled(true);
+		X509CertificatePool.setMaxSize(1);
+
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		assertEquals(1, X509CertificatePool.size());
+		assertNotSame(certificate.getCertificate(), DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer")).getCertificate());
+	}
+
+	@Test
+	public void signatureCacheTest() {
+		assertFalse(CertificateSignatureCache.isEnabled());
+		CertificateSignatureCache.setEnabled(true);
+
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		CertificateToken issuer = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+		assertTrue(certificate.isSignedBy(issuer));
+		assertEquals(1, CertificateSignatureCache.size());
+
+		// the verification result is shared between different instances of the same certificate
+		CertificateToken sameCertificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		assertNotSame(certificate, sameCertificate);
+		assertTrue(sameCertificate.isSignedBy(issuer));
+		assertTrue(sameCertificate.isSignatureIntact());
+		assertEquals(1, CertificateSignatureCache.size());
+
+		// invalid signatures are not cached
+		assertFalse(issuer.isSignedBy(certificate));
+		assertEquals(1, CertificateSignatureCache.size());
+
+		CertificateSignatureCache.setEnabled(false);
+		assertEquals(0, CertificateSignatureCache.size());
+		assertTrue(DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer")).isSignedBy(issuer));
+		assertEquals(0, CertificateSignatureCache.size());
+	}
+
+}
@@ -0,0 +1,227 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.cache.MemoryCache;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RepositoryRevocationSourceTest {
+
+	private static final String CRL_KEY = "crl-key";
+
+	private CertificateToken caToken;
+
+	private CertificateToken tsaToken;
+
+	private CertificateToken citizenCaToken;
+
+	private CRLValidity crlValidity;
+
+	@BeforeEach
+	public void init() throws Exception {
+		caToken = DSSUtils.loadCertificate(new FileDocument("src/test/resources/belgiumrs2.crt").openStream());
+		tsaToken = DSSUtils.loadCertificate(new FileDocument("src/test/resources/TSA_BE.cer").openStream());
+		citizenCaToken = DSSUtils.loadCertificate(new FileDocument("src/test/resources/citizen_ca.cer").openStream());
+
+		CRLBinary crlBinary = CRLUtils.buildCRLBinary(DSSUtils.toByteArray(new FileDocument("src/test/resources/crl/belgium2.crl")));
+		crlValidity = CRLUtils.buildCRLValidity(crlBinary, caToken);
+	}
+
+	@Test
+	public void memoryCacheSharedBetweenCertificatesTest() {
+		MockRepositoryRevocationSource revocationSource = new MockRepositoryRevocationSource();
+		revocationSource.repository.put(CRL_KEY, crlValidity);
+		revocationSource.setMemoryCacheMaxSize(10 * 1024 * 1024);
+
+		RevocationToken<CRL> tsaRevocationToken = revocationSource.getRevocationToken(tsaToken, caToken);
+		assertNotNull(tsaRevocationToken);
+		assertEquals(tsaToken, tsaRevocationToken.getRelatedCertificate());
+		assertEquals(1, revocationSource.findRevocationsCounter);
+
+		RevocationToken<CRL> citizenCaRevocationToken = revocationSource.getRevocationToken(citizenCaToken, caToken);
+		assertNotNull(citizenCaRevocationToken);
+		assertEquals(citizenCaToken, citizenCaRevocationToken.getRelatedCertificate());
+		assertEquals(tsaRevocationToken.getThisUpdate(), citizenCaRevocationToken.getThisUpdate());
+		// the CRL is loaded once from the repository
+		assertEquals(1, revocationSource.findRevocationsCounter);
+
+		// the CRL is stored and weighed once
+		MemoryCache<String, List<RevocationToken<CRL>>> memoryCache = revocationSource.getMemoryCache();
+		assertEquals(1, memoryCache.size());
+		assertEquals(crlValidity.getDerEncoded().length, memoryCache.getWeight());
+
+		assertSame(tsaRevocationToken, revocationSource.getRevocationToken(tsaToken, caToken));
+		assertEquals(1, revocationSource.findRevocationsCounter);
+
+		revocationSource.invalidateMemoryCache(CRL_KEY);
+		assertEquals(0, memoryCache.size());
+		assertNotNull(revocationSource.getRevocationToken(citizenCaToken, caToken));
+		assertEquals(2, revocationSource.findRevocationsCounter);
+	}
+
+	@Test
+	public void memoryCacheWithoutSharingTest() {
+		MockRepositoryRevocationSource revocationSource = new MockRepositoryRevocationSource();
+		revocationSource.shareBetweenCertificates = false;
+		revocationSource.repository.put(CRL_KEY, crlValidity);
+		revocationSource.setMemoryCacheMaxSize(10 * 1024 * 1024);
+
+		assertNotNull(revocationSource.getRevocationToken(tsaToken, caToken));
+		assertEquals(1, revocationSource.findRevocationsCounter);
+
+		// the token cached for another certificate is not used by default
+		RevocationToken<CRL> citizenCaRevocationToken = revocationSource.getRevocationToken(citizenCaToken, caToken);
+		assertEquals(citizenCaToken, citizenCaRevocationToken.getRelatedCertificate());
+		assertEquals(2, revocationSource.findRevocationsCounter);
+		assertEquals(1, revocationSource.getMemoryCache().size());
+	}
+
+	@Test
+	public void hotEntriesBoundTest() throws Exception {
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			MockRepositoryRevocationSource revocationSource = new MockRepositoryRevocationSource();
+			revocationSource.keyPerCertificate = true;
+			revocationSource.repository.put(CRL_KEY, crlValidity);
+			revocationSource.setRefreshExecutorService(executorService);
+			revocationSource.setMaxHotEntries(1);
+			assertThrows(IllegalArgumentException.class, () -> revocationSource.setMaxHotEntries(0));
+
+			assertNotNull(revocationSource.getRevocationToken(tsaToken, caToken));
+			assertEquals(1, revocationSource.getHotEntriesNumber());
+			assertNotNull(revocationSource.getRevocationToken(citizenCaToken, caToken));
+			// the least recently accessed entry is evicted
+			assertEquals(1, revocationSource.getHotEntriesNumber());
+
+			revocationSource.setMaxHotEntries(10);
+			assertNotNull(revocationSource.getRevocationToken(tsaToken, caToken));
+			assertEquals(2, revocationSource.getHotEntriesNumber());
+
+			// the entries not accessed within the time-to-live are evicted on the next access
+			revocationSource.setHotEntryTimeToLive(0);
+			Thread.sleep(10);
+			assertNotNull(revocationSource.getRevocationToken(citizenCaToken, caToken));
+			assertEquals(1, revocationSource.getHotEntriesNumber());
+
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	/**
+	 * Keeps the CRL valid regardless of its nextUpdate
+	 */
+	@SuppressWarnings("serial")
+	private static class FreshCRLToken extends CRLToken {
+
+		FreshCRLToken(CertificateToken certificateToken, CRLValidity crlValidity) {
+			super(certificateToken, crlValidity);
+		}
+
+		@Override
+		public Date getNextUpdate() {
+			return new Date(System.currentTimeMillis() + 3600000L);
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class MockRepositoryRevocationSource extends RepositoryRevocationSource<CRL> {
+
+		private final Map<String, CRLValidity> repository = new HashMap<>();
+
+		private boolean shareBetweenCertificates = true;
+
+		private boolean keyPerCertificate = false;
+
+		private int findRevocationsCounter = 0;
+
+		@Override
+		protected List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
+			return Collections.singletonList(getRevocationTokenKey(certificateToken, null));
+		}
+
+		@Override
+		protected List<RevocationToken<CRL>> findRevocations(String key, CertificateToken certificateToken,
+															 CertificateToken issuerCertToken) {
+			++findRevocationsCounter;
+			CRLValidity crlValidity = repository.get(CRL_KEY);
+			if (crlValidity == null) {
+				return Collections.emptyList();
+			}
+			return Collections.singletonList(new FreshCRLToken(certificateToken, crlValidity));
+		}
+
+		@Override
+		protected RevocationToken<CRL> getRevocationTokenForCertificate(RevocationToken<CRL> cachedToken,
+				CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			RevocationToken<CRL> revocationToken = super.getRevocationTokenForCertificate(cachedToken, certificateToken, issuerCertificateToken);
+			if (revocationToken == null && shareBetweenCertificates) {
+				revocationToken = new FreshCRLToken(certificateToken, ((CRLToken) cachedToken).getCrlValidity());
+			}
+			return revocationToken;
+		}
+
+		@Override
+		protected void insertRevocation(String revocationKey, RevocationToken<CRL> token) {
+			repository.put(revocationKey, ((CRLToken) token).getCrlValidity());
+		}
+
+		@Override
+		protected void updateRevocation(String revocationKey, RevocationToken<CRL> token) {
+			repository.put(revocationKey, ((CRLToken) token).getCrlValidity());
+		}
+
+		@Override
+		protected void removeRevocation(String revocationKey) {
+			repository.remove(revocationKey);
+		}
+
+		@Override
+		protected String getRevocationTokenKey(CertificateToken certificateToken, String urlString) {
+			return keyPerCertificate ? CRL_KEY + "-" + certificateToken.getDSSIdAsString() : CRL_KEY;
+		}
+
+	}
+
+}
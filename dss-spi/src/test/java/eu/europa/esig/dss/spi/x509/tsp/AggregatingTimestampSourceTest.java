@@ -0,0 +1,140 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.DEROctetString;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AggregatingTimestampSourceTest {
+
+	@Test
+	public void singleRequestTest() {
+		MockTSPSource tspSource = new MockTSPSource();
+		AggregatingTimestampSource aggregatingSource = new AggregatingTimestampSource(tspSource, DigestAlgorithm.SHA256);
+		aggregatingSource.setAggregationWindow(0);
+
+		byte[] digest = DSSUtils.digest(DigestAlgorithm.SHA256, "data".getBytes());
+		AggregatedTimestamp aggregatedTimestamp = aggregatingSource.getAggregatedTimestamp(digest);
+		assertNotNull(aggregatedTimestamp);
+		assertEquals(1, tspSource.counter.get());
+		assertTrue(aggregatedTimestamp.getReducedHashTree().isEmpty());
+		assertArrayEquals(digest, aggregatedTimestamp.computeRoot(digest));
+		assertArrayEquals(digest, getTimestampedDigest(aggregatedTimestamp));
+	}
+
+	@Test
+	public void concurrentRequestsTest() throws Exception {
+		MockTSPSource tspSource = new MockTSPSource();
+		AggregatingTimestampSource aggregatingSource = new AggregatingTimestampSource(tspSource, DigestAlgorithm.SHA256);
+		aggregatingSource.setAggregationWindow(200);
+		aggregatingSource.setMaxBatchSize(10);
+
+		int requestsNumber = 30;
+		ExecutorService executorService = Executors.newFixedThreadPool(requestsNumber);
+		try {
+			List<byte[]> digests = new ArrayList<>();
+			List<Future<AggregatedTimestamp>> futures = new ArrayList<>();
+			for (int i = 0; i < requestsNumber; i++) {
+				byte[] digest = DSSUtils.digest(DigestAlgorithm.SHA256, ("data" + i).getBytes());
+				digests.add(digest);
+				futures.add(executorService.submit(() -> aggregatingSource.getAggregatedTimestamp(digest)));
+			}
+
+			for (int i = 0; i < requestsNumber; i++) {
+				AggregatedTimestamp aggregatedTimestamp = futures.get(i).get();
+				byte[] root = aggregatedTimestamp.computeRoot(digests.get(i));
+				assertNotNull(root);
+				assertArrayEquals(getTimestampedDigest(aggregatedTimestamp), root);
+
+				AggregatedTimestamp parsed = AggregatedTimestamp.fromEncoded(aggregatedTimestamp.getEncoded());
+				assertEquals(DigestAlgorithm.SHA256, parsed.getDigestAlgorithm());
+				assertArrayEquals(root, parsed.computeRoot(digests.get(i)));
+				assertArrayEquals(aggregatedTimestamp.getTimestampBinary().getBytes(), parsed.getTimestampBinary().getBytes());
+				assertNull(parsed.computeRoot(DSSUtils.digest(DigestAlgorithm.SHA256, "other".getBytes())));
+			}
+
+		} finally {
+			executorService.shutdown();
+		}
+
+		assertTrue(tspSource.counter.get() < requestsNumber);
+		assertTrue(tspSource.counter.get() >= requestsNumber / 10);
+	}
+
+	@Test
+	public void failureTest() {
+		AggregatingTimestampSource aggregatingSource = new AggregatingTimestampSource(
+				(digestAlgorithm, digest) -> { throw new DSSException("TSA is not available"); }, DigestAlgorithm.SHA256);
+		aggregatingSource.setAggregationWindow(0);
+
+		byte[] digest = DSSUtils.digest(DigestAlgorithm.SHA256, "data".getBytes());
+		Exception exception = assertThrows(DSSExternalResourceException.class, () -> aggregatingSource.getAggregatedTimestamp(digest));
+		assertTrue(exception.getMessage().contains("TSA is not available"));
+	}
+
+	@Test
+	public void invalidEncodingTest() {
+		assertThrows(DSSException.class, () -> AggregatedTimestamp.fromEncoded(new byte[] { 1, 2, 3 }));
+	}
+
+	private static byte[] getTimestampedDigest(AggregatedTimestamp aggregatedTimestamp) {
+		return ASN1OctetString.getInstance(aggregatedTimestamp.getTimestampBinary().getBytes()).getOctets();
+	}
+
+	/**
+	 * Returns the DER-encoded timestamped digest instead of a real timestamp
+	 */
+	private static class MockTSPSource implements TSPSource {
+
+		private static final long serialVersionUID = 5432181095467412374L;
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public TimestampBinary getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) throws DSSException {
+			counter.incrementAndGet();
+			return new TimestampBinary(DSSASN1Utils.getDEREncoded(new DEROctetString(digest)));
+		}
+
+	}
+
+}
@@ -0,0 +1,290 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.TimestampBinary;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadBalancedTSPSourceTest {
+
+	private static final byte[] DIGEST = new byte[32];
+
+	@Test
+	public void failoverTest() {
+		MockTSPSource failing = new MockTSPSource(0, true, new byte[] { 1 });
+		MockTSPSource good = new MockTSPSource(0, false, new byte[] { 2 });
+
+		Map<String, TSPSource> sources = new LinkedHashMap<>();
+		sources.put("failing", failing);
+		sources.put("good", good);
+
+		LoadBalancedTSPSource tspSource = new LoadBalancedTSPSource();
+		tspSource.setTspSources(sources);
+		tspSource.setHedgingEnabled(false);
+
+		TimestampBinary timestampBinary = tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST);
+		assertArrayEquals(new byte[] { 2 }, timestampBinary.getBytes());
+		assertEquals(1, failing.counter.get());
+		assertEquals(1, tspSource.getStatistics("failing").getFailuresNumber());
+		assertEquals(0, tspSource.getStatistics("good").getFailuresNumber());
+		assertEquals(1, tspSource.getStatistics("good").getRequestsNumber());
+	}
+
+	@Test
+	public void unhealthySourceTest() {
+		MockTSPSource failing = new MockTSPSource(0, true, new byte[] { 1 });
+		MockTSPSource good = new MockTSPSource(0, false, new byte[] { 2 });
+
+		Map<String, TSPSource> sources = new LinkedHashMap<>();
+		sources.put("failing", failing);
+		sources.put("good", good);
+
+		LoadBalancedTSPSource tspSource = new LoadBalancedTSPSource();
+		tspSource.setTspSources(sources);
+		tspSource.setHedgingEnabled(false);
+		tspSource.setMaxConsecutiveFailures(2);
+		// the failing source is preferred while healthy, independently of the measured latencies
+		tspSource.setWeight("failing", 100);
+
+		for (int i = 0; i < 5; i++) {
+			tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST);
+		}
+		assertEquals(2, failing.counter.get());
+		assertFalse(tspSource.isHealthy("failing"));
+		assertTrue(tspSource.isHealthy("good"));
+		assertEquals(Arrays.asList("good", "failing"), tspSource.getOrderedSourceKeys());
+	}
+
+	@Test
+	public void leastLatencyTest() {
+		MockTSPSource slow = new MockTSPSource(100, false, new byte[] { 1 });
+		MockTSPSource fast = new MockTSPSource(0, false, new byte[] { 2 });
+
+		Map<String, TSPSource> sources = new LinkedHashMap<>();
+		sources.put("slow", slow);
+		sources.put("fast", fast);
+
+		LoadBalancedTSPSource tspSource = new LoadBalancedTSPSource();
+		tspSource.setTspSources(sources);
+		tspSource.setHedgingEnabled(false);
+
+		// the first request goes to the first source of the map, then the not yet used source is preferred for an equal score
+		tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST);
+		tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST);
+		for (int i = 0; i < 5; i++) {
+			assertArrayEquals(new byte[] { 2 }, tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST).getBytes());
+		}
+		assertEquals(1, slow.counter.get());
+		assertEquals(6, fast.counter.get());
+
+		List<String> orderedKeys = tspSource.getOrderedSourceKeys();
+		assertEquals("fast", orderedKeys.get(0));
+	}
+
+	@Test
+	public void hedgedRequestTest() {
+		MockTSPSource slow = new MockTSPSource(3000, false, new byte[] { 1 });
+		MockTSPSource fast = new MockTSPSource(0, false, new byte[] { 2 });
+
+		Map<String, TSPSource> sources = new LinkedHashMap<>();
+		sources.put("slow", slow);
+		sources.put("fast", fast);
+
+		LoadBalancedTSPSource tspSource = new LoadBalancedTSPSource();
+		tspSource.setTspSources(sources);
+		tspSource.setDefaultHedgeDelay(100);
+
+		long start = System.currentTimeMillis();
+		TimestampBinary timestampBinary = tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST);
+		long duration = System.currentTimeMillis() - start;
+
+		assertArrayEquals(new byte[] { 2 }, timestampBinary.getBytes());
+		assertTrue(duration < 2000, "The hedged request shall be returned before the slow one");
+		assertEquals(1, slow.counter.get());
+		assertEquals(1, fast.counter.get());
+		// the cancelled request is not recorded as a failure
+		assertEquals(0, tspSource.getStatistics("slow").getFailuresNumber());
+	}
+
+	@Test
+	public void maxThreadsTest() throws Exception {
+		MockTSPSource slow = new MockTSPSource(300, false, new byte[] { 1 });
+		MockTSPSource fast = new MockTSPSource(300, false, new byte[] { 2 });
+
+		Map<String, TSPSource> sources = new LinkedHashMap<>();
+		sources.put("slow", slow);
+		sources.put("fast", fast);
+
+		LoadBalancedTSPSource tspSource = new LoadBalancedTSPSource();
+		tspSource.setDefaultHedgeDelay(10);
+		tspSource.setMaxThreads(2);
+		assertThrows(IllegalArgumentException.class, () -> tspSource.setMaxThreads(0));
+
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+		AtomicInteger concurrentRequests = new AtomicInteger();
+		AtomicInteger maxConcurrentRequests = new AtomicInteger();
+		Map<String, TSPSource> trackingSources = new LinkedHashMap<>();
+		for (Map.Entry<String, TSPSource> entry : sources.entrySet()) {
+			trackingSources.put(entry.getKey(), (digestAlgorithm, digest) -> {
+				threadNames.add(Thread.currentThread().getName());
+				maxConcurrentRequests.accumulateAndGet(concurrentRequests.incrementAndGet(), Math::max);
+				try {
+					return entry.getValue().getTimeStampResponse(digestAlgorithm, digest);
+				} finally {
+					concurrentRequests.decrementAndGet();
+				}
+			});
+		}
+		tspSource.setTspSources(trackingSources);
+
+		ExecutorService callers = Executors.newFixedThreadPool(5);
+		try {
+			List<Future<TimestampBinary>> futures = new ArrayList<>();
+			for (int i = 0; i < 5; i++) {
+				futures.add(callers.submit(() -> tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST)));
+			}
+			for (Future<TimestampBinary> future : futures) {
+				assertNotNull(future.get());
+			}
+		} finally {
+			callers.shutdown();
+		}
+		// hedged requests of the concurrent callers do not create new threads over the limit
+		assertTrue(maxConcurrentRequests.get() <= 2);
+		assertTrue(threadNames.size() <= 2);
+	}
+
+	@Test
+	public void allSourcesFailTest() {
+		Map<String, TSPSource> sources = new LinkedHashMap<>();
+		sources.put("first", new MockTSPSource(0, true, null));
+		sources.put("second", new MockTSPSource(0, true, null));
+
+		LoadBalancedTSPSource tspSource = new LoadBalancedTSPSource();
+		tspSource.setTspSources(sources);
+
+		Exception exception = assertThrows(DSSExternalResourceException.class,
+				() -> tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST));
+		assertEquals("Unable to retrieve the timestamp (2 tries)", exception.getMessage());
+	}
+
+	@Test
+	public void percentileTest() {
+		TSPSourceStatistics statistics = new TSPSourceStatistics(100);
+		assertEquals(-1, statistics.getLatencyPercentile(95));
+		assertEquals(-1, statistics.getAverageLatency());
+		for (int i = 1; i <= 100; i++) {
+			statistics.recordSuccess(i);
+		}
+		assertEquals(95, statistics.getLatencyPercentile(95));
+		assertEquals(50, statistics.getLatencyPercentile(50));
+		assertEquals(100, statistics.getLatencyPercentile(100));
+		assertEquals(0, statistics.getErrorRate());
+
+		double averageLatency = statistics.getAverageLatency();
+		statistics.recordFailure();
+		assertEquals(1, statistics.getConsecutiveFailures());
+		assertEquals(101, statistics.getRequestsNumber());
+		assertEquals(averageLatency, statistics.getAverageLatency());
+	}
+
+	@Test
+	public void unseenSourceNeutralPriorTest() {
+		MockTSPSource slow = new MockTSPSource(200, false, new byte[] { 1 });
+		MockTSPSource fast = new MockTSPSource(0, false, new byte[] { 2 });
+		MockTSPSource unseen = new MockTSPSource(0, false, new byte[] { 3 });
+
+		Map<String, TSPSource> sources = new LinkedHashMap<>();
+		sources.put("slow", slow);
+		sources.put("fast", fast);
+
+		LoadBalancedTSPSource tspSource = new LoadBalancedTSPSource();
+		tspSource.setTspSources(sources);
+		tspSource.setHedgingEnabled(false);
+		tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST);
+		tspSource.getTimeStampResponse(DigestAlgorithm.SHA256, DIGEST);
+		assertEquals(1, slow.counter.get());
+		assertEquals(1, fast.counter.get());
+
+		sources.put("unseen", unseen);
+		tspSource.setTspSources(sources);
+		// the new source is scored with the mean latency, thus is tried after the fast one
+		assertEquals(Arrays.asList("fast", "unseen", "slow"), tspSource.getOrderedSourceKeys());
+	}
+
+	private static class MockTSPSource implements TSPSource {
+
+		private static final long serialVersionUID = -3279506391244632419L;
+
+		private final long delay;
+
+		private final boolean fail;
+
+		private final byte[] response;
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		MockTSPSource(long delay, boolean fail, byte[] response) {
+			this.delay = delay;
+			this.fail = fail;
+			this.response = response;
+		}
+
+		@Override
+		public TimestampBinary getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) throws DSSException {
+			counter.incrementAndGet();
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DSSException("Interrupted");
+			}
+			if (fail) {
+				throw new DSSException("Unable to get a timestamp");
+			}
+			return new TimestampBinary(response);
+		}
+
+	}
+
+}
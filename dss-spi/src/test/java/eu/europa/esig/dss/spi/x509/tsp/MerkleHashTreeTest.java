@@ -0,0 +1,103 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.tsp;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MerkleHashTreeTest {
+
+	@Test
+	public void singleLeafTest() {
+		byte[] leaf = DSSUtils.digest(DigestAlgorithm.SHA256, "leaf".getBytes());
+		MerkleHashTree tree = new MerkleHashTree(DigestAlgorithm.SHA256, Arrays.asList(leaf));
+		assertEquals(1, tree.getLeavesNumber());
+		assertArrayEquals(leaf, tree.getRoot());
+		assertTrue(tree.getReducedHashTree(0).isEmpty());
+		assertArrayEquals(leaf, MerkleHashTree.computeRoot(DigestAlgorithm.SHA256, leaf, tree.getReducedHashTree(0)));
+	}
+
+	@Test
+	public void twoLeavesTest() {
+		byte[] first = DSSUtils.digest(DigestAlgorithm.SHA256, "first".getBytes());
+		byte[] second = DSSUtils.digest(DigestAlgorithm.SHA256, "second".getBytes());
+		MerkleHashTree tree = new MerkleHashTree(DigestAlgorithm.SHA256, Arrays.asList(first, second));
+
+		List<byte[]> sorted = new ArrayList<>(Arrays.asList(first, second));
+		sorted.sort(MerkleHashTree.BINARY_ASCENDING_ORDER);
+		assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, sorted.get(0), sorted.get(1)), tree.getRoot());
+
+		// the order of leaves does not impact the root value
+		MerkleHashTree reversedTree = new MerkleHashTree(DigestAlgorithm.SHA256, Arrays.asList(second, first));
+		assertArrayEquals(tree.getRoot(), reversedTree.getRoot());
+	}
+
+	@Test
+	public void reducedHashTreeTest() {
+		for (int leavesNumber = 1; leavesNumber <= 17; leavesNumber++) {
+			List<byte[]> leaves = new ArrayList<>();
+			for (int i = 0; i < leavesNumber; i++) {
+				leaves.add(DSSUtils.digest(DigestAlgorithm.SHA256, ("leaf" + i).getBytes()));
+			}
+			MerkleHashTree tree = new MerkleHashTree(DigestAlgorithm.SHA256, leaves);
+			for (int i = 0; i < leavesNumber; i++) {
+				List<List<byte[]>> reducedHashTree = tree.getReducedHashTree(i);
+				assertArrayEquals(tree.getRoot(), MerkleHashTree.computeRoot(DigestAlgorithm.SHA256, leaves.get(i), reducedHashTree));
+			}
+		}
+	}
+
+	@Test
+	public void wrongLeafTest() {
+		List<byte[]> leaves = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			leaves.add(DSSUtils.digest(DigestAlgorithm.SHA256, ("leaf" + i).getBytes()));
+		}
+		MerkleHashTree tree = new MerkleHashTree(DigestAlgorithm.SHA256, leaves);
+		byte[] wrongLeaf = DSSUtils.digest(DigestAlgorithm.SHA256, "wrong".getBytes());
+		assertNull(MerkleHashTree.computeRoot(DigestAlgorithm.SHA256, wrongLeaf, tree.getReducedHashTree(0)));
+
+		byte[] otherLeafRoot = MerkleHashTree.computeRoot(DigestAlgorithm.SHA256, leaves.get(1), tree.getReducedHashTree(2));
+		assertFalse(otherLeafRoot != null && Arrays.equals(tree.getRoot(), otherLeafRoot));
+	}
+
+	@Test
+	public void invalidInputTest() {
+		assertThrows(IllegalArgumentException.class, () -> new MerkleHashTree(DigestAlgorithm.SHA256, new ArrayList<>()));
+		assertThrows(NullPointerException.class, () -> new MerkleHashTree(null, Arrays.asList(new byte[] { 1 })));
+
+		MerkleHashTree tree = new MerkleHashTree(DigestAlgorithm.SHA256, Arrays.asList(new byte[] { 1 }));
+		assertThrows(IndexOutOfBoundsException.class, () -> tree.getReducedHashTree(1));
+	}
+
+}
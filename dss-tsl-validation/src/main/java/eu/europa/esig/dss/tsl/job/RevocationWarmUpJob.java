@@ -0,0 +1,433 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.tsl.RevocationWarmUpSummary;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.revocation.RepositoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is used to pre-load the revocation data published by trusted CAs (e.g. obtained from trusted lists),
+ * in order to avoid cold downloads on the first validations.
+ *
+ * The revocation data is not loaded for the trusted certificates themselves, but for the certificates they issue :
+ * <ul>
+ *     <li>the CRLs published at the CRL service supply points of the trust anchors (e.g. defined within a trusted list)
+ *     are downloaded with the configured {@code DataLoader}. When the configured CRL source is
+ *     a {@code RepositoryRevocationSource}, the obtained CRLs are stored within its repository. Otherwise,
+ *     in order to be reused by the following validations, the data loader shall be the caching data loader
+ *     used by the online CRL source (e.g. a shared {@code FileCacheDataLoader});</li>
+ *     <li>the revocation data of the provided certificates issued by the trust anchors is requested from the
+ *     configured revocation sources (CRL distribution points and OCSP access points of the issued certificates,
+ *     as well as the service supply points of the issuer). In order to be reused by the following validations,
+ *     the sources shall be the ones used by the validation (e.g. {@code RepositoryRevocationSource}s
+ *     with an online proxy source).</li>
+ * </ul>
+ *
+ */
+public class RevocationWarmUpJob {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RevocationWarmUpJob.class);
+
+	/**
+	 * The default maximal number of simultaneous revocation requests
+	 */
+	private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 10;
+
+	/**
+	 * The executor service used to load the revocation data (optional).
+	 * When not defined, a thread pool is created for each warm-up execution and shut down at its end.
+	 */
+	private ExecutorService executorService;
+
+	/**
+	 * The data loader used to download the CRLs from the service supply points of the trust anchors
+	 */
+	private DataLoader dataLoader;
+
+	/**
+	 * The CRL source to be warmed up
+	 */
+	private RevocationSource<CRL> crlSource;
+
+	/**
+	 * The OCSP source to be warmed up
+	 */
+	private RevocationSource<OCSP> ocspSource;
+
+	/**
+	 * The maximal number of simultaneous revocation requests
+	 */
+	private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+
+	/**
+	 * The summary of the last execution
+	 */
+	private RevocationWarmUpSummary summary;
+
+	/**
+	 * Default constructor
+	 */
+	public RevocationWarmUpJob() {
+		// empty
+	}
+
+	/**
+	 * Sets the executor service used to load the revocation data.
+	 * The lifecycle of the provided executor service is managed by the caller.
+	 *
+	 * Default : a thread pool created for each warm-up execution and shut down at its end
+	 *
+	 * @param executorService {@link ExecutorService}
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * Sets the data loader used to download the CRLs from the CRL service supply points of the trust anchors
+	 *
+	 * @param dataLoader {@link DataLoader}
+	 */
+	public void setDataLoader(DataLoader dataLoader) {
+		this.dataLoader = dataLoader;
+	}
+
+	/**
+	 * Sets the CRL source to be warmed up for the certificates issued by the trust anchors.
+	 * When a {@code RepositoryRevocationSource} is provided, the CRLs downloaded from the CRL service supply points
+	 * of the trust anchors are stored within the repository as well.
+	 *
+	 * @param crlSource {@link RevocationSource} for CRLs
+	 */
+	public void setCrlSource(RevocationSource<CRL> crlSource) {
+		this.crlSource = crlSource;
+	}
+
+	/**
+	 * Sets the OCSP source to be warmed up for the certificates issued by the trust anchors
+	 *
+	 * @param ocspSource {@link RevocationSource} for OCSP responses
+	 */
+	public void setOcspSource(RevocationSource<OCSP> ocspSource) {
+		this.ocspSource = ocspSource;
+	}
+
+	/**
+	 * Sets the maximal number of simultaneous revocation requests
+	 *
+	 * Default : 10
+	 *
+	 * @param maxConcurrentRequests the maximal number of simultaneous requests
+	 */
+	public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+		if (maxConcurrentRequests < 1) {
+			throw new IllegalArgumentException("The maximal number of concurrent requests shall be a positive number!");
+		}
+		this.maxConcurrentRequests = maxConcurrentRequests;
+	}
+
+	/**
+	 * Returns the summary of the last warm-up execution
+	 *
+	 * @return {@link RevocationWarmUpSummary}, NULL if the warm-up has not been executed yet
+	 */
+	public synchronized RevocationWarmUpSummary getSummary() {
+		return summary;
+	}
+
+	/**
+	 * Loads the CRLs published at the CRL service supply points of the certificates
+	 * of the given {@code trustedCertificateSource}
+	 *
+	 * @param trustedCertificateSource {@link CertificateSource} containing the trusted certificates
+	 * @return {@link RevocationWarmUpSummary}
+	 */
+	public RevocationWarmUpSummary warmUp(CertificateSource trustedCertificateSource) {
+		return warmUp(trustedCertificateSource, Collections.emptyList());
+	}
+
+	/**
+	 * Loads the CRLs published at the CRL service supply points of the certificates
+	 * of the given {@code trustedCertificateSource}, and the revocation data of the {@code issuedCertificates}
+	 * issued by the trusted certificates
+	 *
+	 * @param trustedCertificateSource {@link CertificateSource} containing the trusted certificates
+	 * @param issuedCertificates a collection of {@link CertificateToken}s issued by the trusted certificates
+	 *                           (e.g. certificates of previously validated signatures)
+	 * @return {@link RevocationWarmUpSummary}
+	 */
+	public synchronized RevocationWarmUpSummary warmUp(CertificateSource trustedCertificateSource,
+													   Collection<CertificateToken> issuedCertificates) {
+		Objects.requireNonNull(trustedCertificateSource, "The trusted certificate source must be defined!");
+		Objects.requireNonNull(issuedCertificates, "The issued certificates must be defined!");
+		if (dataLoader == null && crlSource == null && ocspSource == null) {
+			LOG.warn("Neither DataLoader nor revocation source is defined. The warm-up is skipped.");
+		}
+
+		final Date startTime = new Date();
+		final List<CertificateToken> trustedCertificates = trustedCertificateSource.getCertificates();
+		LOG.info("Revocation warm-up is running for {} trusted certificate(s) and {} issued certificate(s)...",
+				trustedCertificates.size(), issuedCertificates.size());
+
+		final WarmUpCounters counters = new WarmUpCounters();
+		final List<Runnable> tasks = new ArrayList<>();
+		if (dataLoader != null) {
+			for (CertificateToken trustedCertificate : trustedCertificates) {
+				tasks.add(() -> warmUpServiceSupplyPoints(trustedCertificate, trustedCertificateSource, counters));
+			}
+		}
+		if (crlSource != null || ocspSource != null) {
+			for (CertificateToken issuedCertificate : issuedCertificates) {
+				tasks.add(() -> warmUpIssuedCertificate(issuedCertificate, trustedCertificateSource, counters));
+			}
+		}
+		execute(tasks, counters);
+
+		summary = new RevocationWarmUpSummary(startTime, new Date(), counters.processed.get(), counters.skipped.get(),
+				counters.crls.get(), counters.ocsps.get(), new HashMap<>(counters.failures));
+		LOG.info("Revocation warm-up is DONE : {} CRL(s) and {} OCSP response(s) loaded, {} failure(s)",
+				summary.getNumberOfLoadedCRLs(), summary.getNumberOfLoadedOCSPResponses(), summary.getNumberOfFailures());
+		return summary;
+	}
+
+	private void execute(List<Runnable> tasks, WarmUpCounters counters) {
+		if (tasks.isEmpty()) {
+			return;
+		}
+		final ExecutorService executor = executorService != null ? executorService :
+				Executors.newFixedThreadPool(Math.min(maxConcurrentRequests, tasks.size()));
+		final Semaphore semaphore = new Semaphore(maxConcurrentRequests);
+		final List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (Runnable task : tasks) {
+				semaphore.acquire();
+				try {
+					futures.add(executor.submit(() -> {
+						try {
+							task.run();
+						} finally {
+							semaphore.release();
+						}
+					}));
+				} catch (RejectedExecutionException e) {
+					semaphore.release();
+					counters.failures.put("Task " + futures.size(), String.valueOf(e.getMessage()));
+				}
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					futures.get(i).get();
+				} catch (ExecutionException e) {
+					LOG.error("Unexpected error in the revocation warm-up process", e);
+					counters.failures.put("Task " + i, String.valueOf(e.getCause().getMessage()));
+				}
+			}
+
+		} catch (InterruptedException e) {
+			LOG.error("Interruption in the revocation warm-up process", e);
+			Thread.currentThread().interrupt();
+		} finally {
+			if (executorService == null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void warmUpServiceSupplyPoints(CertificateToken trustAnchor, CertificateSource trustedCertificateSource,
+										   WarmUpCounters counters) {
+		counters.processed.incrementAndGet();
+		final List<String> crlUrls = getAlternativeCRLUrls(trustAnchor, trustedCertificateSource);
+		if (Utils.isCollectionEmpty(crlUrls)) {
+			counters.skipped.incrementAndGet();
+			return;
+		}
+		for (String crlUrl : crlUrls) {
+			try {
+				final byte[] crlBinaries = dataLoader.get(crlUrl);
+				if (Utils.isArrayEmpty(crlBinaries)) {
+					counters.failures.put(crlUrl, "No CRL obtained");
+					continue;
+				}
+				final CRLBinary crlBinary = CRLUtils.buildCRLBinary(crlBinaries);
+				final CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, trustAnchor);
+				if (!crlValidity.isSignatureIntact()) {
+					counters.failures.put(crlUrl, String.format("The CRL is not signed by the certificate '%s' : %s",
+							trustAnchor.getDSSIdAsString(), crlValidity.getSignatureInvalidityReason()));
+					continue;
+				}
+				if (crlSource instanceof RepositoryRevocationSource) {
+					final CRLToken crlToken = new CRLToken(crlValidity);
+					crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+					crlToken.setSourceURL(crlUrl);
+					if (!((RepositoryRevocationSource<CRL>) crlSource).storeRevocationToken(crlToken)) {
+						counters.failures.put(crlUrl, String.format("The CRL is not valid : %s", crlToken.getInvalidityReason()));
+						continue;
+					}
+				}
+				counters.crls.incrementAndGet();
+
+			} catch (Exception e) {
+				LOG.warn("Unable to load the CRL from url '{}' : {}", crlUrl, e.getMessage());
+				counters.failures.put(crlUrl, String.valueOf(e.getMessage()));
+			}
+		}
+	}
+
+	private void warmUpIssuedCertificate(CertificateToken certificate, CertificateSource trustedCertificateSource,
+										 WarmUpCounters counters) {
+		counters.processed.incrementAndGet();
+		try {
+			final CertificateToken issuer = getIssuer(certificate, trustedCertificateSource);
+			if (issuer == null) {
+				counters.failures.put(certificate.getDSSIdAsString(), "Issuer certificate not found within the trusted certificates");
+				return;
+			}
+
+			final List<String> alternativeCRLUrls = getAlternativeCRLUrls(issuer, trustedCertificateSource);
+			final List<String> alternativeOCSPUrls = getAlternativeOCSPUrls(issuer, trustedCertificateSource);
+			final boolean crlRequired = crlSource != null && (Utils.isCollectionNotEmpty(alternativeCRLUrls) ||
+					Utils.isCollectionNotEmpty(CertificateExtensionsUtils.getCRLAccessUrls(certificate)));
+			final boolean ocspRequired = ocspSource != null && (Utils.isCollectionNotEmpty(alternativeOCSPUrls) ||
+					Utils.isCollectionNotEmpty(CertificateExtensionsUtils.getOCSPAccessUrls(certificate)));
+			if (!crlRequired && !ocspRequired) {
+				counters.skipped.incrementAndGet();
+				return;
+			}
+
+			final List<String> errors = new ArrayList<>();
+			if (crlRequired) {
+				if (getRevocationToken(crlSource, certificate, issuer, alternativeCRLUrls) != null) {
+					counters.crls.incrementAndGet();
+				} else {
+					errors.add("No CRL obtained");
+				}
+			}
+			if (ocspRequired) {
+				if (getRevocationToken(ocspSource, certificate, issuer, alternativeOCSPUrls) != null) {
+					counters.ocsps.incrementAndGet();
+				} else {
+					errors.add("No OCSP response obtained");
+				}
+			}
+			if (Utils.isCollectionNotEmpty(errors)) {
+				counters.failures.put(certificate.getDSSIdAsString(), Utils.joinStrings(errors, "; "));
+			}
+
+		} catch (Exception e) {
+			LOG.warn("Unable to load revocation data for certificate '{}' : {}", certificate.getDSSIdAsString(), e.getMessage());
+			counters.failures.put(certificate.getDSSIdAsString(), String.valueOf(e.getMessage()));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <R extends Revocation> RevocationToken<R> getRevocationToken(RevocationSource<R> revocationSource,
+			CertificateToken certificate, CertificateToken issuer, List<String> alternativeUrls) {
+		if (Utils.isCollectionNotEmpty(alternativeUrls) && revocationSource instanceof RevocationSourceAlternateUrlsSupport) {
+			return ((RevocationSourceAlternateUrlsSupport<R>) revocationSource).getRevocationToken(certificate, issuer, alternativeUrls);
+		}
+		return revocationSource.getRevocationToken(certificate, issuer);
+	}
+
+	private CertificateToken getIssuer(CertificateToken certificate, CertificateSource trustedCertificateSource) {
+		final Set<CertificateToken> candidates = trustedCertificateSource.getBySubject(certificate.getIssuer());
+		for (CertificateToken candidate : candidates) {
+			if (certificate.isSignedBy(candidate)) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private List<String> getAlternativeCRLUrls(CertificateToken trustAnchor, CertificateSource trustedCertificateSource) {
+		if (trustedCertificateSource instanceof CommonTrustedCertificateSource) {
+			return ((CommonTrustedCertificateSource) trustedCertificateSource).getAlternativeCRLUrls(trustAnchor);
+		}
+		return Collections.emptyList();
+	}
+
+	private List<String> getAlternativeOCSPUrls(CertificateToken trustAnchor, CertificateSource trustedCertificateSource) {
+		if (trustedCertificateSource instanceof CommonTrustedCertificateSource) {
+			return ((CommonTrustedCertificateSource) trustedCertificateSource).getAlternativeOCSPUrls(trustAnchor);
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Thread-safe counters of a warm-up execution
+	 */
+	private static class WarmUpCounters {
+
+		/** The number of processed certificates */
+		private final AtomicInteger processed = new AtomicInteger();
+
+		/** The number of skipped certificates */
+		private final AtomicInteger skipped = new AtomicInteger();
+
+		/** The number of loaded CRLs */
+		private final AtomicInteger crls = new AtomicInteger();
+
+		/** The number of loaded OCSP responses */
+		private final AtomicInteger ocsps = new AtomicInteger();
+
+		/** The failures */
+		private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+	}
+
+}
@@ -121,6 +121,11 @@ public class TLValidationJob {
 	 * synchronization (default : false)
 	 */
 	private boolean debug = false;
+
+	/**
+	 * Defines whether only the certificates of the changed trusted lists are synchronized (default : false)
+	 */
+	private boolean deltaSynchronization = false;
 	
 	/**
      * List of LOTL info alerts
@@ -132,6 +137,11 @@ public class TLValidationJob {
      */
     private List<Alert<TLInfo>> tlAlerts;
 
+	/**
+	 * Used to pre-load the revocation data published by the synchronized trusted certificates (optional)
+	 */
+	private RevocationWarmUpJob revocationWarmUpJob;
+
 	/**
 	 * Default constructor instantiating object with null configuration
 	 */
@@ -254,6 +264,28 @@ public class TLValidationJob {
 				.build();
 	}
 
+	/**
+	 * Sets whether only the certificates of the changed trusted lists shall be synchronized within
+	 * the {@code TrustedListsCertificateSource}, instead of a complete rebuild on each change
+	 *
+	 * Default : false
+	 *
+	 * @param deltaSynchronization whether the delta synchronization is enabled
+	 */
+	public void setDeltaSynchronization(boolean deltaSynchronization) {
+		this.deltaSynchronization = deltaSynchronization;
+	}
+
+	/**
+	 * Sets the revocation warm-up job, executed after the synchronization of the
+	 * {@code TrustedListsCertificateSource} on an online refresh (optional)
+	 *
+	 * @param revocationWarmUpJob {@link RevocationWarmUpJob}
+	 */
+	public void setRevocationWarmUpJob(RevocationWarmUpJob revocationWarmUpJob) {
+		this.revocationWarmUpJob = revocationWarmUpJob;
+	}
+
 	/**
 	 * Used to execute the refresh in offline mode (no date from remote sources will be downloaded)
 	 * By default used on initialization
@@ -273,6 +305,7 @@ public class TLValidationJob {
 		Objects.requireNonNull(onlineLoader, "The onlineLoader must be defined!");
 		LOG.info("Online refresh is running...");
 		refresh(onlineLoader);
+		executeRevocationWarmUp();
 		LOG.info("Online refresh is DONE.");
 	}
 
@@ -399,6 +432,7 @@ public class TLValidationJob {
 
 		TrustedListCertificateSourceSynchronizer synchronizer = new TrustedListCertificateSourceSynchronizer(trustedListSources, listOfTrustedListSources,
 				trustedListCertificateSource, synchronizationStrategy, cacheAccessFactory.getSynchronizerCacheAccess());
+		synchronizer.setDeltaSynchronization(deltaSynchronization);
 		synchronizer.sync();
 	}
 
@@ -417,6 +451,15 @@ public class TLValidationJob {
 		LOG.info("CacheCleaner process is DONE");
 	}
 
+	private void executeRevocationWarmUp() {
+		if (revocationWarmUpJob == null || trustedListCertificateSource == null) {
+			LOG.debug("Revocation warm-up is not defined");
+			return;
+		}
+
+		revocationWarmUpJob.warmUp(trustedListCertificateSource);
+	}
+
 	/**
 	 * Duplicate urls mean cache conflict.
 	 * 
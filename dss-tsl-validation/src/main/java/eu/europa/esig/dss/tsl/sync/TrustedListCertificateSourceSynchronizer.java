@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.tsl.sync;
 
+import eu.europa.esig.dss.model.identifier.Identifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.tsl.LOTLInfo;
 import eu.europa.esig.dss.spi.tsl.ParsingInfoRecord;
@@ -44,8 +45,11 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
 
 /**
@@ -80,6 +84,11 @@ public class TrustedListCertificateSourceSynchronizer {
 	 */
 	private final SynchronizerCacheAccess cacheAccess;
 
+	/**
+	 * Defines whether only the changed trusted lists are synchronized (false by default)
+	 */
+	private boolean deltaSynchronization = false;
+
 	/**
 	 * Default constructor
 	 *
@@ -100,6 +109,19 @@ public class TrustedListCertificateSourceSynchronizer {
 		this.cacheAccess = cacheAccess;
 	}
 
+	/**
+	 * Sets whether only the certificates of the changed trusted lists shall be synchronized.
+	 * When enabled, the trust properties of the unchanged trusted lists are kept from the previous synchronization.
+	 * The complete synchronization is performed on the first call.
+	 *
+	 * Default : false (all trusted lists are synchronized on a change)
+	 *
+	 * @param deltaSynchronization whether the delta synchronization is enabled
+	 */
+	public void setDeltaSynchronization(boolean deltaSynchronization) {
+		this.deltaSynchronization = deltaSynchronization;
+	}
+
 	/**
 	 * Synchronizes the trusted certificate source based on the validation job processing result
 	 */
@@ -109,7 +131,9 @@ public class TrustedListCertificateSourceSynchronizer {
 			ValidationJobSummaryBuilder summaryBuilder = new ValidationJobSummaryBuilder(cacheAccess, tlSources, lotlSources);
 			TLValidationJobSummary summary = summaryBuilder.build();
 
-			if (isCertificateSyncNeeded(summary)) {
+			if (deltaSynchronization) {
+				synchronizeChangedCertificates(summary);
+			} else if (isCertificateSyncNeeded(summary)) {
 				synchronizeCertificates(summary);
 			}
 
@@ -162,20 +186,74 @@ public class TrustedListCertificateSourceSynchronizer {
 				if (!parsingCacheInfo.isResultExist()) {
 					LOG.warn("No Parsing result for TLInfo with url [{}]", tlInfo.getUrl());
 				} else {
-					final List<TrustServiceProvider> trustServiceProviders = parsingCacheInfo.getTrustServiceProviders();
-					if (Utils.isCollectionNotEmpty(trustServiceProviders)) {
-						for (TrustServiceProvider original : trustServiceProviders) {
-							TrustServiceProvider detached = getDetached(original);
-							for (TrustService trustService : original.getServices()) {
-								TimeDependentValues<TrustServiceStatusAndInformationExtensions> statusAndInformationExtensions = trustService
-										.getStatusAndInformationExtensions();
-								TrustProperties trustProperties = getTrustProperties(
-										relatedLOTL, tlInfo, detached, statusAndInformationExtensions);
-								for (CertificateToken certificate : trustService.getCertificates()) {
-									addCertificate(trustPropertiesByCerts, certificate, trustProperties);
-								}
-							}
-						}
+					addCertificatesFromTL(trustPropertiesByCerts, tlInfo, relatedLOTL);
+				}
+			} else {
+				LOG.warn("Certificate synchronization is skipped for TL '{}'", tlInfo.getUrl());
+			}
+		}
+	}
+
+	private void addCertificatesFromTL(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts, final TLInfo tlInfo,
+			final LOTLInfo relatedLOTL) {
+		final List<TrustServiceProvider> trustServiceProviders = tlInfo.getParsingCacheInfo().getTrustServiceProviders();
+		if (Utils.isCollectionNotEmpty(trustServiceProviders)) {
+			for (TrustServiceProvider original : trustServiceProviders) {
+				TrustServiceProvider detached = getDetached(original);
+				for (TrustService trustService : original.getServices()) {
+					TimeDependentValues<TrustServiceStatusAndInformationExtensions> statusAndInformationExtensions = trustService
+							.getStatusAndInformationExtensions();
+					TrustProperties trustProperties = getTrustProperties(
+							relatedLOTL, tlInfo, detached, statusAndInformationExtensions);
+					for (CertificateToken certificate : trustService.getCertificates()) {
+						addCertificate(trustPropertiesByCerts, certificate, trustProperties);
+					}
+				}
+			}
+		}
+	}
+
+	private void synchronizeChangedCertificates(TLValidationJobSummary summary) {
+		final Set<Identifier> synchronizedTLs = certificateSource.getSynchronizedTrustedListIdentifiers();
+		final Set<Identifier> currentTLs = new HashSet<>();
+		final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> updatedTLs = new LinkedHashMap<>();
+		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
+			if (synchronizationStrategy.canBeSynchronized(lotlInfo)) {
+				addChangedTLs(updatedTLs, currentTLs, synchronizedTLs, lotlInfo.getTLInfos(), lotlInfo);
+			} else {
+				LOG.warn("Certificate synchronization is skipped for LOTL '{}' and its TLs", lotlInfo.getUrl());
+			}
+		}
+		addChangedTLs(updatedTLs, currentTLs, synchronizedTLs, summary.getOtherTLInfos(), null);
+
+		final Set<Identifier> removedTLs = new HashSet<>(synchronizedTLs);
+		removedTLs.removeAll(currentTLs);
+
+		if (updatedTLs.isEmpty() && removedTLs.isEmpty()) {
+			LOG.debug("No trusted list change to be synchronized");
+			return;
+		}
+		LOG.info("Delta synchronization of the TrustedListsCertificateSource : {} TL(s) updated, {} TL(s) removed",
+				updatedTLs.size(), removedTLs.size());
+		certificateSource.updateTrustPropertiesByTrustedLists(updatedTLs, removedTLs);
+	}
+
+	private void addChangedTLs(final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> updatedTLs,
+			final Set<Identifier> currentTLs, final Set<Identifier> synchronizedTLs, final List<TLInfo> tlInfos,
+			final LOTLInfo relatedLOTL) {
+
+		for (final TLInfo tlInfo : tlInfos) {
+			if (synchronizationStrategy.canBeSynchronized(tlInfo)) {
+				ParsingInfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
+				if (!parsingCacheInfo.isResultExist()) {
+					LOG.warn("No Parsing result for TLInfo with url [{}]", tlInfo.getUrl());
+				} else {
+					final Identifier tlId = tlInfo.getDSSId();
+					currentTLs.add(tlId);
+					if (!synchronizedTLs.contains(tlId) || parsingCacheInfo.isDesynchronized()) {
+						final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new LinkedHashMap<>();
+						addCertificatesFromTL(trustPropertiesByCerts, tlInfo, relatedLOTL);
+						updatedTLs.put(tlId, trustPropertiesByCerts);
 					}
 				}
 			} else {
@@ -0,0 +1,335 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.service.http.commons.FileCacheDataLoader;
+import eu.europa.esig.dss.spi.CertificateExtensionsUtils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
+import eu.europa.esig.dss.spi.tsl.RevocationWarmUpSummary;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.revocation.RepositoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RevocationWarmUpJobTest {
+
+	private static final String CRL_URL = "http://crl.eid.belgium.be/belgium2.crl";
+
+	private static final String WRONG_CRL_URL = "http://crl.eid.belgium.be/wrong.crl";
+
+	private CertificateToken caCertificate;
+
+	private CertificateToken rootCertificate;
+
+	private CommonTrustedCertificateSource trustedCertificateSource;
+
+	@BeforeEach
+	public void init() {
+		caCertificate = DSSUtils.loadCertificate(new File("src/test/resources/citizen_ca.cer"));
+		rootCertificate = DSSUtils.loadCertificate(new File("src/test/resources/belgiumrs2.crt"));
+
+		trustedCertificateSource = new CommonTrustedCertificateSource() {
+
+			@Override
+			public List<String> getAlternativeCRLUrls(CertificateToken trustAnchor) {
+				return rootCertificate.equals(trustAnchor) ? Arrays.asList(CRL_URL, WRONG_CRL_URL) : Collections.emptyList();
+			}
+
+		};
+		trustedCertificateSource.addCertificate(rootCertificate);
+	}
+
+	@Test
+	public void serviceSupplyPointsTest() {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, DSSUtils.toByteArray(new File("src/test/resources/belgium2.crl")));
+		dataMap.put(WRONG_CRL_URL, new byte[] { 1, 2, 3 });
+
+		RevocationWarmUpJob job = new RevocationWarmUpJob();
+		job.setDataLoader(new MemoryDataLoader(dataMap));
+		assertNull(job.getSummary());
+
+		RevocationWarmUpSummary summary = job.warmUp(trustedCertificateSource);
+		assertNotNull(summary);
+		assertSame(summary, job.getSummary());
+		assertEquals(1, summary.getNumberOfProcessedCertificates());
+		assertEquals(0, summary.getNumberOfSkippedCertificates());
+		assertEquals(1, summary.getNumberOfLoadedCRLs());
+		assertEquals(0, summary.getNumberOfLoadedOCSPResponses());
+		assertEquals(1, summary.getNumberOfFailures());
+		assertTrue(summary.getFailures().containsKey(WRONG_CRL_URL));
+		assertNotNull(summary.getStartTime());
+		assertNotNull(summary.getEndTime());
+	}
+
+	@Test
+	public void repositorySourceTest() {
+		Map<String, byte[]> dataMap = new HashMap<>();
+		dataMap.put(CRL_URL, DSSUtils.toByteArray(new File("src/test/resources/belgium2.crl")));
+		dataMap.put(WRONG_CRL_URL, new byte[] { 1, 2, 3 });
+
+		MockRepositoryCRLSource crlSource = new MockRepositoryCRLSource();
+
+		RevocationWarmUpJob job = new RevocationWarmUpJob();
+		job.setDataLoader(new MemoryDataLoader(dataMap));
+		job.setCrlSource(crlSource);
+
+		RevocationWarmUpSummary summary = job.warmUp(trustedCertificateSource);
+		assertEquals(1, summary.getNumberOfLoadedCRLs());
+		assertEquals(1, summary.getNumberOfFailures());
+		assertEquals(1, crlSource.repository.size());
+		assertTrue(crlSource.repository.containsKey(CRL_URL));
+
+		// the CRL is obtained from the repository for the certificates issued by the trust anchor
+		RevocationToken<CRL> crlToken = crlSource.getRevocationToken(caCertificate, rootCertificate);
+		assertNotNull(crlToken);
+		assertEquals(caCertificate, crlToken.getRelatedCertificate());
+		assertEquals(CRL_URL, crlToken.getSourceURL());
+	}
+
+	@Test
+	public void unexpectedErrorTest() {
+		RevocationWarmUpJob job = new RevocationWarmUpJob();
+		job.setCrlSource((certificateToken, issuerCertificateToken) -> {
+			throw new AssertionError("Unexpected error");
+		});
+
+		// all the failed tasks are reported
+		RevocationWarmUpSummary summary = job.warmUp(trustedCertificateSource, Arrays.asList(caCertificate, caCertificate));
+		assertEquals(2, summary.getNumberOfProcessedCertificates());
+		assertEquals(2, summary.getNumberOfFailures());
+		assertEquals("Unexpected error", summary.getFailures().get("Task 0"));
+		assertEquals("Unexpected error", summary.getFailures().get("Task 1"));
+	}
+
+	@Test
+	public void issuedCertificatesTest() {
+		AtomicInteger crlCalls = new AtomicInteger();
+		RevocationSource<CRL> crlSource = (certificateToken, issuerCertificateToken) -> {
+			crlCalls.incrementAndGet();
+			assertEquals(caCertificate, certificateToken);
+			assertEquals(rootCertificate, issuerCertificateToken);
+			return Mockito.mock(CRLToken.class);
+		};
+		RevocationSource<OCSP> ocspSource = (certificateToken, issuerCertificateToken) -> {
+			throw new AssertionError("No OCSP access point is defined");
+		};
+
+		RevocationWarmUpJob job = new RevocationWarmUpJob();
+		job.setCrlSource(crlSource);
+		job.setOcspSource(ocspSource);
+		job.setMaxConcurrentRequests(1);
+
+		// the revocation data of the trust anchor itself is not requested
+		RevocationWarmUpSummary summary = job.warmUp(trustedCertificateSource);
+		assertEquals(0, summary.getNumberOfProcessedCertificates());
+		assertEquals(0, crlCalls.get());
+
+		summary = job.warmUp(trustedCertificateSource, Collections.singletonList(caCertificate));
+		assertEquals(1, summary.getNumberOfProcessedCertificates());
+		assertEquals(0, summary.getNumberOfSkippedCertificates());
+		assertEquals(1, summary.getNumberOfLoadedCRLs());
+		assertEquals(0, summary.getNumberOfLoadedOCSPResponses());
+		assertEquals(0, summary.getNumberOfFailures());
+		assertEquals(1, crlCalls.get());
+	}
+
+	@Test
+	public void failuresTest() {
+		RevocationWarmUpJob job = new RevocationWarmUpJob();
+		job.setCrlSource((certificateToken, issuerCertificateToken) -> null);
+
+		RevocationWarmUpSummary summary = job.warmUp(trustedCertificateSource, Collections.singletonList(caCertificate));
+		assertEquals(1, summary.getNumberOfProcessedCertificates());
+		assertEquals(0, summary.getNumberOfLoadedCRLs());
+		assertEquals(1, summary.getNumberOfFailures());
+		assertTrue(summary.getFailures().containsKey(caCertificate.getDSSIdAsString()));
+
+		job.setCrlSource((certificateToken, issuerCertificateToken) -> {
+			throw new IllegalStateException("Connection refused");
+		});
+		summary = job.warmUp(trustedCertificateSource, Collections.singletonList(caCertificate));
+		assertEquals(1, summary.getNumberOfFailures());
+		assertEquals("Connection refused", summary.getFailures().get(caCertificate.getDSSIdAsString()));
+
+		job.setCrlSource(null);
+		job.setDataLoader(new MemoryDataLoader(new HashMap<>()) {
+
+			private static final long serialVersionUID = -3617446529683312795L;
+
+			@Override
+			public byte[] get(String url) {
+				throw new DSSException("Connection refused");
+			}
+
+		});
+		summary = job.warmUp(trustedCertificateSource);
+		assertEquals(2, summary.getNumberOfFailures());
+		assertEquals("Connection refused", summary.getFailures().get(CRL_URL));
+	}
+
+	@Test
+	public void issuerNotFoundTest() {
+		CommonTrustedCertificateSource certificateSource = new CommonTrustedCertificateSource();
+		certificateSource.addCertificate(caCertificate);
+
+		RevocationWarmUpJob job = new RevocationWarmUpJob();
+		job.setCrlSource((certificateToken, issuerCertificateToken) -> Mockito.mock(CRLToken.class));
+
+		RevocationWarmUpSummary summary = job.warmUp(certificateSource, Collections.singletonList(caCertificate));
+		assertEquals(1, summary.getNumberOfProcessedCertificates());
+		assertEquals(0, summary.getNumberOfLoadedCRLs());
+		assertEquals(1, summary.getNumberOfFailures());
+	}
+
+	@Test
+	public void executorServiceTest() {
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			RevocationWarmUpJob job = new RevocationWarmUpJob();
+			job.setExecutorService(executorService);
+			job.setCrlSource((certificateToken, issuerCertificateToken) -> Mockito.mock(CRLToken.class));
+
+			RevocationWarmUpSummary summary = job.warmUp(trustedCertificateSource, Collections.singletonList(caCertificate));
+			assertEquals(1, summary.getNumberOfLoadedCRLs());
+			// the provided executor is managed by the caller
+			assertFalse(executorService.isShutdown());
+
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void tlValidationJobTest() {
+		RevocationWarmUpJob revocationWarmUpJob = new RevocationWarmUpJob();
+
+		TLValidationJob tlValidationJob = new TLValidationJob();
+		tlValidationJob.setOfflineDataLoader(new FileCacheDataLoader());
+		tlValidationJob.setOnlineDataLoader(new FileCacheDataLoader());
+		tlValidationJob.setTrustedListCertificateSource(new TrustedListsCertificateSource());
+		tlValidationJob.setRevocationWarmUpJob(revocationWarmUpJob);
+
+		// no remote call in offline mode
+		tlValidationJob.offlineRefresh();
+		assertNull(revocationWarmUpJob.getSummary());
+
+		tlValidationJob.onlineRefresh();
+		assertNotNull(revocationWarmUpJob.getSummary());
+	}
+
+	@Test
+	public void configurationTest() {
+		RevocationWarmUpJob job = new RevocationWarmUpJob();
+		assertThrows(NullPointerException.class, () -> job.warmUp(null));
+		assertThrows(NullPointerException.class, () -> job.warmUp(trustedCertificateSource, null));
+		assertThrows(IllegalArgumentException.class, () -> job.setMaxConcurrentRequests(0));
+
+		RevocationWarmUpSummary summary = job.warmUp(trustedCertificateSource);
+		assertEquals(0, summary.getNumberOfProcessedCertificates());
+	}
+
+	private static class MockRepositoryCRLSource extends RepositoryRevocationSource<CRL> {
+
+		private static final long serialVersionUID = 4329542716738539170L;
+
+		private final Map<String, CRLToken> repository = new ConcurrentHashMap<>();
+
+		@Override
+		protected List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
+			return CertificateExtensionsUtils.getCRLAccessUrls(certificateToken);
+		}
+
+		@Override
+		protected List<RevocationToken<CRL>> findRevocations(String key, CertificateToken certificateToken,
+															 CertificateToken issuerCertToken) {
+			CRLToken crlToken = repository.get(key);
+			if (crlToken == null) {
+				return Collections.emptyList();
+			}
+			CRLToken certificateCRLToken = new CRLToken(certificateToken, crlToken.getCrlValidity()) {
+
+				private static final long serialVersionUID = -1372049566702837553L;
+
+				@Override
+				public Date getNextUpdate() {
+					// the test CRL is expired
+					return new Date(System.currentTimeMillis() + 60000);
+				}
+
+			};
+			certificateCRLToken.setSourceURL(key);
+			return Collections.singletonList(certificateCRLToken);
+		}
+
+		@Override
+		protected void insertRevocation(String revocationKey, RevocationToken<CRL> token) {
+			repository.put(revocationKey, (CRLToken) token);
+		}
+
+		@Override
+		protected void updateRevocation(String revocationKey, RevocationToken<CRL> token) {
+			repository.put(revocationKey, (CRLToken) token);
+		}
+
+		@Override
+		protected void removeRevocation(String revocationKey) {
+			repository.remove(revocationKey);
+		}
+
+		@Override
+		protected String getRevocationTokenKey(CertificateToken certificateToken, String urlString) {
+			return urlString;
+		}
+
+	}
+
+}
@@ -33,6 +33,7 @@ import eu.europa.esig.dss.spi.tsl.LOTLInfo;
 import eu.europa.esig.dss.spi.tsl.PivotInfo;
 import eu.europa.esig.dss.spi.tsl.TLInfo;
 import eu.europa.esig.dss.spi.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.spi.tsl.TrustProperties;
 import eu.europa.esig.dss.spi.tsl.TrustService;
 import eu.europa.esig.dss.spi.tsl.TrustServiceProvider;
 import eu.europa.esig.dss.spi.tsl.TrustServiceStatusAndInformationExtensions;
@@ -377,6 +378,56 @@ public class TLValidationJobTest {
 		
 	}
 	
+	@Test
+	public void lotlDeltaSynchronizationTest() {
+		TrustedListsCertificateSource fullSyncCertificateSource = new TrustedListsCertificateSource();
+		TLValidationJob fullSyncJob = new TLValidationJob();
+		fullSyncJob.setOfflineDataLoader(offlineFileLoader);
+		fullSyncJob.setListOfTrustedListSources(lotlSource);
+		fullSyncJob.setTrustedListCertificateSource(fullSyncCertificateSource);
+		fullSyncJob.offlineRefresh();
+
+		TrustedListsCertificateSource deltaSyncCertificateSource = new TrustedListsCertificateSource();
+		TLValidationJob deltaSyncJob = new TLValidationJob();
+		deltaSyncJob.setOfflineDataLoader(offlineFileLoader);
+		deltaSyncJob.setListOfTrustedListSources(lotlSource);
+		deltaSyncJob.setTrustedListCertificateSource(deltaSyncCertificateSource);
+		deltaSyncJob.setDeltaSynchronization(true);
+		deltaSyncJob.offlineRefresh();
+
+		int numberOfCertificates = fullSyncCertificateSource.getNumberOfCertificates();
+		assertTrue(numberOfCertificates > 0);
+		assertEquals(numberOfCertificates, deltaSyncCertificateSource.getNumberOfCertificates());
+		assertEquals(fullSyncCertificateSource.getNumberOfTrustedPublicKeys(), deltaSyncCertificateSource.getNumberOfTrustedPublicKeys());
+		assertEquals(fullSyncCertificateSource.getSynchronizedTrustedListIdentifiers(), deltaSyncCertificateSource.getSynchronizedTrustedListIdentifiers());
+		for (CertificateToken certificateToken : fullSyncCertificateSource.getCertificates()) {
+			assertEquals(fullSyncCertificateSource.getTrustServices(certificateToken).size(),
+					deltaSyncCertificateSource.getTrustServices(certificateToken).size());
+		}
+
+		// nothing changed
+		deltaSyncJob.offlineRefresh();
+		assertEquals(numberOfCertificates, deltaSyncCertificateSource.getNumberOfCertificates());
+
+		TLInfo czTLInfo = null;
+		for (TLInfo tlInfo : deltaSyncJob.getSummary().getLOTLInfos().get(0).getTLInfos()) {
+			if (CZ_URL.equals(tlInfo.getUrl())) {
+				czTLInfo = tlInfo;
+			}
+		}
+		assertNotNull(czTLInfo);
+		assertTrue(deltaSyncCertificateSource.getSynchronizedTrustedListIdentifiers().contains(czTLInfo.getDSSId()));
+
+		deltaSyncCertificateSource.updateTrustPropertiesByTrustedLists(Collections.emptyMap(), Collections.singletonList(czTLInfo.getDSSId()));
+		assertFalse(deltaSyncCertificateSource.getSynchronizedTrustedListIdentifiers().contains(czTLInfo.getDSSId()));
+		assertTrue(deltaSyncCertificateSource.getNumberOfCertificates() < numberOfCertificates);
+		for (CertificateToken certificateToken : deltaSyncCertificateSource.getCertificates()) {
+			for (TrustProperties trustProperties : deltaSyncCertificateSource.getTrustServices(certificateToken)) {
+				assertFalse(czTLInfo.getDSSId().equals(trustProperties.getTLIdentifier()));
+			}
+		}
+	}
+
 	@Test
 	public void emptyLOTLTest() {
 		tlValidationJob = new TLValidationJob();
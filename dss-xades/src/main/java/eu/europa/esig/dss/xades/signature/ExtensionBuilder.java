@@ -107,6 +107,9 @@ public abstract class ExtensionBuilder extends XAdESBuilder {
 		ensureUnsignedSignatureProperties();
 		ensureSignedDataObjectProperties();
 
+		// the signature element may have been modified by a previous extension step
+		xadesSignature.resetCanonicalizationCache();
+
 		return xadesSignature;
 	}
 
@@ -0,0 +1,345 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.definition.DSSNamespace;
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigAttribute;
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigElement;
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigPaths;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.reference.Base64Transform;
+import eu.europa.esig.dss.xades.reference.CanonicalizationTransform;
+import eu.europa.esig.dss.xades.reference.DSSReference;
+import eu.europa.esig.dss.xades.reference.DSSTransform;
+import eu.europa.esig.dss.xades.reference.ReferenceIdProvider;
+import eu.europa.esig.dss.xades.reference.XPath2FilterEnvelopedSignatureTransform;
+import org.w3c.dom.Element;
+
+import javax.xml.crypto.dsig.CanonicalizationMethod;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates an ENVELOPED or ENVELOPING XAdES signature without loading the signed document into a DOM.
+ *
+ * The signed document is processed as a stream : the reference digest is computed from the streamed canonical form
+ * of the document, while the ds:Signature element is built alone and spliced into the output
+ * when the document is copied. The following configurations are supported :
+ * <ul>
+ *     <li>ENVELOPED : a whole-document reference, the signature is added as the last child of the document element;</li>
+ *     <li>ENVELOPING : the document is embedded within a ds:Object as base64 or as XML (see {@code embedXML}).</li>
+ * </ul>
+ */
+class StreamingSignatureBuilder extends XAdESSignatureBuilder {
+
+	/** The prefix of the Id of ds:Object incorporating the signed content */
+	private static final String OBJECT_ID_PREFIX = "o-";
+
+	/** The XML declaration end */
+	private static final String XML_DECLARATION_END = "?>";
+
+	/** The text placeholder of the ds:Object content, replaced by the signed content on the signature output */
+	private final String contentPlaceholder = "streamed-content-" + UUID.randomUUID().toString();
+
+	/**
+	 * The default constructor for StreamingSignatureBuilder
+	 *
+	 * @param params
+	 *            The set of parameters relating to the structure and process of the creation or extension of the
+	 *            electronic signature.
+	 * @param document
+	 *            The original document to sign.
+	 * @param certificateVerifier
+	 *            {@link CertificateVerifier}
+	 */
+	public StreamingSignatureBuilder(final XAdESSignatureParameters params, final DSSDocument document,
+									 final CertificateVerifier certificateVerifier) {
+		super(params, document, certificateVerifier);
+	}
+
+	@Override
+	public byte[] build() throws DSSException {
+		assertStreamingSignaturePossible();
+		params.getContext().setReferences(Collections.singletonList(createReference()));
+		return super.build();
+	}
+
+	private void assertStreamingSignaturePossible() {
+		final SignaturePackaging signaturePackaging = params.getSignaturePackaging();
+		if (!SignaturePackaging.ENVELOPED.equals(signaturePackaging) && !SignaturePackaging.ENVELOPING.equals(signaturePackaging)) {
+			throw new IllegalArgumentException(String.format(
+					"The signature packaging %s is not supported by the streaming signature creation!", signaturePackaging));
+		}
+		if (document instanceof DigestDocument) {
+			throw new IllegalArgumentException("DigestDocument cannot be used for the streaming signature creation!");
+		}
+		if (Utils.isCollectionNotEmpty(params.getDetachedContents()) && params.getDetachedContents().size() > 1) {
+			throw new IllegalArgumentException("Only one document can be signed with the streaming signature creation!");
+		}
+		if (Utils.isCollectionNotEmpty(params.getReferences()) && params.getReferences() != params.getContext().getReferences()) {
+			throw new IllegalArgumentException("Custom references are not supported by the streaming signature creation!");
+		}
+		if (params.isManifestSignature()) {
+			throw new IllegalArgumentException("Manifest signature is not supported by the streaming signature creation!");
+		}
+		if (SignaturePackaging.ENVELOPED.equals(signaturePackaging)) {
+			if (Utils.isStringNotEmpty(params.getXPathLocationString())) {
+				throw new IllegalArgumentException("A custom signature location is not supported by the streaming signature creation!");
+			}
+			// the ds:Signature is built outside the document, the canonicalization shall not depend on the ancestors
+			assertExclusiveCanonicalization(signedInfoCanonicalizationMethod);
+			assertExclusiveCanonicalization(signedPropertiesCanonicalizationMethod);
+			assertExclusiveCanonicalization(keyInfoCanonicalizationMethod);
+		}
+	}
+
+	private void assertExclusiveCanonicalization(String canonicalizationMethod) {
+		if (!CanonicalizationMethod.EXCLUSIVE.equals(canonicalizationMethod)
+				&& !CanonicalizationMethod.EXCLUSIVE_WITH_COMMENTS.equals(canonicalizationMethod)) {
+			throw new IllegalArgumentException(String.format("The canonicalization method '%s' is not supported " +
+					"for an ENVELOPED streaming signature creation! Use an exclusive canonicalization.", canonicalizationMethod));
+		}
+	}
+
+	private DSSReference createReference() {
+		final ReferenceIdProvider referenceIdProvider = new ReferenceIdProvider();
+		referenceIdProvider.setSignatureParameters(params);
+
+		final DigestAlgorithm digestAlgorithm = getReferenceDigestAlgorithmOrDefault(params);
+		final DSSNamespace xmldsigNamespace = getXmldsigNamespace();
+
+		final DSSReference reference = new DSSReference();
+		reference.setId(referenceIdProvider.getReferenceId());
+		reference.setDigestMethodAlgorithm(digestAlgorithm);
+
+		String digest;
+		if (SignaturePackaging.ENVELOPED.equals(params.getSignaturePackaging())) {
+			reference.setUri("");
+			final List<DSSTransform> transforms = new ArrayList<>();
+			transforms.add(new XPath2FilterEnvelopedSignatureTransform(xmldsigNamespace));
+			transforms.add(new CanonicalizationTransform(xmldsigNamespace, DSSXMLUtils.DEFAULT_DSS_C14N_METHOD));
+			reference.setTransforms(transforms);
+			digest = getCanonicalDocumentDigest(digestAlgorithm);
+
+		} else if (params.isEmbedXML()) {
+			reference.setType(XMLDSigPaths.OBJECT_TYPE);
+			reference.setUri(DomUtils.toElementReference(getObjectId(reference)));
+			reference.setTransforms(Collections.singletonList(
+					new CanonicalizationTransform(xmldsigNamespace, DSSXMLUtils.DEFAULT_DSS_C14N_METHOD)));
+			digest = getCanonicalObjectDigest(digestAlgorithm, getObjectId(reference));
+
+		} else {
+			reference.setType(XMLDSigPaths.OBJECT_TYPE);
+			reference.setUri(DomUtils.toElementReference(getObjectId(reference)));
+			reference.setTransforms(Collections.singletonList(new Base64Transform(xmldsigNamespace)));
+			// the base64 transform output is the original content
+			digest = document.getDigest(digestAlgorithm);
+		}
+
+		final DigestDocument referenceContent = new DigestDocument(digestAlgorithm, digest, document.getName());
+		referenceContent.setMimeType(document.getMimeType());
+		reference.setContents(referenceContent);
+		return reference;
+	}
+
+	private String getObjectId(DSSReference reference) {
+		return OBJECT_ID_PREFIX + reference.getId();
+	}
+
+	private String getCanonicalDocumentDigest(DigestAlgorithm digestAlgorithm) {
+		final MessageDigest messageDigest = getMessageDigest(digestAlgorithm);
+		try (InputStream is = document.openStream(); OutputStream os = new MessageDigestOutputStream(messageDigest)) {
+			getCanonicalProcessor().processDocument(is, os);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to compute the document digest. Reason : %s", e.getMessage()), e);
+		}
+		return Utils.toBase64(messageDigest.digest());
+	}
+
+	private String getCanonicalObjectDigest(DigestAlgorithm digestAlgorithm, String objectId) {
+		final DSSNamespace xmldsigNamespace = getXmldsigNamespace();
+		final String objectName = getQualifiedName(xmldsigNamespace, XMLDSigElement.OBJECT.getTagName());
+
+		final MessageDigest messageDigest = getMessageDigest(digestAlgorithm);
+		try (InputStream is = document.openStream(); OutputStream os = new MessageDigestOutputStream(messageDigest)) {
+			// exclusive canonical form of <ds:Object Id="..."> containing the document element
+			final StringBuilder startTag = new StringBuilder("<").append(objectName).append(" xmlns");
+			if (Utils.isStringNotEmpty(xmldsigNamespace.getPrefix())) {
+				startTag.append(':').append(xmldsigNamespace.getPrefix());
+			}
+			startTag.append("=\"").append(xmldsigNamespace.getUri()).append("\" ")
+					.append(XMLDSigAttribute.ID.getAttributeName()).append("=\"").append(objectId).append("\">");
+			os.write(startTag.toString().getBytes(StandardCharsets.UTF_8));
+			getCanonicalProcessor().processDocumentElement(is, os, xmldsigNamespace.getPrefix(), xmldsigNamespace.getUri());
+			os.write(("</" + objectName + ">").getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to compute the document digest. Reason : %s", e.getMessage()), e);
+		}
+		return Utils.toBase64(messageDigest.digest());
+	}
+
+	private StreamingXMLProcessor getCanonicalProcessor() {
+		final StreamingXMLProcessor processor = new StreamingXMLProcessor(true);
+		// parallel signatures would be excluded by the enveloped transform
+		processor.setForbiddenElement(getXmldsigNamespace().getUri(), XMLDSigElement.SIGNATURE.getTagName());
+		return processor;
+	}
+
+	private MessageDigest getMessageDigest(DigestAlgorithm digestAlgorithm) {
+		try {
+			return digestAlgorithm.getMessageDigest();
+		} catch (NoSuchAlgorithmException e) {
+			throw new DSSException(String.format("The digest algorithm '%s' is not supported!", digestAlgorithm), e);
+		}
+	}
+
+	private String getQualifiedName(DSSNamespace namespace, String localName) {
+		if (Utils.isStringNotEmpty(namespace.getPrefix())) {
+			return namespace.getPrefix() + ":" + localName;
+		}
+		return localName;
+	}
+
+	@Override
+	protected void assertSignaturePossible() {
+		// the presence of other signatures is verified while streaming the document
+	}
+
+	@Override
+	protected void incorporateSignedObjects() {
+		if (!SignaturePackaging.ENVELOPING.equals(params.getSignaturePackaging())) {
+			return;
+		}
+		for (final DSSReference reference : params.getReferences()) {
+			final Element objectDom = DomUtils.addElement(documentDom, signatureDom, getXmldsigNamespace(), XMLDSigElement.OBJECT);
+			objectDom.appendChild(documentDom.createTextNode(contentPlaceholder));
+			objectDom.setAttribute(XMLDSigAttribute.ID.getAttributeName(), getObjectId(reference));
+		}
+	}
+
+	/**
+	 * Adds the signature value to the signature and writes the signed document to the {@code outputStream}
+	 *
+	 * @param signatureValue byte array
+	 * @param outputStream {@link OutputStream} to write the signed document to
+	 */
+	public void signDocument(final byte[] signatureValue, final OutputStream outputStream) {
+		final DSSDocument signatureDocument = signDocument(signatureValue);
+		final String signature = new String(DSSUtils.toByteArray(signatureDocument), StandardCharsets.UTF_8);
+
+		try (InputStream is = document.openStream()) {
+			if (SignaturePackaging.ENVELOPED.equals(params.getSignaturePackaging())) {
+				new StreamingXMLProcessor(false).processDocument(is, outputStream, removeXmlDeclaration(signature));
+
+			} else {
+				final int placeholderIndex = signature.indexOf(contentPlaceholder);
+				outputStream.write(signature.substring(0, placeholderIndex).getBytes(StandardCharsets.UTF_8));
+				if (params.isEmbedXML()) {
+					final DSSNamespace xmldsigNamespace = getXmldsigNamespace();
+					new StreamingXMLProcessor(false).processDocumentElement(is, outputStream,
+							xmldsigNamespace.getPrefix(), xmldsigNamespace.getUri());
+				} else {
+					try (OutputStream base64OutputStream = Base64.getEncoder().wrap(new NonClosingOutputStream(outputStream))) {
+						Utils.copy(is, base64OutputStream);
+					}
+				}
+				outputStream.write(signature.substring(placeholderIndex + contentPlaceholder.length()).getBytes(StandardCharsets.UTF_8));
+			}
+			outputStream.flush();
+
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the signed document. Reason : %s", e.getMessage()), e);
+		}
+	}
+
+	private String removeXmlDeclaration(String xml) {
+		if (xml.startsWith("<?xml")) {
+			return xml.substring(xml.indexOf(XML_DECLARATION_END) + XML_DECLARATION_END.length()).trim();
+		}
+		return xml;
+	}
+
+	/**
+	 * Updates the message digest with the written bytes
+	 */
+	private static final class MessageDigestOutputStream extends OutputStream {
+
+		/** The message digest to update */
+		private final MessageDigest messageDigest;
+
+		private MessageDigestOutputStream(MessageDigest messageDigest) {
+			this.messageDigest = messageDigest;
+		}
+
+		@Override
+		public void write(int b) {
+			messageDigest.update((byte) b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			messageDigest.update(b, off, len);
+		}
+
+	}
+
+	/**
+	 * Does not close the wrapped output stream, which remains used after the end of the base64 content
+	 */
+	private static final class NonClosingOutputStream extends FilterOutputStream {
+
+		private NonClosingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+
+	}
+
+}
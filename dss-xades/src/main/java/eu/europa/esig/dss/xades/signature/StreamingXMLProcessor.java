@@ -0,0 +1,418 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.exception.IllegalInputException;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.utils.Utils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Processes an XML document as a sequence of StAX events, without building a DOM.
+ *
+ * In the canonical mode, the processor produces the exclusive canonical form of the document without comments
+ * (http://www.w3.org/2001/10/xml-exc-c14n#), as obtained for a same-document reference to the whole document
+ * or to its document element. Otherwise, a serialized copy of the document is produced,
+ * keeping the original namespace declarations, attribute order and comments.
+ *
+ * NOTE: documents containing a DTD are not supported.
+ */
+class StreamingXMLProcessor {
+
+	/** The XML declaration written at the beginning of a copied document */
+	private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+	/** The "xml" prefix, which namespace is never declared */
+	private static final String XML_PREFIX = "xml";
+
+	/** Defines whether the canonical form is produced */
+	private final boolean canonical;
+
+	/** The namespace URI of an element which shall not be present within the processed document */
+	private String forbiddenElementNamespace;
+
+	/** The local name of an element which shall not be present within the processed document */
+	private String forbiddenElementLocalName;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param canonical defines whether the exclusive canonical form of the document is produced,
+	 *                  otherwise the document is copied
+	 */
+	StreamingXMLProcessor(boolean canonical) {
+		this.canonical = canonical;
+	}
+
+	/**
+	 * Sets an element which shall not be present within the processed document (e.g. a ds:Signature).
+	 * An {@code IllegalInputException} is thrown when the element is encountered.
+	 *
+	 * @param namespaceUri {@link String} namespace URI of the element
+	 * @param localName {@link String} local name of the element
+	 */
+	void setForbiddenElement(String namespaceUri, String localName) {
+		this.forbiddenElementNamespace = namespaceUri;
+		this.forbiddenElementLocalName = localName;
+	}
+
+	/**
+	 * Processes the whole document, incl. processing instructions (and comments, when copied)
+	 * outside the document element
+	 *
+	 * @param is {@link InputStream} of the XML document
+	 * @param os {@link OutputStream} to write the result to
+	 */
+	void processDocument(InputStream is, OutputStream os) {
+		processDocument(is, os, null);
+	}
+
+	/**
+	 * Processes the whole document, incl. processing instructions (and comments, when copied)
+	 * outside the document element, and inserts the {@code lastChild} content before the end tag
+	 * of the document element
+	 *
+	 * @param is {@link InputStream} of the XML document
+	 * @param os {@link OutputStream} to write the result to
+	 * @param lastChild {@link String} serialized XML to be inserted as the last child of the document element,
+	 *                  when not null
+	 */
+	void processDocument(InputStream is, OutputStream os, String lastChild) {
+		process(is, os, true, Collections.singletonMap(Utils.EMPTY_STRING, Utils.EMPTY_STRING), lastChild);
+	}
+
+	/**
+	 * Processes the document element only, as a child of an element defining the given namespace
+	 *
+	 * @param is {@link InputStream} of the XML document
+	 * @param os {@link OutputStream} to write the result to
+	 * @param parentPrefix {@link String} prefix of the namespace declared by the parent element
+	 * @param parentNamespaceUri {@link String} URI of the namespace declared by the parent element
+	 */
+	void processDocumentElement(InputStream is, OutputStream os, String parentPrefix, String parentNamespaceUri) {
+		Map<String, String> parentNamespaces = new HashMap<>();
+		parentNamespaces.put(Utils.EMPTY_STRING, Utils.EMPTY_STRING);
+		parentNamespaces.put(nullToEmpty(parentPrefix), nullToEmpty(parentNamespaceUri));
+		process(is, os, false, parentNamespaces, null);
+	}
+
+	private void process(InputStream is, OutputStream os, boolean documentMode, Map<String, String> parentNamespaces,
+						 String lastChild) {
+		XMLStreamReader reader = null;
+		try {
+			reader = createXMLStreamReader(is);
+			Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+			if (documentMode && !canonical) {
+				writer.write(XML_DECLARATION);
+			}
+
+			Deque<Map<String, String>> namespacesStack = new ArrayDeque<>();
+			Map<String, String> namespaces = parentNamespaces;
+			boolean documentElementProcessed = false;
+			int depth = 0;
+			while (reader.hasNext()) {
+				int event = reader.next();
+				switch (event) {
+					case XMLStreamConstants.START_ELEMENT:
+						assertNotForbidden(reader);
+						namespacesStack.push(namespaces);
+						namespaces = writeStartElement(reader, writer, namespaces);
+						depth++;
+						break;
+
+					case XMLStreamConstants.END_ELEMENT:
+						depth--;
+						if (depth == 0) {
+							if (lastChild != null) {
+								writer.write(lastChild);
+							}
+							documentElementProcessed = true;
+						}
+						writer.write("</");
+						writer.write(getQualifiedName(reader.getPrefix(), reader.getLocalName()));
+						writer.write('>');
+						namespaces = namespacesStack.pop();
+						break;
+
+					case XMLStreamConstants.CHARACTERS:
+					case XMLStreamConstants.CDATA:
+					case XMLStreamConstants.SPACE:
+						if (depth > 0) {
+							writeText(writer, reader.getText());
+						}
+						break;
+
+					case XMLStreamConstants.PROCESSING_INSTRUCTION:
+						if (depth > 0 || documentMode) {
+							writeOutsideDocumentElement(writer, depth, documentElementProcessed,
+									getProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+						}
+						break;
+
+					case XMLStreamConstants.COMMENT:
+						if (!canonical && (depth > 0 || documentMode)) {
+							writeOutsideDocumentElement(writer, depth, documentElementProcessed,
+									"<!--" + reader.getText() + "-->");
+						}
+						break;
+
+					case XMLStreamConstants.DTD:
+					case XMLStreamConstants.ENTITY_REFERENCE:
+						throw new IllegalInputException("XML documents containing a DTD are not supported by the streaming processing!");
+
+					default:
+						// nothing to write
+						break;
+				}
+			}
+			writer.flush();
+
+		} catch (XMLStreamException e) {
+			throw new IllegalInputException(String.format("Unable to process the XML document. Reason : %s", e.getMessage()), e);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the XML document. Reason : %s", e.getMessage()), e);
+		} finally {
+			closeQuietly(reader);
+		}
+	}
+
+	private XMLStreamReader createXMLStreamReader(InputStream is) throws XMLStreamException {
+		XMLInputFactory xif = XMLInputFactory.newFactory();
+		xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		xif.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		return xif.createXMLStreamReader(is);
+	}
+
+	private void assertNotForbidden(XMLStreamReader reader) {
+		if (forbiddenElementLocalName != null && forbiddenElementLocalName.equals(reader.getLocalName())
+				&& nullToEmpty(forbiddenElementNamespace).equals(nullToEmpty(reader.getNamespaceURI()))) {
+			throw new IllegalInputException(String.format("The document shall not contain a '%s' element!", forbiddenElementLocalName));
+		}
+	}
+
+	/**
+	 * Writes the start tag of the current element and returns the namespaces declared in the output
+	 * for the element's scope
+	 */
+	private Map<String, String> writeStartElement(XMLStreamReader reader, Writer writer, Map<String, String> namespaces)
+			throws IOException {
+		final String prefix = nullToEmpty(reader.getPrefix());
+
+		final Map<String, String> declarations = canonical ? new TreeMap<>() : new LinkedHashMap<>();
+		if (!canonical) {
+			for (int i = 0; i < reader.getNamespaceCount(); i++) {
+				declarations.put(nullToEmpty(reader.getNamespacePrefix(i)), nullToEmpty(reader.getNamespaceURI(i)));
+			}
+		}
+		addIfNotInScope(declarations, namespaces, prefix, nullToEmpty(reader.getNamespaceURI()));
+
+		final List<Attribute> attributes = new ArrayList<>();
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			Attribute attribute = new Attribute(nullToEmpty(reader.getAttributePrefix(i)), nullToEmpty(reader.getAttributeNamespace(i)),
+					reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+			if (Utils.isStringNotEmpty(attribute.prefix) && !XML_PREFIX.equals(attribute.prefix)) {
+				addIfNotInScope(declarations, namespaces, attribute.prefix, attribute.namespaceUri);
+			}
+			attributes.add(attribute);
+		}
+		if (canonical) {
+			attributes.sort(Comparator.comparing((Attribute a) -> a.namespaceUri).thenComparing(a -> a.localName));
+		}
+
+		writer.write('<');
+		writer.write(getQualifiedName(prefix, reader.getLocalName()));
+		for (Map.Entry<String, String> declaration : declarations.entrySet()) {
+			writer.write(" xmlns");
+			if (Utils.isStringNotEmpty(declaration.getKey())) {
+				writer.write(':');
+				writer.write(declaration.getKey());
+			}
+			writer.write("=\"");
+			writeAttributeValue(writer, declaration.getValue());
+			writer.write('"');
+		}
+		for (Attribute attribute : attributes) {
+			writer.write(' ');
+			writer.write(getQualifiedName(attribute.prefix, attribute.localName));
+			writer.write("=\"");
+			writeAttributeValue(writer, attribute.value);
+			writer.write('"');
+		}
+		writer.write('>');
+
+		if (declarations.isEmpty()) {
+			return namespaces;
+		}
+		Map<String, String> elementNamespaces = new HashMap<>(namespaces);
+		elementNamespaces.putAll(declarations);
+		return elementNamespaces;
+	}
+
+	private void addIfNotInScope(Map<String, String> declarations, Map<String, String> namespaces, String prefix, String uri) {
+		if (!declarations.containsKey(prefix) && !uri.equals(namespaces.get(prefix))) {
+			declarations.put(prefix, uri);
+		}
+	}
+
+	private void writeOutsideDocumentElement(Writer writer, int depth, boolean documentElementProcessed, String node)
+			throws IOException {
+		if (depth == 0 && documentElementProcessed) {
+			writer.write('\n');
+		}
+		writer.write(node);
+		if (depth == 0 && !documentElementProcessed) {
+			writer.write('\n');
+		}
+	}
+
+	private String getProcessingInstruction(String target, String data) {
+		StringBuilder sb = new StringBuilder("<?");
+		sb.append(target);
+		if (Utils.isStringNotEmpty(data)) {
+			sb.append(' ');
+			sb.append(data);
+		}
+		sb.append("?>");
+		return sb.toString();
+	}
+
+	private String getQualifiedName(String prefix, String localName) {
+		if (Utils.isStringNotEmpty(prefix)) {
+			return prefix + ':' + localName;
+		}
+		return localName;
+	}
+
+	private void writeText(Writer writer, String text) throws IOException {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '&':
+					writer.write("&amp;");
+					break;
+				case '<':
+					writer.write("&lt;");
+					break;
+				case '>':
+					writer.write("&gt;");
+					break;
+				case '\r':
+					writer.write("&#xD;");
+					break;
+				default:
+					writer.write(c);
+					break;
+			}
+		}
+	}
+
+	private void writeAttributeValue(Writer writer, String value) throws IOException {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '&':
+					writer.write("&amp;");
+					break;
+				case '<':
+					writer.write("&lt;");
+					break;
+				case '"':
+					writer.write("&quot;");
+					break;
+				case '\t':
+					writer.write("&#x9;");
+					break;
+				case '\n':
+					writer.write("&#xA;");
+					break;
+				case '\r':
+					writer.write("&#xD;");
+					break;
+				default:
+					writer.write(c);
+					break;
+			}
+		}
+	}
+
+	private static String nullToEmpty(String str) {
+		return str != null ? str : Utils.EMPTY_STRING;
+	}
+
+	private static void closeQuietly(XMLStreamReader reader) {
+		if (reader != null) {
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 * Represents an attribute of the currently processed element
+	 */
+	private static final class Attribute {
+
+		/** The attribute prefix */
+		private final String prefix;
+
+		/** The attribute namespace URI */
+		private final String namespaceUri;
+
+		/** The attribute local name */
+		private final String localName;
+
+		/** The attribute value */
+		private final String value;
+
+		private Attribute(String prefix, String namespaceUri, String localName, String value) {
+			this.prefix = prefix;
+			this.namespaceUri = namespaceUri;
+			this.localName = localName;
+			this.value = value;
+		}
+
+	}
+
+}
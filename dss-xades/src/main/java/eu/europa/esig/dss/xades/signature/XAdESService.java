@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.xades.signature;
 
+import eu.europa.esig.dss.enumerations.SignatureLevel;
 import eu.europa.esig.dss.enumerations.SignaturePackaging;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.SignaturePolicyStore;
@@ -43,6 +44,7 @@ import eu.europa.esig.dss.xades.reference.DSSReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -167,6 +169,67 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 		return signDocument(toSignDocuments.get(0), parameters, signatureValue);
 	}
 
+	/**
+	 * Computes the data to be signed for an ENVELOPED or ENVELOPING signature created with
+	 * {@link #signDocument(DSSDocument, XAdESSignatureParameters, SignatureValue, OutputStream)}.
+	 * The document is processed as a stream and is never loaded into a DOM.
+	 *
+	 * @param toSignDocument {@link DSSDocument} to be signed
+	 * @param parameters {@link XAdESSignatureParameters} set of the driving signing parameters
+	 * @return {@link ToBeSigned} the data to be signed
+	 */
+	public ToBeSigned getStreamingDataToSign(final DSSDocument toSignDocument, final XAdESSignatureParameters parameters) {
+		Objects.requireNonNull(toSignDocument, "toSignDocument cannot be null!");
+		Objects.requireNonNull(parameters, "SignatureParameters cannot be null!");
+
+		assertSigningCertificateValid(parameters);
+		assertStreamingSignatureLevel(parameters);
+		final StreamingSignatureBuilder signatureBuilder = new StreamingSignatureBuilder(parameters, toSignDocument, certificateVerifier);
+		return new ToBeSigned(signatureBuilder.build());
+	}
+
+	/**
+	 * Creates an ENVELOPED or ENVELOPING XAdES-BASELINE-B signature and writes the signed document directly
+	 * to the {@code outputStream}. The document to be signed is processed as a stream and is never loaded into a DOM,
+	 * which makes the method suitable for very large XML documents.
+	 *
+	 * The following configurations are supported :
+	 * - ENVELOPED : the signature covers the whole document and is added as the last child of the document element.
+	 *   The document is written in UTF-8 without its DTD, and the signature shall use exclusive canonicalization;
+	 * - ENVELOPING : the document is embedded within a ds:Object, encoded in base64 or as XML (see {@code embedXML}).
+	 *
+	 * NOTE: custom references, manifest signatures and custom signature placement are not supported.
+	 * The created signature can be augmented to a higher level using the {@code extendDocument} method.
+	 *
+	 * @param toSignDocument {@link DSSDocument} to be signed
+	 * @param parameters {@link XAdESSignatureParameters} set of the driving signing parameters
+	 * @param signatureValue {@link SignatureValue} the signature value to incorporate
+	 * @param outputStream {@link OutputStream} to write the signed document to
+	 */
+	public void signDocument(final DSSDocument toSignDocument, final XAdESSignatureParameters parameters,
+							 final SignatureValue signatureValue, final OutputStream outputStream) {
+		Objects.requireNonNull(toSignDocument, "toSignDocument is not defined!");
+		Objects.requireNonNull(parameters, "SignatureParameters cannot be null!");
+		Objects.requireNonNull(signatureValue, "SignatureValue cannot be null!");
+		Objects.requireNonNull(outputStream, "OutputStream cannot be null!");
+
+		assertSigningCertificateValid(parameters);
+		assertStreamingSignatureLevel(parameters);
+		parameters.getContext().setOperationKind(SigningOperation.SIGN);
+		final StreamingSignatureBuilder signatureBuilder = new StreamingSignatureBuilder(parameters, toSignDocument, certificateVerifier);
+		signatureBuilder.signDocument(signatureValue.getValue(), outputStream);
+
+		// The internal parameters (e.g. deterministic Id) are reset between two consecutive signing operations.
+		parameters.reinit();
+	}
+
+	private void assertStreamingSignatureLevel(XAdESSignatureParameters parameters) {
+		if (!SignatureLevel.XAdES_BASELINE_B.equals(parameters.getSignatureLevel())) {
+			throw new UnsupportedOperationException("Only XAdES-BASELINE-B level is supported by the streaming signature creation! " +
+					"Use extendDocument(...) method to augment the created signature.");
+		}
+	}
+
 	@Override
 	public DSSDocument extendDocument(final DSSDocument toExtendDocument, final XAdESSignatureParameters parameters) {
 		Objects.requireNonNull(toExtendDocument, "toExtendDocument cannot be null!");
@@ -246,7 +246,11 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 		return canonicalizedSignedInfo;
 	}
 	
-	private void assertSignaturePossible() {
+	/**
+	 * Verifies whether the signature creation is possible for the provided document
+	 * (i.e. the document does not contain a signature with an enveloped transform)
+	 */
+	protected void assertSignaturePossible() {
 		if (DomUtils.isDOM(document)) {
 			Document dom = DomUtils.buildDOM(document);
 			final NodeList signatureNodeList = DSSXMLUtils.getAllSignaturesExceptCounterSignatures(dom);
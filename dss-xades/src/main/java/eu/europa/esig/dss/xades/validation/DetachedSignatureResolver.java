@@ -25,6 +25,7 @@ import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.enumerations.MimeType;
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import org.apache.xml.security.signature.XMLSignatureInput;
@@ -33,6 +34,8 @@ import org.apache.xml.security.utils.resolver.ResourceResolverException;
 import org.apache.xml.security.utils.resolver.ResourceResolverSpi;
 import org.w3c.dom.Attr;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -71,8 +74,9 @@ public class DetachedSignatureResolver extends ResourceResolverSpi {
 	}
 
 	private XMLSignatureInput createFromCommonDocument(DSSDocument document) {
-		// Full binaries are required
-		final XMLSignatureInput result = new XMLSignatureInput(DSSUtils.toByteArray(document));
+		// The content is streamed on demand. When no transforms are defined, the digest is computed
+		// without loading the full document into memory
+		final XMLSignatureInput result = new XMLSignatureInput(new DocumentInputStream(document));
 		final MimeType mimeType = document.getMimeType();
 		if (mimeType != null) {
 			result.setMIMEType(mimeType.getMimeTypeString());
@@ -127,4 +131,77 @@ public class DetachedSignatureResolver extends ResourceResolverSpi {
 		return false;
 	}
 
+	/**
+	 * The InputStream opening the {@code DSSDocument}'s stream only on the first read,
+	 * and closing it when the end of the stream is reached.
+	 *
+	 * NOTE: Santuario may resolve a reference without reading its content, thus the stream shall not be opened in advance.
+	 */
+	private static class DocumentInputStream extends InputStream {
+
+		/** The document to read */
+		private final DSSDocument document;
+
+		/** The stream of the document, null if not yet opened */
+		private InputStream stream;
+
+		/** Defines whether the end of the stream has been reached */
+		private boolean finished;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param document {@link DSSDocument} to read
+		 */
+		DocumentInputStream(DSSDocument document) {
+			this.document = document;
+		}
+
+		private InputStream getStream() throws IOException {
+			if (stream == null) {
+				try {
+					stream = document.openStream();
+				} catch (DSSException e) {
+					throw new IOException(String.format("Unable to open a stream of the document '%s' : %s",
+							document.getName(), e.getMessage()), e);
+				}
+			}
+			return stream;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (finished) {
+				return -1;
+			}
+			int b = getStream().read();
+			if (b == -1) {
+				close();
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (finished) {
+				return -1;
+			}
+			int read = getStream().read(b, off, len);
+			if (read == -1) {
+				close();
+			}
+			return read;
+		}
+
+		@Override
+		public void close() throws IOException {
+			finished = true;
+			if (stream != null) {
+				stream.close();
+				stream = null;
+			}
+		}
+
+	}
+
 }
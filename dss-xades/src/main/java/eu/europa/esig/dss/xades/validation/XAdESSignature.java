@@ -74,6 +74,8 @@ import org.apache.xml.security.exceptions.XMLSecurityException;
 import org.apache.xml.security.signature.Reference;
 import org.apache.xml.security.signature.SignedInfo;
 import org.apache.xml.security.signature.XMLSignature;
+import org.apache.xml.security.signature.XMLSignatureInput;
+import org.apache.xml.security.transforms.Transforms;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -83,12 +85,19 @@ import org.w3c.dom.NodeList;
 
 import javax.xml.crypto.dsig.CanonicalizationMethod;
 import javax.xml.transform.dom.DOMSource;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Parse an XAdES signature structure. Note that for each signature to be validated a new instance of this object must
@@ -129,6 +138,9 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 
 	/** Cached Apache Santuario Signature */
 	private transient XMLSignature santuarioSignature;
+
+	/** The ExecutorService used to verify the detached references in parallel (null by default, sequential) */
+	private transient ExecutorService referenceValidationExecutorService;
 	
 	/**
 	 * A signature identifier provided by a Driving Application.
@@ -215,6 +227,20 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		this.disableXSWProtection = disableXSWProtection;
 	}
 
+	/**
+	 * Sets the ExecutorService to be used to verify the digests of the detached references in parallel.
+	 * The references are resolved sequentially (using the Santuario secure resolvers),
+	 * only the digest computation of the resolved octet streams is done in parallel.
+	 * The order of the returned {@code ReferenceValidation}s is preserved.
+	 *
+	 * Default : null (the references are verified sequentially)
+	 *
+	 * @param referenceValidationExecutorService {@link ExecutorService}
+	 */
+	public void setReferenceValidationExecutorService(ExecutorService referenceValidationExecutorService) {
+		this.referenceValidationExecutorService = referenceValidationExecutorService;
+	}
+
 	/**
 	 * This method is called when creating a new instance of the {@code XAdESSignature} with unknown schema.
 	 */
@@ -383,6 +409,16 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		return (XAdESTimestampSource) signatureTimestampSource;
 	}
 
+	/**
+	 * This method resets the canonicalized elements cached by the timestamp source,
+	 * while keeping the extracted timestamps. It must be called when the signature element is modified.
+	 */
+	public void resetCanonicalizationCache() {
+		if (signatureTimestampSource != null) {
+			((XAdESTimestampSource) signatureTimestampSource).resetCanonicalizationCache();
+		}
+	}
+
 	@Override
 	public Date getSigningTime() {
 
@@ -955,7 +991,14 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 			final XMLSignature currentSantuarioSignature = getSantuarioSignature();
 			CandidatesForSigningCertificate candidatesForSigningCertificate = getCandidatesForSigningCertificate();
 			
-			SignatureIntegrityValidator signingCertificateValidator = new XAdESSignatureIntegrityValidator(currentSantuarioSignature);
+			SignatureIntegrityValidator signingCertificateValidator;
+			if (referenceValidationExecutorService != null) {
+				// the references are already verified in parallel, only the SignatureValue remains to be checked
+				signingCertificateValidator = new XAdESSignatureIntegrityValidator(currentSantuarioSignature,
+						getSignedInfoReferenceValidations());
+			} else {
+				signingCertificateValidator = new XAdESSignatureIntegrityValidator(currentSantuarioSignature);
+			}
 			CertificateValidity certificateValidity = signingCertificateValidator.validate(candidatesForSigningCertificate);
 			if (certificateValidity != null) {
 				candidatesForSigningCertificate.setTheCertificateValidity(certificateValidity);
@@ -1003,6 +1046,9 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 
 			final XMLSignature currentSantuarioSignature = getSantuarioSignature();
 			boolean atLeastOneReferenceElementFound = false;
+
+			// the digest computations to be executed in parallel (LinkedHashMap is used to keep the original order)
+			final Map<XAdESReferenceValidation, Callable<Boolean>> digestMatchTasks = new LinkedHashMap<>();
 			
 			List<Reference> santuarioReferences = getReferences();
 			for (Reference reference : santuarioReferences) {
@@ -1071,7 +1117,12 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 					}
 					
 					if (found && !isDuplicated) {
-						intact = reference.verify();
+						Callable<Boolean> digestMatchTask = getDigestMatchTask(validation, reference, digest);
+						if (digestMatchTask != null) {
+							digestMatchTasks.put(validation, digestMatchTask);
+						} else {
+							intact = reference.verify();
+						}
 					}
 					
 				} catch (Exception e) {
@@ -1089,6 +1140,8 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 				
 			}
 
+			verifyDigestsInParallel(digestMatchTasks);
+
 			// If at least one reference is not found, we add an empty
 			// referenceValidation
 			if (!atLeastOneReferenceElementFound) {
@@ -1103,6 +1156,87 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		return referenceValidations;
 	}
 
+	/**
+	 * Returns the validations of the references incorporated within the SignedInfo element
+	 *
+	 * @return a list of {@link ReferenceValidation}s
+	 */
+	private List<ReferenceValidation> getSignedInfoReferenceValidations() {
+		final List<ReferenceValidation> signedInfoReferenceValidations = new ArrayList<>();
+		for (ReferenceValidation referenceValidation : getReferenceValidations()) {
+			if (referenceValidation instanceof XAdESReferenceValidation) {
+				signedInfoReferenceValidations.add(referenceValidation);
+			}
+		}
+		return signedInfoReferenceValidations;
+	}
+
+	/**
+	 * Returns a task computing the digest of the detached content, when the reference can be verified in parallel.
+	 * The reference shall be a detached reference without transforms, resolved to an octet stream
+	 * or a pre-calculated digest.
+	 *
+	 * @param validation {@link XAdESReferenceValidation} of the reference
+	 * @param reference {@link Reference} to verify
+	 * @param expectedDigest {@link Digest} incorporated within the reference
+	 * @return {@link Callable} or null if the reference shall be verified sequentially
+	 * @throws XMLSecurityException if an error occurs on the reference processing
+	 */
+	private Callable<Boolean> getDigestMatchTask(XAdESReferenceValidation validation, Reference reference,
+												 Digest expectedDigest) throws XMLSecurityException {
+		if (referenceValidationExecutorService == null || expectedDigest == null
+				|| !DigestMatcherType.REFERENCE.equals(validation.getType())) {
+			return null;
+		}
+		final String uri = validation.getUri();
+		if (uri != null && (uri.isEmpty() || DomUtils.startsFromHash(uri))) {
+			// same-document references are processed on the DOM, which is not thread-safe
+			return null;
+		}
+		final Transforms transforms = reference.getTransforms();
+		if (transforms != null && transforms.getLength() > 0) {
+			return null;
+		}
+		// resolution is done in the current thread, thus the resolvers restrictions are applied as usual
+		final XMLSignatureInput input = reference.getContentsBeforeTransformation();
+		if (input.isPreCalculatedDigest()) {
+			final String preCalculatedDigest = input.getPreCalculatedDigest();
+			return () -> Arrays.equals(expectedDigest.getValue(), Utils.fromBase64(preCalculatedDigest));
+
+		} else if (input.isOctetStream()) {
+			return () -> {
+				try (InputStream is = input.getOctetStream()) {
+					return Arrays.equals(expectedDigest.getValue(), DSSUtils.digest(expectedDigest.getAlgorithm(), is));
+				}
+			};
+		}
+		return null;
+	}
+
+	private void verifyDigestsInParallel(Map<XAdESReferenceValidation, Callable<Boolean>> digestMatchTasks) {
+		if (Utils.isMapEmpty(digestMatchTasks)) {
+			return;
+		}
+		final Map<XAdESReferenceValidation, Future<Boolean>> futures = new LinkedHashMap<>();
+		for (Map.Entry<XAdESReferenceValidation, Callable<Boolean>> entry : digestMatchTasks.entrySet()) {
+			futures.put(entry.getKey(), referenceValidationExecutorService.submit(entry.getValue()));
+		}
+		for (Map.Entry<XAdESReferenceValidation, Future<Boolean>> entry : futures.entrySet()) {
+			final XAdESReferenceValidation validation = entry.getKey();
+			boolean intact = false;
+			try {
+				intact = entry.getValue().get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOG.warn("Interrupted while verifying the reference with URI [{}]", validation.getUri());
+			} catch (ExecutionException e) {
+				LOG.warn("Unable to verify reference with URI [{}] : {}", validation.getUri(),
+						e.getCause().getMessage(), e.getCause());
+			}
+			validation.setIntact(intact);
+		}
+	}
+
 	private ReferenceValidation getCounterSignatureReferenceValidation(Reference counterSignatureReference,
 																	   XAdESSignature masterSignature) {
 		ReferenceValidation referenceValidation = new ReferenceValidation();
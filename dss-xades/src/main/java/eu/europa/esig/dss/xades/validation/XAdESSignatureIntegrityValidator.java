@@ -22,10 +22,15 @@ package eu.europa.esig.dss.xades.validation;
 
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.spi.x509.SignatureIntegrityValidator;
+import eu.europa.esig.dss.validation.ReferenceValidation;
+import org.apache.xml.security.algorithms.SignatureAlgorithm;
+import org.apache.xml.security.exceptions.XMLSecurityException;
+import org.apache.xml.security.signature.SignedInfo;
 import org.apache.xml.security.signature.XMLSignature;
-import org.apache.xml.security.signature.XMLSignatureException;
 
+import java.io.IOException;
 import java.security.PublicKey;
+import java.util.List;
 
 /**
  * Verifies integrity of a XAdES signature
@@ -35,22 +40,59 @@ public class XAdESSignatureIntegrityValidator extends SignatureIntegrityValidato
 	/** The relevant Santuario signature instance */
 	private final XMLSignature santuarioSignature;
 
+	/** The already computed validations of the SignedInfo references (null if the references shall be verified) */
+	private final List<ReferenceValidation> signedInfoReferenceValidations;
+
 	/**
 	 * Default constructor
 	 *
 	 * @param santuarioSignature {@link XMLSignature}
 	 */
 	public XAdESSignatureIntegrityValidator(XMLSignature santuarioSignature) {
+		this(santuarioSignature, null);
+	}
+
+	/**
+	 * Constructor reusing the already computed validations of the SignedInfo references (e.g. verified in parallel).
+	 * When provided, only the SignatureValue is verified over the canonicalized SignedInfo,
+	 * without re-digesting the referenced data.
+	 *
+	 * @param santuarioSignature {@link XMLSignature}
+	 * @param signedInfoReferenceValidations a list of {@link ReferenceValidation}s of the SignedInfo references
+	 */
+	public XAdESSignatureIntegrityValidator(XMLSignature santuarioSignature,
+											List<ReferenceValidation> signedInfoReferenceValidations) {
 		this.santuarioSignature = santuarioSignature;
+		this.signedInfoReferenceValidations = signedInfoReferenceValidations;
 	}
 
 	@Override
 	protected boolean verify(PublicKey publicKey) throws DSSException {
 		try {
-			return santuarioSignature.checkSignatureValue(publicKey);
-		} catch (XMLSignatureException e) {
+			if (signedInfoReferenceValidations == null) {
+				return santuarioSignature.checkSignatureValue(publicKey);
+			}
+			return verifySignatureValue(publicKey) && areReferencesIntact();
+		} catch (XMLSecurityException | IOException e) {
 			throw new DSSException(String.format("Unable to verify the signature : %s", e.getMessage()), e);
 		}
 	}
 
+	private boolean verifySignatureValue(PublicKey publicKey) throws XMLSecurityException, IOException {
+		final SignedInfo signedInfo = santuarioSignature.getSignedInfo();
+		final SignatureAlgorithm signatureAlgorithm = signedInfo.getSignatureAlgorithm();
+		signatureAlgorithm.initVerify(publicKey);
+		signatureAlgorithm.update(signedInfo.getCanonicalizedOctetStream());
+		return signatureAlgorithm.verify(santuarioSignature.getSignatureValue());
+	}
+
+	private boolean areReferencesIntact() {
+		for (ReferenceValidation referenceValidation : signedInfoReferenceValidations) {
+			if (!referenceValidation.isIntact()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 }
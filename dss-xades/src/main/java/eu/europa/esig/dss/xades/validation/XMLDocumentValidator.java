@@ -144,6 +144,7 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
 			xadesSignature.setContainerContents(containerContents);
 			xadesSignature.setSigningCertificateSource(signingCertificateSource);
 			xadesSignature.setDisableXSWProtection(disableXSWProtection);
+			xadesSignature.setReferenceValidationExecutorService(referenceValidationExecutorService);
 			xadesSignature.prepareOfflineCertificateVerifier(certificateVerifier);
 			signatures.add(xadesSignature);
 		}
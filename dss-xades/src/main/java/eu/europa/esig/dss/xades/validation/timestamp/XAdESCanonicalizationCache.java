@@ -0,0 +1,98 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.validation.timestamp;
+
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+import org.w3c.dom.Node;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches the results of canonicalization of the signature's elements, in order to avoid repeated canonicalization
+ * of the same elements (ds:SignedInfo, ds:SignatureValue, ds:KeyInfo, unsigned properties, ...)
+ * on message-imprint computation for different timestamps of the same signature.
+ *
+ * The results are cached by the element instance (identity) and the used canonicalization method.
+ * NOTE: the cache shall be cleared when the signature is modified (e.g. on signature extension).
+ */
+public class XAdESCanonicalizationCache {
+
+	/** The map between cache keys and the canonicalized binaries */
+	private final Map<CacheKey, byte[]> canonicalizedValues = new HashMap<>();
+
+	/**
+	 * Returns the canonicalized binaries of the {@code node}, computed on the first request
+	 *
+	 * @param canonicalizationMethod {@link String} canonicalization algorithm to be used
+	 * @param node {@link Node} to canonicalize
+	 * @return canonicalized binaries
+	 */
+	public byte[] canonicalizeSubtree(String canonicalizationMethod, Node node) {
+		Objects.requireNonNull(node, "Node cannot be null!");
+		return canonicalizedValues.computeIfAbsent(new CacheKey(node, canonicalizationMethod),
+				k -> DSSXMLUtils.canonicalizeSubtree(canonicalizationMethod, node));
+	}
+
+	/**
+	 * Removes all the cached canonicalization results
+	 */
+	public void clear() {
+		canonicalizedValues.clear();
+	}
+
+	/**
+	 * Identifies a canonicalization result by the node instance and the canonicalization method
+	 */
+	private static final class CacheKey {
+
+		/** The canonicalized node */
+		private final Node node;
+
+		/** The used canonicalization method */
+		private final String canonicalizationMethod;
+
+		private CacheKey(Node node, String canonicalizationMethod) {
+			this.node = node;
+			this.canonicalizationMethod = canonicalizationMethod;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey cacheKey = (CacheKey) o;
+			return node == cacheKey.node && Objects.equals(canonicalizationMethod, cacheKey.canonicalizationMethod);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(node) + Objects.hashCode(canonicalizationMethod);
+		}
+
+	}
+
+}
@@ -26,6 +26,7 @@ import eu.europa.esig.dss.definition.xmldsig.XMLDSigPaths;
 import eu.europa.esig.dss.enumerations.ArchiveTimestampType;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.TimestampType;
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.DSSMessageDigest;
 import eu.europa.esig.dss.spi.DSSMessageDigestCalculator;
 import eu.europa.esig.dss.utils.Utils;
@@ -42,6 +43,7 @@ import eu.europa.esig.dss.xades.validation.XAdESSignature;
 import eu.europa.esig.dss.xades.validation.XAdESUnsignedSigProperties;
 import org.apache.xml.security.exceptions.XMLSecurityException;
 import org.apache.xml.security.signature.Reference;
+import org.bouncycastle.util.io.TeeOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -50,6 +52,9 @@ import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -90,6 +95,9 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 	/** Identifies whether message-imprint shall be build as per EN 319 132-1 standard (against old version) */
 	private boolean en319132;
 
+	/** The cache of canonicalized signature elements (optional) */
+	private XAdESCanonicalizationCache canonicalizationCache;
+
 	/**
 	 * Default constructor to be used for a new timestamp creation.
 	 * This constructor requires certain properties to be provided for message-digest computation (see available setters).
@@ -148,6 +156,17 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 		this.en319132 = en319132;
 	}
 
+	/**
+	 * Sets the cache of canonicalized elements, to be shared between message-imprint computations
+	 * of different timestamps of the same signature.
+	 * NOTE: the cache shall not be used when the signature is being modified (e.g. on timestamp creation)
+	 *
+	 * @param canonicalizationCache {@link XAdESCanonicalizationCache}
+	 */
+	public void setCanonicalizationCache(XAdESCanonicalizationCache canonicalizationCache) {
+		this.canonicalizationCache = canonicalizationCache;
+	}
+
 	@Override
 	public DSSMessageDigest getContentTimestampMessageDigest() {
 		// all data timestamp is considered by default
@@ -178,8 +197,7 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 			final DSSMessageDigestCalculator digestCalculator = new DSSMessageDigestCalculator(digestAlgorithm);
 			for (final Reference reference : references) {
 				if (!DSSXMLUtils.isSignedProperties(reference, xadesPaths)) {
-					byte[] referenceBytes = getReferenceBytes(reference, canonicalizationAlgorithm);
-					digestCalculator.update(referenceBytes);
+					writeReferenceBytes(digestCalculator, reference, canonicalizationAlgorithm);
 				}
 			}
 			final DSSMessageDigest messageDigest = digestCalculator.getMessageDigest();
@@ -214,8 +232,7 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 			for (final TimestampInclude include : includes) {
 				Reference reference = getCorrespondingReference(include, references);
 				if (reference != null) {
-					byte[] referenceBytes = getReferenceBytes(reference, canonicalizationAlgorithm);
-					digestCalculator.update(referenceBytes);
+					writeReferenceBytes(digestCalculator, reference, canonicalizationAlgorithm);
 				} else {
 					LOG.warn("No ds:Reference found corresponding to an IndividualDataObjectsTimestamp include " +
 									"with URI '{}'!", include.getURI());
@@ -237,11 +254,30 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 		return DSSMessageDigest.createEmptyDigest();
 	}
 	
-	private byte[] getReferenceBytes(final Reference reference, final String canonicalizationMethod) throws XMLSecurityException {
+	private void writeReferenceBytes(final DSSMessageDigestCalculator digestCalculator, final Reference reference,
+									 final String canonicalizationMethod) throws XMLSecurityException {
 		/*
 		 * 1) process the retrieved ds:Reference element according to the reference-processing model of XMLDSIG [1]
 		 * clause 4.4.3.2;
 		 */
+		if (!ReferenceOutputType.NODE_SET.equals(DSSXMLUtils.getReferenceOutputType(reference))) {
+			// an octet stream is digested without loading the referenced content into memory
+			final ByteArrayOutputStream traceOutputStream = LOG.isTraceEnabled() ? new ByteArrayOutputStream() : null;
+			OutputStream os = digestCalculator.getOutputStream();
+			if (traceOutputStream != null) {
+				os = new TeeOutputStream(os, traceOutputStream);
+			}
+			try {
+				reference.getContentsAfterTransformation().updateOutputStream(os);
+			} catch (IOException e) {
+				throw new DSSException(String.format("Unable to process the reference with Id '%s'. Reason : %s",
+						reference.getId(), e.getMessage()), e);
+			}
+			if (traceOutputStream != null) {
+				LOG.trace("ReferencedBytes : {}", traceOutputStream);
+			}
+			return;
+		}
 		byte[] referencedBytes = reference.getReferencedBytes();
 		/*
 		 * 2) if the result is a XML node set, canonicalize it as specified in clause 4.5; and
@@ -252,7 +288,7 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 		if (LOG.isTraceEnabled()) {
 			LOG.trace("ReferencedBytes : {}", new String(referencedBytes));
 		}
-		return referencedBytes;
+		digestCalculator.update(referencedBytes);
 	}
 
 	/**
@@ -524,8 +560,7 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 			final Set<String> referenceURIs = new HashSet<>();
 			for (final Reference reference : references) {
 				referenceURIs.add(DomUtils.getId(reference.getURI()));
-				bytes = getReferenceBytes(reference, canonicalizationAlgorithm);
-				digestCalculator.update(bytes);
+				writeReferenceBytes(digestCalculator, reference, canonicalizationAlgorithm);
 			}
 
 			/*
@@ -581,7 +616,7 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 	private byte[] getCanonicalizedValue(final String xPathString, final String canonicalizationMethod) {
 		final Element element = DomUtils.getElement(signature, xPathString);
 		if (element != null) {
-			final byte[] bytes = DSSXMLUtils.canonicalizeSubtree(canonicalizationMethod, element);
+			final byte[] bytes = canonicalizeSubtree(canonicalizationMethod, element);
 			if (LOG.isTraceEnabled()) {
 				LOG.trace("Canonicalized subtree string : \n{}", new String(bytes));
 			}
@@ -702,7 +737,7 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 	}
 
 	private byte[] getCanonicalizedValue(XAdESAttribute attribute, String canonicalizationMethod) {
-		byte[] canonicalizedValue = DSSXMLUtils.canonicalizeSubtree(canonicalizationMethod, attribute.getElement());
+		byte[] canonicalizedValue = canonicalizeSubtree(canonicalizationMethod, attribute.getElement());
 		if (LOG.isTraceEnabled()) {
 			LOG.trace("{}: Canonicalization: {} : \n{}", attribute.getName(), canonicalizationMethod,
 					new String(canonicalizedValue));
@@ -710,6 +745,14 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 		return canonicalizedValue;
 	}
 
+	private byte[] canonicalizeSubtree(String canonicalizationMethod, Node node) {
+		// the elements of a recreated document (canonicalization copy) are not cached
+		if (canonicalizationCache != null && signature.getOwnerDocument() == node.getOwnerDocument()) {
+			return canonicalizationCache.canonicalizeSubtree(canonicalizationMethod, node);
+		}
+		return DSSXMLUtils.canonicalizeSubtree(canonicalizationMethod, node);
+	}
+
 	/**
 	 * This method returns the list of ds:Object elements for the current signature element.
 	 *
@@ -754,7 +797,7 @@ public class XAdESTimestampMessageDigestBuilder implements TimestampMessageDiges
 					continue;
 				}
 			}
-			canonicalizedValue = DSSXMLUtils.canonicalizeSubtree(canonicalizationMethod, node);
+			canonicalizedValue = canonicalizeSubtree(canonicalizationMethod, node);
 			digestCalculator.update(canonicalizedValue);
 		}
 		
@@ -78,6 +78,12 @@ public class XAdESTimestampSource extends SignatureTimestampSource<XAdESSignatur
 	/** XAdES XPaths to use */
 	private final XAdESPaths xadesPaths;
 
+	/**
+	 * Caches the canonicalized signature elements used for message-imprint computation of the validated timestamps
+	 * (created lazily, as it is not restored on deserialization)
+	 */
+	private transient XAdESCanonicalizationCache canonicalizationCache;
+
 	/**
 	 * Default constructor
 	 *
@@ -89,6 +95,23 @@ public class XAdESTimestampSource extends SignatureTimestampSource<XAdESSignatur
 		this.xadesPaths = signature.getXAdESPaths();
 	}
 
+	/**
+	 * Clears the cached canonicalized signature elements.
+	 * Shall be called when the signature element is modified (e.g. on signature extension).
+	 */
+	public void resetCanonicalizationCache() {
+		if (canonicalizationCache != null) {
+			canonicalizationCache.clear();
+		}
+	}
+
+	private XAdESCanonicalizationCache getCanonicalizationCache() {
+		if (canonicalizationCache == null) {
+			canonicalizationCache = new XAdESCanonicalizationCache();
+		}
+		return canonicalizationCache;
+	}
+
 	@Override
 	protected SignatureProperties<XAdESAttribute> buildSignedSignatureProperties() {
 		return XAdESSignedDataObjectProperties.build(signatureElement, xadesPaths);
@@ -106,7 +129,9 @@ public class XAdESTimestampSource extends SignatureTimestampSource<XAdESSignatur
 
 	@Override
 	protected XAdESTimestampMessageDigestBuilder getTimestampMessageImprintDigestBuilder(TimestampToken timestampToken) {
-		return new XAdESTimestampMessageDigestBuilder(signature, timestampToken);
+		XAdESTimestampMessageDigestBuilder builder = new XAdESTimestampMessageDigestBuilder(signature, timestampToken);
+		builder.setCanonicalizationCache(getCanonicalizationCache());
+		return builder;
 	}
 	
 	/**
@@ -0,0 +1,134 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.signature.BulkSignaturePipeline;
+import eu.europa.esig.dss.signature.BulkSignatureResult;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.XAdESTimestampParameters;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XAdESBulkSignatureTest extends PKIFactoryAccess {
+
+	@Test
+	public void bLevelTest() {
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+
+		BulkSignaturePipeline<XAdESSignatureParameters, XAdESTimestampParameters> pipeline = new BulkSignaturePipeline<>(
+				service, getToken(), getPrivateKeyEntry(), document -> getSignatureParameters(SignatureLevel.XAdES_BASELINE_B));
+		pipeline.setBatchSize(3);
+
+		List<DSSDocument> documents = getDocuments(10);
+		List<BulkSignatureResult> results = pipeline.sign(documents);
+		assertEquals(documents.size(), results.size());
+
+		for (BulkSignatureResult result : results) {
+			assertTrue(result.isSuccess());
+			assertNull(result.getException());
+			assertNotNull(result.getSignedDocument());
+			verify(result.getSignedDocument(), SignatureLevel.XAdES_BASELINE_B);
+		}
+	}
+
+	@Test
+	public void tLevelTest() {
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+		service.setTspSource(getGoodTsa());
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			BulkSignaturePipeline<XAdESSignatureParameters, XAdESTimestampParameters> pipeline = new BulkSignaturePipeline<>(
+					service, getToken(), getPrivateKeyEntry(), document -> getSignatureParameters(SignatureLevel.XAdES_BASELINE_T));
+			pipeline.setExecutorService(executorService);
+
+			AtomicInteger counter = new AtomicInteger();
+			pipeline.sign(getDocuments(5).stream(), result -> {
+				assertTrue(result.isSuccess());
+				verify(result.getSignedDocument(), SignatureLevel.XAdES_BASELINE_T);
+				counter.incrementAndGet();
+			});
+			assertEquals(5, counter.get());
+			assertFalse(executorService.isShutdown());
+
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private XAdESSignatureParameters getSignatureParameters(SignatureLevel signatureLevel) {
+		XAdESSignatureParameters signatureParameters = new XAdESSignatureParameters();
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		signatureParameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		return signatureParameters;
+	}
+
+	private List<DSSDocument> getDocuments(int number) {
+		List<DSSDocument> documents = new ArrayList<>();
+		IntStream.range(0, number).forEach(i -> documents.add(new InMemoryDocument(
+				("<root><value>Hello World " + i + "</value></root>").getBytes(), "doc-" + i + ".xml")));
+		return documents;
+	}
+
+	private void verify(DSSDocument signedDocument, SignatureLevel signatureLevel) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		Reports reports = validator.validateDocument();
+
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		assertEquals(1, diagnosticData.getSignatures().size());
+		SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+		assertTrue(signature.isSignatureIntact());
+		assertTrue(signature.isSignatureValid());
+		assertEquals(signatureLevel, signature.getSignatureFormat());
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
@@ -0,0 +1,158 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.exception.IllegalInputException;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XAdESStreamingSignatureTest extends PKIFactoryAccess {
+
+	private static final Date SIGNING_DATE = new Date();
+
+	@Test
+	public void envelopedTest() {
+		signAndVerify(new FileDocument("src/test/resources/ns-prefixes-sample.xml"), SignaturePackaging.ENVELOPED, false);
+		signAndVerify(new FileDocument("src/test/resources/sample-c14n.xml"), SignaturePackaging.ENVELOPED, false);
+	}
+
+	@Test
+	public void envelopingBase64Test() {
+		signAndVerify(new FileDocument("src/test/resources/sample.png"), SignaturePackaging.ENVELOPING, false);
+	}
+
+	@Test
+	public void envelopingEmbedXMLTest() {
+		signAndVerify(new FileDocument("src/test/resources/ns-prefixes-sample.xml"), SignaturePackaging.ENVELOPING, true);
+	}
+
+	@Test
+	public void canonicalizationTest() throws IOException {
+		for (String fileName : new String[] { "sample.xml", "sample-c14n.xml", "ns-prefixes-sample.xml" }) {
+			DSSDocument document = new FileDocument("src/test/resources/" + fileName);
+
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			try (InputStream is = document.openStream()) {
+				new StreamingXMLProcessor(true).processDocument(is, baos);
+			}
+			byte[] expected = DSSXMLUtils.canonicalize(DSSXMLUtils.DEFAULT_DSS_C14N_METHOD, DSSUtils.toByteArray(document));
+			assertArrayEquals(expected, baos.toByteArray(), fileName);
+		}
+	}
+
+	@Test
+	public void unsupportedConfigurationTest() {
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+		DSSDocument document = new FileDocument("src/test/resources/sample.xml");
+
+		XAdESSignatureParameters detachedParameters = getSignatureParameters(SignaturePackaging.DETACHED, false);
+		assertThrows(IllegalArgumentException.class, () -> service.getStreamingDataToSign(document, detachedParameters));
+
+		XAdESSignatureParameters tLevelParameters = getSignatureParameters(SignaturePackaging.ENVELOPED, false);
+		tLevelParameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_T);
+		assertThrows(UnsupportedOperationException.class, () -> service.getStreamingDataToSign(document, tLevelParameters));
+
+		XAdESSignatureParameters envelopedParameters = getSignatureParameters(SignaturePackaging.ENVELOPED, false);
+		DSSDocument signedDocument = new FileDocument("src/test/resources/sample-counter-signed.xml");
+		assertThrows(IllegalInputException.class, () -> service.getStreamingDataToSign(signedDocument, envelopedParameters));
+
+		XAdESSignatureParameters embedXMLParameters = getSignatureParameters(SignaturePackaging.ENVELOPING, true);
+		DSSDocument binaryDocument = new InMemoryDocument("Hello World!".getBytes());
+		assertThrows(IllegalInputException.class, () -> service.getStreamingDataToSign(binaryDocument, embedXMLParameters));
+	}
+
+	private void signAndVerify(DSSDocument documentToSign, SignaturePackaging packaging, boolean embedXML) {
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+
+		// the streaming creation shall produce the same data to be signed as the DOM based one
+		ToBeSigned expectedDataToSign = service.getDataToSign(documentToSign, getSignatureParameters(packaging, embedXML));
+
+		XAdESSignatureParameters signatureParameters = getSignatureParameters(packaging, embedXML);
+		ToBeSigned dataToSign = service.getStreamingDataToSign(documentToSign, signatureParameters);
+		assertArrayEquals(expectedDataToSign.getBytes(), dataToSign.getBytes());
+
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		service.signDocument(documentToSign, signatureParameters, signatureValue, baos);
+		DSSDocument signedDocument = new InMemoryDocument(baos.toByteArray());
+
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		Reports reports = validator.validateDocument();
+
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		assertEquals(1, diagnosticData.getSignatures().size());
+		SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+		assertTrue(signature.isSignatureIntact());
+		assertTrue(signature.isSignatureValid());
+		assertEquals(SignatureLevel.XAdES_BASELINE_B, signature.getSignatureFormat());
+
+		if (SignaturePackaging.ENVELOPING.equals(packaging) && !embedXML) {
+			List<DSSDocument> originalDocuments = validator.getOriginalDocuments(signature.getId());
+			assertEquals(1, originalDocuments.size());
+			assertArrayEquals(DSSUtils.toByteArray(documentToSign), DSSUtils.toByteArray(originalDocuments.get(0)));
+		}
+	}
+
+	private XAdESSignatureParameters getSignatureParameters(SignaturePackaging packaging, boolean embedXML) {
+		XAdESSignatureParameters signatureParameters = new XAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(SIGNING_DATE);
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(packaging);
+		signatureParameters.setEmbedXML(embedXML);
+		signatureParameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+		signatureParameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		return signatureParameters;
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
@@ -25,14 +25,19 @@ import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.xades.SantuarioInitializer;
+import org.apache.xml.security.signature.XMLSignatureInput;
 import org.apache.xml.security.utils.resolver.ResourceResolverContext;
 import org.apache.xml.security.utils.resolver.ResourceResolverException;
 import org.junit.jupiter.api.Test;
 import org.w3c.dom.Attr;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -253,4 +258,37 @@ public class DetachedSignatureResolverTest {
 		assertNotNull(resolver.engineResolveURI(context));
 	}
 
+	@Test
+	public void engineResolveURIStreamsContent() throws Exception {
+		byte[] content = "Hello world!".getBytes();
+		AtomicInteger openedStreams = new AtomicInteger();
+		InMemoryDocument doc = new InMemoryDocument(content, "sample.txt") {
+
+			private static final long serialVersionUID = 7441187282617366463L;
+
+			@Override
+			public InputStream openStream() {
+				openedStreams.incrementAndGet();
+				return super.openStream();
+			}
+
+		};
+		DetachedSignatureResolver resolver = new DetachedSignatureResolver(Arrays.asList(doc), DigestAlgorithm.SHA256);
+
+		Attr attr = mock(Attr.class);
+		when(attr.getNodeValue()).thenReturn("sample.txt");
+		ResourceResolverContext context = new ResourceResolverContext(attr, null, false);
+
+		XMLSignatureInput input = resolver.engineResolveURI(context);
+		assertNotNull(input);
+		assertTrue(input.isOctetStream());
+		// the document is not read before the content is requested
+		assertEquals(0, openedStreams.get());
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		input.updateOutputStream(baos);
+		assertArrayEquals(content, baos.toByteArray());
+		assertEquals(1, openedStreams.get());
+	}
+
 }
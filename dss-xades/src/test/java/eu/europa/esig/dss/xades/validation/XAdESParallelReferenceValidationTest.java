@@ -0,0 +1,176 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.validation;
+
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.ReferenceValidation;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.reference.XAdESReferenceValidation;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XAdESParallelReferenceValidationTest extends PKIFactoryAccess {
+
+	private static final int NUMBER_OF_DOCUMENTS = 20;
+
+	private ExecutorService executorService;
+
+	private List<DSSDocument> documents;
+
+	private DSSDocument signedDocument;
+
+	@BeforeEach
+	public void init() {
+		executorService = Executors.newFixedThreadPool(4);
+
+		documents = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_DOCUMENTS; i++) {
+			documents.add(new InMemoryDocument(("Hello World " + i).getBytes(), "doc" + i + ".txt"));
+		}
+
+		XAdESSignatureParameters signatureParameters = new XAdESSignatureParameters();
+		signatureParameters.bLevel().setSigningDate(new Date());
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.DETACHED);
+		signatureParameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+
+		XAdESService service = new XAdESService(getOfflineCertificateVerifier());
+		ToBeSigned dataToSign = service.getDataToSign(documents, signatureParameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		signedDocument = service.signDocument(documents, signatureParameters, signatureValue);
+	}
+
+	@AfterEach
+	public void shutdown() {
+		executorService.shutdown();
+	}
+
+	@Test
+	public void test() {
+		List<ReferenceValidation> sequentialValidations = getReferenceValidations(documents, null);
+		List<ReferenceValidation> parallelValidations = getReferenceValidations(documents, executorService);
+		assertSameResults(sequentialValidations, parallelValidations);
+		for (ReferenceValidation referenceValidation : parallelValidations) {
+			assertTrue(referenceValidation.isFound());
+			assertTrue(referenceValidation.isIntact());
+		}
+	}
+
+	@Test
+	public void alteredDocumentTest() {
+		List<DSSDocument> detachedContents = new ArrayList<>(documents);
+		detachedContents.set(5, new InMemoryDocument("Bye World".getBytes(), "doc5.txt"));
+
+		List<ReferenceValidation> sequentialValidations = getReferenceValidations(detachedContents, null);
+		List<ReferenceValidation> parallelValidations = getReferenceValidations(detachedContents, executorService);
+		assertSameResults(sequentialValidations, parallelValidations);
+
+		int notIntactCounter = 0;
+		for (ReferenceValidation referenceValidation : parallelValidations) {
+			assertTrue(referenceValidation.isFound());
+			if (!referenceValidation.isIntact()) {
+				assertEquals("doc5.txt", ((XAdESReferenceValidation) referenceValidation).getUri());
+				++notIntactCounter;
+			}
+		}
+		assertEquals(1, notIntactCounter);
+	}
+
+	@Test
+	public void signatureIntegrityTest() {
+		AdvancedSignature signature = getSignature(documents, executorService);
+		signature.checkSignatureIntegrity();
+		assertTrue(signature.getSignatureCryptographicVerification().isReferenceDataFound());
+		assertTrue(signature.getSignatureCryptographicVerification().isReferenceDataIntact());
+		assertTrue(signature.getSignatureCryptographicVerification().isSignatureIntact());
+		assertNotNull(signature.getSigningCertificateToken());
+	}
+
+	@Test
+	public void alteredDocumentSignatureIntegrityTest() {
+		List<DSSDocument> detachedContents = new ArrayList<>(documents);
+		detachedContents.set(5, new InMemoryDocument("Bye World".getBytes(), "doc5.txt"));
+
+		AdvancedSignature sequentialSignature = getSignature(detachedContents, null);
+		sequentialSignature.checkSignatureIntegrity();
+		AdvancedSignature parallelSignature = getSignature(detachedContents, executorService);
+		parallelSignature.checkSignatureIntegrity();
+
+		assertFalse(parallelSignature.getSignatureCryptographicVerification().isReferenceDataIntact());
+		assertEquals(sequentialSignature.getSignatureCryptographicVerification().isSignatureIntact(),
+				parallelSignature.getSignatureCryptographicVerification().isSignatureIntact());
+		assertFalse(parallelSignature.getSignatureCryptographicVerification().isSignatureIntact());
+	}
+
+	private List<ReferenceValidation> getReferenceValidations(List<DSSDocument> detachedContents,
+															  ExecutorService executorService) {
+		return getSignature(detachedContents, executorService).getReferenceValidations();
+	}
+
+	private AdvancedSignature getSignature(List<DSSDocument> detachedContents, ExecutorService executorService) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getOfflineCertificateVerifier());
+		validator.setDetachedContents(detachedContents);
+		validator.setReferenceValidationExecutorService(executorService);
+		List<AdvancedSignature> signatures = validator.getSignatures();
+		assertEquals(1, signatures.size());
+		return signatures.get(0);
+	}
+
+	private void assertSameResults(List<ReferenceValidation> expected, List<ReferenceValidation> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getType(), actual.get(i).getType());
+			assertEquals(expected.get(i).getName(), actual.get(i).getName());
+			assertEquals(expected.get(i).isFound(), actual.get(i).isFound());
+			assertEquals(expected.get(i).isIntact(), actual.get(i).isIntact());
+		}
+		assertFalse(actual.isEmpty());
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
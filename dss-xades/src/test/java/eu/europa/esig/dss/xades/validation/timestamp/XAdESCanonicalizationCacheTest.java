@@ -0,0 +1,106 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.validation.timestamp;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigPaths;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
+import eu.europa.esig.dss.xades.validation.XAdESSignature;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.crypto.dsig.CanonicalizationMethod;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class XAdESCanonicalizationCacheTest {
+
+	@BeforeAll
+	public static void init() {
+		XAdESNamespaces.registerNamespaces();
+	}
+
+	@Test
+	public void test() {
+		Document document = DomUtils.buildDOM(new FileDocument("src/test/resources/validation/xades-lta-valid.xml"));
+		Element signature = DomUtils.getElement(document.getDocumentElement(), XMLDSigPaths.ALL_SIGNATURES_PATH);
+		assertNotNull(signature);
+		Element signedInfo = DomUtils.getElement(signature, XMLDSigPaths.SIGNED_INFO_PATH);
+		assertNotNull(signedInfo);
+
+		XAdESCanonicalizationCache cache = new XAdESCanonicalizationCache();
+
+		byte[] exclusive = cache.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, signedInfo);
+		assertArrayEquals(DSSXMLUtils.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, signedInfo), exclusive);
+		assertSame(exclusive, cache.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, signedInfo));
+
+		byte[] inclusive = cache.canonicalizeSubtree(CanonicalizationMethod.INCLUSIVE, signedInfo);
+		assertArrayEquals(DSSXMLUtils.canonicalizeSubtree(CanonicalizationMethod.INCLUSIVE, signedInfo), inclusive);
+		assertNotSame(exclusive, inclusive);
+
+		Element signatureValue = DomUtils.getElement(signature, XMLDSigPaths.SIGNATURE_VALUE_PATH);
+		byte[] signatureValueBytes = cache.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, signatureValue);
+		assertArrayEquals(DSSXMLUtils.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, signatureValue), signatureValueBytes);
+
+		// the element is modified, the cache is cleared
+		signatureValue.setAttribute("Id", "modified-signature-value");
+		assertSame(signatureValueBytes, cache.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, signatureValue));
+		cache.clear();
+		byte[] modifiedSignatureValueBytes = cache.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, signatureValue);
+		assertArrayEquals(DSSXMLUtils.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, signatureValue), modifiedSignatureValueBytes);
+		assertFalse(Arrays.equals(signatureValueBytes, modifiedSignatureValueBytes));
+	}
+
+	@Test
+	public void deserializedTimestampSourceTest() throws Exception {
+		Document document = DomUtils.buildDOM(new FileDocument("src/test/resources/validation/xades-lta-valid.xml"));
+		Element signatureElement = DomUtils.getElement(document.getDocumentElement(), XMLDSigPaths.ALL_SIGNATURES_PATH);
+		assertNotNull(signatureElement);
+
+		XAdESTimestampSource timestampSource = new XAdESTimestampSource(new XAdESSignature(signatureElement));
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+			oos.writeObject(timestampSource);
+		}
+		XAdESTimestampSource deserializedTimestampSource;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+			deserializedTimestampSource = (XAdESTimestampSource) ois.readObject();
+		}
+		assertNotNull(deserializedTimestampSource);
+		assertDoesNotThrow(deserializedTimestampSource::resetCanonicalizationCache);
+	}
+
+}